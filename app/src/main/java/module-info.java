@@ -0,0 +1,17 @@
+module org.example {
+    requires javafx.controls;
+    requires javafx.fxml;
+
+    opens org.example to javafx.fxml;
+    opens org.example.controller to javafx.fxml;
+    exports org.example;
+    exports org.example.model;
+    exports org.example.controller;
+    exports org.example.server;
+
+    uses org.example.model.ExportFormat;
+    provides org.example.model.ExportFormat with
+            org.example.model.TextExportFormat,
+            org.example.model.CsvExportFormat,
+            org.example.model.JsonLinesExportFormat;
+}
@@ -0,0 +1,66 @@
+package org.example;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.example.controller.ViewLoader;
+import org.example.model.MenuCatalog;
+import org.example.model.OrderManager;
+import org.example.server.OrderIngestionServer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Main application class for RU Donuts ordering system.
+ * This class launches the JavaFX application.
+ * @author Aryaman Kumar
+ */
+public class RUDonutsApp extends Application {
+    private OrderIngestionServer ingestionServer;
+
+    /**
+     * Starts the JavaFX application.
+     * @param stage the primary stage
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    @Override
+    public void start(Stage stage) throws IOException {
+        // Pick up price changes from a local menu file without restarting
+        String menuFile = System.getProperty("rudonuts.menu");
+        if (menuFile != null) {
+            MenuCatalog.watch(Path.of(menuFile));
+        }
+
+        // Let POS terminals place orders alongside the store GUI
+        String ingestPort = System.getProperty("rudonuts.ingest.port");
+        if (ingestPort != null) {
+            ingestionServer = new OrderIngestionServer(OrderManager.getInstance(), Integer.parseInt(ingestPort));
+        }
+
+        Scene scene = new Scene(ViewLoader.load("/view/MainView.fxml").getRoot(), 800, 600);
+        stage.setTitle("RU Donuts - Order Management System");
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    /**
+     * Stops the order ingestion server, if one was started, and closes the order journal.
+     * @throws IOException if the server socket or the journal cannot be closed
+     */
+    @Override
+    public void stop() throws IOException {
+        if (ingestionServer != null) {
+            ingestionServer.close();
+        }
+        OrderManager.getInstance().close();
+    }
+
+    /**
+     * Main method to launch the application.
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        launch();
+    }
+}
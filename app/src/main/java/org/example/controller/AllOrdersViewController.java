@@ -0,0 +1,533 @@
+package org.example.controller;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.example.model.EndOfDayReport;
+import org.example.model.ExportFormat;
+import org.example.model.MenuItem;
+import org.example.model.Money;
+import org.example.model.Order;
+import org.example.model.OrderExporter;
+import org.example.model.OrderImporter;
+import org.example.model.OrderManager;
+import org.example.model.OrderQuery;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller for the all orders view.
+ * Displays all placed orders and allows browsing and canceling orders.
+ * The list follows the orders as they are placed and cancelled (see
+ * OrderListItems), and its cells read only the rows on screen. Typing in
+ * the search bar shows the orders that match (see OrderQuery) once typing
+ * pauses.
+ * Exports, imports and the end-of-day report run as background tasks (see
+ * BackgroundTasks) with a progress bar and a cancel button, so the FX thread
+ * never waits for them. Cancelling an order does not wait for the order
+ * journal either.
+ * @author Aryaman Kumar
+ */
+public class AllOrdersViewController implements BaseOrderController {
+
+    @FXML
+    TextField searchField;
+
+    @FXML
+    ListView<Integer> ordersListView;
+
+    @FXML
+    TextArea orderDetailsTextArea;
+
+    @FXML
+    Label subtotalLabel;
+
+    @FXML
+    Label taxLabel;
+
+    @FXML
+    Label totalLabel;
+
+    @FXML
+    Label statusLabel;
+
+    @FXML
+    HBox taskBar;
+
+    @FXML
+    ProgressBar taskProgressBar;
+
+    @FXML
+    Button exportButton;
+
+    @FXML
+    Button exportNewButton;
+
+    @FXML
+    Button importButton;
+
+    @FXML
+    Button reportButton;
+
+    private OrderManager orderManager;
+    private OrderListItems orderItems;
+    private BaseOrderItems shownItems;
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private Task<String> runningTask;
+
+    // Rows all have one line of text, so the list never measures cells it does not show
+    private static final double ROW_HEIGHT = 24;
+    // Searches once typing pauses, not on every key
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+
+    /**
+     * Initializes the controller.
+     */
+    @FXML
+    public void initialize() {
+        orderManager = OrderManager.getInstance();
+        orderItems = new OrderListItems(orderManager);
+        ordersListView.setFixedCellSize(ROW_HEIGHT);
+        ordersListView.setCellFactory(list -> new OrderCell());
+        shownItems = orderItems;
+        ordersListView.setItems(orderItems);
+        updateDisplay();
+
+        searchDelay.setOnFinished(event -> search(searchField.getText()));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchDelay.playFromStart());
+
+        // Add listener for order selection
+        ordersListView.getSelectionModel().selectedIndexProperty().addListener(
+                (obs, oldVal, newVal) -> onOrderSelected()
+        );
+    }
+
+    /**
+     * List cell showing an order number and total, read when the cell is shown.
+     */
+    private final class OrderCell extends ListCell<Integer> {
+        /**
+         * Shows the order in the cell.
+         * @param orderNumber the order number
+         * @param empty true if the cell has no row
+         */
+        @Override
+        protected void updateItem(Integer orderNumber, boolean empty) {
+            super.updateItem(orderNumber, empty);
+            if (empty || orderNumber == null) {
+                setText(null);
+                return;
+            }
+            setText("Order #" + orderNumber + " - $" + Money.format(shownItems.getOrderTotalCents(getIndex())));
+        }
+    }
+
+    /**
+     * Shows the orders that match search text, or all orders if it is blank.
+     * @param text the search text
+     */
+    private void search(String text) {
+        BaseOrderItems items;
+        try {
+            OrderQuery query = OrderQuery.parse(text);
+            if (query.isEmpty()) {
+                orderItems.refresh();
+                items = orderItems;
+            } else {
+                items = new OrderSearchItems(orderManager, query);
+            }
+        } catch (IllegalArgumentException e) {
+            showError(e.getMessage());
+            return;
+        }
+        if (shownItems != orderItems) {
+            shownItems.dispose();
+        }
+        shownItems = items;
+        ordersListView.setItems(items);
+        if (items == orderItems) {
+            statusLabel.setText("");
+        } else {
+            showSuccess(String.format("%,d orders found", items.size()));
+        }
+    }
+
+    /**
+     * Brings the list up to date with the orders, without rebuilding it.
+     */
+    private void updateDisplay() {
+        shownItems.refresh();
+
+        if (orderManager.getAllOrders().isEmpty()) {
+            orderDetailsTextArea.setText("No orders placed yet.");
+            clearTotals();
+        }
+    }
+
+    /**
+     * Handles order selection from the list.
+     */
+    private void onOrderSelected() {
+        try {
+            Integer orderNumber = ordersListView.getSelectionModel().getSelectedItem();
+            if (orderNumber == null) {
+                return;
+            }
+
+            displayOrderDetails(orderManager.getOrder(orderNumber));
+        } catch (Exception e) {
+            // Silently handle selection errors
+        }
+    }
+
+    /**
+     * Displays the details of an order.
+     * @param order the order to display
+     */
+    private void displayOrderDetails(Order order) {
+        if (order == null) {
+            orderDetailsTextArea.setText("No order selected.");
+            clearTotals();
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Order #").append(order.getOrderNumber()).append("\n");
+        sb.append("=".repeat(40)).append("\n\n");
+
+        for (MenuItem item : order.getMenuItems()) {
+            sb.append(item.toString()).append("\n");
+        }
+
+        orderDetailsTextArea.setText(sb.toString());
+
+        // Update totals
+        subtotalLabel.setText("$" + Money.format(order.getSubtotalCents()));
+        taxLabel.setText("$" + Money.format(order.getSalesTaxCents()));
+        totalLabel.setText("$" + Money.format(order.getTotalCents()));
+    }
+
+    /**
+     * Clears the totals display.
+     */
+    private void clearTotals() {
+        subtotalLabel.setText("$0.00");
+        taxLabel.setText("$0.00");
+        totalLabel.setText("$0.00");
+    }
+
+    /**
+     * Handles the Cancel Selected Order button click.
+     */
+    @FXML
+    void onCancelOrder() {
+        try {
+            Integer orderNumber = ordersListView.getSelectionModel().getSelectedItem();
+            if (orderNumber == null) {
+                showError("Please select an order to cancel");
+                return;
+            }
+
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Confirm Cancellation");
+            alert.setHeaderText("Cancel Order #" + orderNumber + "?");
+            alert.setContentText("This action cannot be undone.");
+
+            if (alert.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
+                long position = orderManager.cancelOrder(orderNumber);
+                if (position < 0) {
+                    showError("Order #" + orderNumber + " no longer exists");
+                    updateDisplay();
+                    return;
+                }
+                // Only the cancelled row changes, so the list drops just that row
+                updateDisplay();
+                orderDetailsTextArea.clear();
+                clearTotals();
+                showSuccess("Cancelling order #" + orderNumber + "...");
+
+                // The journal reaches the disk in the background
+                Task<Void> saved = BackgroundTasks.awaitDurable(orderManager, position);
+                saved.setOnSucceeded(event -> showSuccess("Order #" + orderNumber + " cancelled"));
+                saved.setOnFailed(event -> showError("Order #" + orderNumber
+                        + " was cancelled but could not be saved: " + saved.getException().getMessage()));
+            }
+        } catch (Exception e) {
+            showError("Error cancelling order: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the Export Orders button click.
+     */
+    @FXML
+    void onExportOrders() {
+        export(false);
+    }
+
+    /**
+     * Handles the Export New Orders button click.
+     * Appends only the orders placed since the chosen file was last exported.
+     */
+    @FXML
+    void onExportNewOrders() {
+        export(true);
+    }
+
+    /**
+     * Handles the Import Orders button click.
+     * Loads the orders from a file written by any export format.
+     */
+    @FXML
+    void onImportOrders() {
+        try {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Import Orders");
+            for (ExportFormat format : ExportFormat.available()) {
+                String extension = format.getFileExtension();
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                        extension.toUpperCase() + " Files", "*." + extension));
+            }
+
+            Stage stage = (Stage) ordersListView.getScene().getWindow();
+            File file = fileChooser.showOpenDialog(stage);
+
+            if (file != null) {
+                String path = file.getAbsolutePath();
+                String name = file.getName();
+                runTask(new Task<>() {
+                    @Override
+                    protected String call() throws Exception {
+                        updateMessage("Importing orders...");
+                        OrderImporter.ProgressListener listener = (orders, bytesRead, totalBytes, nanos) -> {
+                            updateProgress(bytesRead, totalBytes);
+                            updateMessage(String.format("Imported %,d orders (%,d of %,d KB)",
+                                    orders, bytesRead >> 10, totalBytes >> 10));
+                        };
+                        int count = orderManager.importOrders(path, listener);
+                        return count + " orders imported from: " + name;
+                    }
+                }, "Error importing orders: ", this::updateDisplay);
+            }
+        } catch (Exception e) {
+            showError("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the End of Day Report button click.
+     * Shows today's sales breakdown in place of the order details.
+     */
+    @FXML
+    void onEndOfDayReport() {
+        LocalDate today = LocalDate.now();
+        EndOfDayReport[] report = new EndOfDayReport[1];
+        runTask(new Task<>() {
+            @Override
+            protected String call() throws Exception {
+                updateMessage("Building end of day report...");
+                report[0] = orderManager.endOfDayReport(today);
+                return "End of day report for " + today;
+            }
+        }, "Error building report: ", () -> {
+            if (report[0] != null) {
+                displayReport(report[0]);
+            }
+        });
+    }
+
+    /**
+     * Displays an end-of-day report in place of the order details.
+     * @param report the report
+     */
+    private void displayReport(EndOfDayReport report) {
+        ordersListView.getSelectionModel().clearSelection();
+        orderDetailsTextArea.setText(report.toString());
+        subtotalLabel.setText("$" + Money.format(report.getSubtotalCents()));
+        taxLabel.setText("$" + Money.format(report.getSalesTaxCents()));
+        totalLabel.setText("$" + Money.format(report.getTotalCents()));
+    }
+
+    /**
+     * Asks for a file and exports the orders to it in the format of the chosen filter.
+     * @param incremental true to append only new orders and cancellations
+     */
+    private void export(boolean incremental) {
+        try {
+            if (orderManager.getAllOrders().isEmpty() && !incremental) {
+                showError("No orders to export");
+                return;
+            }
+
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle(incremental ? "Export New Orders" : "Export Orders");
+            fileChooser.setInitialFileName("orders.txt");
+            List<ExportFormat> formats = ExportFormat.available();
+            for (ExportFormat format : formats) {
+                String extension = format.getFileExtension();
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                        extension.toUpperCase() + " Files", "*." + extension));
+            }
+            for (ExportFormat format : formats) {
+                String extension = format.getFileExtension();
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                        "Compressed " + extension.toUpperCase() + " Files", "*." + extension + ".gz"));
+            }
+
+            Stage stage = (Stage) ordersListView.getScene().getWindow();
+            File file = fileChooser.showSaveDialog(stage);
+
+            if (file != null) {
+                // The chosen filter decides the format
+                int selected = fileChooser.getExtensionFilters().indexOf(fileChooser.getSelectedExtensionFilter());
+                // Compressed filters follow the plain ones
+                selected = Math.max(0, selected);
+                ExportFormat format = formats.get(selected % formats.size());
+                boolean compress = selected >= formats.size() || file.getName().endsWith(".gz");
+                String path = file.getAbsolutePath();
+                String name = file.getName();
+                runTask(new Task<>() {
+                    @Override
+                    protected String call() throws Exception {
+                        updateMessage("Exporting orders...");
+                        OrderExporter.ProgressListener listener = (written, total, bytes, nanos) -> {
+                            updateProgress(written, Math.max(1, total));
+                            updateMessage(String.format("Exported %,d of %,d orders (%,d KB)",
+                                    written, total, bytes >> 10));
+                        };
+                        if (incremental) {
+                            int count = orderManager.exportNewOrders(path, format, compress, listener);
+                            return count + " new orders exported to: " + name;
+                        }
+                        orderManager.exportOrders(path, format, compress, listener);
+                        return "Orders exported successfully to: " + name;
+                    }
+                }, "Error exporting orders: ", null);
+            }
+        } catch (Exception e) {
+            showError("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a long operation in the background, showing its progress and
+     * messages until it finishes. Only one runs at a time.
+     * @param task the operation; its value is the message to show when it succeeds
+     * @param errorPrefix the start of the message shown if it throws an IOException
+     * @param whenDone runs on the FX thread after the task ends however it ends, or null
+     */
+    private void runTask(Task<String> task, String errorPrefix, Runnable whenDone) {
+        runningTask = task;
+        setTaskRunning(true);
+        taskProgressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        statusLabel.setStyle("-fx-text-fill: black;");
+
+        task.setOnSucceeded(event -> {
+            endTask(whenDone);
+            showSuccess(task.getValue());
+        });
+        task.setOnCancelled(event -> {
+            endTask(whenDone);
+            showError("Cancelled");
+        });
+        task.setOnFailed(event -> {
+            endTask(whenDone);
+            Throwable e = task.getException();
+            showError((e instanceof IOException ? errorPrefix : "Unexpected error: ") + e.getMessage());
+        });
+        BackgroundTasks.start(task);
+    }
+
+    /**
+     * Stops showing the progress of the finished task.
+     * @param whenDone runs afterwards, or null
+     */
+    private void endTask(Runnable whenDone) {
+        runningTask = null;
+        taskProgressBar.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        setTaskRunning(false);
+        if (whenDone != null) {
+            whenDone.run();
+        }
+    }
+
+    /**
+     * Shows the progress bar and disables the buttons that start another task, or the reverse.
+     * @param running true while a task runs
+     */
+    private void setTaskRunning(boolean running) {
+        taskBar.setVisible(running);
+        taskBar.setManaged(running);
+        exportButton.setDisable(running);
+        exportNewButton.setDisable(running);
+        importButton.setDisable(running);
+        reportButton.setDisable(running);
+    }
+
+    /**
+     * Handles the Cancel button of the running task.
+     */
+    @FXML
+    void onCancelTask() {
+        if (runningTask != null) {
+            runningTask.cancel(true);
+        }
+    }
+
+    /**
+     * Handles the Close button click.
+     */
+    @FXML
+    void onClose() {
+        Stage stage = (Stage) ordersListView.getScene().getWindow();
+        searchDelay.stop();
+        orderItems.dispose();
+        shownItems.dispose();
+        stage.close();
+    }
+
+    /**
+     * Shows a success message.
+     * @param message the message to show
+     */
+    private void showSuccess(String message) {
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: green;");
+    }
+
+    /**
+     * Shows an error message.
+     * @param message the message to show
+     */
+    private void showError(String message) {
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: red;");
+    }
+
+    /**
+     * Sets the current order (not used in this view).
+     * @param order the current order
+     */
+    @Override
+    public void setCurrentOrder(Order order) {
+        // Not needed for this view
+    }
+}
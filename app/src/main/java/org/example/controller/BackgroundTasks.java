@@ -0,0 +1,61 @@
+package org.example.controller;
+
+import javafx.concurrent.Task;
+import org.example.model.OrderManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs long operations such as exports and imports, and waits for the
+ * order journal, off the JavaFX application thread.
+ * Work is wrapped in a javafx.concurrent.Task, whose progress, message and
+ * completion handlers are delivered on the FX thread, and cancelling the
+ * task interrupts the thread running it. The threads are daemons, so a
+ * running task never keeps the application from exiting.
+ * @author Aryaman Kumar
+ */
+final class BackgroundTasks {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "background-task-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Private constructor, BackgroundTasks only has static methods.
+     */
+    private BackgroundTasks() {
+    }
+
+    /**
+     * Starts a task on a background thread.
+     * @param task the task
+     * @param <T> the result type of the task
+     * @return the task
+     */
+    static <T> Task<T> start(Task<T> task) {
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Starts a task that waits until an order placed or cancelled from the
+     * FX thread is on disk (see OrderManager.placeOrder()), so handlers
+     * never wait for the journal themselves.
+     * @param orderManager the order manager
+     * @param position the journal position of the order or cancellation
+     * @return the task; set its handlers right away, they run on the FX thread
+     */
+    static Task<Void> awaitDurable(OrderManager orderManager, long position) {
+        return start(new Task<>() {
+            @Override
+            protected Void call() {
+                orderManager.awaitDurable(position);
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.controller;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import org.example.model.OrderManager;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base class for observable lists of order numbers that follow the orders
+ * as they are placed and cancelled, for list views.
+ * Rows are read from the order manager when a cell asks for them. Changes
+ * on other threads are picked up once per FX pulse; refresh() picks them up
+ * at once. Use the list on the FX thread only.
+ * @author Aryaman Kumar
+ */
+public abstract class BaseOrderItems extends ObservableListBase<Integer> {
+    private final OrderManager orderManager;
+    private final Runnable listener;
+
+    /**
+     * Starts following the orders of an order manager.
+     * @param orderManager the order manager
+     */
+    protected BaseOrderItems(OrderManager orderManager) {
+        this.orderManager = orderManager;
+        this.listener = new RefreshLater(this);
+        orderManager.addChangeListener(listener);
+    }
+
+    /**
+     * Gets the order manager.
+     * @return the order manager
+     */
+    protected OrderManager getOrderManager() {
+        return orderManager;
+    }
+
+    /**
+     * Gets the total (including tax) of the order at a position.
+     * @param index the position
+     * @return the total in cents
+     */
+    public abstract long getOrderTotalCents(int index);
+
+    /**
+     * Catches up with the orders placed and cancelled since the last refresh,
+     * firing one change with the rows removed and added.
+     */
+    public abstract void refresh();
+
+    /**
+     * Stops following the order manager, e.g. when the view is closed.
+     */
+    public void dispose() {
+        orderManager.removeChangeListener(listener);
+    }
+
+    /**
+     * Change listener that schedules one refresh at a time on the FX thread.
+     * It only holds the list weakly, so a closed view that was never disposed
+     * can still be collected; the listener then unregisters itself.
+     */
+    private static final class RefreshLater implements Runnable {
+        private final WeakReference<BaseOrderItems> items;
+        private final OrderManager orderManager;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Constructor for RefreshLater.
+         * @param items the list to refresh
+         */
+        RefreshLater(BaseOrderItems items) {
+            this.items = new WeakReference<>(items);
+            this.orderManager = items.orderManager;
+        }
+
+        /**
+         * Schedules a refresh unless one is already scheduled.
+         */
+        @Override
+        public void run() {
+            if (items.get() == null) {
+                orderManager.removeChangeListener(this);
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    scheduled.set(false);
+                    BaseOrderItems list = items.get();
+                    if (list != null) {
+                        list.refresh();
+                    }
+                });
+            }
+        }
+    }
+}
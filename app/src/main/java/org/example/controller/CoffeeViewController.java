@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
@@ -11,6 +12,8 @@ import javafx.stage.Stage;
 import org.example.model.AddIns;
 import org.example.model.Coffee;
 import org.example.model.CupSize;
+import org.example.model.MenuCatalog;
+import org.example.model.Money;
 import org.example.model.Order;
 
 /**
@@ -21,33 +24,37 @@ import org.example.model.Order;
 public class CoffeeViewController implements BaseOrderController {
 
     @FXML
-    private ComboBox<String> cupSizeComboBox;
+    ComboBox<String> cupSizeComboBox;
 
     @FXML
-    private CheckBox whippedCreamCheckBox;
+    CheckBox whippedCreamCheckBox;
 
     @FXML
-    private CheckBox vanillaCheckBox;
+    CheckBox vanillaCheckBox;
 
     @FXML
-    private CheckBox milkCheckBox;
+    CheckBox milkCheckBox;
 
     @FXML
-    private CheckBox caramelCheckBox;
+    CheckBox caramelCheckBox;
 
     @FXML
-    private CheckBox mochaCheckBox;
+    CheckBox mochaCheckBox;
 
     @FXML
-    private Spinner<Integer> quantitySpinner;
+    Spinner<Integer> quantitySpinner;
 
     @FXML
-    private Label priceLabel;
+    Label priceLabel;
 
     @FXML
-    private Label statusLabel;
+    Label statusLabel;
 
     private Order currentOrder;
+    private CheckBox[] addInBoxes;
+    // The add-in names from the view, before the prices are added
+    private String[] addInNames;
+    private final Runnable reloadListener = () -> Platform.runLater(this::showPrices);
 
     /**
      * Initializes the controller.
@@ -59,6 +66,13 @@ public class CoffeeViewController implements BaseOrderController {
                 "Short", "Tall", "Grande", "Venti"
         ));
 
+        // Remember the add-in names; showPrices() adds the catalog prices
+        addInBoxes = new CheckBox[]{whippedCreamCheckBox, vanillaCheckBox, milkCheckBox, caramelCheckBox, mochaCheckBox};
+        addInNames = new String[addInBoxes.length];
+        for (int i = 0; i < addInBoxes.length; i++) {
+            addInNames[i] = addInBoxes[i].getText();
+        }
+
         // Set up quantity spinner
         SpinnerValueFactory<Integer> valueFactory =
                 new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 100, 1);
@@ -72,6 +86,19 @@ public class CoffeeViewController implements BaseOrderController {
         // Select first item by default
         cupSizeComboBox.getSelectionModel().selectFirst();
 
+        showPrices();
+    }
+
+    /**
+     * Shows the current catalog price next to each add-in and updates the price.
+     */
+    private void showPrices() {
+        MenuCatalog catalog = MenuCatalog.current();
+        AddIns[] addIns = AddIns.values();
+        for (int i = 0; i < addInBoxes.length; i++) {
+            long cents = catalog.addInPriceCents(addIns[i]);
+            addInBoxes[i].setText(addInNames[i] + " (+$" + Money.format(cents) + ")");
+        }
         updatePrice();
     }
 
@@ -79,51 +106,36 @@ public class CoffeeViewController implements BaseOrderController {
      * Updates the price label based on current selections.
      */
     @FXML
-    private void updatePrice() {
+    void updatePrice() {
         String selectedSize = cupSizeComboBox.getValue();
         if (selectedSize == null) return;
 
         int quantity = quantitySpinner.getValue();
-        double basePrice = getCupSizePrice(selectedSize);
-        int addInsCount = 0;
-
-        if (whippedCreamCheckBox.isSelected()) addInsCount++;
-        if (vanillaCheckBox.isSelected()) addInsCount++;
-        if (milkCheckBox.isSelected()) addInsCount++;
-        if (caramelCheckBox.isSelected()) addInsCount++;
-        if (mochaCheckBox.isSelected()) addInsCount++;
-
-        double addInsPrice = addInsCount * 0.25;
-        double totalPrice = quantity * (basePrice + addInsPrice);
+        CupSize cupSize = CupSize.valueOf(selectedSize.toUpperCase());
+        long totalPrice = quantity * MenuCatalog.current().coffeeUnitPriceCents(cupSize, getAddInMask());
 
-        priceLabel.setText(String.format("Price: $%.2f", totalPrice));
+        priceLabel.setText("Price: $" + Money.format(totalPrice));
     }
 
     /**
-     * Gets the price based on cup size.
-     * @param size the cup size
-     * @return the base price
+     * Gets the selected add-ins as a bitmask.
+     * @return the add-in bitmask
      */
-    private double getCupSizePrice(String size) {
-        switch (size) {
-            case "Short":
-                return 2.39;
-            case "Tall":
-                return 2.99;
-            case "Grande":
-                return 3.59;
-            case "Venti":
-                return 4.19;
-            default:
-                return 2.39;
-        }
+    private int getAddInMask() {
+        int mask = 0;
+        if (whippedCreamCheckBox.isSelected()) mask |= AddIns.WHIPPED_CREAM.mask();
+        if (vanillaCheckBox.isSelected()) mask |= AddIns.VANILLA.mask();
+        if (milkCheckBox.isSelected()) mask |= AddIns.MILK.mask();
+        if (caramelCheckBox.isSelected()) mask |= AddIns.CARAMEL.mask();
+        if (mochaCheckBox.isSelected()) mask |= AddIns.MOCHA.mask();
+        return mask;
     }
 
     /**
      * Handles the Add to Order button click.
      */
     @FXML
-    private void onAddToOrder() {
+    void onAddToOrder() {
         try {
             String selectedSize = cupSizeComboBox.getValue();
             int quantity = quantitySpinner.getValue();
@@ -154,7 +166,7 @@ public class CoffeeViewController implements BaseOrderController {
      * Handles the Close button click.
      */
     @FXML
-    private void onClose() {
+    void onClose() {
         Stage stage = (Stage) cupSizeComboBox.getScene().getWindow();
         stage.close();
     }
@@ -178,11 +190,17 @@ public class CoffeeViewController implements BaseOrderController {
     }
 
     /**
-     * Sets the current order.
+     * Sets the current order, or null when the view is closed.
      * @param order the current order
      */
     @Override
     public void setCurrentOrder(Order order) {
         this.currentOrder = order;
+        // Follow price reloads only while the view is open
+        MenuCatalog.removeReloadListener(reloadListener);
+        if (order != null) {
+            MenuCatalog.addReloadListener(reloadListener);
+            showPrices();
+        }
     }
 }
@@ -0,0 +1,369 @@
+package org.example.controller;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.stage.Stage;
+import org.example.model.MenuItem;
+import org.example.model.Money;
+import org.example.model.Order;
+import org.example.model.OrderManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller for the current order view.
+ * Displays the current order details and allows modification.
+ * The view listens to the order (see Order.ItemListener), so items added
+ * from the other windows show up while it is open. Changes are applied
+ * once per pulse, however many arrive: only the affected rows are redrawn,
+ * and the totals labels are set once.
+ * Placing an order does not wait for the order journal on the FX thread
+ * (see BackgroundTasks.awaitDurable()).
+ * @author Aryaman Kumar
+ */
+public class CurrentOrderViewController implements BaseOrderController {
+
+    @FXML
+    Label orderNumberLabel;
+
+    @FXML
+    ListView<String> orderItemsListView;
+
+    @FXML
+    Label subtotalLabel;
+
+    @FXML
+    Label taxLabel;
+
+    @FXML
+    Label totalLabel;
+
+    @FXML
+    Label statusLabel;
+
+    private Order currentOrder;
+    private OrderManager orderManager;
+    private final ItemRows rows = new ItemRows();
+    // Item events not shown yet, in the order they happened
+    private final List<ItemEvent> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private final Order.ItemListener itemListener = new Order.ItemListener() {
+        @Override
+        public void itemAdded(int index, MenuItem item) {
+            queue(new ItemEvent(ItemEvent.ADDED, index, item));
+        }
+
+        @Override
+        public void itemRemoved(int index, MenuItem item) {
+            queue(new ItemEvent(ItemEvent.REMOVED, index, item));
+        }
+
+        @Override
+        public void itemChanged(int index, MenuItem item) {
+            queue(new ItemEvent(ItemEvent.CHANGED, index, item));
+        }
+    };
+
+    /**
+     * A change to one item of the current order.
+     */
+    private static final class ItemEvent {
+        static final int ADDED = 0;
+        static final int REMOVED = 1;
+        static final int CHANGED = 2;
+
+        final int kind;
+        final int index;
+        final MenuItem item;
+
+        /**
+         * Constructor for ItemEvent.
+         * @param kind ADDED, REMOVED or CHANGED
+         * @param index the position of the item
+         * @param item the item
+         */
+        ItemEvent(int kind, int index, MenuItem item) {
+            this.kind = kind;
+            this.index = index;
+            this.item = item;
+        }
+    }
+
+    /**
+     * The row text of every item, changed one row at a time.
+     */
+    private static final class ItemRows extends ObservableListBase<String> {
+        private final List<String> text = new ArrayList<>();
+
+        /**
+         * Gets the text of a row.
+         * @param index the position
+         * @return the text
+         */
+        @Override
+        public String get(int index) {
+            return text.get(index);
+        }
+
+        /**
+         * Gets the number of rows.
+         * @return the size
+         */
+        @Override
+        public int size() {
+            return text.size();
+        }
+
+        /**
+         * Replaces all rows with the items of an order.
+         * @param order the order, or null for none
+         */
+        void reset(Order order) {
+            beginChange();
+            try {
+                if (!text.isEmpty()) {
+                    nextRemove(0, new ArrayList<>(text));
+                    text.clear();
+                }
+                if (order != null) {
+                    for (MenuItem item : order.getMenuItems()) {
+                        text.add(item.toString());
+                    }
+                    nextAdd(0, text.size());
+                }
+            } finally {
+                endChange();
+            }
+        }
+
+        /**
+         * Applies item events as one change.
+         * @param events the events, in the order they happened
+         */
+        void apply(List<ItemEvent> events) {
+            beginChange();
+            try {
+                for (ItemEvent event : events) {
+                    switch (event.kind) {
+                        case ItemEvent.ADDED:
+                            text.add(event.index, event.item.toString());
+                            nextAdd(event.index, event.index + 1);
+                            break;
+                        case ItemEvent.REMOVED:
+                            nextRemove(event.index, text.remove(event.index));
+                            break;
+                        default:
+                            nextSet(event.index, text.set(event.index, event.item.toString()));
+                            break;
+                    }
+                }
+            } finally {
+                endChange();
+            }
+        }
+    }
+
+    /**
+     * Initializes the controller.
+     */
+    @FXML
+    public void initialize() {
+        orderManager = OrderManager.getInstance();
+        orderItemsListView.setItems(rows);
+        // Initialize with empty display
+        updateDisplay();
+    }
+
+    /**
+     * Sets the current order and updates the display.
+     * @param order the current order
+     */
+    @Override
+    public void setCurrentOrder(Order order) {
+        if (currentOrder != null) {
+            currentOrder.removeItemListener(itemListener);
+        }
+        this.currentOrder = order;
+        pending.clear();
+        if (order != null) {
+            order.addItemListener(itemListener);
+        }
+        updateDisplay();
+    }
+
+    /**
+     * Queues an item event, showing the queued events on the next pulse.
+     * @param event the event
+     */
+    private void queue(ItemEvent event) {
+        pending.add(event);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Shows the queued item events: updates their rows, then the totals once.
+     */
+    private void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ItemEvent> events = new ArrayList<>(pending);
+        pending.clear();
+        rows.apply(events);
+        updateTotals();
+    }
+
+    /**
+     * Updates the display with current order information.
+     */
+    private void updateDisplay() {
+        rows.reset(currentOrder);
+        if (currentOrder == null) {
+            orderNumberLabel.setText("No Order");
+            subtotalLabel.setText("$0.00");
+            taxLabel.setText("$0.00");
+            totalLabel.setText("$0.00");
+            return;
+        }
+
+        orderNumberLabel.setText("Current Order #" + currentOrder.getOrderNumber());
+        updateTotals();
+    }
+
+    /**
+     * Shows the totals of the current order; they are kept up to date by
+     * the order, so this does not walk the items.
+     */
+    private void updateTotals() {
+        if (currentOrder == null) {
+            return;
+        }
+        subtotalLabel.setText("$" + Money.format(currentOrder.getSubtotalCents()));
+        taxLabel.setText("$" + Money.format(currentOrder.getSalesTaxCents()));
+        totalLabel.setText("$" + Money.format(currentOrder.getTotalCents()));
+    }
+
+    /**
+     * Handles the Remove Selected Item button click.
+     */
+    @FXML
+    void onRemoveItem() {
+        try {
+            int selectedIndex = orderItemsListView.getSelectionModel().getSelectedIndex();
+            if (selectedIndex < 0) {
+                showError("Please select an item to remove");
+                return;
+            }
+
+            MenuItem removedItem = currentOrder.getMenuItems().get(selectedIndex);
+            currentOrder.removeItem(removedItem);
+            showSuccess("Item removed from order");
+        } catch (Exception e) {
+            showError("Error removing item: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the Clear All Items button click.
+     */
+    @FXML
+    void onClearAll() {
+        try {
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Confirm Clear");
+            alert.setHeaderText("Clear all items from current order?");
+            alert.setContentText("This action cannot be undone.");
+
+            if (alert.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
+                currentOrder.clearItems();
+                showSuccess("All items removed from order");
+            }
+        } catch (Exception e) {
+            showError("Error clearing order: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the Place Order button click.
+     */
+    @FXML
+    void onPlaceOrder() {
+        try {
+            if (currentOrder.getMenuItems().isEmpty()) {
+                showError("Cannot place an empty order");
+                return;
+            }
+
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Confirm Order");
+            alert.setHeaderText("Place this order?");
+            alert.setContentText("Total: $" + Money.format(currentOrder.getTotalCents()));
+
+            if (alert.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
+                // Placing is a memory copy; waiting for the journal to reach the disk is left to a task
+                Order placed = currentOrder;
+                long position = orderManager.placeOrder(placed);
+
+                // Create a new current order
+                Order newOrder = orderManager.createNewOrder();
+                setCurrentOrder(newOrder);
+                showSuccess("Placing order #" + placed.getOrderNumber() + "...");
+
+                Task<Void> saved = BackgroundTasks.awaitDurable(orderManager, position);
+                saved.setOnSucceeded(event -> {
+                    showSuccess("Order #" + placed.getOrderNumber() + " placed successfully!");
+                    Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
+                    successAlert.setTitle("Order Placed");
+                    successAlert.setHeaderText("Order placed successfully!");
+                    successAlert.setContentText("Order #" + placed.getOrderNumber()
+                            + " has been placed.\nNew current order: #" + newOrder.getOrderNumber());
+                    successAlert.show();
+                });
+                saved.setOnFailed(event -> showError("Order #" + placed.getOrderNumber()
+                        + " was placed but could not be saved: " + saved.getException().getMessage()));
+            }
+        } catch (Exception e) {
+            showError("Error placing order: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the Close button click.
+     */
+    @FXML
+    void onClose() {
+        Stage stage = (Stage) orderItemsListView.getScene().getWindow();
+        setCurrentOrder(null);
+        stage.close();
+    }
+
+    /**
+     * Shows a success message.
+     * @param message the message to show
+     */
+    private void showSuccess(String message) {
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: green;");
+    }
+
+    /**
+     * Shows an error message.
+     * @param message the message to show
+     */
+    private void showError(String message) {
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: red;");
+    }
+}
@@ -10,12 +10,15 @@ import javafx.scene.control.SpinnerValueFactory;
 import javafx.stage.Stage;
 import org.example.model.CakeDonut;
 import org.example.model.DonutHole;
+import org.example.model.DonutType;
+import org.example.model.Flavor;
+import org.example.model.MenuCatalog;
 import org.example.model.MenuItem;
+import org.example.model.Money;
 import org.example.model.Order;
 import org.example.model.SeasonalDonut;
 import org.example.model.YeastDonut;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -26,36 +29,22 @@ import java.util.List;
 public class DonutViewController implements BaseOrderController {
 
     @FXML
-    private ComboBox<String> donutTypeComboBox;
+    ComboBox<String> donutTypeComboBox;
 
     @FXML
-    private ListView<String> flavorListView;
+    ListView<String> flavorListView;
 
     @FXML
-    private Spinner<Integer> quantitySpinner;
+    Spinner<Integer> quantitySpinner;
 
     @FXML
-    private Label priceLabel;
+    Label priceLabel;
 
     @FXML
-    private Label statusLabel;
+    Label statusLabel;
 
     private Order currentOrder;
 
-    // Flavor options for each donut type
-    private final List<String> yeastFlavors = Arrays.asList(
-            "Glazed", "Jelly", "Chocolate", "Boston Cream", "Maple", "Strawberry"
-    );
-    private final List<String> cakeFlavors = Arrays.asList(
-            "Vanilla", "Chocolate", "Blueberry"
-    );
-    private final List<String> donutHoleFlavors = Arrays.asList(
-            "Plain", "Cinnamon Sugar", "Powdered"
-    );
-    private final List<String> seasonalFlavors = Arrays.asList(
-            "Spooky", "Pumpkin Spice"
-    );
-
     /**
      * Initializes the controller.
      */
@@ -89,24 +78,15 @@ public class DonutViewController implements BaseOrderController {
      * Handles donut type selection change.
      */
     @FXML
-    private void onDonutTypeChanged() {
+    void onDonutTypeChanged() {
         String selectedType = donutTypeComboBox.getValue();
         if (selectedType == null) return;
 
-        switch (selectedType) {
-            case "Yeast Donut":
-                flavorListView.setItems(FXCollections.observableArrayList(yeastFlavors));
-                break;
-            case "Cake Donut":
-                flavorListView.setItems(FXCollections.observableArrayList(cakeFlavors));
-                break;
-            case "Donut Holes":
-                flavorListView.setItems(FXCollections.observableArrayList(donutHoleFlavors));
-                break;
-            case "Seasonal Donut":
-                flavorListView.setItems(FXCollections.observableArrayList(seasonalFlavors));
-                break;
-        }
+        // Flavor options for each donut type come from the menu catalog
+        List<Flavor> flavors = MenuCatalog.current().getFlavors(getDonutType(selectedType));
+        flavorListView.setItems(FXCollections.observableArrayList(
+                flavors.stream().map(Flavor::getName).toList()
+        ));
 
         flavorListView.getSelectionModel().selectFirst();
         updatePrice();
@@ -120,29 +100,29 @@ public class DonutViewController implements BaseOrderController {
         if (selectedType == null) return;
 
         int quantity = quantitySpinner.getValue();
-        double pricePerDonut = getPricePerDonut(selectedType);
-        double totalPrice = quantity * pricePerDonut;
+        long pricePerDonut = MenuCatalog.current().donutPriceCents(getDonutType(selectedType));
+        long totalPrice = quantity * pricePerDonut;
 
-        priceLabel.setText(String.format("Price: $%.2f", totalPrice));
+        priceLabel.setText("Price: $" + Money.format(totalPrice));
     }
 
     /**
-     * Gets the price per donut based on type.
-     * @param type the donut type
-     * @return the price per donut
+     * Converts the donut type shown in the combo box to the enum.
+     * @param type the donut type display name
+     * @return the DonutType enum
      */
-    private double getPricePerDonut(String type) {
+    private DonutType getDonutType(String type) {
         switch (type) {
             case "Yeast Donut":
-                return 1.99;
+                return DonutType.YEAST;
             case "Cake Donut":
-                return 2.19;
+                return DonutType.CAKE;
             case "Donut Holes":
-                return 0.39;
+                return DonutType.DONUT_HOLE;
             case "Seasonal Donut":
-                return 2.49;
+                return DonutType.SEASONAL;
             default:
-                return 0.0;
+                throw new IllegalArgumentException("Unknown donut type: " + type);
         }
     }
 
@@ -150,7 +130,7 @@ public class DonutViewController implements BaseOrderController {
      * Handles the Add to Order button click.
      */
     @FXML
-    private void onAddToOrder() {
+    void onAddToOrder() {
         try {
             String selectedType = donutTypeComboBox.getValue();
             String selectedFlavor = flavorListView.getSelectionModel().getSelectedItem();
@@ -178,14 +158,14 @@ public class DonutViewController implements BaseOrderController {
      * @return the created MenuItem
      */
     private MenuItem createDonut(String type, String flavor, int quantity) {
-        switch (type) {
-            case "Yeast Donut":
+        switch (getDonutType(type)) {
+            case YEAST:
                 return new YeastDonut(flavor, quantity);
-            case "Cake Donut":
+            case CAKE:
                 return new CakeDonut(flavor, quantity);
-            case "Donut Holes":
+            case DONUT_HOLE:
                 return new DonutHole(flavor, quantity);
-            case "Seasonal Donut":
+            case SEASONAL:
                 return new SeasonalDonut(flavor, quantity);
             default:
                 throw new IllegalArgumentException("Unknown donut type: " + type);
@@ -196,7 +176,7 @@ public class DonutViewController implements BaseOrderController {
      * Handles the Close button click.
      */
     @FXML
-    private void onClose() {
+    void onClose() {
         Stage stage = (Stage) donutTypeComboBox.getScene().getWindow();
         stage.close();
     }
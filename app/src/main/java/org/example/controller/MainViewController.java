@@ -1,10 +1,7 @@
 package org.example.controller;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Label;
-import javafx.stage.Stage;
 import org.example.model.Order;
 import org.example.model.OrderManager;
 
@@ -13,15 +10,23 @@ import java.io.IOException;
 /**
  * Controller for the main view of the application.
  * Handles navigation to different ordering screens and views.
+ * The views are loaded in the background at startup (see ViewCache), so
+ * the buttons open them without parsing FXML.
  * @author Aryaman Kumar
  */
 public class MainViewController {
 
     @FXML
-    private Label statusLabel;
+    Label statusLabel;
+
+    private static final String[] ORDERING_VIEWS = {"/view/DonutView.fxml", "/view/SandwichView.fxml",
+            "/view/CoffeeView.fxml", "/view/CurrentOrderView.fxml"};
+    // Follows the order store from initialize(), so it is built on the FX thread
+    private static final String ALL_ORDERS_VIEW = "/view/AllOrdersView.fxml";
 
     private Order currentOrder;
     private OrderManager orderManager;
+    private final ViewCache views = new ViewCache();
 
     /**
      * Initializes the controller.
@@ -31,13 +36,17 @@ public class MainViewController {
         orderManager = OrderManager.getInstance();
         currentOrder = orderManager.createNewOrder();
         updateStatus("Current Order #" + currentOrder.getOrderNumber());
+        for (String view : ORDERING_VIEWS) {
+            views.preload(view, true);
+        }
+        views.preload(ALL_ORDERS_VIEW, false);
     }
 
     /**
      * Handles the Order Donuts button click.
      */
     @FXML
-    private void onOrderDonuts() {
+    void onOrderDonuts() {
         try {
             openWindow("/view/DonutView.fxml", "Order Donuts");
         } catch (IOException e) {
@@ -49,7 +58,7 @@ public class MainViewController {
      * Handles the Order Sandwich button click.
      */
     @FXML
-    private void onOrderSandwich() {
+    void onOrderSandwich() {
         try {
             openWindow("/view/SandwichView.fxml", "Order Sandwich");
         } catch (IOException e) {
@@ -61,7 +70,7 @@ public class MainViewController {
      * Handles the Order Coffee button click.
      */
     @FXML
-    private void onOrderCoffee() {
+    void onOrderCoffee() {
         try {
             openWindow("/view/CoffeeView.fxml", "Order Coffee");
         } catch (IOException e) {
@@ -73,7 +82,7 @@ public class MainViewController {
      * Handles the View Current Order button click.
      */
     @FXML
-    private void onViewCurrentOrder() {
+    void onViewCurrentOrder() {
         try {
             openWindow("/view/CurrentOrderView.fxml", "Current Order");
         } catch (Exception e) {
@@ -85,9 +94,9 @@ public class MainViewController {
      * Handles the View All Orders button click.
      */
     @FXML
-    private void onViewAllOrders() {
+    void onViewAllOrders() {
         try {
-            openWindow("/view/AllOrdersView.fxml", "All Orders");
+            openWindow(ALL_ORDERS_VIEW, "All Orders");
         } catch (Exception e) {
             showError("Error: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
         }
@@ -100,19 +109,7 @@ public class MainViewController {
      * @throws IOException if the FXML file cannot be loaded
      */
     private void openWindow(String fxmlPath, String title) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-        Scene scene = new Scene(loader.load());
-        Stage stage = new Stage();
-        stage.setTitle(title);
-        stage.setScene(scene);
-
-        // Pass current order to the controller
-        Object controller = loader.getController();
-        if (controller instanceof BaseOrderController) {
-            ((BaseOrderController) controller).setCurrentOrder(currentOrder);
-        }
-
-        stage.show();
+        views.open(fxmlPath, title, currentOrder);
     }
 
     /**
@@ -0,0 +1,77 @@
+package org.example.controller;
+
+import org.example.model.LiveOrderList;
+import org.example.model.OrderManager;
+
+/**
+ * Observable list of the numbers of all placed orders, for list views.
+ * A list view of any number of orders only reads the rows it shows. When
+ * orders are placed or cancelled, the list fires the exact removals and
+ * additions instead of being replaced (see LiveOrderList).
+ * @author Aryaman Kumar
+ */
+public class OrderListItems extends BaseOrderItems {
+    private final LiveOrderList orders;
+
+    /**
+     * Creates a list of the orders placed so far that follows later orders.
+     * @param orderManager the order manager
+     */
+    public OrderListItems(OrderManager orderManager) {
+        super(orderManager);
+        this.orders = orderManager.getLiveOrderList();
+    }
+
+    /**
+     * Gets the number of the order at a position.
+     * @param index the position
+     * @return the order number
+     */
+    @Override
+    public Integer get(int index) {
+        return orders.getOrderNumber(index);
+    }
+
+    /**
+     * Gets the number of orders in the list.
+     * @return the size
+     */
+    @Override
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Gets the total (including tax) of the order at a position.
+     * @param index the position
+     * @return the total in cents
+     */
+    @Override
+    public long getOrderTotalCents(int index) {
+        return orders.getOrderTotalCents(index);
+    }
+
+    /**
+     * Catches up with the orders placed and cancelled since the last refresh,
+     * firing one change with each removal and the additions.
+     */
+    @Override
+    public void refresh() {
+        beginChange();
+        try {
+            orders.advance(new LiveOrderList.ChangeSink() {
+                @Override
+                public void removed(int index, int orderNumber) {
+                    nextRemove(index, orderNumber);
+                }
+
+                @Override
+                public void added(int from, int to) {
+                    nextAdd(from, to);
+                }
+            });
+        } finally {
+            endChange();
+        }
+    }
+}
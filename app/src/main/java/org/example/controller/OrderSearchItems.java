@@ -0,0 +1,85 @@
+package org.example.controller;
+
+import org.example.model.LiveOrderList;
+import org.example.model.OrderManager;
+import org.example.model.OrderQuery;
+import org.example.model.OrderSearchResult;
+
+/**
+ * Observable list of the numbers of the orders that match a search, for
+ * list views. When orders are placed or cancelled the search runs again
+ * and the list fires only the rows that changed, so the selection and
+ * scroll position stay put.
+ * @author Aryaman Kumar
+ */
+public class OrderSearchItems extends BaseOrderItems {
+    private final OrderQuery query;
+    private OrderSearchResult matches;
+
+    /**
+     * Searches the orders and follows the matches of later orders.
+     * @param orderManager the order manager
+     * @param query the query
+     */
+    public OrderSearchItems(OrderManager orderManager, OrderQuery query) {
+        super(orderManager);
+        this.query = query;
+        this.matches = orderManager.searchOrders(query);
+    }
+
+    /**
+     * Gets the number of the order at a position.
+     * @param index the position
+     * @return the order number
+     */
+    @Override
+    public Integer get(int index) {
+        return matches.getOrderNumber(index);
+    }
+
+    /**
+     * Gets the number of matching orders.
+     * @return the size
+     */
+    @Override
+    public int size() {
+        return matches.size();
+    }
+
+    /**
+     * Gets the total (including tax) of the order at a position.
+     * @param index the position
+     * @return the total in cents
+     */
+    @Override
+    public long getOrderTotalCents(int index) {
+        return matches.getOrderTotalCents(index);
+    }
+
+    /**
+     * Runs the search again, firing one change with the rows that left and
+     * joined the matches.
+     */
+    @Override
+    public void refresh() {
+        OrderSearchResult before = matches;
+        OrderSearchResult after = getOrderManager().searchOrders(query);
+        beginChange();
+        try {
+            matches = after;
+            before.changesTo(after, new LiveOrderList.ChangeSink() {
+                @Override
+                public void removed(int index, int orderNumber) {
+                    nextRemove(index, orderNumber);
+                }
+
+                @Override
+                public void added(int from, int to) {
+                    nextAdd(from, to);
+                }
+            });
+        } finally {
+            endChange();
+        }
+    }
+}
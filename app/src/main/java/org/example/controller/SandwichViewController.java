@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
@@ -10,6 +11,8 @@ import javafx.scene.control.SpinnerValueFactory;
 import javafx.stage.Stage;
 import org.example.model.AddOns;
 import org.example.model.Bread;
+import org.example.model.MenuCatalog;
+import org.example.model.Money;
 import org.example.model.Order;
 import org.example.model.Protein;
 import org.example.model.Sandwich;
@@ -22,33 +25,37 @@ import org.example.model.Sandwich;
 public class SandwichViewController implements BaseOrderController {
 
     @FXML
-    private ComboBox<String> proteinComboBox;
+    ComboBox<String> proteinComboBox;
 
     @FXML
-    private ComboBox<String> breadComboBox;
+    ComboBox<String> breadComboBox;
 
     @FXML
-    private CheckBox cheeseCheckBox;
+    CheckBox cheeseCheckBox;
 
     @FXML
-    private CheckBox lettuceCheckBox;
+    CheckBox lettuceCheckBox;
 
     @FXML
-    private CheckBox tomatoesCheckBox;
+    CheckBox tomatoesCheckBox;
 
     @FXML
-    private CheckBox onionsCheckBox;
+    CheckBox onionsCheckBox;
 
     @FXML
-    private Spinner<Integer> quantitySpinner;
+    Spinner<Integer> quantitySpinner;
 
     @FXML
-    private Label priceLabel;
+    Label priceLabel;
 
     @FXML
-    private Label statusLabel;
+    Label statusLabel;
 
     private Order currentOrder;
+    private CheckBox[] addOnBoxes;
+    // The add-on names from the view, before the prices are added
+    private String[] addOnNames;
+    private final Runnable reloadListener = () -> Platform.runLater(this::showPrices);
 
     /**
      * Initializes the controller.
@@ -65,6 +72,13 @@ public class SandwichViewController implements BaseOrderController {
                 "Bagel", "Wheat Bread", "Sourdough"
         ));
 
+        // Remember the add-on names; showPrices() adds the catalog prices
+        addOnBoxes = new CheckBox[]{cheeseCheckBox, lettuceCheckBox, tomatoesCheckBox, onionsCheckBox};
+        addOnNames = new String[addOnBoxes.length];
+        for (int i = 0; i < addOnBoxes.length; i++) {
+            addOnNames[i] = addOnBoxes[i].getText();
+        }
+
         // Set up quantity spinner
         SpinnerValueFactory<Integer> valueFactory =
                 new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 100, 1);
@@ -79,6 +93,19 @@ public class SandwichViewController implements BaseOrderController {
         proteinComboBox.getSelectionModel().selectFirst();
         breadComboBox.getSelectionModel().selectFirst();
 
+        showPrices();
+    }
+
+    /**
+     * Shows the current catalog price next to each add-on and updates the price.
+     */
+    private void showPrices() {
+        MenuCatalog catalog = MenuCatalog.current();
+        AddOns[] addOns = AddOns.values();
+        for (int i = 0; i < addOnBoxes.length; i++) {
+            long cents = catalog.addOnPriceCents(addOns[i]);
+            addOnBoxes[i].setText(addOnNames[i] + " (+$" + Money.format(cents) + ")");
+        }
         updatePrice();
     }
 
@@ -86,46 +113,35 @@ public class SandwichViewController implements BaseOrderController {
      * Updates the price label based on current selections.
      */
     @FXML
-    private void updatePrice() {
+    void updatePrice() {
         String selectedProtein = proteinComboBox.getValue();
         if (selectedProtein == null) return;
 
         int quantity = quantitySpinner.getValue();
-        double basePrice = getProteinPrice(selectedProtein);
-        double addOnsPrice = 0.0;
-
-        if (cheeseCheckBox.isSelected()) addOnsPrice += 1.00;
-        if (lettuceCheckBox.isSelected()) addOnsPrice += 0.30;
-        if (tomatoesCheckBox.isSelected()) addOnsPrice += 0.30;
-        if (onionsCheckBox.isSelected()) addOnsPrice += 0.30;
+        Protein protein = Protein.valueOf(selectedProtein.toUpperCase());
+        long totalPrice = quantity * MenuCatalog.current().sandwichUnitPriceCents(protein, getAddOnMask());
 
-        double totalPrice = quantity * (basePrice + addOnsPrice);
-        priceLabel.setText(String.format("Price: $%.2f", totalPrice));
+        priceLabel.setText("Price: $" + Money.format(totalPrice));
     }
 
     /**
-     * Gets the price based on protein type.
-     * @param protein the protein type
-     * @return the base price
+     * Gets the selected add-ons as a bitmask.
+     * @return the add-on bitmask
      */
-    private double getProteinPrice(String protein) {
-        switch (protein) {
-            case "Beef":
-                return 12.99;
-            case "Chicken":
-                return 10.99;
-            case "Salmon":
-                return 14.99;
-            default:
-                return 0.0;
-        }
+    private int getAddOnMask() {
+        int mask = 0;
+        if (cheeseCheckBox.isSelected()) mask |= AddOns.CHEESE.mask();
+        if (lettuceCheckBox.isSelected()) mask |= AddOns.LETTUCE.mask();
+        if (tomatoesCheckBox.isSelected()) mask |= AddOns.TOMATOES.mask();
+        if (onionsCheckBox.isSelected()) mask |= AddOns.ONIONS.mask();
+        return mask;
     }
 
     /**
      * Handles the Add to Order button click.
      */
     @FXML
-    private void onAddToOrder() {
+    void onAddToOrder() {
         try {
             String selectedProtein = proteinComboBox.getValue();
             String selectedBread = breadComboBox.getValue();
@@ -176,7 +192,7 @@ public class SandwichViewController implements BaseOrderController {
      * Handles the Close button click.
      */
     @FXML
-    private void onClose() {
+    void onClose() {
         Stage stage = (Stage) proteinComboBox.getScene().getWindow();
         stage.close();
     }
@@ -200,11 +216,17 @@ public class SandwichViewController implements BaseOrderController {
     }
 
     /**
-     * Sets the current order.
+     * Sets the current order, or null when the view is closed.
      * @param order the current order
      */
     @Override
     public void setCurrentOrder(Order order) {
         this.currentOrder = order;
+        // Follow price reloads only while the view is open
+        MenuCatalog.removeReloadListener(reloadListener);
+        if (order != null) {
+            MenuCatalog.addReloadListener(reloadListener);
+            showPrices();
+        }
     }
 }
@@ -0,0 +1,158 @@
+package org.example.controller;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.example.model.Order;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps one window of each view loaded ahead of time, so opening a view
+ * only binds it to the current order and shows it.
+ * Views are built (see ViewLoader) and their controllers initialized on a
+ * background thread (see BackgroundTasks); nodes may be built off the FX thread until they
+ * are shown. The scene and stage are then created on the FX thread while
+ * it is idle. Opening a view takes the spare window and starts loading the
+ * next one, so every window opens as fresh as before, and a view that is
+ * not ready yet is loaded on the spot like it used to be.
+ * <p>
+ * Views whose controllers start following shared state while they are
+ * initialized, like the all orders view, are instead loaded on the FX
+ * thread in a later event, so startup is not held up and the state is
+ * only touched from one thread.
+ * <p>
+ * Use it from the FX thread only. The time from the click to the window
+ * showing is logged at DEBUG level.
+ * @author Aryaman Kumar
+ */
+final class ViewCache {
+    private static final System.Logger LOG = System.getLogger(ViewCache.class.getName());
+
+    /**
+     * A loaded view in its own window.
+     */
+    private static final class View {
+        final Parent root;
+        final Object controller;
+        Stage stage;
+
+        /**
+         * Constructor for View.
+         * @param root the root node
+         * @param controller the controller
+         */
+        View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+
+    // FXML path -> the spare view, loaded and not shown yet
+    private final Map<String, View> spares = new HashMap<>();
+    private final Map<String, Task<View>> loading = new HashMap<>();
+    private final Map<String, Boolean> onFxThread = new HashMap<>();
+
+    /**
+     * Constructor for ViewCache.
+     */
+    ViewCache() {
+    }
+
+    /**
+     * Starts loading a spare view, unless one is ready or already loading.
+     * The same view is loaded the same way each time.
+     * @param fxmlPath the path to the FXML file
+     * @param background true to load it on a background thread, false to
+     *                   load it on the FX thread after the current event
+     */
+    void preload(String fxmlPath, boolean background) {
+        onFxThread.put(fxmlPath, !background);
+        preload(fxmlPath);
+    }
+
+    /**
+     * Starts loading a spare view the way it was first preloaded, unless
+     * one is ready or already loading.
+     * @param fxmlPath the path to the FXML file
+     */
+    private void preload(String fxmlPath) {
+        if (spares.containsKey(fxmlPath) || loading.containsKey(fxmlPath)) {
+            return;
+        }
+        Task<View> task = new Task<>() {
+            @Override
+            protected View call() throws IOException {
+                return load(fxmlPath);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            loading.remove(fxmlPath);
+            View view = task.getValue();
+            // Creating the window is cheap, but still better done before the click
+            view.stage = new Stage();
+            view.stage.setScene(new Scene(view.root));
+            spares.put(fxmlPath, view);
+        });
+        task.setOnFailed(event -> {
+            loading.remove(fxmlPath);
+            LOG.log(System.Logger.Level.WARNING, "Could not preload " + fxmlPath, task.getException());
+        });
+        loading.put(fxmlPath, task);
+        if (onFxThread.getOrDefault(fxmlPath, false)) {
+            Platform.runLater(task);
+        } else {
+            BackgroundTasks.start(task);
+        }
+    }
+
+    /**
+     * Opens a view in a new window bound to an order, and starts loading
+     * the next one.
+     * @param fxmlPath the path to the FXML file
+     * @param title the window title
+     * @param order the current order
+     * @throws IOException if the view was not preloaded and its FXML file cannot be loaded
+     */
+    void open(String fxmlPath, String title, Order order) throws IOException {
+        long start = System.nanoTime();
+        View view = spares.remove(fxmlPath);
+        boolean preloaded = view != null;
+        if (view == null) {
+            view = load(fxmlPath);
+            view.stage = new Stage();
+            view.stage.setScene(new Scene(view.root));
+        }
+        Stage stage = view.stage;
+        stage.setTitle(title);
+
+        // Pass current order to the controller
+        if (view.controller instanceof BaseOrderController) {
+            BaseOrderController orderController = (BaseOrderController) view.controller;
+            orderController.setCurrentOrder(order);
+            // Lets views that listen to the order stop when they are closed
+            stage.setOnHidden(event -> orderController.setCurrentOrder(null));
+        }
+
+        stage.show();
+        long micros = (System.nanoTime() - start) / 1000;
+        LOG.log(System.Logger.Level.DEBUG, () -> String.format("Opened %s in %,d us (%s)",
+                fxmlPath, micros, preloaded ? "preloaded" : "loaded on click"));
+        preload(fxmlPath);
+    }
+
+    /**
+     * Builds a view and initializes its controller.
+     * @param fxmlPath the path to the FXML file
+     * @return the view, without a window yet
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    private static View load(String fxmlPath) throws IOException {
+        ViewLoader.Loaded loaded = ViewLoader.load(fxmlPath);
+        return new View(loaded.getRoot(), loaded.getController());
+    }
+}
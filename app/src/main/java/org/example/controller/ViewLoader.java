@@ -0,0 +1,156 @@
+package org.example.controller;
+
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.LoadException;
+import javafx.scene.Parent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the FXML views, using the classes compiled from them at build time
+ * when they are there (see org.example.fxml.FxmlCompiler in the fxml-compiler module).
+ * A compiled view builds its nodes with plain constructor and setter calls
+ * and sets the controller fields directly, which skips parsing the XML and
+ * the reflection FXMLLoader does for every element.
+ * <p>
+ * A view is loaded with FXMLLoader instead if it was not compiled, if its
+ * FXML file changed since the build (it is compared by hash), or if the
+ * system property rudonuts.fxml.runtime is true. Safe to use from any
+ * thread.
+ * @author Aryaman Kumar
+ */
+public final class ViewLoader {
+    private static final System.Logger LOG = System.getLogger(ViewLoader.class.getName());
+    private static final String RUNTIME_PROPERTY = "rudonuts.fxml.runtime";
+
+    /**
+     * A view compiled from an FXML file. Each instance builds the view once.
+     * Implementations also have a static int SOURCE_HASH, the
+     * Arrays.hashCode() of the FXML file they were compiled from.
+     */
+    public interface Compiled {
+        /**
+         * Builds the scene graph, injects it into the controller and
+         * initializes the controller.
+         * @return the root node
+         */
+        Parent build();
+
+        /**
+         * Gets the controller of the view.
+         * @return the controller
+         */
+        Object getController();
+    }
+
+    /**
+     * A loaded view.
+     */
+    public static final class Loaded {
+        private final Parent root;
+        private final Object controller;
+
+        /**
+         * Constructor for Loaded.
+         * @param root the root node
+         * @param controller the controller
+         */
+        private Loaded(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * Gets the root node of the view.
+         * @return the root node
+         */
+        public Parent getRoot() {
+            return root;
+        }
+
+        /**
+         * Gets the controller of the view.
+         * @param <T> the controller type
+         * @return the controller
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T getController() {
+            return (T) controller;
+        }
+    }
+
+    // FXML path -> constructor of the compiled view, empty if it is loaded at runtime
+    private static final Map<String, Optional<Constructor<? extends Compiled>>> COMPILED = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for ViewLoader, not used.
+     */
+    private ViewLoader() {
+    }
+
+    /**
+     * Loads a view and initializes its controller.
+     * @param fxmlPath the path to the FXML file, e.g. /view/MainView.fxml
+     * @return the view
+     * @throws IOException if the view cannot be loaded
+     */
+    public static Loaded load(String fxmlPath) throws IOException {
+        Optional<Constructor<? extends Compiled>> compiled = COMPILED.computeIfAbsent(fxmlPath, ViewLoader::find);
+        if (compiled.isPresent()) {
+            Compiled view;
+            try {
+                view = compiled.get().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new LoadException("Cannot create the compiled view of " + fxmlPath, e);
+            }
+            try {
+                Parent root = view.build();
+                return new Loaded(root, view.getController());
+            } catch (RuntimeException e) {
+                throw new LoadException("Cannot build " + fxmlPath, e);
+            }
+        }
+        FXMLLoader loader = new FXMLLoader(ViewLoader.class.getResource(fxmlPath));
+        Parent root = loader.load();
+        return new Loaded(root, loader.getController());
+    }
+
+    /**
+     * Finds the compiled view of an FXML file, if it is there and up to date.
+     * @param fxmlPath the path to the FXML file
+     * @return its constructor, or empty to load the view at runtime
+     */
+    private static Optional<Constructor<? extends Compiled>> find(String fxmlPath) {
+        if (Boolean.getBoolean(RUNTIME_PROPERTY)) {
+            return Optional.empty();
+        }
+        String fileName = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1);
+        String className = ViewLoader.class.getPackageName() + "."
+                + fileName.substring(0, fileName.length() - ".fxml".length()) + "Fxml";
+        try {
+            Constructor<? extends Compiled> constructor =
+                    Class.forName(className).asSubclass(Compiled.class).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            int hash;
+            try (InputStream in = ViewLoader.class.getResourceAsStream(fxmlPath)) {
+                hash = in == null ? 0 : Arrays.hashCode(in.readAllBytes());
+            }
+            if (hash != constructor.getDeclaringClass().getDeclaredField("SOURCE_HASH").getInt(null)) {
+                LOG.log(System.Logger.Level.WARNING, fxmlPath + " changed since it was compiled; loading it at runtime");
+                return Optional.empty();
+            }
+            return Optional.of(constructor);
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | IOException | ClassCastException e) {
+            LOG.log(System.Logger.Level.WARNING, "Cannot use the compiled view of " + fxmlPath, e);
+            return Optional.empty();
+        }
+    }
+}
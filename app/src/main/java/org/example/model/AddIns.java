@@ -0,0 +1,21 @@
+package org.example.model;
+
+/**
+ * Enum representing the add-ins available for coffee.
+ * @author Aryaman Kumar
+ */
+public enum AddIns {
+    WHIPPED_CREAM,
+    VANILLA,
+    MILK,
+    CARAMEL,
+    MOCHA;
+
+    /**
+     * Gets the bit used for this add-in in an add-in bitmask.
+     * @return the bit mask for this add-in
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
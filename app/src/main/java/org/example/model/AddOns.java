@@ -0,0 +1,20 @@
+package org.example.model;
+
+/**
+ * Enum representing the add-ons available for sandwiches.
+ * @author Aryaman Kumar
+ */
+public enum AddOns {
+    CHEESE,
+    LETTUCE,
+    TOMATOES,
+    ONIONS;
+
+    /**
+     * Gets the bit used for this add-on in an add-on bitmask.
+     * @return the bit mask for this add-on
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.model;
+
+/**
+ * Class representing a cake donut menu item.
+ * Cake donuts cost $2.19 each by default (see MenuCatalog).
+ * @author Aryaman Kumar
+ */
+public class CakeDonut extends MenuItem {
+    private int flavorId;
+
+    /**
+     * Constructor for CakeDonut.
+     * @param flavor the flavor of the cake donut
+     * @param quantity the quantity of donuts
+     */
+    public CakeDonut(String flavor, int quantity) {
+        super(quantity);
+        this.flavorId = Flavor.of(flavor).getId();
+    }
+
+    /**
+     * Gets the flavor of this donut.
+     * @return the flavor
+     */
+    public String getFlavor() {
+        return Flavor.byId(flavorId).getName();
+    }
+
+    /**
+     * Gets the id of the interned flavor of this donut.
+     * @return the flavor id
+     */
+    public int getFlavorId() {
+        return flavorId;
+    }
+
+    /**
+     * Sets the flavor of this donut.
+     * @param flavor the flavor to set
+     */
+    public void setFlavor(String flavor) {
+        this.flavorId = Flavor.of(flavor).getId();
+        changed();
+    }
+
+    /**
+     * Gets the kind of this menu item.
+     * @return ItemType.CAKE_DONUT
+     */
+    @Override
+    public ItemType getItemType() {
+        return ItemType.CAKE_DONUT;
+    }
+
+    /**
+     * Gets the variant of this item, which is its flavor id.
+     * @return the flavor id
+     */
+    @Override
+    public int getVariant() {
+        return flavorId;
+    }
+
+    /**
+     * Calculates the price of this cake donut order.
+     * @return the total price in cents (quantity * price per donut)
+     */
+    @Override
+    protected long computePriceCents() {
+        return quantity * MenuCatalog.current().donutPriceCents(DonutType.CAKE);
+    }
+
+    /**
+     * Gets the name of this cake donut with its flavor.
+     * @return the label, e.g. "Cake Donut (Glazed)"
+     */
+    @Override
+    protected String label() {
+        return "Cake Donut (" + getFlavor() + ")";
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.model;
+
+import java.util.EnumSet;
+
+/**
+ * Class representing a coffee menu item.
+ * Coffee has different cup sizes (by default Short $2.39, Tall $2.99, Grande $3.59,
+ * Venti $4.19) and optional add-ins ($0.25 each).
+ * Add-ins are stored as a bitmask and the unit price is read from the
+ * MenuCatalog table for every cup size and add-in combination.
+ * @author Aryaman Kumar
+ */
+public class Coffee extends MenuItem {
+    private static final AddIns[] ADD_INS = AddIns.values();
+    private static final String[] SIZE_NAMES = new String[CupSize.values().length];
+    private static final String[] ADDIN_NAMES = new String[ADD_INS.length];
+
+    static {
+        for (CupSize cupSize : CupSize.values()) {
+            String name = cupSize.toString();
+            SIZE_NAMES[cupSize.ordinal()] = name.charAt(0) + name.substring(1).toLowerCase() + " Coffee";
+        }
+        for (AddIns addIn : ADD_INS) {
+            ADDIN_NAMES[addIn.ordinal()] = addIn.toString().replace("_", " ").toLowerCase();
+        }
+    }
+
+    private CupSize size;
+    private int addInMask;
+
+    /**
+     * Constructor for Coffee.
+     * @param size the cup size
+     * @param quantity the quantity of coffees
+     */
+    public Coffee(CupSize size, int quantity) {
+        super(quantity);
+        this.size = size;
+    }
+
+    /**
+     * Gets the cup size.
+     * @return the cup size
+     */
+    public CupSize getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the cup size.
+     * @param size the cup size to set
+     */
+    public void setSize(CupSize size) {
+        this.size = size;
+        changed();
+    }
+
+    /**
+     * Gets the add-ins of this coffee.
+     * @return a copy of the selected add-ins
+     */
+    public EnumSet<AddIns> getAddIns() {
+        EnumSet<AddIns> result = EnumSet.noneOf(AddIns.class);
+        for (AddIns addIn : ADD_INS) {
+            if ((addInMask & addIn.mask()) != 0) {
+                result.add(addIn);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the add-ins of this coffee as a bitmask (see AddIns.mask()).
+     * @return the add-in bitmask
+     */
+    public int getAddInMask() {
+        return addInMask;
+    }
+
+    /**
+     * Adds an add-in to the coffee.
+     * @param addIn the add-in to add
+     */
+    public void addAddIn(AddIns addIn) {
+        if ((addInMask & addIn.mask()) == 0) {
+            addInMask |= addIn.mask();
+            changed();
+        }
+    }
+
+    /**
+     * Removes an add-in from the coffee.
+     * @param addIn the add-in to remove
+     */
+    public void removeAddIn(AddIns addIn) {
+        if ((addInMask & addIn.mask()) != 0) {
+            addInMask &= ~addIn.mask();
+            changed();
+        }
+    }
+
+    /**
+     * Gets the kind of this menu item.
+     * @return ItemType.COFFEE
+     */
+    @Override
+    public ItemType getItemType() {
+        return ItemType.COFFEE;
+    }
+
+    /**
+     * Gets the variant of this item, which is its cup size ordinal.
+     * @return the cup size ordinal
+     */
+    @Override
+    public int getVariant() {
+        return size.ordinal();
+    }
+
+    /**
+     * Gets the add-in bitmask of this coffee.
+     * @return the add-in bitmask
+     */
+    @Override
+    public int getOptionMask() {
+        return addInMask;
+    }
+
+    /**
+     * Calculates the price of this coffee order.
+     * @return the total price in cents including quantity, size, and add-ins
+     */
+    @Override
+    protected long computePriceCents() {
+        return quantity * MenuCatalog.current().coffeeUnitPriceCents(size, addInMask);
+    }
+
+    /**
+     * Gets the name of this coffee with its options.
+     * @return the label, e.g. "Tall Coffee with milk"
+     */
+    @Override
+    protected String label() {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(SIZE_NAMES[size.ordinal()]);
+
+        if (addInMask != 0) {
+            sb.append(" with ");
+            boolean first = true;
+            for (AddIns addIn : ADD_INS) {
+                if ((addInMask & addIn.mask()) == 0) {
+                    continue;
+                }
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(ADDIN_NAMES[addIn.ordinal()]);
+                first = false;
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV export format for spreadsheets and analytics: one row per line item,
+ * with the order totals repeated on each row. Amounts are in dollars with
+ * two decimals and times are ISO-8601 UTC timestamps. Incremental exports
+ * mark cancelled orders with a row whose item type is CANCELLED.
+ * @author Aryaman Kumar
+ */
+public final class CsvExportFormat implements ExportFormat {
+    private static final byte[] HEADER =
+            bytes("order_number,placed_at,item_type,item,quantity,price,subtotal,sales_tax,total\n");
+    private static final byte[] CANCELLED = bytes(",,CANCELLED,,,,,,\n");
+    private static final byte[][] TYPE_NAMES = new byte[ItemType.values().length][];
+
+    static {
+        for (ItemType type : ItemType.values()) {
+            TYPE_NAMES[type.ordinal()] = bytes(type.name());
+        }
+    }
+
+    /**
+     * Gets the name of this format.
+     * @return "csv"
+     */
+    @Override
+    public String getName() {
+        return "csv";
+    }
+
+    /**
+     * Gets the file extension of this format.
+     * @return "csv"
+     */
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    /**
+     * Quotes a label, since labels with several options contain commas.
+     * @param label the label
+     * @return the quoted label
+     */
+    @Override
+    public byte[] encodeLabel(String label) {
+        return bytes('"' + label.replace("\"", "\"\"") + '"');
+    }
+
+    /**
+     * Renders the column names.
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeHeader(ExportBuffer out) {
+        out.put(HEADER);
+    }
+
+    /**
+     * Renders one row per line item of an order.
+     * @param order the order
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeOrder(ExportedOrder order, ExportBuffer out) {
+        for (int line = 0; line < order.getLineCount(); line++) {
+            out.putLong(order.getOrderNumber()).put(',');
+            out.putTimestamp(order.getPlacedAtMillis()).put(',');
+            out.put(TYPE_NAMES[order.getItemType(line).ordinal()]).put(',');
+            out.put(order.getEncodedLabel(line)).put(',');
+            out.putLong(order.getQuantity(line)).put(',');
+            out.putCents(order.getPriceCents(line)).put(',');
+            out.putCents(order.getSubtotalCents()).put(',');
+            out.putCents(order.getSalesTaxCents()).put(',');
+            out.putCents(order.getTotalCents()).put('\n');
+        }
+    }
+
+    /**
+     * Renders a row with item type CANCELLED and no other values.
+     * @param orderNumber the cancelled order number
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeCancellation(int orderNumber, ExportBuffer out) {
+        out.putLong(orderNumber).put(CANCELLED);
+    }
+
+    /**
+     * CSV files have no footer.
+     * @param orderCount the number of orders exported
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeFooter(int orderCount, ExportBuffer out) {
+    }
+
+    /**
+     * Encodes text as UTF-8.
+     * @param text the text
+     * @return the encoded bytes
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
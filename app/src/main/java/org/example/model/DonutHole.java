@@ -0,0 +1,81 @@
+package org.example.model;
+
+/**
+ * Class representing a donut hole menu item.
+ * Donut holes cost $0.39 each by default (see MenuCatalog).
+ * @author Aryaman Kumar
+ */
+public class DonutHole extends MenuItem {
+    private int flavorId;
+
+    /**
+     * Constructor for DonutHole.
+     * @param flavor the flavor of the donut hole
+     * @param quantity the quantity of donut holes
+     */
+    public DonutHole(String flavor, int quantity) {
+        super(quantity);
+        this.flavorId = Flavor.of(flavor).getId();
+    }
+
+    /**
+     * Gets the flavor of this donut hole.
+     * @return the flavor
+     */
+    public String getFlavor() {
+        return Flavor.byId(flavorId).getName();
+    }
+
+    /**
+     * Gets the id of the interned flavor of this donut hole.
+     * @return the flavor id
+     */
+    public int getFlavorId() {
+        return flavorId;
+    }
+
+    /**
+     * Sets the flavor of this donut hole.
+     * @param flavor the flavor to set
+     */
+    public void setFlavor(String flavor) {
+        this.flavorId = Flavor.of(flavor).getId();
+        changed();
+    }
+
+    /**
+     * Gets the kind of this menu item.
+     * @return ItemType.DONUT_HOLE
+     */
+    @Override
+    public ItemType getItemType() {
+        return ItemType.DONUT_HOLE;
+    }
+
+    /**
+     * Gets the variant of this item, which is its flavor id.
+     * @return the flavor id
+     */
+    @Override
+    public int getVariant() {
+        return flavorId;
+    }
+
+    /**
+     * Calculates the price of this donut hole order.
+     * @return the total price in cents (quantity * price per donut)
+     */
+    @Override
+    protected long computePriceCents() {
+        return quantity * MenuCatalog.current().donutPriceCents(DonutType.DONUT_HOLE);
+    }
+
+    /**
+     * Gets the name of this donut hole with its flavor.
+     * @return the label, e.g. "Donut Hole (Glazed)"
+     */
+    @Override
+    protected String label() {
+        return "Donut Hole (" + getFlavor() + ")";
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.model;
+
+import java.util.Locale;
+
+/**
+ * End-of-day sales breakdown over the orders placed in a time range:
+ * revenue, tax, average ticket, items per order and the mix of item types.
+ * Built by OrderReporter in one parallel pass over the order store; each
+ * part of the pass fills an Accumulator, and the accumulators are merged.
+ * Cancelled orders are left out. Tax is summed per order, rounded the same
+ * way as on receipts.
+ * @author Aryaman Kumar
+ */
+public final class EndOfDayReport {
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+
+    /**
+     * Running totals for part of the orders. Accumulators of disjoint sets of
+     * orders merge into the totals of their union, in any order.
+     */
+    static final class Accumulator {
+        long orders;
+        long lines;
+        long items;
+        long subtotal;
+        long tax;
+        final long[] typeQuantity = new long[ITEM_TYPES.length];
+        final long[] typeRevenue = new long[ITEM_TYPES.length];
+
+        /**
+         * Adds one stored order.
+         * @param part the columns holding the order (see OrderStore.Columns.segment())
+         * @param local the slot of the order minus part.base
+         */
+        void add(OrderStore.Columns part, int local) {
+            long orderSubtotal = part.subtotals[local];
+            orders++;
+            subtotal += orderSubtotal;
+            tax += Order.salesTaxFor(orderSubtotal);
+            int end = part.firstLines[local + 1];
+            for (int line = part.firstLines[local]; line < end; line++) {
+                int quantity = part.lineQuantities[line];
+                items += quantity;
+                typeQuantity[part.lineTypes[line]] += quantity;
+                typeRevenue[part.lineTypes[line]] += part.linePrices[line];
+            }
+            lines += end - part.firstLines[local];
+        }
+
+        /**
+         * Adds the totals of another accumulator to these.
+         * @param other an accumulator of other orders
+         * @return this accumulator
+         */
+        Accumulator merge(Accumulator other) {
+            orders += other.orders;
+            lines += other.lines;
+            items += other.items;
+            subtotal += other.subtotal;
+            tax += other.tax;
+            for (int i = 0; i < typeQuantity.length; i++) {
+                typeQuantity[i] += other.typeQuantity[i];
+                typeRevenue[i] += other.typeRevenue[i];
+            }
+            return this;
+        }
+    }
+
+    private final String title;
+    private final long orderCount;
+    private final long lineCount;
+    private final long itemCount;
+    private final long subtotalCents;
+    private final long salesTaxCents;
+    private final long[] typeQuantity;
+    private final long[] typeRevenue;
+
+    /**
+     * Creates a report from merged totals.
+     * @param title what the report covers, e.g. the date
+     * @param totals the totals of all orders in the report
+     */
+    EndOfDayReport(String title, Accumulator totals) {
+        this.title = title;
+        this.orderCount = totals.orders;
+        this.lineCount = totals.lines;
+        this.itemCount = totals.items;
+        this.subtotalCents = totals.subtotal;
+        this.salesTaxCents = totals.tax;
+        this.typeQuantity = totals.typeQuantity.clone();
+        this.typeRevenue = totals.typeRevenue.clone();
+    }
+
+    /**
+     * Gets what the report covers.
+     * @return the title, e.g. the date
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the number of orders.
+     * @return the order count
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Gets the number of line items.
+     * @return the line count
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Gets the number of items sold, counting the quantity of each line.
+     * @return the item count
+     */
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Gets the revenue before tax.
+     * @return the subtotal of all orders in cents
+     */
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    /**
+     * Gets the sales tax collected.
+     * @return the tax of all orders in cents
+     */
+    public long getSalesTaxCents() {
+        return salesTaxCents;
+    }
+
+    /**
+     * Gets the revenue including tax.
+     * @return the total of all orders in cents
+     */
+    public long getTotalCents() {
+        return subtotalCents + salesTaxCents;
+    }
+
+    /**
+     * Gets the average order total including tax.
+     * @return the average ticket in cents, rounded half up, or 0 without orders
+     */
+    public long getAverageTicketCents() {
+        return orderCount == 0 ? 0 : (getTotalCents() * 2 + orderCount) / (orderCount * 2);
+    }
+
+    /**
+     * Gets the average number of items per order.
+     * @return the items per order, or 0 without orders
+     */
+    public double getItemsPerOrder() {
+        return orderCount == 0 ? 0 : (double) itemCount / orderCount;
+    }
+
+    /**
+     * Gets the number of items of one type sold.
+     * @param type the item type
+     * @return the item count
+     */
+    public long getQuantity(ItemType type) {
+        return typeQuantity[type.ordinal()];
+    }
+
+    /**
+     * Gets the revenue before tax of one item type.
+     * @param type the item type
+     * @return the revenue in cents
+     */
+    public long getRevenueCents(ItemType type) {
+        return typeRevenue[type.ordinal()];
+    }
+
+    /**
+     * Returns the report as text, e.g. for the all orders view.
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("End of Day Report - ").append(title).append('\n');
+        sb.append("=".repeat(40)).append("\n\n");
+        sb.append(String.format("Orders: %,d%n", orderCount));
+        sb.append(String.format(Locale.ROOT, "Items sold: %,d (%.2f per order)%n", itemCount, getItemsPerOrder()));
+        sb.append("Average ticket: $").append(Money.format(getAverageTicketCents())).append("\n\n");
+        sb.append("Sales by category:\n");
+        for (ItemType type : ITEM_TYPES) {
+            long revenue = typeRevenue[type.ordinal()];
+            double share = subtotalCents == 0 ? 0 : 100.0 * revenue / subtotalCents;
+            sb.append(String.format(Locale.ROOT, "  %-15s %,8d items  $%10s  %5.1f%%%n",
+                    categoryName(type), typeQuantity[type.ordinal()], Money.format(revenue), share));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the display name of an item type, e.g. "Yeast Donut".
+     * @param type the item type
+     * @return the name
+     */
+    private static String categoryName(ItemType type) {
+        StringBuilder name = new StringBuilder();
+        for (String word : type.name().split("_")) {
+            if (name.length() > 0) {
+                name.append(' ');
+            }
+            name.append(word.charAt(0)).append(word.substring(1).toLowerCase(Locale.ROOT));
+        }
+        return name.toString();
+    }
+}
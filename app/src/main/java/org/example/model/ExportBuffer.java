@@ -0,0 +1,173 @@
+package org.example.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that export formats render into.
+ * Numbers and amounts are encoded straight into bytes without building strings.
+ * Not thread-safe; each export task renders into its own buffer.
+ * @author Aryaman Kumar
+ */
+public final class ExportBuffer {
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * Constructor for ExportBuffer.
+     * @param capacity the initial capacity in bytes
+     */
+    public ExportBuffer(int capacity) {
+        bytes = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * Gets the number of bytes rendered.
+     * @return the size in bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discards the rendered bytes, keeping the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copies the rendered bytes into a buffer.
+     * @param from the first byte to copy
+     * @param to the buffer to copy into; must have room for the bytes
+     * @param length the number of bytes to copy
+     */
+    void copyTo(int from, ByteBuffer to, int length) {
+        to.put(bytes, from, length);
+    }
+
+    /**
+     * Makes room for more bytes.
+     * @param more the number of bytes about to be added
+     */
+    private void ensure(int more) {
+        if (size + more > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(size + more, bytes.length * 2));
+        }
+    }
+
+    /**
+     * Appends raw bytes, e.g. text encoded once up front.
+     * @param b the bytes
+     * @return this buffer
+     */
+    public ExportBuffer put(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, bytes, size, b.length);
+        size += b.length;
+        return this;
+    }
+
+    /**
+     * Appends one ASCII character.
+     * @param c the character
+     * @return this buffer
+     */
+    public ExportBuffer put(char c) {
+        ensure(1);
+        bytes[size++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Appends text as UTF-8.
+     * @param text the text
+     * @return this buffer
+     */
+    public ExportBuffer put(String text) {
+        return put(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Appends a whole number in decimal, as StringBuilder.append(long) would.
+     * @param value the number
+     * @return this buffer
+     */
+    public ExportBuffer putLong(long value) {
+        ensure(20);
+        if (value == Long.MIN_VALUE) {
+            return put(Long.toString(value));
+        }
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = size + digits - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    /**
+     * Appends a time as an ISO-8601 UTC timestamp with milliseconds,
+     * e.g. "2024-03-01T14:05:09.120Z".
+     * @param epochMillis the time in epoch milliseconds
+     * @return this buffer
+     */
+    public ExportBuffer putTimestamp(long epochMillis) {
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+        int millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        putDigits(date.getYear(), 4).put('-');
+        putDigits(date.getMonthValue(), 2).put('-');
+        putDigits(date.getDayOfMonth(), 2).put('T');
+        putDigits(millisOfDay / 3_600_000, 2).put(':');
+        putDigits(millisOfDay / 60_000 % 60, 2).put(':');
+        putDigits(millisOfDay / 1000 % 60, 2).put('.');
+        return putDigits(millisOfDay % 1000, 3).put('Z');
+    }
+
+    /**
+     * Appends a non-negative number padded with zeros to a fixed width.
+     * @param value the number
+     * @param width the number of digits
+     * @return this buffer
+     */
+    private ExportBuffer putDigits(int value, int width) {
+        ensure(width);
+        for (int i = size + width - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += width;
+        return this;
+    }
+
+    /**
+     * Appends an amount in cents the way Money.appendTo does, e.g. "12.34".
+     * @param cents the amount in cents
+     * @return this buffer
+     */
+    public ExportBuffer putCents(long cents) {
+        if (cents < 0) {
+            put('-');
+            cents = -cents;
+        }
+        long fraction = cents % Money.CENTS_PER_DOLLAR;
+        putLong(cents / Money.CENTS_PER_DOLLAR);
+        ensure(3);
+        bytes[size++] = '.';
+        bytes[size++] = (byte) ('0' + fraction / 10);
+        bytes[size++] = (byte) ('0' + fraction % 10);
+        return this;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Service interface for the file formats orders can be exported in.
+ * Implementations are found with ServiceLoader, so new formats can be added
+ * without changing the exporter. Text, CSV and JSON Lines are built in.
+ * <p>
+ * The exporter renders chunks of orders on several threads at once, so
+ * implementations must be stateless, and the bytes rendered for an order
+ * must depend only on that order.
+ * @author Aryaman Kumar
+ */
+public interface ExportFormat {
+
+    /**
+     * Gets the name used to select this format, e.g. "csv".
+     * @return the format name
+     */
+    String getName();
+
+    /**
+     * Gets the usual file extension of this format, without the dot.
+     * @return the file extension
+     */
+    String getFileExtension();
+
+    /**
+     * Encodes an item label (see MenuItem) for this format, e.g. quoted or escaped.
+     * Labels are encoded once per kind of item and reused.
+     * @param label the label
+     * @return the encoded label
+     */
+    default byte[] encodeLabel(String label) {
+        return label.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renders what comes before the first order.
+     * @param out the buffer to render into
+     */
+    void writeHeader(ExportBuffer out);
+
+    /**
+     * Renders one order.
+     * @param order the order
+     * @param out the buffer to render into
+     */
+    void writeOrder(ExportedOrder order, ExportBuffer out);
+
+    /**
+     * Renders a cancellation record (tombstone) for an order that was
+     * exported by an earlier incremental export and has since been cancelled.
+     * @param orderNumber the cancelled order number
+     * @param out the buffer to render into
+     */
+    void writeCancellation(int orderNumber, ExportBuffer out);
+
+    /**
+     * Renders what comes after the last order.
+     * @param orderCount the number of orders exported
+     * @param out the buffer to render into
+     */
+    void writeFooter(int orderCount, ExportBuffer out);
+
+    /**
+     * Gets all installed export formats.
+     * @return the formats, built-in ones first
+     */
+    static List<ExportFormat> available() {
+        List<ExportFormat> formats = new ArrayList<>();
+        for (ExportFormat format : ServiceLoader.load(ExportFormat.class, ExportFormat.class.getClassLoader())) {
+            formats.add(format);
+        }
+        return formats;
+    }
+
+    /**
+     * Finds an installed export format by name or file extension.
+     * @param name the format name or file extension, ignoring case
+     * @return the format
+     * @throws IllegalArgumentException if no such format is installed
+     */
+    static ExportFormat forName(String name) {
+        for (ExportFormat format : available()) {
+            if (format.getName().equalsIgnoreCase(name) || format.getFileExtension().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * High-water mark of an incremental export: how far into the placed orders
+ * and the cancellations an export file is, and how long the file was then.
+ * Placed orders are counted by slot (placement sequence), not by order
+ * number, because orders from several terminals are not placed in number order.
+ * @author Aryaman Kumar
+ */
+final class ExportMark {
+    final String format;
+    final int slots;
+    final int cancels;
+    final int lastOrderNumber;
+    final long bytes;
+
+    /**
+     * Constructor for ExportMark.
+     * @param format the name of the export format
+     * @param slots the number of slots exported
+     * @param cancels the number of cancellations exported
+     * @param lastOrderNumber the number of the order in the last exported slot, or 0
+     * @param bytes the length of the export file
+     */
+    ExportMark(String format, int slots, int cancels, int lastOrderNumber, long bytes) {
+        this.format = format;
+        this.slots = slots;
+        this.cancels = cancels;
+        this.lastOrderNumber = lastOrderNumber;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Checks whether an export can continue from this mark.
+     * @param columns a snapshot of the placed orders
+     * @param exportFormat the name of the export format, with "+gzip" if compressed
+     * @param fileSize the current length of the export file, or -1 if it does not exist
+     * @return true if the file and the placed orders still agree with the mark
+     */
+    boolean matches(OrderStore.Columns columns, String exportFormat, long fileSize) {
+        return format.equals(exportFormat)
+                && fileSize >= bytes
+                && slots <= columns.orderCount
+                && cancels <= columns.cancelCount
+                && (slots == 0 ? lastOrderNumber == 0 : columns.orderNumber(slots - 1) == lastOrderNumber);
+    }
+
+    /**
+     * Reads a mark file.
+     * @param file the mark file
+     * @return the mark, or null if the file does not exist or cannot be understood
+     * @throws IOException if the file cannot be read
+     */
+    static ExportMark read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return new ExportMark(properties.getProperty("format", ""),
+                    Integer.parseInt(properties.getProperty("slots")),
+                    Integer.parseInt(properties.getProperty("cancellations")),
+                    Integer.parseInt(properties.getProperty("lastOrderNumber")),
+                    Long.parseLong(properties.getProperty("bytes")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes this mark, replacing the mark file atomically.
+     * @param file the mark file
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("format", format);
+        properties.setProperty("slots", Integer.toString(slots));
+        properties.setProperty("cancellations", Integer.toString(cancels));
+        properties.setProperty("lastOrderNumber", Integer.toString(lastOrderNumber));
+        properties.setProperty("bytes", Long.toString(bytes));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "RU Donuts incremental export");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
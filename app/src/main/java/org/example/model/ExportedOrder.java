@@ -0,0 +1,149 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of one placed order, handed to export formats.
+ * It reads straight from the column store instead of rebuilding an Order,
+ * and one view is moved from order to order, so exporting allocates nothing
+ * per order. Do not keep a reference to it after writeOrder() returns.
+ * @author Aryaman Kumar
+ */
+public final class ExportedOrder {
+    // Largest variant that fits in a label key next to the type and mask
+    private static final int MAX_KEYED_VARIANT = (1 << 20) - 1;
+
+    private final OrderStore.Columns columns;
+    private final ExportFormat format;
+    // The columns holding the current order (an archived page, or the snapshot itself)
+    private OrderStore.Columns part;
+    private final IntIntMap labelIndex = new IntIntMap(64);
+    private final List<byte[]> labels = new ArrayList<>();
+    private int local;
+    private int firstLine;
+
+    /**
+     * Creates a view over a column snapshot.
+     * @param columns the column snapshot
+     * @param format the format whose label encoding is cached
+     */
+    ExportedOrder(OrderStore.Columns columns, ExportFormat format) {
+        this.columns = columns;
+        this.format = format;
+    }
+
+    /**
+     * Moves the view to another order.
+     * @param slot the slot of the order
+     */
+    void moveTo(int slot) {
+        if (part == null || slot < part.base || slot >= part.orderCount) {
+            part = columns.segment(slot);
+        }
+        this.local = slot - part.base;
+        this.firstLine = part.firstLines[local];
+    }
+
+    /**
+     * Gets the order number.
+     * @return the order number
+     */
+    public int getOrderNumber() {
+        return part.orderNumbers[local];
+    }
+
+    /**
+     * Gets when the order was placed.
+     * @return the placement time in epoch milliseconds
+     */
+    public long getPlacedAtMillis() {
+        return part.placedAt[local];
+    }
+
+    /**
+     * Gets the subtotal.
+     * @return the subtotal in cents
+     */
+    public long getSubtotalCents() {
+        return part.subtotals[local];
+    }
+
+    /**
+     * Gets the sales tax.
+     * @return the sales tax in cents
+     */
+    public long getSalesTaxCents() {
+        return Order.salesTaxFor(getSubtotalCents());
+    }
+
+    /**
+     * Gets the total including tax.
+     * @return the total in cents
+     */
+    public long getTotalCents() {
+        return getSubtotalCents() + getSalesTaxCents();
+    }
+
+    /**
+     * Gets the number of line items.
+     * @return the line count
+     */
+    public int getLineCount() {
+        return part.firstLines[local + 1] - firstLine;
+    }
+
+    /**
+     * Gets the type of a line item.
+     * @param line the line index within this order
+     * @return the item type
+     */
+    public ItemType getItemType(int line) {
+        return ItemType.of(part.lineTypes[firstLine + line]);
+    }
+
+    /**
+     * Gets the quantity of a line item.
+     * @param line the line index within this order
+     * @return the quantity
+     */
+    public int getQuantity(int line) {
+        return part.lineQuantities[firstLine + line];
+    }
+
+    /**
+     * Gets the price a line item was sold at.
+     * @param line the line index within this order
+     * @return the price in cents
+     */
+    public long getPriceCents(int line) {
+        return part.linePrices[firstLine + line];
+    }
+
+    /**
+     * Gets the label of a line item, e.g. "Tall Coffee with milk", encoded
+     * by the format (see ExportFormat.encodeLabel()).
+     * @param line the line index within this order
+     * @return the encoded label; must not be modified
+     */
+    public byte[] getEncodedLabel(int line) {
+        int i = firstLine + line;
+        byte type = part.lineTypes[i];
+        int variant = part.lineVariants[i];
+        byte mask = part.lineMasks[i];
+        boolean keyed = variant >= 0 && variant <= MAX_KEYED_VARIANT;
+        int key = type << 28 | (mask & 0xFF) << 20 | variant;
+        if (keyed) {
+            int index = labelIndex.get(key, -1);
+            if (index >= 0) {
+                return labels.get(index);
+            }
+        }
+        byte[] label = format.encodeLabel(ItemType.of(type).create(variant, mask, 1).label());
+        if (keyed) {
+            labelIndex.put(key, labels.size());
+            labels.add(label);
+        }
+        return label;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Interned donut flavor.
+ * Every distinct flavor name gets one shared Flavor with a small integer id,
+ * so donut items only need to store the id. Ids are dense, start at 0 and
+ * never change while the application runs.
+ * @author Aryaman Kumar
+ */
+public final class Flavor {
+    private static final HashMap<String, Flavor> BY_NAME = new HashMap<>();
+    private static volatile Flavor[] byId = new Flavor[16];
+    private static int count;
+
+    private final int id;
+    private final String name;
+
+    /**
+     * Private constructor, use Flavor.of to get a flavor.
+     * @param id the flavor id
+     * @param name the flavor name
+     */
+    private Flavor(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Gets the shared flavor for a name, registering it on first use.
+     * @param name the flavor name
+     * @return the interned flavor
+     */
+    public static Flavor of(String name) {
+        synchronized (BY_NAME) {
+            Flavor flavor = BY_NAME.get(name);
+            if (flavor == null) {
+                flavor = new Flavor(count, name);
+                Flavor[] table = byId;
+                if (count == table.length) {
+                    table = Arrays.copyOf(table, count * 2);
+                }
+                table[count++] = flavor;
+                byId = table;
+                BY_NAME.put(name, flavor);
+            }
+            return flavor;
+        }
+    }
+
+    /**
+     * Gets a flavor by its id.
+     * @param id the flavor id
+     * @return the flavor
+     * @throws IllegalArgumentException if no flavor has this id
+     */
+    public static Flavor byId(int id) {
+        Flavor[] table = byId;
+        Flavor flavor = id >= 0 && id < table.length ? table[id] : null;
+        if (flavor == null) {
+            throw new IllegalArgumentException("Unknown flavor id: " + id);
+        }
+        return flavor;
+    }
+
+    /**
+     * Gets the number of flavors registered so far.
+     * @return the flavor count, also one more than the highest id
+     */
+    public static int count() {
+        synchronized (BY_NAME) {
+            return count;
+        }
+    }
+
+    /**
+     * Gets the flavor id.
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the flavor name.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the flavor name.
+     * @return the name
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GZIP compressor stage that runs on its own thread.
+ * The exporter hands over each full output block and goes back to encoding
+ * while this stage deflates the previous blocks into the channel. Blocks are
+ * recycled through a small fixed pool, so at most BLOCKS blocks are in memory
+ * and a fast encoder simply waits for the compressor.
+ * @author Aryaman Kumar
+ */
+final class GzipPipeline {
+    private static final int BLOCKS = 4;
+    private static final int DEFLATE_BUFFER = 64 << 10;
+
+    /**
+     * One block of uncompressed bytes.
+     */
+    private static final class Block {
+        final byte[] bytes;
+        int length;
+
+        /**
+         * Constructor for Block.
+         * @param capacity the block size
+         */
+        Block(int capacity) {
+            bytes = new byte[capacity];
+        }
+    }
+
+    // Marks the end of the stream for the compressor thread
+    private static final Block END = new Block(0);
+
+    private final BlockingQueue<Block> free = new ArrayBlockingQueue<>(BLOCKS);
+    private final BlockingQueue<Block> full = new ArrayBlockingQueue<>(BLOCKS + 1);
+    private final OutputStream out;
+    private final Thread compressor;
+    private volatile IOException failure;
+
+    /**
+     * Starts a compressor writing one GZIP member to a channel.
+     * The channel is not closed when the member is finished.
+     * @param channel the channel to write the compressed bytes to
+     * @param blockSize the size of the blocks handed over
+     */
+    GzipPipeline(WritableByteChannel channel, int blockSize) {
+        OutputStream raw = Channels.newOutputStream(channel);
+        // Closing the GZIP stream must not close the channel
+        this.out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                raw.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                raw.write(b, off, len);
+            }
+        };
+        for (int i = 0; i < BLOCKS; i++) {
+            free.add(new Block(blockSize));
+        }
+        compressor = new Thread(this::compress, "export-compressor");
+        compressor.setDaemon(true);
+        compressor.start();
+    }
+
+    /**
+     * Deflates blocks until the end marker arrives. Runs on the compressor thread.
+     */
+    private void compress() {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, DEFLATE_BUFFER)) {
+            while (true) {
+                Block block = full.take();
+                if (block == END) {
+                    break;
+                }
+                gzip.write(block.bytes, 0, block.length);
+                free.add(block);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Compression interrupted");
+        }
+        // Unblock a writer waiting for a free block after a failure
+        free.offer(END);
+    }
+
+    /**
+     * Hands over the remaining bytes of a buffer for compression, waiting
+     * while all blocks are in use.
+     * @param bytes the bytes to compress; its position is advanced to its limit
+     * @throws IOException if the compressor failed or the wait was interrupted
+     */
+    void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            checkFailure();
+            Block block;
+            try {
+                block = free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the compressor");
+            }
+            if (block == END) {
+                checkFailure();
+                throw new IOException("Compressor has stopped");
+            }
+            block.length = Math.min(bytes.remaining(), block.bytes.length);
+            bytes.get(block.bytes, 0, block.length);
+            full.add(block);
+        }
+    }
+
+    /**
+     * Compresses what is left, writes the GZIP trailer and stops the compressor thread.
+     * @throws IOException if compression failed
+     */
+    void finish() throws IOException {
+        full.add(END);
+        try {
+            compressor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            compressor.interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the compressor");
+        }
+        checkFailure();
+    }
+
+    /**
+     * Stops the compressor thread without finishing the GZIP member, after the
+     * export failed.
+     */
+    void abort() {
+        compressor.interrupt();
+    }
+
+    /**
+     * Rethrows a failure of the compressor thread.
+     * @throws IOException the failure
+     */
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Compression failed", e);
+        }
+    }
+}
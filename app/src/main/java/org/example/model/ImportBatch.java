@@ -0,0 +1,152 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Orders and cancellations parsed from one chunk of an order file, kept in
+ * primitive columns like OrderStore until they are handed over in file order.
+ * Not thread-safe; each chunk is parsed into its own batch.
+ * @author Aryaman Kumar
+ */
+final class ImportBatch {
+    // Order columns, one entry per placed order or cancellation
+    private int[] orderNumbers;
+    private long[] placedAt;
+    private boolean[] cancellations;
+    private int[] firstLines;
+    private int count;
+
+    // Line item columns
+    private byte[] types;
+    private int[] variants;
+    private byte[] masks;
+    private int[] quantities;
+    private long[] prices;
+    private int lineCount;
+
+    /** The parse error of the chunk, or null if it parsed. */
+    IOException error;
+
+    /**
+     * Constructor for ImportBatch.
+     * @param orders the number of orders to size the columns for
+     */
+    ImportBatch(int orders) {
+        int capacity = Math.max(16, orders);
+        orderNumbers = new int[capacity];
+        placedAt = new long[capacity];
+        cancellations = new boolean[capacity];
+        firstLines = new int[capacity];
+        types = new byte[capacity * 2];
+        variants = new int[capacity * 2];
+        masks = new byte[capacity * 2];
+        quantities = new int[capacity * 2];
+        prices = new long[capacity * 2];
+    }
+
+    /**
+     * Starts a placed order; its lines follow with addLine().
+     * @param orderNumber the order number
+     * @param placedAtMillis when the order was placed
+     */
+    void beginOrder(int orderNumber, long placedAtMillis) {
+        int entry = nextEntry();
+        orderNumbers[entry] = orderNumber;
+        placedAt[entry] = placedAtMillis;
+    }
+
+    /**
+     * Adds a line to the order begun last.
+     * @param item the packed item (see ItemLabels)
+     * @param quantity the quantity
+     * @param priceCents the price in cents
+     */
+    void addLine(long item, int quantity, long priceCents) {
+        if (lineCount == types.length) {
+            int capacity = lineCount * 2;
+            types = Arrays.copyOf(types, capacity);
+            variants = Arrays.copyOf(variants, capacity);
+            masks = Arrays.copyOf(masks, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        types[lineCount] = ItemLabels.typeOf(item);
+        variants[lineCount] = ItemLabels.variantOf(item);
+        masks[lineCount] = ItemLabels.maskOf(item);
+        quantities[lineCount] = quantity;
+        prices[lineCount] = priceCents;
+        lineCount++;
+    }
+
+    /**
+     * Adds a cancellation of an order placed earlier in the file.
+     * @param orderNumber the cancelled order number
+     */
+    void cancel(int orderNumber) {
+        int entry = nextEntry();
+        orderNumbers[entry] = orderNumber;
+        cancellations[entry] = true;
+    }
+
+    /**
+     * Makes room for one more entry, starting at the current line.
+     * @return the entry index
+     */
+    private int nextEntry() {
+        if (count == orderNumbers.length) {
+            int capacity = count * 2;
+            orderNumbers = Arrays.copyOf(orderNumbers, capacity);
+            placedAt = Arrays.copyOf(placedAt, capacity);
+            cancellations = Arrays.copyOf(cancellations, capacity);
+            firstLines = Arrays.copyOf(firstLines, capacity);
+        }
+        firstLines[count] = lineCount;
+        return count++;
+    }
+
+    /**
+     * Hands the orders and cancellations over in the order they were read.
+     * @param sink receives them; the line arrays are reused between calls
+     * @return the number of placed orders handed over
+     */
+    int replay(OrderJournal.Replayer sink) {
+        int maxLines = 0;
+        for (int entry = 0; entry < count; entry++) {
+            maxLines = Math.max(maxLines, endOf(entry) - firstLines[entry]);
+        }
+        byte[] lineTypes = new byte[maxLines];
+        int[] lineVariants = new int[maxLines];
+        byte[] lineMasks = new byte[maxLines];
+        int[] lineQuantities = new int[maxLines];
+        long[] linePrices = new long[maxLines];
+
+        int orders = 0;
+        for (int entry = 0; entry < count; entry++) {
+            if (cancellations[entry]) {
+                sink.cancelled(orderNumbers[entry]);
+                continue;
+            }
+            int first = firstLines[entry];
+            int lines = endOf(entry) - first;
+            System.arraycopy(types, first, lineTypes, 0, lines);
+            System.arraycopy(variants, first, lineVariants, 0, lines);
+            System.arraycopy(masks, first, lineMasks, 0, lines);
+            System.arraycopy(quantities, first, lineQuantities, 0, lines);
+            System.arraycopy(prices, first, linePrices, 0, lines);
+            sink.placed(orderNumbers[entry], placedAt[entry], lines,
+                    lineTypes, lineVariants, lineMasks, lineQuantities, linePrices);
+            orders++;
+        }
+        return orders;
+    }
+
+    /**
+     * Gets the line after the last line of an entry.
+     * @param entry the entry index
+     * @return the end line
+     */
+    private int endOf(int entry) {
+        return entry + 1 < count ? firstLines[entry + 1] : lineCount;
+    }
+}
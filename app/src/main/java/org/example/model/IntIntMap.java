@@ -0,0 +1,204 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int keys to int values.
+ * Keys and values live in two primitive arrays, so lookups never box and
+ * the map costs 8 bytes per slot. Integer.MIN_VALUE cannot be used as a key.
+ * Not thread-safe; lookups only read each table once so that a torn read
+ * under an optimistic lock fails fast instead of looping.
+ * @author Aryaman Kumar
+ */
+final class IntIntMap {
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructor for IntIntMap.
+     * @param expected the number of entries to size the table for
+     */
+    IntIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Allocates empty tables of the given power-of-two capacity.
+     * @param capacity the table capacity
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Gets the first probe position of a key.
+     * @param key the key
+     * @return the first probe position
+     */
+    private int slotOf(int key) {
+        return hash(key) & mask;
+    }
+
+    /**
+     * Folds the high key bits into the low ones. Sequential keys such as
+     * order numbers land in sequential slots, which linear probing handles
+     * without collisions and with sequential memory access, while keys that
+     * differ only in their high bits still spread out.
+     * @param key the key
+     * @return the hash
+     */
+    private static int hash(int key) {
+        return key ^ (key >>> 16);
+    }
+
+    /**
+     * Gets the value for a key.
+     * @param key the key
+     * @param missing the value to return if the key is absent
+     * @return the value, or missing
+     */
+    int get(int key, int missing) {
+        int[] k = keys;
+        int[] v = values;
+        int m = k.length - 1;
+        for (int i = hash(key) & m; ; i = (i + 1) & m) {
+            if (k[i] == key) {
+                return v[i];
+            }
+            if (k[i] == FREE) {
+                return missing;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a key is present.
+     * @param key the key
+     * @return true if the key is present
+     */
+    boolean containsKey(int key) {
+        int[] k = keys;
+        int m = k.length - 1;
+        for (int i = hash(key) & m; ; i = (i + 1) & m) {
+            if (k[i] == key) {
+                return true;
+            }
+            if (k[i] == FREE) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     * @param key the key
+     * @param value the value
+     */
+    void put(int key, int value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Unsupported key: " + key);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        for (int i = slotOf(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            if (k == FREE) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Associates a value with a key unless the key is already present.
+     * @param key the key
+     * @param value the value
+     * @return true if the key was added, false if it was already present
+     */
+    boolean putIfAbsent(int key, int value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Unsupported key: " + key);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        for (int i = slotOf(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return false;
+            }
+            if (k == FREE) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes a key.
+     * @param key the key
+     * @return true if the key was present
+     */
+    boolean remove(int key) {
+        int i = slotOf(key);
+        while (keys[i] != key) {
+            if (keys[i] == FREE) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Shift later entries of the probe run back so lookups stay correct
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = slotOf(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = FREE;
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the number of entries.
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the table and re-inserts all entries.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
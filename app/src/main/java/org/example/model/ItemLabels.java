@@ -0,0 +1,117 @@
+package org.example.model;
+
+import java.util.HashMap;
+
+/**
+ * Turns item labels (see MenuItem.label()) back into the primitive encoding
+ * of an item: type, variant and option mask. Coffee and sandwich labels are
+ * looked up in a table of every size, bread, protein and option combination;
+ * donut labels carry the flavor name, which is interned with Flavor.of().
+ * Decoded items are packed into one long (see pack()).
+ * @author Aryaman Kumar
+ */
+final class ItemLabels {
+    // Must match label() of the donut classes
+    private static final String[] DONUT_PREFIXES = new String[ItemType.values().length];
+    private static final HashMap<String, Long> COMBINATIONS = new HashMap<>();
+
+    static {
+        DONUT_PREFIXES[ItemType.YEAST_DONUT.ordinal()] = "Yeast Donut (";
+        DONUT_PREFIXES[ItemType.CAKE_DONUT.ordinal()] = "Cake Donut (";
+        DONUT_PREFIXES[ItemType.DONUT_HOLE.ordinal()] = "Donut Hole (";
+        DONUT_PREFIXES[ItemType.SEASONAL_DONUT.ordinal()] = "Seasonal Donut (";
+
+        int addInMasks = 1 << AddIns.values().length;
+        for (CupSize size : CupSize.values()) {
+            for (int mask = 0; mask < addInMasks; mask++) {
+                register(ItemType.COFFEE, size.ordinal(), mask);
+            }
+        }
+        int addOnMasks = 1 << AddOns.values().length;
+        for (Bread bread : Bread.values()) {
+            for (Protein protein : Protein.values()) {
+                int variant = new Sandwich(bread, protein, 1).getVariant();
+                for (int mask = 0; mask < addOnMasks; mask++) {
+                    register(ItemType.SANDWICH, variant, mask);
+                }
+            }
+        }
+    }
+
+    /**
+     * Private constructor, ItemLabels only has static methods.
+     */
+    private ItemLabels() {
+    }
+
+    /**
+     * Adds the label of one coffee or sandwich combination to the table.
+     * @param type the item type
+     * @param variant the variant
+     * @param mask the option mask
+     */
+    private static void register(ItemType type, int variant, int mask) {
+        COMBINATIONS.put(type.create(variant, mask, 1).label(), pack(type.ordinal(), variant, mask));
+    }
+
+    /**
+     * Packs the primitive encoding of an item into one long.
+     * @param type the item type ordinal
+     * @param variant the variant
+     * @param mask the option mask
+     * @return the packed item
+     */
+    static long pack(int type, int variant, int mask) {
+        return (long) type << 40 | (long) (mask & 0xFF) << 32 | (variant & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the item type ordinal of a packed item.
+     * @param item the packed item
+     * @return the type ordinal
+     */
+    static byte typeOf(long item) {
+        return (byte) (item >>> 40);
+    }
+
+    /**
+     * Gets the variant of a packed item.
+     * @param item the packed item
+     * @return the variant
+     */
+    static int variantOf(long item) {
+        return (int) item;
+    }
+
+    /**
+     * Gets the option mask of a packed item.
+     * @param item the packed item
+     * @return the option mask
+     */
+    static byte maskOf(long item) {
+        return (byte) (item >>> 32);
+    }
+
+    /**
+     * Decodes a label, e.g. "Tall Coffee with milk" or "Yeast Donut (Glazed)".
+     * @param label the label
+     * @return the packed item
+     * @throws IllegalArgumentException if the label does not name a menu item
+     */
+    static long decode(String label) {
+        Long combination = COMBINATIONS.get(label);
+        if (combination != null) {
+            return combination;
+        }
+        if (label.endsWith(")")) {
+            for (int type = 0; type < DONUT_PREFIXES.length; type++) {
+                String prefix = DONUT_PREFIXES[type];
+                if (prefix != null && label.startsWith(prefix)) {
+                    String flavor = label.substring(prefix.length(), label.length() - 1);
+                    return pack(type, Flavor.of(flavor).getId(), 0);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown menu item: " + label);
+    }
+}
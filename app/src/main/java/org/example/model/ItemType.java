@@ -0,0 +1,71 @@
+package org.example.model;
+
+/**
+ * Enum representing the kinds of menu items that can be ordered.
+ * Together with a variant and an option mask it describes any line item
+ * in a few primitive values (see MenuItem.getVariant()).
+ * @author Aryaman Kumar
+ */
+public enum ItemType {
+    YEAST_DONUT,
+    CAKE_DONUT,
+    DONUT_HOLE,
+    SEASONAL_DONUT,
+    COFFEE,
+    SANDWICH;
+
+    private static final ItemType[] VALUES = values();
+    private static final CupSize[] CUP_SIZES = CupSize.values();
+    private static final Protein[] PROTEINS = Protein.values();
+    private static final Bread[] BREADS = Bread.values();
+    private static final AddIns[] ADD_INS = AddIns.values();
+    private static final AddOns[] ADD_ONS = AddOns.values();
+
+    /**
+     * Gets an item type by its ordinal without copying the values array.
+     * @param ordinal the ordinal
+     * @return the item type
+     */
+    public static ItemType of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Creates a menu item of this type from its primitive encoding.
+     * @param variant the variant (flavor id, cup size or protein and bread)
+     * @param optionMask the add-in or add-on bitmask
+     * @param quantity the quantity
+     * @return the new, unpriced menu item
+     */
+    public MenuItem create(int variant, int optionMask, int quantity) {
+        switch (this) {
+            case YEAST_DONUT:
+                return new YeastDonut(Flavor.byId(variant).getName(), quantity);
+            case CAKE_DONUT:
+                return new CakeDonut(Flavor.byId(variant).getName(), quantity);
+            case DONUT_HOLE:
+                return new DonutHole(Flavor.byId(variant).getName(), quantity);
+            case SEASONAL_DONUT:
+                return new SeasonalDonut(Flavor.byId(variant).getName(), quantity);
+            case COFFEE:
+                Coffee coffee = new Coffee(CUP_SIZES[variant], quantity);
+                for (AddIns addIn : ADD_INS) {
+                    if ((optionMask & addIn.mask()) != 0) {
+                        coffee.addAddIn(addIn);
+                    }
+                }
+                return coffee;
+            case SANDWICH:
+                Sandwich sandwich = new Sandwich(BREADS[Sandwich.breadOf(variant)],
+                        PROTEINS[Sandwich.proteinOf(variant)], quantity);
+                for (AddOns addOn : ADD_ONS) {
+                    if ((optionMask & addOn.mask()) != 0) {
+                        sandwich.addAddOn(addOn);
+                    }
+                }
+                return sandwich;
+            default:
+                throw new IllegalStateException("Unknown item type: " + this);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON Lines export format: one JSON object per order, on its own line, e.g.
+ * <pre>
+ * {"orderNumber":1,"placedAt":"2024-03-01T14:05:09.120Z","items":[{"type":"COFFEE",
+ *  "item":"Tall Coffee with milk","quantity":1,"price":2.29}],"subtotal":2.29,"salesTax":0.15,"total":2.44}
+ * </pre>
+ * Amounts are numbers in dollars with two decimals.
+ * @author Aryaman Kumar
+ */
+public final class JsonLinesExportFormat implements ExportFormat {
+    private static final byte[] ORDER_NUMBER = bytes("{\"orderNumber\":");
+    private static final byte[] PLACED_AT = bytes(",\"placedAt\":\"");
+    private static final byte[] ITEMS = bytes("\",\"items\":[");
+    private static final byte[] TYPE = bytes("{\"type\":\"");
+    private static final byte[] ITEM = bytes("\",\"item\":");
+    private static final byte[] QUANTITY = bytes(",\"quantity\":");
+    private static final byte[] PRICE = bytes(",\"price\":");
+    private static final byte[] SUBTOTAL = bytes("],\"subtotal\":");
+    private static final byte[] SALES_TAX = bytes(",\"salesTax\":");
+    private static final byte[] TOTAL = bytes(",\"total\":");
+    private static final byte[] CANCELLED = bytes(",\"cancelled\":true}\n");
+    private static final byte[][] TYPE_NAMES = new byte[ItemType.values().length][];
+
+    static {
+        for (ItemType type : ItemType.values()) {
+            TYPE_NAMES[type.ordinal()] = bytes(type.name());
+        }
+    }
+
+    /**
+     * Gets the name of this format.
+     * @return "jsonl"
+     */
+    @Override
+    public String getName() {
+        return "jsonl";
+    }
+
+    /**
+     * Gets the file extension of this format.
+     * @return "jsonl"
+     */
+    @Override
+    public String getFileExtension() {
+        return "jsonl";
+    }
+
+    /**
+     * Encodes a label as a JSON string.
+     * @param label the label
+     * @return the quoted and escaped label
+     */
+    @Override
+    public byte[] encodeLabel(String label) {
+        StringBuilder sb = new StringBuilder(label.length() + 2).append('"');
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return bytes(sb.append('"').toString());
+    }
+
+    /**
+     * JSON Lines files have no header.
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeHeader(ExportBuffer out) {
+    }
+
+    /**
+     * Renders one order as a JSON object on its own line.
+     * @param order the order
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeOrder(ExportedOrder order, ExportBuffer out) {
+        out.put(ORDER_NUMBER).putLong(order.getOrderNumber());
+        out.put(PLACED_AT).putTimestamp(order.getPlacedAtMillis());
+        out.put(ITEMS);
+        for (int line = 0; line < order.getLineCount(); line++) {
+            if (line > 0) {
+                out.put(',');
+            }
+            out.put(TYPE).put(TYPE_NAMES[order.getItemType(line).ordinal()]);
+            out.put(ITEM).put(order.getEncodedLabel(line));
+            out.put(QUANTITY).putLong(order.getQuantity(line));
+            out.put(PRICE).putCents(order.getPriceCents(line)).put('}');
+        }
+        out.put(SUBTOTAL).putCents(order.getSubtotalCents());
+        out.put(SALES_TAX).putCents(order.getSalesTaxCents());
+        out.put(TOTAL).putCents(order.getTotalCents()).put('}').put('\n');
+    }
+
+    /**
+     * Renders {"orderNumber":n,"cancelled":true}.
+     * @param orderNumber the cancelled order number
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeCancellation(int orderNumber, ExportBuffer out) {
+        out.put(ORDER_NUMBER).putLong(orderNumber).put(CANCELLED);
+    }
+
+    /**
+     * JSON Lines files have no footer.
+     * @param orderCount the number of orders exported
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeFooter(int orderCount, ExportBuffer out) {
+    }
+
+    /**
+     * Encodes text as UTF-8.
+     * @param text the text
+     * @return the encoded bytes
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.model;
+
+/**
+ * Positions of the live orders as they were at one moment, for list views
+ * that must only change when they are told to.
+ * Reads are answered from the order store as of that moment, without
+ * copying anything, so a list of any length costs nothing until rows are
+ * read. advance() moves it to the present and reports the exact removals
+ * and additions in between, in list order.
+ * <p>
+ * Not thread-safe; use it from one thread, e.g. the JavaFX application thread.
+ * Orders may be placed and cancelled on other threads meanwhile.
+ * @author Aryaman Kumar
+ */
+public final class LiveOrderList {
+
+    /**
+     * Receives the changes made by advance().
+     */
+    public interface ChangeSink {
+        /**
+         * Called for each cancelled order, at its position in the list as
+         * changed so far.
+         * @param index the position of the order
+         * @param orderNumber the order number
+         */
+        void removed(int index, int orderNumber);
+
+        /**
+         * Called for each run of new orders; advance() calls it once, after
+         * the removals, if orders were placed.
+         * @param from the position of the first new order
+         * @param to the position after the last new order
+         */
+        void added(int from, int to);
+    }
+
+    private final OrderStore store;
+    private int orderCount;
+    private int cancelCount;
+    private int size;
+
+    /**
+     * Creates a list of the orders live now.
+     * @param store the order store
+     */
+    LiveOrderList(OrderStore store) {
+        this.store = store;
+        advance(null);
+    }
+
+    /**
+     * Gets the number of orders in the list.
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of an order in the list. It may have been cancelled
+     * since the list last advanced.
+     * @param index the position
+     * @return the order number
+     * @throws IndexOutOfBoundsException if the position is not in the list
+     */
+    public int getOrderNumber(int index) {
+        return store.orderNumber(slotAt(index));
+    }
+
+    /**
+     * Gets the total (including tax) of an order in the list without rebuilding it.
+     * @param index the position
+     * @return the total in cents
+     * @throws IndexOutOfBoundsException if the position is not in the list
+     */
+    public long getOrderTotalCents(int index) {
+        long subtotal = store.subtotalCents(slotAt(index));
+        return subtotal + Order.salesTaxFor(subtotal);
+    }
+
+    /**
+     * Gets the slot at a position in the list.
+     * @param index the position
+     * @return the slot
+     */
+    private int slotAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return store.slotAt(index, orderCount, cancelCount);
+    }
+
+    /**
+     * Moves the list to the orders live now.
+     * @param sink receives the changes, or null
+     * @return true if the list changed
+     */
+    public boolean advance(ChangeSink sink) {
+        int newOrderCount = store.orderCount();
+        int newCancelCount = store.cancelCount();
+        boolean changed = false;
+        for (int i = cancelCount; i < newCancelCount; i++) {
+            int slot = store.cancelledSlot(i);
+            // Orders placed and cancelled since the last advance were never in the list
+            if (slot < orderCount) {
+                int index = store.indexOfSlot(slot, orderCount, i);
+                size--;
+                changed = true;
+                if (sink != null) {
+                    sink.removed(index, store.orderNumber(slot));
+                }
+            }
+        }
+        cancelCount = newCancelCount;
+        int newSize = store.indexOfSlot(newOrderCount, newOrderCount, newCancelCount);
+        int oldSize = size;
+        orderCount = newOrderCount;
+        size = newSize;
+        if (newSize > oldSize) {
+            changed = true;
+            if (sink != null) {
+                sink.added(oldSize, newSize);
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,344 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Immutable snapshot of all menu prices and donut flavors.
+ * Prices are loaded from a properties file (the bundled menu.properties,
+ * optionally overridden by a local file) into dense arrays indexed by enum
+ * ordinals, so a price lookup is one volatile read plus an array access.
+ * Reloading builds a complete new snapshot and swaps it in atomically.
+ * Items keep the price they were given until they are changed again.
+ * Views that show prices register a reload listener to pick up new ones.
+ * @author Aryaman Kumar
+ */
+public final class MenuCatalog {
+    private static final String DEFAULT_RESOURCE = "/menu.properties";
+    private static final System.Logger LOG = System.getLogger(MenuCatalog.class.getName());
+
+    private static final int ADDIN_BITS = AddIns.values().length;
+    private static final int ADDON_BITS = AddOns.values().length;
+
+    private static volatile MenuCatalog current = loadDefault();
+    private static final List<Runnable> RELOAD_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final long[] donutCents;
+    private final long[] cupSizeCents;
+    private final long[] addInCents;
+    private final long[] proteinCents;
+    private final long[] addOnCents;
+    private final long[] coffeeUnitCents;
+    private final long[] sandwichUnitCents;
+    private final List<List<Flavor>> flavors;
+
+    /**
+     * Builds a catalog from parsed price properties.
+     * @param props the price properties
+     * @throws IllegalArgumentException if a price is missing or malformed
+     */
+    private MenuCatalog(Properties props) {
+        donutCents = readPrices(props, "donut.", DonutType.values());
+        cupSizeCents = readPrices(props, "coffee.", CupSize.values());
+        addInCents = readPrices(props, "coffee.addin.", AddIns.values());
+        proteinCents = readPrices(props, "sandwich.", Protein.values());
+        addOnCents = readPrices(props, "sandwich.addon.", AddOns.values());
+        coffeeUnitCents = buildTable(cupSizeCents, addInCents, ADDIN_BITS);
+        sandwichUnitCents = buildTable(proteinCents, addOnCents, ADDON_BITS);
+        flavors = readFlavors(props);
+    }
+
+    /**
+     * Gets the catalog currently in use.
+     * @return the current catalog
+     */
+    public static MenuCatalog current() {
+        return current;
+    }
+
+    /**
+     * Loads a catalog from a file. Prices missing from the file keep
+     * their bundled default.
+     * @param file the properties file to read
+     * @return the loaded catalog
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a price is malformed
+     */
+    public static MenuCatalog load(Path file) throws IOException {
+        Properties props = readDefaults();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return new MenuCatalog(props);
+    }
+
+    /**
+     * Loads a catalog from a file and makes it the current catalog.
+     * The current catalog is left untouched if loading fails.
+     * @param file the properties file to read
+     * @throws IOException if the file cannot be read
+     */
+    public static void reload(Path file) throws IOException {
+        current = load(file);
+        for (Runnable listener : RELOAD_LISTENERS) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers a listener that is run after the catalog is reloaded, on
+     * the thread that reloaded it. Listeners must be quick; a view would
+     * typically schedule one refresh of its prices.
+     * @param listener the listener
+     */
+    public static void addReloadListener(Runnable listener) {
+        RELOAD_LISTENERS.add(listener);
+    }
+
+    /**
+     * Unregisters a reload listener.
+     * @param listener the listener
+     */
+    public static void removeReloadListener(Runnable listener) {
+        RELOAD_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Starts a daemon thread that reloads the catalog whenever the file changes.
+     * A file that fails to parse is reported and the previous prices stay active.
+     * @param file the properties file to watch
+     * @return the watcher thread
+     * @throws IOException if the directory cannot be watched
+     */
+    public static Thread watch(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path dir = absolute.getParent();
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread thread = new Thread(() -> {
+            try (watcher) {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    boolean touched = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (absolute.getFileName().equals(event.context())) {
+                            touched = true;
+                        }
+                    }
+                    if (touched) {
+                        try {
+                            reload(absolute);
+                            LOG.log(System.Logger.Level.INFO, "Reloaded menu prices from " + absolute);
+                        } catch (IOException | IllegalArgumentException e) {
+                            LOG.log(System.Logger.Level.WARNING, "Keeping previous menu prices", e);
+                        }
+                    }
+                    if (!key.reset()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // watcher stopped
+            } catch (IOException e) {
+                LOG.log(System.Logger.Level.WARNING, "Menu watcher stopped", e);
+            }
+        }, "menu-catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Gets the price of a single donut.
+     * @param type the donut type
+     * @return the unit price in cents
+     */
+    public long donutPriceCents(DonutType type) {
+        return donutCents[type.ordinal()];
+    }
+
+    /**
+     * Gets the flavors offered for a donut type.
+     * @param type the donut type
+     * @return the read-only list of flavors, in menu order
+     */
+    public List<Flavor> getFlavors(DonutType type) {
+        return flavors.get(type.ordinal());
+    }
+
+    /**
+     * Gets the base price of a coffee without add-ins.
+     * @param size the cup size
+     * @return the base price in cents
+     */
+    public long cupSizePriceCents(CupSize size) {
+        return cupSizeCents[size.ordinal()];
+    }
+
+    /**
+     * Gets the price of a single coffee add-in.
+     * @param addIn the add-in
+     * @return the add-in price in cents
+     */
+    public long addInPriceCents(AddIns addIn) {
+        return addInCents[addIn.ordinal()];
+    }
+
+    /**
+     * Gets the price of one coffee of a size with a set of add-ins.
+     * @param size the cup size
+     * @param addInMask the add-in bitmask (see AddIns.mask())
+     * @return the unit price in cents
+     */
+    public long coffeeUnitPriceCents(CupSize size, int addInMask) {
+        return coffeeUnitCents[(size.ordinal() << ADDIN_BITS) | addInMask];
+    }
+
+    /**
+     * Gets the base price of a sandwich without add-ons.
+     * @param protein the protein
+     * @return the base price in cents
+     */
+    public long proteinPriceCents(Protein protein) {
+        return proteinCents[protein.ordinal()];
+    }
+
+    /**
+     * Gets the price of a single sandwich add-on.
+     * @param addOn the add-on
+     * @return the add-on price in cents
+     */
+    public long addOnPriceCents(AddOns addOn) {
+        return addOnCents[addOn.ordinal()];
+    }
+
+    /**
+     * Gets the price of one sandwich with a protein and a set of add-ons.
+     * @param protein the protein
+     * @param addOnMask the add-on bitmask (see AddOns.mask())
+     * @return the unit price in cents
+     */
+    public long sandwichUnitPriceCents(Protein protein, int addOnMask) {
+        return sandwichUnitCents[(protein.ordinal() << ADDON_BITS) | addOnMask];
+    }
+
+    /**
+     * Loads the bundled catalog, or the file named by the rudonuts.menu
+     * system property if it is set.
+     * @return the initial catalog
+     */
+    private static MenuCatalog loadDefault() {
+        try {
+            String override = System.getProperty("rudonuts.menu");
+            if (override != null) {
+                return load(Path.of(override));
+            }
+            return new MenuCatalog(readDefaults());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load menu prices", e);
+        }
+    }
+
+    /**
+     * Reads the bundled price properties.
+     * @return the default prices
+     * @throws IOException if the resource cannot be read
+     */
+    private static Properties readDefaults() throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = MenuCatalog.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + DEFAULT_RESOURCE);
+            }
+            props.load(in);
+        }
+        return props;
+    }
+
+    /**
+     * Reads one price per enum constant, keyed by prefix + constant name.
+     * @param props the price properties
+     * @param prefix the key prefix
+     * @param keys the enum constants, in ordinal order
+     * @return the prices in cents, indexed by ordinal
+     */
+    private static long[] readPrices(Properties props, String prefix, Enum<?>[] keys) {
+        long[] prices = new long[keys.length];
+        for (Enum<?> key : keys) {
+            String name = prefix + key.name();
+            String value = props.getProperty(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing price for " + name);
+            }
+            try {
+                prices[key.ordinal()] = new BigDecimal(value.trim()).movePointRight(2).longValueExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid price for " + name + ": " + value);
+            }
+            if (prices[key.ordinal()] < 0) {
+                throw new IllegalArgumentException("Negative price for " + name + ": " + value);
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Reads the comma separated flavor list of every donut type.
+     * @param props the menu properties
+     * @return the interned flavors, indexed by donut type ordinal
+     */
+    private static List<List<Flavor>> readFlavors(Properties props) {
+        List<List<Flavor>> result = new ArrayList<>();
+        for (DonutType type : DonutType.values()) {
+            List<Flavor> typeFlavors = new ArrayList<>();
+            for (String name : props.getProperty("flavors." + type.name(), "").split(",")) {
+                if (!name.isBlank()) {
+                    typeFlavors.add(Flavor.of(name.trim()));
+                }
+            }
+            result.add(Collections.unmodifiableList(typeFlavors));
+        }
+        return result;
+    }
+
+    /**
+     * Precomputes base + add-on prices for every base and add-on bitmask.
+     * @param basePrices the base prices, indexed by ordinal
+     * @param extraPrices the add-on prices, indexed by ordinal
+     * @param bits the number of add-ons
+     * @return the unit price table indexed by (base ordinal, mask)
+     */
+    private static long[] buildTable(long[] basePrices, long[] extraPrices, int bits) {
+        long[] table = new long[basePrices.length << bits];
+        for (int base = 0; base < basePrices.length; base++) {
+            for (int mask = 0; mask < (1 << bits); mask++) {
+                long price = basePrices[base];
+                for (int bit = 0; bit < bits; bit++) {
+                    if ((mask & (1 << bit)) != 0) {
+                        price += extraPrices[bit];
+                    }
+                }
+                table[(base << bits) | mask] = price;
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.model;
+
+/**
+ * Abstract class representing a menu item at RU Donuts.
+ * All menu items must extend this class.
+ * @author Aryaman Kumar
+ */
+public abstract class MenuItem {
+    private static final long UNPRICED = -1;
+
+    protected int quantity;
+    private long priceCents = UNPRICED;
+    private String description;
+    private Order order;
+
+    /**
+     * Constructor for MenuItem.
+     * @param quantity the quantity of this menu item
+     */
+    public MenuItem(int quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets the quantity of this menu item.
+     * @return the quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the quantity of this menu item.
+     * @param quantity the quantity to set
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+        changed();
+    }
+
+    /**
+     * Gets the exact price of this menu item in cents.
+     * The price is computed once and cached until the item changes.
+     * @return the price of this menu item in cents
+     */
+    public final long priceCents() {
+        if (priceCents == UNPRICED) {
+            priceCents = computePriceCents();
+        }
+        return priceCents;
+    }
+
+    /**
+     * Calculates the exact price of this menu item in cents.
+     * Must be implemented by all subclasses.
+     * @return the price of this menu item in cents
+     */
+    protected abstract long computePriceCents();
+
+    /**
+     * Gets the kind of this menu item.
+     * @return the item type
+     */
+    public abstract ItemType getItemType();
+
+    /**
+     * Gets the variant of this menu item: the flavor id for donuts, the cup
+     * size ordinal for coffee and the packed protein and bread for sandwiches.
+     * @return the variant
+     */
+    public abstract int getVariant();
+
+    /**
+     * Gets the add-in or add-on bitmask of this menu item.
+     * @return the option bitmask, 0 for items without options
+     */
+    public int getOptionMask() {
+        return 0;
+    }
+
+    /**
+     * Sets the price of an item rebuilt from storage, so it keeps the price
+     * it was sold at even if the menu changed since.
+     * @param cents the stored price in cents
+     */
+    void restorePrice(long cents) {
+        priceCents = cents;
+    }
+
+    /**
+     * Must be called by subclasses after any change that can affect the price
+     * or description of this item. Re-prices the item, drops the cached
+     * description and lets the owning order adjust its running totals by the
+     * difference.
+     */
+    protected final void changed() {
+        description = null;
+        if (order == null) {
+            priceCents = UNPRICED;
+            return;
+        }
+        long oldPrice = priceCents;
+        priceCents = computePriceCents();
+        order.itemChanged(this, priceCents - oldPrice);
+    }
+
+    /**
+     * Gets the order this item currently belongs to.
+     * @return the owning order, or null if the item is not in an order
+     */
+    Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Sets the order this item belongs to. Only called by Order.
+     * @param order the owning order, or null to detach the item
+     */
+    void setOrder(Order order) {
+        this.order = order;
+    }
+
+    /**
+     * Calculates the price of this menu item.
+     * @return the price of this menu item in dollars
+     */
+    public double price() {
+        return Money.toDollars(priceCents());
+    }
+
+    /**
+     * Gets the name of this menu item with its options, e.g. "Tall Coffee with mocha".
+     * It must depend only on the item type, variant and option mask.
+     * Must be implemented by all subclasses.
+     * @return the label
+     */
+    protected abstract String label();
+
+    /**
+     * Returns a string representation of this menu item.
+     * The line is built once and cached until the item changes.
+     * @return string representation
+     */
+    @Override
+    public final String toString() {
+        if (description == null) {
+            StringBuilder sb = new StringBuilder(64);
+            sb.append(label()).append(" x").append(quantity).append(" $");
+            description = Money.appendTo(sb, priceCents()).toString();
+        }
+        return description;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.model;
+
+/**
+ * Utility class for exact money arithmetic.
+ * Amounts are kept as a primitive long number of cents, so adding prices
+ * never drifts and never allocates; conversion to dollars only happens
+ * at the edges (display, legacy double getters).
+ * @author Aryaman Kumar
+ */
+public final class Money {
+    /** Number of cents in one dollar. */
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    /** Denominator for rates given in parts per million (6.625% = 66250). */
+    public static final long RATE_SCALE = 1_000_000;
+
+    /**
+     * Private constructor, this class only has static helpers.
+     */
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent.
+     * @param dollars the dollar amount
+     * @return the amount in cents
+     */
+    public static long fromDollars(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Converts an amount in cents to dollars.
+     * @param cents the amount in cents
+     * @return the amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Applies a rate to an amount, rounding half up to the nearest cent.
+     * @param cents the amount in cents
+     * @param ratePpm the rate in parts per million
+     * @return the rounded result in cents
+     */
+    public static long applyRate(long cents, long ratePpm) {
+        return Math.floorDiv(cents * ratePpm + RATE_SCALE / 2, RATE_SCALE);
+    }
+
+    /**
+     * Formats an amount in cents with exactly two decimal places (e.g. "12.34").
+     * @param cents the amount in cents
+     * @return the formatted amount, without a currency sign
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(12), cents).toString();
+    }
+
+    /**
+     * Appends an amount in cents with exactly two decimal places.
+     * @param sb the builder to append to
+     * @param cents the amount in cents
+     * @return the same builder
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % CENTS_PER_DOLLAR;
+        sb.append(cents / CENTS_PER_DOLLAR).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,286 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class representing a customer order.
+ * Each order has a unique order number and a list of menu items.
+ * Subtotal, tax and total are kept up to date as items are added, removed
+ * or changed, so reading them never walks the item list.
+ * <p>
+ * Views of an order register an ItemListener to hear about each item added,
+ * removed or changed, so they can update just that row and the totals.
+ * Like the rest of Order, listeners are not thread-safe.
+ * @author Aryaman Kumar
+ */
+public class Order {
+
+    /**
+     * Receives the changes to the items of an order, after the totals were
+     * updated.
+     */
+    public interface ItemListener {
+        /**
+         * Called after an item was added.
+         * @param index the position of the item
+         * @param item the item
+         */
+        void itemAdded(int index, MenuItem item);
+
+        /**
+         * Called after an item was removed.
+         * @param index the position the item had
+         * @param item the item
+         */
+        void itemRemoved(int index, MenuItem item);
+
+        /**
+         * Called after an item was changed, e.g. its quantity or add-ins.
+         * @param index the position of the item
+         * @param item the item
+         */
+        void itemChanged(int index, MenuItem item);
+    }
+
+    private static final ItemListener[] NO_LISTENERS = new ItemListener[0];
+
+    /** New Jersey sales tax, 6.625%, in parts per million. */
+    private static final long TAX_RATE_PPM = 66_250;
+    private int orderNumber;
+    private ArrayList<MenuItem> menuItems;
+    private List<MenuItem> readOnlyItems;
+    private long subtotalCents;
+    private long salesTaxCents;
+    private String description;
+    // Copied on write, so a listener may remove itself while being called
+    private ItemListener[] listeners = NO_LISTENERS;
+
+    /**
+     * Constructor for Order.
+     * @param orderNumber the unique order number
+     */
+    public Order(int orderNumber) {
+        this.orderNumber = orderNumber;
+        this.menuItems = new ArrayList<>();
+        this.readOnlyItems = Collections.unmodifiableList(menuItems);
+    }
+
+    /**
+     * Gets the order number.
+     * @return the order number
+     */
+    public int getOrderNumber() {
+        return orderNumber;
+    }
+
+    /**
+     * Gets the list of menu items in this order.
+     * The list is read-only; use addItem, removeItem and clearItems to change it.
+     * @return the menu items list
+     */
+    public List<MenuItem> getMenuItems() {
+        return readOnlyItems;
+    }
+
+    /**
+     * Adds a menu item to the order.
+     * @param item the menu item to add
+     * @throws IllegalArgumentException if the item already belongs to another order
+     */
+    public void addItem(MenuItem item) {
+        if (item.getOrder() != null) {
+            throw new IllegalArgumentException("Item already belongs to order #"
+                    + item.getOrder().getOrderNumber());
+        }
+        menuItems.add(item);
+        item.setOrder(this);
+        adjustTotals(item.priceCents());
+        for (ItemListener listener : listeners) {
+            listener.itemAdded(menuItems.size() - 1, item);
+        }
+    }
+
+    /**
+     * Removes a menu item from the order.
+     * @param item the menu item to remove
+     */
+    public void removeItem(MenuItem item) {
+        int index = item.getOrder() == this ? indexOf(item) : -1;
+        if (index >= 0) {
+            menuItems.remove(index);
+            item.setOrder(null);
+            adjustTotals(-item.priceCents());
+            for (ItemListener listener : listeners) {
+                listener.itemRemoved(index, item);
+            }
+        }
+    }
+
+    /**
+     * Removes all menu items from the order.
+     * Listeners hear about each item, from the last one back.
+     */
+    public void clearItems() {
+        for (MenuItem item : menuItems) {
+            item.setOrder(null);
+        }
+        MenuItem[] removed = listeners.length == 0 ? null : menuItems.toArray(new MenuItem[0]);
+        menuItems.clear();
+        subtotalCents = 0;
+        salesTaxCents = 0;
+        description = null;
+        for (int index = removed == null ? -1 : removed.length - 1; index >= 0; index--) {
+            for (ItemListener listener : listeners) {
+                listener.itemRemoved(index, removed[index]);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener for changes to the items of this order.
+     * @param listener the listener
+     */
+    public void addItemListener(ItemListener listener) {
+        ItemListener[] more = Arrays.copyOf(listeners, listeners.length + 1);
+        more[listeners.length] = listener;
+        listeners = more;
+    }
+
+    /**
+     * Unregisters a listener for changes to the items of this order.
+     * @param listener the listener
+     */
+    public void removeItemListener(ItemListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ItemListener[] fewer = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, fewer, i, fewer.length - i);
+                listeners = fewer.length == 0 ? NO_LISTENERS : fewer;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds an item of this order by identity.
+     * @param item the item
+     * @return its position, or -1 if it is not in the order
+     */
+    private int indexOf(MenuItem item) {
+        for (int i = 0; i < menuItems.size(); i++) {
+            if (menuItems.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adjusts the running totals after an item of this order was changed,
+     * and tells the listeners.
+     * @param item the item
+     * @param deltaCents the change of its price in cents
+     */
+    void itemChanged(MenuItem item, long deltaCents) {
+        adjustTotals(deltaCents);
+        if (listeners.length > 0) {
+            int index = indexOf(item);
+            for (ItemListener listener : listeners) {
+                listener.itemChanged(index, item);
+            }
+        }
+    }
+
+    /**
+     * Adjusts the running totals and drops the cached description after an
+     * item was added, removed or changed.
+     * @param deltaCents the change of the subtotal in cents
+     */
+    private void adjustTotals(long deltaCents) {
+        subtotalCents += deltaCents;
+        salesTaxCents = salesTaxFor(subtotalCents);
+        description = null;
+    }
+
+    /**
+     * Computes the sales tax for a subtotal, rounded half up to the cent.
+     * @param subtotalCents the subtotal in cents
+     * @return the sales tax in cents
+     */
+    static long salesTaxFor(long subtotalCents) {
+        return Money.applyRate(subtotalCents, TAX_RATE_PPM);
+    }
+
+    /**
+     * Gets the subtotal (before tax) of this order in cents.
+     * @return the subtotal in cents
+     */
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    /**
+     * Gets the sales tax for this order in cents, rounded half up.
+     * @return the sales tax amount in cents
+     */
+    public long getSalesTaxCents() {
+        return salesTaxCents;
+    }
+
+    /**
+     * Gets the total (including tax) of this order in cents.
+     * @return the total amount in cents
+     */
+    public long getTotalCents() {
+        return subtotalCents + salesTaxCents;
+    }
+
+    /**
+     * Gets the subtotal (before tax) of this order.
+     * @return the subtotal
+     */
+    public double getSubtotal() {
+        return Money.toDollars(getSubtotalCents());
+    }
+
+    /**
+     * Gets the sales tax for this order.
+     * @return the sales tax amount
+     */
+    public double getSalesTax() {
+        return Money.toDollars(getSalesTaxCents());
+    }
+
+    /**
+     * Gets the total (including tax) of this order.
+     * @return the total amount
+     */
+    public double getTotal() {
+        return Money.toDollars(getTotalCents());
+    }
+
+    /**
+     * Returns a string representation of this order.
+     * The text is built once and cached until the order changes.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        if (description != null) {
+            return description;
+        }
+        StringBuilder sb = new StringBuilder(64 + 48 * menuItems.size());
+        sb.append("Order #").append(orderNumber).append("\n");
+        for (MenuItem item : menuItems) {
+            sb.append("  ").append(item.toString()).append("\n");
+        }
+        Money.appendTo(sb.append("Subtotal: $"), subtotalCents).append("\n");
+        Money.appendTo(sb.append("Sales Tax: $"), salesTaxCents).append("\n");
+        Money.appendTo(sb.append("Total: $"), getTotalCents());
+        description = sb.toString();
+        return description;
+    }
+}
@@ -0,0 +1,514 @@
+package org.example.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed on-disk pages for the oldest orders of an OrderStore.
+ * Page p holds slots p * PAGE_SLOTS until (p + 1) * PAGE_SLOTS, serialized
+ * column by column and deflated, in one append-only file. The heap only
+ * keeps a sparse index with one entry per page (file offset, lowest and
+ * highest order number, live orders before the page) and a bounded LRU
+ * cache of decompressed pages, so it stays flat however many orders are
+ * archived.
+ * <p>
+ * Archived pages never change. Orders cancelled after they were archived
+ * are kept in a small sorted array that is replaced on every change, so
+ * snapshots can hold on to it.
+ * <p>
+ * The archive only extends the heap of one process: its file is replaced
+ * when it is opened and deleted when it is closed. Thread-safe; the store
+ * serializes the methods that change it.
+ * @author Aryaman Kumar
+ */
+final class OrderArchive implements Closeable {
+    /** Number of slots in one page. */
+    static final int PAGE_SLOTS = 4096;
+
+    private static final String FILE_NAME = "orders.archive";
+    private static final int ORDER_SIZE = 4 + 8 + 8 + 1 + 4;
+    private static final int LINE_SIZE = 1 + 4 + 1 + 4 + 8;
+
+    /**
+     * A page that has been written but not yet published.
+     */
+    static final class Page {
+        final long offset;
+        final int length;
+        final int minNumber;
+        final int maxNumber;
+        final int liveCount;
+        final boolean[] cancelled;
+
+        /**
+         * Constructor for Page.
+         * @param offset where the page starts in the file
+         * @param length the compressed length
+         * @param minNumber the lowest order number in the page
+         * @param maxNumber the highest order number in the page
+         * @param liveCount the live orders when it was written
+         * @param cancelled the cancelled flags as written
+         */
+        Page(long offset, int length, int minNumber, int maxNumber, int liveCount, boolean[] cancelled) {
+            this.offset = offset;
+            this.length = length;
+            this.minNumber = minNumber;
+            this.maxNumber = maxNumber;
+            this.liveCount = liveCount;
+            this.cancelled = cancelled;
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<Integer, OrderStore.Columns> cache;
+    private volatile OrderStore.Columns lastPage;
+
+    // Sparse index, one entry per page
+    private long[] offsets = new long[16];
+    private int[] lengths = new int[16];
+    private int[] minNumbers = new int[16];
+    private int[] maxNumbers = new int[16];
+    private int[] liveBefore = new int[17];
+    private volatile int pageCount;
+    // Whether every page only holds numbers above those of the pages before it
+    private boolean ascending = true;
+    private long fileSize;
+
+    // Slots cancelled after they were archived, sorted
+    private volatile int[] cancelledSlots = new int[0];
+
+    /**
+     * Constructor for OrderArchive.
+     * @param file the archive file
+     * @param channel the open file
+     * @param cachePages the number of decompressed pages to keep
+     */
+    private OrderArchive(Path file, FileChannel channel, int cachePages) {
+        this.file = file;
+        this.channel = channel;
+        this.cache = new LinkedHashMap<>(cachePages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, OrderStore.Columns> eldest) {
+                return size() > cachePages;
+            }
+        };
+    }
+
+    /**
+     * Creates an empty archive in a directory, replacing any left by an
+     * earlier process.
+     * @param directory the directory for the archive file; created if needed
+     * @param cachePages the number of decompressed pages to keep in memory
+     * @return the archive
+     * @throws IOException if the file cannot be created
+     */
+    static OrderArchive open(Path directory, int cachePages) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new OrderArchive(file, channel, Math.max(1, cachePages));
+    }
+
+    /**
+     * Gets the number of archived slots.
+     * @return the slot count, a multiple of PAGE_SLOTS
+     */
+    int slotCount() {
+        return pageCount * PAGE_SLOTS;
+    }
+
+    /**
+     * Compresses and writes whole pages of a snapshot without publishing
+     * them. Only one thread may write at a time.
+     * @param columns a snapshot whose slots from the first unarchived one on are on the heap
+     * @param to the slot after the last one to write; a page boundary
+     * @return the written pages
+     * @throws IOException if the file cannot be written
+     */
+    Page[] write(OrderStore.Columns columns, int to) throws IOException {
+        int from = slotCount();
+        Page[] pages = new Page[(to - from) / PAGE_SLOTS];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] compressed = new byte[64 << 10];
+        try {
+            long offset = fileSize;
+            for (int p = 0; p < pages.length; p++) {
+                int start = from + p * PAGE_SLOTS;
+                ByteBuffer raw = serialize(columns, start);
+                boolean[] cancelled = new boolean[PAGE_SLOTS];
+                int live = 0;
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = 0; i < PAGE_SLOTS; i++) {
+                    int local = start + i - columns.base;
+                    cancelled[i] = columns.isCancelled(start + i);
+                    raw.put(i * ORDER_SIZE + 20, (byte) (cancelled[i] ? 1 : 0));
+                    live += cancelled[i] ? 0 : 1;
+                    min = Math.min(min, columns.orderNumbers[local]);
+                    max = Math.max(max, columns.orderNumbers[local]);
+                }
+
+                deflater.reset();
+                deflater.setInput(raw.array(), 0, raw.limit());
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, length * 2);
+                    }
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                ByteBuffer out = ByteBuffer.wrap(compressed, 0, length);
+                long position = offset;
+                while (out.hasRemaining()) {
+                    position += channel.write(out, position);
+                }
+                pages[p] = new Page(offset, length, min, max, live, cancelled);
+                offset = position;
+            }
+            return pages;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Serializes the slots of one page: the order columns first, then the lines.
+     * The cancelled flags are filled in by the caller.
+     * @param columns the snapshot
+     * @param start the first slot of the page
+     * @return the bytes, from 0 to the limit
+     */
+    private static ByteBuffer serialize(OrderStore.Columns columns, int start) {
+        int first = start - columns.base;
+        int firstLine = columns.firstLines[first];
+        int lines = columns.firstLines[first + PAGE_SLOTS] - firstLine;
+        ByteBuffer raw = ByteBuffer.allocate(PAGE_SLOTS * ORDER_SIZE + lines * LINE_SIZE);
+        for (int i = first; i < first + PAGE_SLOTS; i++) {
+            raw.putInt(columns.orderNumbers[i])
+                    .putLong(columns.placedAt[i])
+                    .putLong(columns.subtotals[i])
+                    .put((byte) 0)
+                    .putInt(columns.firstLines[i + 1] - columns.firstLines[i]);
+        }
+        for (int line = firstLine; line < firstLine + lines; line++) {
+            raw.put(columns.lineTypes[line])
+                    .putInt(columns.lineVariants[line])
+                    .put(columns.lineMasks[line])
+                    .putInt(columns.lineQuantities[line])
+                    .putLong(columns.linePrices[line]);
+        }
+        raw.flip();
+        return raw;
+    }
+
+    /**
+     * Publishes written pages. Caller holds the store's write lock.
+     * @param pages the pages returned by write()
+     */
+    void publish(Page[] pages) {
+        int count = pageCount;
+        int capacity = count + pages.length;
+        if (capacity > offsets.length) {
+            capacity = Math.max(capacity, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            minNumbers = Arrays.copyOf(minNumbers, capacity);
+            maxNumbers = Arrays.copyOf(maxNumbers, capacity);
+            liveBefore = Arrays.copyOf(liveBefore, capacity + 1);
+        }
+        for (Page page : pages) {
+            if (count > 0 && page.minNumber <= maxNumbers[count - 1]) {
+                ascending = false;
+            }
+            offsets[count] = page.offset;
+            lengths[count] = page.length;
+            minNumbers[count] = page.minNumber;
+            maxNumbers[count] = page.maxNumber;
+            liveBefore[count + 1] = liveBefore[count] + page.liveCount;
+            fileSize = page.offset + page.length;
+            count++;
+        }
+        pageCount = count;
+    }
+
+    /**
+     * Records that an archived order was cancelled after it was archived.
+     * Caller holds the store's write lock.
+     * @param slot the slot of the order
+     */
+    void cancel(int slot) {
+        int[] slots = cancelledSlots;
+        int at = -1 - Arrays.binarySearch(slots, slot);
+        int[] updated = new int[slots.length + 1];
+        System.arraycopy(slots, 0, updated, 0, at);
+        updated[at] = slot;
+        System.arraycopy(slots, at, updated, at + 1, slots.length - at);
+        cancelledSlots = updated;
+    }
+
+    /**
+     * Gets the slots cancelled after they were archived. The array is never modified.
+     * @return the sorted slots
+     */
+    int[] cancelledSlots() {
+        return cancelledSlots;
+    }
+
+    /**
+     * Checks whether an archived order is cancelled.
+     * @param slot an archived slot
+     * @return true if it was cancelled before or after it was archived
+     */
+    boolean isCancelled(int slot) {
+        return isCancelled(slot, cancelledSlots);
+    }
+
+    /**
+     * Checks whether an archived order is cancelled, as of a snapshot of the later cancellations.
+     * @param slot an archived slot
+     * @param cancelled the later cancellations, from cancelledSlots()
+     * @return true if it is cancelled
+     */
+    boolean isCancelled(int slot, int[] cancelled) {
+        OrderStore.Columns page = page(slot);
+        return page.isCancelled(slot) || Arrays.binarySearch(cancelled, slot) >= 0;
+    }
+
+    /**
+     * Gets the number of live archived orders.
+     * @return the live count
+     */
+    int liveCount() {
+        return liveBefore[pageCount] - cancelledSlots.length;
+    }
+
+    /**
+     * Finds the slot of a live archived order.
+     * @param orderNumber the order number
+     * @return the slot, or -1 if there is no such live archived order
+     */
+    int find(int orderNumber) {
+        int count = pageCount;
+        int p = 0;
+        if (ascending) {
+            // Numbers grow page by page, so only one page can hold the number
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxNumbers[mid] < orderNumber) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            p = low;
+        }
+        for (; p < count; p++) {
+            if (orderNumber < minNumbers[p] || orderNumber > maxNumbers[p]) {
+                if (ascending) {
+                    return -1;
+                }
+                continue;
+            }
+            OrderStore.Columns page = page(p * PAGE_SLOTS);
+            for (int i = 0; i < PAGE_SLOTS; i++) {
+                if (page.orderNumbers[i] == orderNumber && !isCancelled(page.base + i)) {
+                    return page.base + i;
+                }
+            }
+            if (ascending) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the slot of the index-th live archived order.
+     * @param index the position among live archived orders
+     * @return the slot
+     */
+    int slotAt(int index) {
+        int[] cancelled = cancelledSlots;
+        // Last page whose live orders before it are at most index
+        int low = 0;
+        int high = pageCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (liveBefore(mid, cancelled) <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int remaining = index - liveBefore(low, cancelled);
+        int start = low * PAGE_SLOTS;
+        for (int slot = start; slot < start + PAGE_SLOTS; slot++) {
+            if (!isCancelled(slot, cancelled) && remaining-- == 0) {
+                return slot;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + liveCount());
+    }
+
+    /**
+     * Gets the number of live archived orders before a slot.
+     * @param slot an archived slot
+     * @return the live orders before it
+     */
+    int indexOfSlot(int slot) {
+        int[] cancelled = cancelledSlots;
+        int p = slot / PAGE_SLOTS;
+        int index = liveBefore(p, cancelled);
+        for (int s = p * PAGE_SLOTS; s < slot; s++) {
+            if (!isCancelled(s, cancelled)) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the number of live orders before a page.
+     * @param page the page
+     * @param cancelled the later cancellations
+     * @return the live orders before it
+     */
+    private int liveBefore(int page, int[] cancelled) {
+        int at = Arrays.binarySearch(cancelled, page * PAGE_SLOTS);
+        // Later cancellations of slots before the page
+        int laterCancels = at >= 0 ? at : -1 - at;
+        return liveBefore[page] - laterCancels;
+    }
+
+    /**
+     * Gets the decompressed page holding a slot, from the cache if possible.
+     * @param slot an archived slot
+     * @return the page as columns whose base is its first slot
+     * @throws UncheckedIOException if the page cannot be read
+     */
+    OrderStore.Columns page(int slot) {
+        int p = slot / PAGE_SLOTS;
+        OrderStore.Columns page = lastPage;
+        if (page != null && page.base == p * PAGE_SLOTS) {
+            return page;
+        }
+        synchronized (cache) {
+            page = cache.get(p);
+        }
+        if (page == null) {
+            page = load(p);
+            synchronized (cache) {
+                cache.put(p, page);
+            }
+        }
+        lastPage = page;
+        return page;
+    }
+
+    /**
+     * Reads and decompresses a page.
+     * @param p the page number
+     * @return the page
+     */
+    private OrderStore.Columns load(int p) {
+        if (p >= pageCount) {
+            throw new IndexOutOfBoundsException("Slot " + p * PAGE_SLOTS + " is not archived");
+        }
+        try {
+            ByteBuffer compressed = ByteBuffer.allocate(lengths[p]);
+            long position = offsets[p];
+            while (compressed.hasRemaining()) {
+                int read = channel.read(compressed, position + compressed.position());
+                if (read < 0) {
+                    throw new IOException("Archive page " + p + " is cut off");
+                }
+            }
+            Inflater inflater = new Inflater();
+            byte[] raw = new byte[PAGE_SLOTS * ORDER_SIZE];
+            int length = 0;
+            try {
+                inflater.setInput(compressed.array());
+                while (!inflater.finished()) {
+                    if (length == raw.length) {
+                        raw = Arrays.copyOf(raw, length * 2);
+                    }
+                    int inflated = inflater.inflate(raw, length, raw.length - length);
+                    if (inflated == 0 && inflater.needsInput()) {
+                        throw new IOException("Archive page " + p + " is cut off");
+                    }
+                    length += inflated;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Archive page " + p + " is corrupt", e);
+            } finally {
+                inflater.end();
+            }
+            return deserialize(ByteBuffer.wrap(raw, 0, length), p * PAGE_SLOTS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuilds the columns of a page from its serialized form.
+     * @param raw the bytes written by serialize()
+     * @param base the first slot of the page
+     * @return the page
+     */
+    private static OrderStore.Columns deserialize(ByteBuffer raw, int base) {
+        int[] orderNumbers = new int[PAGE_SLOTS];
+        long[] placedAt = new long[PAGE_SLOTS];
+        long[] subtotals = new long[PAGE_SLOTS];
+        boolean[] cancelled = new boolean[PAGE_SLOTS];
+        int[] firstLines = new int[PAGE_SLOTS + 1];
+        for (int i = 0; i < PAGE_SLOTS; i++) {
+            orderNumbers[i] = raw.getInt();
+            placedAt[i] = raw.getLong();
+            subtotals[i] = raw.getLong();
+            cancelled[i] = raw.get() != 0;
+            firstLines[i + 1] = firstLines[i] + raw.getInt();
+        }
+        int lines = firstLines[PAGE_SLOTS];
+        byte[] types = new byte[lines];
+        int[] variants = new int[lines];
+        byte[] masks = new byte[lines];
+        int[] quantities = new int[lines];
+        long[] prices = new long[lines];
+        for (int line = 0; line < lines; line++) {
+            types[line] = raw.get();
+            variants[line] = raw.getInt();
+            masks[line] = raw.get();
+            quantities[line] = raw.getInt();
+            prices[line] = raw.getLong();
+        }
+        return new OrderStore.Columns(base, orderNumbers, firstLines, subtotals, placedAt, cancelled,
+                types, variants, quantities, masks, prices);
+    }
+
+    /**
+     * Closes and deletes the archive file.
+     * @throws IOException if the file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+}
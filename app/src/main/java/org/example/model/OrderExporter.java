@@ -0,0 +1,408 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Streaming, parallel exporter for placed orders.
+ * The placed orders are split into chunks of consecutive slots that are
+ * rendered on a fork-join pool, each into its own buffer, straight from the
+ * column store (see ExportedOrder). The rendered chunks are written in slot
+ * order through one large direct buffer to a FileChannel, so the file is the
+ * same byte for byte however many threads rendered it. Only a window of a
+ * few chunks per thread is in flight at once, which bounds memory use.
+ * <p>
+ * Compressed exports hand each full output buffer to a GZIP stage on its own
+ * thread (see GzipPipeline), so deflating overlaps with rendering and the
+ * compressed file is never held in memory.
+ * <p>
+ * An export is cancelled by interrupting the thread running it; it then
+ * stops after the chunk it is writing and throws InterruptedIOException.
+ * <p>
+ * The output buffer is reused between exports, so exports through one
+ * exporter run one at a time.
+ * @author Aryaman Kumar
+ */
+public final class OrderExporter {
+    /** Size of the reusable output buffer. */
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    // Slots rendered by one task
+    private static final int CHUNK_SLOTS = 4096;
+    private static final int CHUNK_CAPACITY = 256 << 10;
+
+    /**
+     * Receives progress reports while an export runs.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called after each chunk of orders is written and once when the export is done.
+         * @param ordersWritten the number of orders written so far
+         * @param totalOrders the number of live orders when the export started
+         * @param bytesWritten the number of bytes written so far, before compression
+         * @param elapsedNanos the time since the export started
+         */
+        void progress(int ordersWritten, int totalOrders, long bytesWritten, long elapsedNanos);
+    }
+
+    /**
+     * One rendered chunk of orders.
+     */
+    private static final class Chunk {
+        final ExportBuffer out;
+        int orders;
+
+        /**
+         * Constructor for Chunk.
+         * @param out the buffer the chunk is rendered into
+         */
+        Chunk(ExportBuffer out) {
+            this.out = out;
+        }
+    }
+
+    private final OrderStore store;
+    private final ForkJoinPool pool;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ConcurrentLinkedQueue<ExportBuffer> spareBuffers = new ConcurrentLinkedQueue<>();
+
+    private FileChannel channel;
+    private GzipPipeline gzip;
+    private long bytesWritten;
+
+    /**
+     * Creates an exporter for a column store that renders on the common pool.
+     * @param store the store to export
+     */
+    OrderExporter(OrderStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an exporter for a column store.
+     * @param store the store to export
+     * @param pool the pool to render chunks on
+     */
+    OrderExporter(OrderStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * Writes all live orders to a file in the text format, replacing it if it exists.
+     * @param path the file to write
+     * @param listener receives progress reports, or null
+     * @return the number of orders written
+     * @throws IOException if the file cannot be written
+     */
+    public int export(Path path, ProgressListener listener) throws IOException {
+        return export(path, new TextExportFormat(), listener);
+    }
+
+    /**
+     * Writes all live orders to a file, replacing it if it exists.
+     * @param path the file to write
+     * @param format the export format
+     * @param listener receives progress reports, or null
+     * @return the number of orders written
+     * @throws IOException if the file cannot be written
+     */
+    public int export(Path path, ExportFormat format, ProgressListener listener) throws IOException {
+        return export(path, format, false, listener);
+    }
+
+    /**
+     * Writes all live orders to a file, replacing it if it exists.
+     * A cancelled export deletes the partly written file.
+     * @param path the file to write
+     * @param format the export format
+     * @param compress whether to GZIP the file
+     * @param listener receives progress reports, or null
+     * @return the number of orders written
+     * @throws InterruptedIOException if the export was cancelled
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized int export(Path path, ExportFormat format, boolean compress, ProgressListener listener)
+            throws IOException {
+        long start = System.nanoTime();
+        OrderStore.Columns columns = store.columns();
+        bytesWritten = 0;
+        buffer.clear();
+
+        int written;
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            open(out, compress);
+            ExportBuffer frame = new ExportBuffer(256);
+            format.writeHeader(frame);
+            put(frame);
+            written = writeOrders(columns, format, 0, columns.liveCount, start, listener);
+            frame.clear();
+            format.writeFooter(written, frame);
+            put(frame);
+            finish();
+        } catch (InterruptedIOException | ClosedByInterruptException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        } finally {
+            release();
+        }
+
+        if (listener != null) {
+            listener.progress(written, columns.liveCount, bytesWritten, System.nanoTime() - start);
+        }
+        return written;
+    }
+
+    /**
+     * Appends the orders placed since the last incremental export to a file,
+     * preceded by a cancellation record for each previously exported order that
+     * has been cancelled since. The high-water mark (how many orders and
+     * cancellations were exported, the last order number and the file length)
+     * is kept next to the file in "&lt;file&gt;.mark". If the mark is missing
+     * or no longer matches the file or the placed orders (another format, the
+     * file was changed, or the orders were not restored from a journal after a
+     * restart), the file is rewritten with all live orders instead.
+     * Incremental files are logs, so they have a header but no footer.
+     * @param path the file to append to
+     * @param format the export format
+     * @param listener receives progress reports, or null
+     * @return the number of orders written
+     * @throws IOException if the file or its mark cannot be written
+     */
+    public int exportIncremental(Path path, ExportFormat format, ProgressListener listener) throws IOException {
+        return exportIncremental(path, format, false, listener);
+    }
+
+    /**
+     * Appends the orders placed since the last incremental export to a file,
+     * as above. A compressed file gets one GZIP member per append, which
+     * GZIP readers decompress as one stream. A cancelled append does not
+     * move the mark, so the next export drops what it wrote and retries.
+     * @param path the file to append to
+     * @param format the export format
+     * @param compress whether to GZIP the file
+     * @param listener receives progress reports, or null
+     * @return the number of orders written
+     * @throws IOException if the file or its mark cannot be written
+     */
+    public synchronized int exportIncremental(Path path, ExportFormat format, boolean compress,
+                                              ProgressListener listener) throws IOException {
+        long start = System.nanoTime();
+        Path markFile = markFileFor(path);
+        ExportMark mark = ExportMark.read(markFile);
+        OrderStore.Columns columns = store.columns(mark != null ? mark.slots : 0);
+        String formatName = compress ? format.getName() + "+gzip" : format.getName();
+        boolean resume = mark != null
+                && mark.matches(columns, formatName, Files.exists(path) ? Files.size(path) : -1);
+        if (mark != null && !resume) {
+            columns = store.columns(0);
+        }
+        int fromSlot = resume ? mark.slots : 0;
+        int total = 0;
+        for (int slot = fromSlot; slot < columns.orderCount; slot++) {
+            if (!columns.isCancelled(slot)) {
+                total++;
+            }
+        }
+        long offset = resume ? mark.bytes : 0;
+        bytesWritten = 0;
+        buffer.clear();
+
+        int written;
+        long size;
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drop anything appended after the mark by an export that did not finish
+            out.truncate(offset);
+            out.position(offset);
+            open(out, compress);
+            ExportBuffer frame = new ExportBuffer(256);
+            if (resume) {
+                for (int i = mark.cancels; i < columns.cancelCount; i++) {
+                    int slot = columns.cancelLog[i];
+                    if (slot < mark.slots) {
+                        format.writeCancellation(columns.orderNumber(slot), frame);
+                    }
+                }
+            } else {
+                format.writeHeader(frame);
+            }
+            put(frame);
+            written = writeOrders(columns, format, fromSlot, total, start, listener);
+            finish();
+            out.force(false);
+            size = out.size();
+        } finally {
+            release();
+        }
+
+        int lastOrderNumber = columns.orderCount > 0 ? columns.orderNumber(columns.orderCount - 1) : 0;
+        new ExportMark(formatName, columns.orderCount, columns.cancelCount, lastOrderNumber, size)
+                .write(markFile);
+        if (listener != null) {
+            listener.progress(written, total, bytesWritten, System.nanoTime() - start);
+        }
+        return written;
+    }
+
+    /**
+     * Gets the file the high-water mark of an incremental export is kept in.
+     * @param path the export file
+     * @return the mark file
+     */
+    static Path markFileFor(Path path) {
+        return path.resolveSibling(path.getFileName() + ".mark");
+    }
+
+    /**
+     * Starts writing to a channel, through a compressor if asked to.
+     * @param out the channel
+     * @param compress whether to GZIP the output
+     */
+    private void open(FileChannel out, boolean compress) {
+        channel = out;
+        if (compress) {
+            gzip = new GzipPipeline(out, BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Writes out the buffered bytes and, if compressing, the end of the GZIP member.
+     * @throws IOException if the file cannot be written
+     */
+    private void finish() throws IOException {
+        flush();
+        if (gzip != null) {
+            GzipPipeline pipeline = gzip;
+            gzip = null;
+            pipeline.finish();
+        }
+    }
+
+    /**
+     * Stops writing to the channel, stopping the compressor if the export failed.
+     */
+    private void release() {
+        if (gzip != null) {
+            gzip.abort();
+            gzip = null;
+        }
+        channel = null;
+    }
+
+    /**
+     * Renders the live orders from a slot on in chunks on the pool and writes
+     * them in slot order.
+     * @param columns the column snapshot
+     * @param format the export format
+     * @param fromSlot the first slot to export
+     * @param total the number of live orders to export, for progress reports
+     * @param start when the export started
+     * @param listener receives progress reports, or null
+     * @return the number of orders written
+     * @throws InterruptedIOException if the export was cancelled
+     * @throws IOException if the file cannot be written
+     */
+    private int writeOrders(OrderStore.Columns columns, ExportFormat format, int fromSlot, int total,
+                            long start, ProgressListener listener) throws IOException {
+        int chunkCount = (columns.orderCount - fromSlot + CHUNK_SLOTS - 1) / CHUNK_SLOTS;
+        int window = 2 * pool.getParallelism();
+        ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>(window);
+        int written = 0;
+        try {
+            int next = 0;
+            while (next < chunkCount || !inFlight.isEmpty()) {
+                while (next < chunkCount && inFlight.size() < window) {
+                    int from = fromSlot + next * CHUNK_SLOTS;
+                    int to = Math.min(from + CHUNK_SLOTS, columns.orderCount);
+                    inFlight.add(pool.submit(() -> render(columns, format, from, to)));
+                    next++;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Export cancelled");
+                }
+                Chunk chunk = inFlight.poll().join();
+                put(chunk.out);
+                written += chunk.orders;
+                chunk.out.clear();
+                spareBuffers.add(chunk.out);
+                if (listener != null) {
+                    listener.progress(written, total, bytesWritten + buffer.position(), System.nanoTime() - start);
+                }
+            }
+        } finally {
+            for (ForkJoinTask<Chunk> task : inFlight) {
+                task.cancel(false);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Renders the live orders in a range of slots. Runs on the pool.
+     * @param columns the column snapshot
+     * @param format the export format
+     * @param from the first slot
+     * @param to the slot after the last one
+     * @return the rendered chunk
+     */
+    private Chunk render(OrderStore.Columns columns, ExportFormat format, int from, int to) {
+        ExportBuffer out = spareBuffers.poll();
+        Chunk chunk = new Chunk(out != null ? out : new ExportBuffer(CHUNK_CAPACITY));
+        ExportedOrder order = new ExportedOrder(columns, format);
+        for (int slot = from; slot < to; slot++) {
+            if (columns.isCancelled(slot)) {
+                continue;
+            }
+            order.moveTo(slot);
+            format.writeOrder(order, chunk.out);
+            chunk.orders++;
+        }
+        return chunk;
+    }
+
+    /**
+     * Appends rendered bytes, writing out the buffer whenever it fills up.
+     * @param rendered the rendered bytes
+     * @throws IOException if the file cannot be written
+     */
+    private void put(ExportBuffer rendered) throws IOException {
+        int from = 0;
+        int size = rendered.size();
+        while (from < size) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(size - from, buffer.remaining());
+            rendered.copyTo(from, buffer, length);
+            from += length;
+        }
+    }
+
+    /**
+     * Writes out the buffered bytes, or hands them to the compressor.
+     * @throws IOException if the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        if (gzip != null) {
+            bytesWritten += buffer.remaining();
+            gzip.write(buffer);
+        }
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,581 @@
+package org.example.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Parser for the files written by the built-in export formats (text, CSV
+ * and JSON Lines), reading straight from a mapped byte buffer.
+ * Numbers, amounts and timestamps are decoded from the bytes in place, and
+ * each distinct item label is decoded once and then found in a byte-keyed
+ * cache, so parsing allocates almost nothing per line.
+ * <p>
+ * A file is a sequence of records: a header, an order, a cancellation or a
+ * footer. isRecordStart() recognizes the first byte of a record without
+ * reading the file from the start, which lets the importer split a file into
+ * chunks that are parsed in parallel.
+ * Not thread-safe; each chunk gets its own parser.
+ * @author Aryaman Kumar
+ */
+abstract class OrderFileParser {
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    protected ByteBuffer in;
+    protected int pos;
+
+    // Encoded label -> packed item, open addressing
+    private byte[][] labelKeys = new byte[64][];
+    private long[] labelItems = new long[64];
+    private int labelCount;
+    private byte[] scratch = new byte[128];
+
+    /**
+     * Picks the parser for a file from its first bytes.
+     * @param head the first bytes of the file
+     * @return creates parsers for the file, or null if it is not an order export
+     */
+    static Supplier<OrderFileParser> detect(ByteBuffer head) {
+        if (startsWith(head, Text.HEADER)) {
+            return Text::new;
+        }
+        if (startsWith(head, Csv.HEADER)) {
+            return Csv::new;
+        }
+        if (startsWith(head, JsonLines.ORDER_NUMBER)) {
+            return JsonLines::new;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a buffer starts with some bytes.
+     * @param buffer the buffer, read from its position
+     * @param prefix the bytes
+     * @return true if the buffer starts with them
+     */
+    private static boolean startsWith(ByteBuffer buffer, byte[] prefix) {
+        if (buffer.remaining() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(buffer.position() + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses all records in a range of a buffer.
+     * @param buffer the buffer
+     * @param from the first byte of a record
+     * @param to the byte after the last record
+     * @param defaultPlacedAt the placement time for formats that do not record one
+     * @param out receives the orders and cancellations
+     * @throws IllegalArgumentException if the bytes are not a valid record
+     * @throws IndexOutOfBoundsException if a record is cut off
+     */
+    final void parse(ByteBuffer buffer, int from, int to, long defaultPlacedAt, ImportBatch out) {
+        in = buffer;
+        pos = from;
+        while (pos < to) {
+            parseRecord(defaultPlacedAt, out);
+        }
+    }
+
+    /**
+     * Gets the position the parser has reached, for error messages.
+     * @return the position in the buffer
+     */
+    final int position() {
+        return pos;
+    }
+
+    /**
+     * Checks whether a record starts at a position. Reads only a few bytes
+     * around the position.
+     * @param buffer the buffer
+     * @param p a position at least two bytes into the buffer
+     * @return true if a record starts there; false if not or if it cannot tell
+     */
+    abstract boolean isRecordStart(ByteBuffer buffer, int p);
+
+    /**
+     * Parses the record at pos and moves pos past it.
+     * @param defaultPlacedAt the placement time for formats that do not record one
+     * @param out receives the order or cancellation
+     */
+    protected abstract void parseRecord(long defaultPlacedAt, ImportBatch out);
+
+    /**
+     * Turns a label as the format encodes it back into the plain label.
+     * @param encoded the encoded label
+     * @param length its length in bytes
+     * @return the label
+     */
+    protected abstract String decodeLabel(byte[] encoded, int length);
+
+    /**
+     * Reads a non-negative whole number.
+     * @return the number
+     */
+    protected final int readInt() {
+        int start = pos;
+        long value = 0;
+        byte b;
+        while (pos < in.limit() && (b = in.get(pos)) >= '0' && b <= '9') {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Number too large");
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw new IllegalArgumentException("Expected a number");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an amount such as "12.34".
+     * @return the amount in cents
+     */
+    protected final long readCents() {
+        boolean negative = in.get(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        long dollars = readInt();
+        expect('.');
+        int tens = digit(pos);
+        int ones = digit(pos + 1);
+        pos += 2;
+        long cents = dollars * Money.CENTS_PER_DOLLAR + tens * 10 + ones;
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Reads a timestamp as written by ExportBuffer.putTimestamp(),
+     * e.g. "2024-03-01T14:05:09.120Z".
+     * @return the time in epoch milliseconds
+     */
+    protected final long readTimestamp() {
+        int year = digits(4);
+        expect('-');
+        int month = digits(2);
+        expect('-');
+        int day = digits(2);
+        expect('T');
+        int hour = digits(2);
+        expect(':');
+        int minute = digits(2);
+        expect(':');
+        int second = digits(2);
+        expect('.');
+        int millis = digits(3);
+        expect('Z');
+        return LocalDate.of(year, month, day).toEpochDay() * MILLIS_PER_DAY
+                + ((hour * 60L + minute) * 60 + second) * 1000 + millis;
+    }
+
+    /**
+     * Reads a fixed number of digits.
+     * @param count the number of digits
+     * @return their value
+     */
+    private int digits(int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            value = value * 10 + digit(pos++);
+        }
+        return value;
+    }
+
+    /**
+     * Reads one digit.
+     * @param p the position of the digit
+     * @return its value
+     */
+    private int digit(int p) {
+        int d = in.get(p) - '0';
+        if (d < 0 || d > 9) {
+            throw new IllegalArgumentException("Expected a digit");
+        }
+        return d;
+    }
+
+    /**
+     * Skips one expected character.
+     * @param c the character
+     */
+    protected final void expect(char c) {
+        if (in.get(pos) != c) {
+            throw new IllegalArgumentException("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Skips expected text.
+     * @param text the text as bytes
+     */
+    protected final void expect(byte[] text) {
+        if (!matches(text)) {
+            throw new IllegalArgumentException("Expected \"" + new String(text, StandardCharsets.UTF_8) + "\"");
+        }
+        pos += text.length;
+    }
+
+    /**
+     * Checks whether text follows, without skipping it.
+     * @param text the text as bytes
+     * @return true if the bytes at pos are the text
+     */
+    protected final boolean matches(byte[] text) {
+        if (in.limit() - pos < text.length) {
+            return false;
+        }
+        for (int i = 0; i < text.length; i++) {
+            if (in.get(pos + i) != text[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves pos to the next occurrence of a character.
+     * @param c the character
+     */
+    protected final void skipTo(char c) {
+        while (in.get(pos) != c) {
+            pos++;
+        }
+    }
+
+    /**
+     * Moves pos past the end of the current line.
+     */
+    protected final void skipLine() {
+        skipTo('\n');
+        pos++;
+    }
+
+    /**
+     * Looks up an encoded label, decoding it the first time it is seen.
+     * @param from the first byte of the encoded label
+     * @param to the byte after it
+     * @return the packed item (see ItemLabels)
+     */
+    protected final long item(int from, int to) {
+        int length = to - from;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        in.get(from, scratch, 0, length);
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + scratch[i];
+        }
+        int mask = labelKeys.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        for (byte[] key; (key = labelKeys[slot]) != null; slot = (slot + 1) & mask) {
+            if (Arrays.equals(key, 0, key.length, scratch, 0, length)) {
+                return labelItems[slot];
+            }
+        }
+        long item = ItemLabels.decode(decodeLabel(scratch, length));
+        labelKeys[slot] = Arrays.copyOf(scratch, length);
+        labelItems[slot] = item;
+        if (++labelCount * 2 > labelKeys.length) {
+            growLabels();
+        }
+        return item;
+    }
+
+    /**
+     * Doubles the label cache.
+     */
+    private void growLabels() {
+        byte[][] oldKeys = labelKeys;
+        long[] oldItems = labelItems;
+        labelKeys = new byte[oldKeys.length * 2][];
+        labelItems = new long[oldKeys.length * 2];
+        int mask = labelKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            byte[] key = oldKeys[i];
+            if (key == null) {
+                continue;
+            }
+            int hash = 1;
+            for (byte b : key) {
+                hash = 31 * hash + b;
+            }
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (labelKeys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            labelKeys[slot] = key;
+            labelItems[slot] = oldItems[i];
+        }
+    }
+
+    /**
+     * Encodes fixed text as UTF-8.
+     * @param text the text
+     * @return the encoded bytes
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parser for TextExportFormat: records are separated by blank lines.
+     */
+    static final class Text extends OrderFileParser {
+        static final byte[] HEADER = bytes("RU Donuts - All Orders\n");
+        private static final byte[] ORDER = bytes("Order #");
+        private static final byte[] CANCELLED = bytes("Cancelled Order #");
+        private static final byte[] FOOTER = bytes("Total Orders: ");
+
+        @Override
+        boolean isRecordStart(ByteBuffer buffer, int p) {
+            return buffer.get(p - 1) == '\n' && buffer.get(p - 2) == '\n';
+        }
+
+        @Override
+        protected void parseRecord(long defaultPlacedAt, ImportBatch out) {
+            if (matches(ORDER)) {
+                pos += ORDER.length;
+                out.beginOrder(readInt(), defaultPlacedAt);
+                expect('\n');
+                // Item lines are indented; the subtotal, tax and total lines are not
+                while (in.get(pos) == ' ') {
+                    parseLine(out);
+                }
+                while (in.get(pos) != '\n') {
+                    skipLine();
+                }
+                pos++;
+            } else if (matches(CANCELLED)) {
+                pos += CANCELLED.length;
+                out.cancel(readInt());
+                expect('\n');
+                expect('\n');
+            } else if (matches(HEADER) || matches(FOOTER)) {
+                // The header is followed by a blank line; the footer ends the file
+                while (pos < in.limit() && in.get(pos) != '\n') {
+                    skipLine();
+                }
+                pos++;
+            } else {
+                throw new IllegalArgumentException("Expected an order");
+            }
+        }
+
+        /**
+         * Parses an item line such as "  Yeast Donut (Glazed) x2 $3.98".
+         * The label may contain " x" or " $", so the line is split from its end.
+         * @param out receives the line
+         */
+        private void parseLine(ImportBatch out) {
+            int start = pos + 2;
+            skipTo('\n');
+            int end = pos;
+            int dollar = end - 1;
+            while (!(in.get(dollar) == '$' && in.get(dollar - 1) == ' ')) {
+                dollar--;
+            }
+            int times = dollar - 2;
+            while (!(in.get(times) == 'x' && in.get(times - 1) == ' ')) {
+                times--;
+            }
+            long item = item(start, times - 1);
+            pos = times + 1;
+            int quantity = readInt();
+            pos = dollar + 1;
+            long price = readCents();
+            out.addLine(item, quantity, price);
+            pos = end + 1;
+        }
+
+        @Override
+        protected String decodeLabel(byte[] encoded, int length) {
+            return new String(encoded, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parser for CsvExportFormat: one row per item, so the rows of an order
+     * are consecutive rows with its number.
+     */
+    static final class Csv extends OrderFileParser {
+        static final byte[] HEADER = bytes("order_number,");
+
+        @Override
+        boolean isRecordStart(ByteBuffer buffer, int p) {
+            if (buffer.get(p - 1) != '\n') {
+                return false;
+            }
+            int previous = p - 2;
+            while (previous >= 0 && buffer.get(previous) != '\n') {
+                previous--;
+            }
+            if (previous < 0) {
+                return false;
+            }
+            // A new record unless this row continues the order of the row before
+            for (int a = previous + 1, b = p; ; a++, b++) {
+                if (b >= buffer.limit()) {
+                    return false;
+                }
+                byte x = buffer.get(a);
+                if (x != buffer.get(b)) {
+                    return true;
+                }
+                if (x == ',') {
+                    // An empty placed_at marks a cancellation, which is a record of its own
+                    return b + 1 < buffer.limit() && (buffer.get(a + 1) == ',' || buffer.get(b + 1) == ',');
+                }
+            }
+        }
+
+        @Override
+        protected void parseRecord(long defaultPlacedAt, ImportBatch out) {
+            if (matches(HEADER)) {
+                skipLine();
+                return;
+            }
+            int number = readInt();
+            expect(',');
+            if (in.get(pos) == ',') {
+                out.cancel(number);
+                skipLine();
+                return;
+            }
+            out.beginOrder(number, readTimestamp());
+            parseRow(out);
+            while (pos < in.limit()) {
+                int rowStart = pos;
+                if (readInt() != number || in.get(pos + 1) == ',') {
+                    pos = rowStart;
+                    return;
+                }
+                pos++;
+                skipTo(',');
+                parseRow(out);
+            }
+        }
+
+        /**
+         * Parses the rest of a row after its placed_at column.
+         * @param out receives the line
+         */
+        private void parseRow(ImportBatch out) {
+            expect(',');
+            skipTo(',');
+            pos++;
+            int labelStart = pos;
+            expect('"');
+            while (true) {
+                skipTo('"');
+                pos++;
+                if (in.get(pos) != '"') {
+                    break;
+                }
+                pos++;
+            }
+            long item = item(labelStart, pos);
+            expect(',');
+            int quantity = readInt();
+            expect(',');
+            long price = readCents();
+            out.addLine(item, quantity, price);
+            skipLine();
+        }
+
+        @Override
+        protected String decodeLabel(byte[] encoded, int length) {
+            return new String(encoded, 1, length - 2, StandardCharsets.UTF_8).replace("\"\"", "\"");
+        }
+    }
+
+    /**
+     * Parser for JsonLinesExportFormat: one object per line.
+     */
+    static final class JsonLines extends OrderFileParser {
+        static final byte[] ORDER_NUMBER = bytes("{\"orderNumber\":");
+        private static final byte[] CANCELLED = bytes(",\"cancelled\":true}");
+        private static final byte[] PLACED_AT = bytes(",\"placedAt\":\"");
+        private static final byte[] ITEMS = bytes("\",\"items\":[");
+        private static final byte[] TYPE = bytes("{\"type\":\"");
+        private static final byte[] ITEM = bytes(",\"item\":");
+        private static final byte[] QUANTITY = bytes(",\"quantity\":");
+        private static final byte[] PRICE = bytes(",\"price\":");
+
+        @Override
+        boolean isRecordStart(ByteBuffer buffer, int p) {
+            return buffer.get(p - 1) == '\n';
+        }
+
+        @Override
+        protected void parseRecord(long defaultPlacedAt, ImportBatch out) {
+            expect(ORDER_NUMBER);
+            int number = readInt();
+            if (matches(CANCELLED)) {
+                out.cancel(number);
+                skipLine();
+                return;
+            }
+            expect(PLACED_AT);
+            out.beginOrder(number, readTimestamp());
+            expect(ITEMS);
+            while (in.get(pos) != ']') {
+                expect(TYPE);
+                skipTo('"');
+                pos++;
+                expect(ITEM);
+                int labelStart = pos;
+                expect('"');
+                for (byte b; (b = in.get(pos)) != '"'; pos++) {
+                    if (b == '\\') {
+                        pos++;
+                    }
+                }
+                pos++;
+                long item = item(labelStart, pos);
+                expect(QUANTITY);
+                int quantity = readInt();
+                expect(PRICE);
+                long price = readCents();
+                out.addLine(item, quantity, price);
+                expect('}');
+                if (in.get(pos) == ',') {
+                    pos++;
+                }
+            }
+            skipLine();
+        }
+
+        @Override
+        protected String decodeLabel(byte[] encoded, int length) {
+            String text = new String(encoded, 1, length - 2, StandardCharsets.UTF_8);
+            StringBuilder sb = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c != '\\') {
+                    sb.append(c);
+                } else if (text.charAt(++i) == 'u') {
+                    sb.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                    i += 4;
+                } else {
+                    sb.append(text.charAt(i));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Parallel reader for files written by the built-in export formats.
+ * The file is memory-mapped and split into chunks of about CHUNK_BYTES that
+ * end on record boundaries (see OrderFileParser.isRecordStart()). Chunks are
+ * parsed on a fork-join pool into primitive columns (see ImportBatch) and
+ * handed over in file order, so the result is the same as reading the file
+ * from start to end. As with exports, only a window of a few chunks per
+ * thread is in flight at once.
+ * <p>
+ * An import is cancelled by interrupting the thread running it; it then
+ * stops before the next chunk and throws InterruptedIOException.
+ * @author Aryaman Kumar
+ */
+public final class OrderImporter {
+    // Bytes parsed by one task
+    private static final int CHUNK_BYTES = 4 << 20;
+    // How far to look for a record boundary near a chunk border
+    private static final int BOUNDARY_WINDOW = 64 << 10;
+    private static final int HEAD_SIZE = 64;
+
+    /**
+     * Receives progress reports while an import runs.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called after each chunk of the file is read.
+         * @param ordersRead the number of orders read so far
+         * @param bytesRead the number of bytes read so far
+         * @param totalBytes the size of the file
+         * @param elapsedNanos the time since the import started
+         */
+        void progress(int ordersRead, long bytesRead, long totalBytes, long elapsedNanos);
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an importer that parses on the common pool.
+     */
+    OrderImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an importer.
+     * @param pool the pool to parse chunks on
+     */
+    OrderImporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Reads an exported order file, handing each order and cancellation to a
+     * sink in file order. The format is recognized from the first bytes.
+     * @param path the file to read
+     * @param defaultPlacedAt the placement time for formats that do not record one
+     * @param sink receives the orders and cancellations
+     * @return the number of orders read
+     * @throws IOException if the file cannot be read or is not a valid export
+     */
+    int read(Path path, long defaultPlacedAt, OrderJournal.Replayer sink) throws IOException {
+        return read(path, defaultPlacedAt, sink, null);
+    }
+
+    /**
+     * Reads an exported order file as above, reporting progress. Orders handed
+     * to the sink before the import was cancelled stay with the sink.
+     * @param path the file to read
+     * @param defaultPlacedAt the placement time for formats that do not record one
+     * @param sink receives the orders and cancellations
+     * @param listener receives progress reports, or null
+     * @return the number of orders read
+     * @throws InterruptedIOException if the import was cancelled
+     * @throws IOException if the file cannot be read or is not a valid export
+     */
+    int read(Path path, long defaultPlacedAt, OrderJournal.Replayer sink, ProgressListener listener)
+            throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size == 0) {
+                return 0;
+            }
+            Supplier<OrderFileParser> parsers =
+                    OrderFileParser.detect(in.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEAD_SIZE)));
+            if (parsers == null) {
+                throw new IOException(path.getFileName() + " is not an order export");
+            }
+            long[] bounds = boundaries(in, size, parsers.get());
+
+            int window = 2 * pool.getParallelism();
+            ArrayDeque<ForkJoinTask<ImportBatch>> inFlight = new ArrayDeque<>(window);
+            int orders = 0;
+            try {
+                int next = 0;
+                while (next < bounds.length - 1 || !inFlight.isEmpty()) {
+                    while (next < bounds.length - 1 && inFlight.size() < window) {
+                        long from = bounds[next];
+                        long to = bounds[next + 1];
+                        inFlight.add(pool.submit(() -> parse(in, from, to, parsers.get(), defaultPlacedAt)));
+                        next++;
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Import cancelled");
+                    }
+                    ImportBatch batch = inFlight.poll().join();
+                    if (batch.error != null) {
+                        throw batch.error;
+                    }
+                    orders += batch.replay(sink);
+                    if (listener != null) {
+                        long read = bounds[next - inFlight.size()];
+                        listener.progress(orders, read, size, System.nanoTime() - start);
+                    }
+                }
+            } finally {
+                for (ForkJoinTask<ImportBatch> task : inFlight) {
+                    task.cancel(false);
+                }
+            }
+            return orders;
+        }
+    }
+
+    /**
+     * Splits a file into chunks that start and end on record boundaries.
+     * @param in the file
+     * @param size the file size
+     * @param parser recognizes record boundaries
+     * @return the chunk borders, starting with 0 and ending with the size
+     * @throws IOException if the file cannot be read
+     */
+    private static long[] boundaries(FileChannel in, long size, OrderFileParser parser) throws IOException {
+        long[] bounds = new long[(int) ((size + CHUNK_BYTES - 1) / CHUNK_BYTES) + 1];
+        int count = 1;
+        for (long nominal = CHUNK_BYTES; nominal < size; nominal += CHUNK_BYTES) {
+            long start = nominal - BOUNDARY_WINDOW;
+            long end = Math.min(size, nominal + BOUNDARY_WINDOW);
+            MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            for (int p = BOUNDARY_WINDOW; p < window.limit(); p++) {
+                if (parser.isRecordStart(window, p)) {
+                    if (start + p > bounds[count - 1]) {
+                        bounds[count++] = start + p;
+                    }
+                    break;
+                }
+            }
+            // With no boundary in the window, the chunk simply runs on into the next one
+        }
+        bounds[count++] = size;
+        long[] result = new long[count];
+        System.arraycopy(bounds, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Parses one chunk. Runs on the pool; errors are kept in the batch.
+     * @param in the file
+     * @param from the first byte of the chunk
+     * @param to the byte after the chunk
+     * @param parser the parser for this chunk
+     * @param defaultPlacedAt the placement time for formats that do not record one
+     * @return the parsed orders
+     */
+    private static ImportBatch parse(FileChannel in, long from, long to, OrderFileParser parser,
+                                     long defaultPlacedAt) {
+        // Assume short orders; the batch grows if they are not
+        ImportBatch batch = new ImportBatch((int) Math.min(1 << 16, (to - from) / 64));
+        try {
+            if (to - from > Integer.MAX_VALUE) {
+                throw new IOException("Cannot find record boundaries in the file");
+            }
+            ByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            try {
+                parser.parse(chunk, 0, chunk.limit(), defaultPlacedAt, batch);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                String reason = e instanceof IndexOutOfBoundsException ? "record is cut off" : e.getMessage();
+                throw new IOException("Malformed order file near byte " + (from + parser.position())
+                        + ": " + reason, e);
+            }
+        } catch (IOException e) {
+            batch.error = e;
+        }
+        return batch;
+    }
+}
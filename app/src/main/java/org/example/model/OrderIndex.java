@@ -0,0 +1,318 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Search index over the placed orders, kept up to date as orders are
+ * placed and cancelled.
+ * Every attribute value (item type, cup size, protein, add-in and donut
+ * flavor) has a bitmap with one bit per slot, set when the order has a line
+ * with that value. Order totals are bit-sliced: slice b holds bit b of the
+ * total of every slot, so a total range is checked for 64 slots at a time
+ * with a few word operations per slice. A query intersects the bitmaps of
+ * its terms word by word and only looks at the totals of the words that
+ * still match.
+ * <p>
+ * Bitmaps are split into chunks of 65536 slots that are only allocated once
+ * a bit in them is set, so rare values cost little memory and whole chunks
+ * without them are skipped. The index stays on the heap when orders are
+ * archived, at about one bit per slot and attribute value.
+ * <p>
+ * Thread-safe; updates and searches run under the index's lock. A slot
+ * that was removed is never added back, whichever call comes first.
+ * @author Aryaman Kumar
+ */
+final class OrderIndex {
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final AddIns[] ADD_INS = AddIns.values();
+    private static final int DONUT_TYPES = 4;
+
+    // Key layout: item types, cup sizes, proteins and add-ins, then one key per flavor id
+    static final int CUP_SIZE_KEYS = ITEM_TYPES.length;
+    static final int PROTEIN_KEYS = CUP_SIZE_KEYS + CupSize.values().length;
+    static final int ADD_IN_KEYS = PROTEIN_KEYS + Protein.values().length;
+    static final int FLAVOR_KEYS = ADD_IN_KEYS + ADD_INS.length;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_WORDS = 1 << (CHUNK_SHIFT - 6);
+
+    /**
+     * Bitmap over slots, allocated in chunks.
+     */
+    private static final class Bitmap {
+        private long[][] chunks = new long[0][];
+
+        /**
+         * Sets the bit of a slot.
+         * @param slot the slot
+         */
+        void set(int slot) {
+            int c = slot >>> CHUNK_SHIFT;
+            if (c >= chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(c + 1, chunks.length * 2));
+            }
+            if (chunks[c] == null) {
+                chunks[c] = new long[CHUNK_WORDS];
+            }
+            chunks[c][(slot >>> 6) & (CHUNK_WORDS - 1)] |= 1L << slot;
+        }
+
+        /**
+         * Gets the bit of a slot.
+         * @param slot the slot
+         * @return true if it is set
+         */
+        boolean get(int slot) {
+            long[] chunk = chunk(slot >>> CHUNK_SHIFT);
+            return chunk != null && (chunk[(slot >>> 6) & (CHUNK_WORDS - 1)] & (1L << slot)) != 0;
+        }
+
+        /**
+         * Clears the bit of a slot.
+         * @param slot the slot
+         */
+        void clear(int slot) {
+            long[] chunk = chunk(slot >>> CHUNK_SHIFT);
+            if (chunk != null) {
+                chunk[(slot >>> 6) & (CHUNK_WORDS - 1)] &= ~(1L << slot);
+            }
+        }
+
+        /**
+         * Gets a chunk of the bitmap.
+         * @param c the chunk number
+         * @return the words of the chunk, or null if none of its bits were ever set
+         */
+        long[] chunk(int c) {
+            return c < chunks.length ? chunks[c] : null;
+        }
+    }
+
+    private final Bitmap live = new Bitmap();
+    // Slots are never reused, so a cancelled slot stays out of the index for good
+    private final Bitmap cancelled = new Bitmap();
+    private Bitmap[] keys = new Bitmap[FLAVOR_KEYS + 16];
+    private Bitmap[] slices = new Bitmap[0];
+    private int slotLimit;
+
+    /**
+     * Constructor for OrderIndex.
+     */
+    OrderIndex() {
+    }
+
+    /**
+     * Indexes a placed order.
+     * @param part the columns holding the order (see OrderStore.Columns.segment())
+     * @param slot the slot of the order
+     */
+    void add(OrderStore.Columns part, int slot) {
+        int local = slot - part.base;
+        add(slot, part.firstLines[local], part.firstLines[local + 1],
+                part.lineTypes, part.lineVariants, part.lineMasks, part.linePrices);
+    }
+
+    /**
+     * Indexes a placed order given as line columns.
+     * @param slot the slot of the order
+     * @param from the first line of the order
+     * @param to the line after the last one
+     * @param types the item type ordinal of each line
+     * @param variants the variant of each line
+     * @param masks the option mask of each line
+     * @param prices the price of each line in cents
+     */
+    synchronized void add(int slot, int from, int to, byte[] types, int[] variants, byte[] masks, long[] prices) {
+        if (cancelled.get(slot)) {
+            // Cancelled by another thread before the placing thread got here
+            return;
+        }
+        long subtotal = 0;
+        for (int line = from; line < to; line++) {
+            int type = types[line];
+            subtotal += prices[line];
+            key(type).set(slot);
+            if (type < DONUT_TYPES) {
+                key(FLAVOR_KEYS + variants[line]).set(slot);
+            } else if (type == ItemType.COFFEE.ordinal()) {
+                key(CUP_SIZE_KEYS + variants[line]).set(slot);
+                for (AddIns addIn : ADD_INS) {
+                    if ((masks[line] & addIn.mask()) != 0) {
+                        key(ADD_IN_KEYS + addIn.ordinal()).set(slot);
+                    }
+                }
+            } else if (type == ItemType.SANDWICH.ordinal()) {
+                key(PROTEIN_KEYS + Sandwich.proteinOf(variants[line])).set(slot);
+            }
+        }
+        long total = Math.max(0, subtotal + Order.salesTaxFor(subtotal));
+        int bits = 64 - Long.numberOfLeadingZeros(total);
+        if (bits > slices.length) {
+            // Older totals all fit in the existing slices, so the new ones start empty
+            int old = slices.length;
+            slices = Arrays.copyOf(slices, bits);
+            for (int b = old; b < bits; b++) {
+                slices[b] = new Bitmap();
+            }
+        }
+        for (long rest = total; rest != 0; rest &= rest - 1) {
+            slices[Long.numberOfTrailingZeros(rest)].set(slot);
+        }
+        live.set(slot);
+        slotLimit = Math.max(slotLimit, slot + 1);
+    }
+
+    /**
+     * Removes a cancelled order from search results. The store is updated
+     * before the index, outside its lock, so this may come before add() for
+     * the same slot; the slot is then never indexed.
+     * @param slot the slot of the order
+     */
+    synchronized void remove(int slot) {
+        cancelled.set(slot);
+        live.clear(slot);
+    }
+
+    /**
+     * Gets the bitmap of a key, creating it if needed. Caller holds the lock.
+     * @param key the key
+     * @return the bitmap
+     */
+    private Bitmap key(int key) {
+        if (key >= keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(key + 1, keys.length * 2));
+        }
+        if (keys[key] == null) {
+            keys[key] = new Bitmap();
+        }
+        return keys[key];
+    }
+
+    /**
+     * Finds the live orders in a range of slots that match every term and
+     * whose total is in a range.
+     * @param terms the terms; an order matches a term if it has any of the term's keys
+     * @param fromSlot the first slot to search
+     * @param toSlot the slot after the last one to search
+     * @param minTotalCents the lowest total (including tax) in cents
+     * @param maxTotalCents the highest total (including tax) in cents
+     * @return the matching slots, ascending
+     */
+    synchronized int[] search(int[][] terms, int fromSlot, int toSlot, long minTotalCents, long maxTotalCents) {
+        toSlot = Math.min(toSlot, slotLimit);
+        int sliceCount = slices.length;
+        long largest = sliceCount == 63 ? Long.MAX_VALUE : (1L << sliceCount) - 1;
+        if (fromSlot >= toSlot || minTotalCents > maxTotalCents || minTotalCents > largest || maxTotalCents < 0) {
+            return new int[0];
+        }
+        boolean lower = minTotalCents > 0;
+        boolean upper = maxTotalCents < largest;
+        int[] found = new int[64];
+        int count = 0;
+        long[][][] termChunks = new long[terms.length][][];
+        long[][] sliceChunks = new long[sliceCount][];
+        for (int c = fromSlot >>> CHUNK_SHIFT; c <= (toSlot - 1) >>> CHUNK_SHIFT; c++) {
+            long[] liveChunk = live.chunk(c);
+            if (liveChunk == null || !termChunks(terms, c, termChunks)) {
+                continue;
+            }
+            for (int b = 0; b < sliceCount; b++) {
+                sliceChunks[b] = slices[b].chunk(c);
+            }
+            int chunkStart = c << CHUNK_SHIFT;
+            int firstWord = Math.max(fromSlot, chunkStart) - chunkStart >>> 6;
+            int lastWord = Math.min(toSlot - 1, chunkStart + (1 << CHUNK_SHIFT) - 1) - chunkStart >>> 6;
+            for (int w = firstWord; w <= lastWord; w++) {
+                long match = liveChunk[w];
+                for (int t = 0; t < termChunks.length && match != 0; t++) {
+                    long any = 0;
+                    for (long[] chunk : termChunks[t]) {
+                        any |= chunk[w];
+                    }
+                    match &= any;
+                }
+                if (match == 0) {
+                    continue;
+                }
+                int wordStart = chunkStart + (w << 6);
+                if (wordStart < fromSlot) {
+                    match &= -1L << (fromSlot - wordStart);
+                }
+                if (toSlot - wordStart < 64) {
+                    match &= (1L << (toSlot - wordStart)) - 1;
+                }
+                if (match != 0 && (lower || upper)) {
+                    match &= inRange(sliceChunks, w, match, lower ? minTotalCents : 0,
+                            upper ? maxTotalCents : largest);
+                }
+                while (match != 0) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = wordStart + Long.numberOfTrailingZeros(match);
+                    match &= match - 1;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Gets the chunks of the keys of every term. Caller holds the lock.
+     * @param terms the terms
+     * @param c the chunk number
+     * @param termChunks receives the allocated chunks of each term's keys
+     * @return false if some term has no allocated chunk, so nothing in the chunk matches
+     */
+    private boolean termChunks(int[][] terms, int c, long[][][] termChunks) {
+        for (int t = 0; t < terms.length; t++) {
+            long[][] chunks = new long[terms[t].length][];
+            int count = 0;
+            for (int key : terms[t]) {
+                long[] chunk = key < keys.length && keys[key] != null ? keys[key].chunk(c) : null;
+                if (chunk != null) {
+                    chunks[count++] = chunk;
+                }
+            }
+            if (count == 0) {
+                return false;
+            }
+            termChunks[t] = Arrays.copyOf(chunks, count);
+        }
+        return true;
+    }
+
+    /**
+     * Checks the totals of 64 slots against a range, from the highest slice
+     * down. Caller holds the lock.
+     * @param sliceChunks the chunk of every slice, null where no bit is set
+     * @param w the word within the chunk
+     * @param candidates the slots to check
+     * @param min the lowest total
+     * @param max the highest total
+     * @return the candidates whose total is in the range
+     */
+    private static long inRange(long[][] sliceChunks, int w, long candidates, long min, long max) {
+        // Candidates whose higher bits equal those of the bound so far, and those already past it
+        long equalMin = candidates;
+        long aboveMin = 0;
+        long equalMax = candidates;
+        long belowMax = 0;
+        for (int b = sliceChunks.length - 1; b >= 0 && (equalMin | equalMax) != 0; b--) {
+            long bits = sliceChunks[b] == null ? 0 : sliceChunks[b][w];
+            if ((min >>> b & 1) != 0) {
+                equalMin &= bits;
+            } else {
+                aboveMin |= equalMin & bits;
+                equalMin &= ~bits;
+            }
+            if ((max >>> b & 1) != 0) {
+                belowMax |= equalMax & ~bits;
+                equalMax &= bits;
+            } else {
+                equalMax &= ~bits;
+            }
+        }
+        return (aboveMin | equalMin) & (belowMax | equalMax);
+    }
+}
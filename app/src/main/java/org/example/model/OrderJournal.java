@@ -0,0 +1,470 @@
+package org.example.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary journal of placed and cancelled orders.
+ * Records are written into a memory-mapped file, one region at a time, so an
+ * append is a memory copy. Durability is separate: awaitDurable() flushes the
+ * mapped pages to disk, and callers waiting at the same time share one flush
+ * (group commit), so many terminals placing orders cost one fsync per batch
+ * instead of one each.
+ * <p>
+ * Layout: a header (magic, region size) followed by records. Each record is its
+ * payload length, a CRC32C of the payload, then the payload:
+ * <pre>
+ *   PLACE  number:int placedAt:long lines:int (type:byte variant:int mask:byte quantity:int price:long)*
+ *   CANCEL number:int
+ *   FLAVOR id:int name:UTF-8
+ * </pre>
+ * Flavor ids are only meaningful inside one process (see Flavor), so the
+ * name of each flavor is written in a FLAVOR record before its id is first
+ * used, and replay maps ids back through the names. A length of zero, or a
+ * record that fails its checksum, marks the end of the journal; a length of
+ * -1 means the rest of the region is unused and the next record starts at
+ * the next region.
+ * @author Aryaman Kumar
+ */
+final class OrderJournal implements Closeable {
+    private static final int MAGIC = 0x52554A31; // "RUJ1"
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int SKIP_REGION = -1;
+    private static final int LINE_SIZE = 18;
+
+    private static final byte PLACE = 1;
+    private static final byte CANCEL = 2;
+    private static final byte FLAVOR = 3;
+
+    /** Default size of one mapped region of the journal file. */
+    static final int DEFAULT_REGION_SIZE = 64 << 20;
+
+    /**
+     * Receives the records of a journal while it is replayed.
+     */
+    interface Replayer {
+        /**
+         * Called for each placed order. The arrays are reused between calls.
+         * @param orderNumber the order number
+         * @param placedAtMillis when the order was placed
+         * @param lines the number of lines
+         * @param types the item type ordinal of each line
+         * @param variants the variant of each line, with flavor ids of this process
+         * @param masks the option mask of each line
+         * @param quantities the quantity of each line
+         * @param prices the price of each line in cents
+         */
+        void placed(int orderNumber, long placedAtMillis, int lines, byte[] types, int[] variants,
+                    byte[] masks, int[] quantities, long[] prices);
+
+        /**
+         * Called for each cancelled order.
+         * @param orderNumber the order number
+         */
+        void cancelled(int orderNumber);
+    }
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final CRC32C crc = new CRC32C();
+
+    // Append state, guarded by this
+    private MappedByteBuffer region;
+    private long regionStart;
+    private int regionPosition;
+    private final BitSet writtenFlavors = new BitSet();
+
+    // Group commit state, guarded by syncMonitor
+    private final Object syncMonitor = new Object();
+    private long durablePosition;
+    private boolean syncing;
+
+    /**
+     * Opens a journal that has been replayed up to a position.
+     * @param channel the journal file
+     * @param regionSize the size of one mapped region
+     * @param position the file position of the next record
+     * @throws IOException if the region cannot be mapped
+     */
+    private OrderJournal(FileChannel channel, int regionSize, long position) throws IOException {
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.regionStart = position - position % regionSize;
+        this.regionPosition = (int) (position - regionStart);
+        this.region = map(regionStart);
+        this.durablePosition = position;
+        discardTornTail();
+    }
+
+    /**
+     * Clears whatever follows the last valid record (left by a crash in the
+     * middle of a write), so records appended from here on cannot run into
+     * stale ones when the journal is replayed again.
+     * @throws IOException if the file cannot be truncated
+     */
+    private void discardTornTail() throws IOException {
+        if (channel.size() > regionStart + regionSize) {
+            channel.truncate(regionStart + regionSize);
+        }
+        int dirty = regionPosition;
+        while (dirty < regionSize && region.get(dirty) == 0) {
+            dirty++;
+        }
+        if (dirty < regionSize) {
+            for (int i = regionPosition; i < regionSize; i++) {
+                region.put(i, (byte) 0);
+            }
+            region.force();
+        }
+    }
+
+    /**
+     * Opens or creates a journal, replaying the records it already holds.
+     * @param path the journal file
+     * @param replayer receives the existing records
+     * @return the journal, ready to append after the last valid record
+     * @throws IOException if the file cannot be opened
+     */
+    static OrderJournal open(Path path, Replayer replayer) throws IOException {
+        return open(path, replayer, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Opens or creates a journal with a given region size.
+     * @param path the journal file
+     * @param replayer receives the existing records
+     * @param regionSize the size of one mapped region
+     * @return the journal, ready to append after the last valid record
+     * @throws IOException if the file cannot be opened
+     */
+    static OrderJournal open(Path path, Replayer replayer, int regionSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long position;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(regionSize).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                position = HEADER_SIZE;
+            } else {
+                position = replay(channel, replayer, regionSize);
+            }
+            return new OrderJournal(channel, regionSize, position);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every valid record of a journal file.
+     * @param channel the journal file
+     * @param replayer receives the records
+     * @param regionSize the expected region size
+     * @return the position after the last valid record
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    private static long replay(FileChannel channel, Replayer replayer, int regionSize) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != regionSize) {
+            throw new IOException("Not an order journal, or written with another region size");
+        }
+
+        CRC32C crc = new CRC32C();
+        int[] flavorIds = new int[16];
+        byte[] types = new byte[16];
+        int[] variants = new int[16];
+        byte[] masks = new byte[16];
+        int[] quantities = new int[16];
+        long[] prices = new long[16];
+
+        for (long start = 0; start < size; start += regionSize) {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+            int position = start == 0 ? HEADER_SIZE : 0;
+            while (region.limit() - position >= RECORD_HEADER) {
+                int length = region.getInt(position);
+                if (length == SKIP_REGION) {
+                    break;
+                }
+                if (length <= 0 || length > region.limit() - position - RECORD_HEADER) {
+                    return start + position;
+                }
+                int checksum = region.getInt(position + 4);
+                ByteBuffer payload = region.slice(position + RECORD_HEADER, length);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return start + position;
+                }
+                payload.rewind();
+
+                byte kind = payload.get();
+                if (kind == PLACE) {
+                    int orderNumber = payload.getInt();
+                    long placedAtMillis = payload.getLong();
+                    int lines = payload.getInt();
+                    if (lines > types.length) {
+                        int capacity = Math.max(lines, types.length * 2);
+                        types = Arrays.copyOf(types, capacity);
+                        variants = Arrays.copyOf(variants, capacity);
+                        masks = Arrays.copyOf(masks, capacity);
+                        quantities = Arrays.copyOf(quantities, capacity);
+                        prices = Arrays.copyOf(prices, capacity);
+                    }
+                    for (int i = 0; i < lines; i++) {
+                        types[i] = payload.get();
+                        int variant = payload.getInt();
+                        variants[i] = isFlavored(types[i]) ? flavorIds[variant] : variant;
+                        masks[i] = payload.get();
+                        quantities[i] = payload.getInt();
+                        prices[i] = payload.getLong();
+                    }
+                    replayer.placed(orderNumber, placedAtMillis, lines, types, variants, masks, quantities, prices);
+                } else if (kind == CANCEL) {
+                    replayer.cancelled(payload.getInt());
+                } else if (kind == FLAVOR) {
+                    int id = payload.getInt();
+                    byte[] name = new byte[payload.remaining()];
+                    payload.get(name);
+                    if (id >= flavorIds.length) {
+                        flavorIds = Arrays.copyOf(flavorIds, Math.max(id + 1, flavorIds.length * 2));
+                    }
+                    flavorIds[id] = Flavor.of(new String(name, StandardCharsets.UTF_8)).getId();
+                } else {
+                    throw new IOException("Unknown journal record " + kind + " at " + (start + position));
+                }
+                position += RECORD_HEADER + length;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether items of a type use a flavor id as their variant.
+     * @param type the item type ordinal
+     * @return true for donuts
+     */
+    private static boolean isFlavored(byte type) {
+        return type < ItemType.COFFEE.ordinal();
+    }
+
+    /**
+     * Appends a placed order. The record is not durable until awaitDurable() returns.
+     * @param order the order
+     * @param placedAtMillis when the order was placed
+     * @return the journal position to pass to awaitDurable()
+     */
+    synchronized long appendPlaced(Order order, long placedAtMillis) {
+        for (MenuItem item : order.getMenuItems()) {
+            int variant = item.getVariant();
+            if (isFlavored((byte) item.getItemType().ordinal()) && !writtenFlavors.get(variant)) {
+                appendFlavor(variant);
+            }
+        }
+
+        int lines = order.getMenuItems().size();
+        int length = 1 + 4 + 8 + 4 + lines * LINE_SIZE;
+        int payload = beginRecord(length);
+        region.put(PLACE).putInt(order.getOrderNumber()).putLong(placedAtMillis).putInt(lines);
+        for (MenuItem item : order.getMenuItems()) {
+            region.put((byte) item.getItemType().ordinal())
+                    .putInt(item.getVariant())
+                    .put((byte) item.getOptionMask())
+                    .putInt(item.getQuantity())
+                    .putLong(item.priceCents());
+        }
+        return endRecord(payload, length);
+    }
+
+    /**
+     * Appends a placed order given as primitive line columns, e.g. when
+     * importing orders. The record is not durable until awaitDurable() returns.
+     * @param orderNumber the order number
+     * @param placedAtMillis when the order was placed
+     * @param lines the number of lines
+     * @param types the item type ordinal of each line
+     * @param variants the variant of each line
+     * @param masks the option mask of each line
+     * @param quantities the quantity of each line
+     * @param prices the price of each line in cents
+     * @return the journal position to pass to awaitDurable()
+     */
+    synchronized long appendPlaced(int orderNumber, long placedAtMillis, int lines, byte[] types, int[] variants,
+                                   byte[] masks, int[] quantities, long[] prices) {
+        for (int i = 0; i < lines; i++) {
+            if (isFlavored(types[i]) && !writtenFlavors.get(variants[i])) {
+                appendFlavor(variants[i]);
+            }
+        }
+
+        int length = 1 + 4 + 8 + 4 + lines * LINE_SIZE;
+        int payload = beginRecord(length);
+        region.put(PLACE).putInt(orderNumber).putLong(placedAtMillis).putInt(lines);
+        for (int i = 0; i < lines; i++) {
+            region.put(types[i]).putInt(variants[i]).put(masks[i]).putInt(quantities[i]).putLong(prices[i]);
+        }
+        return endRecord(payload, length);
+    }
+
+    /**
+     * Appends a cancellation. The record is not durable until awaitDurable() returns.
+     * @param orderNumber the cancelled order number
+     * @return the journal position to pass to awaitDurable()
+     */
+    synchronized long appendCancelled(int orderNumber) {
+        int length = 1 + 4;
+        int payload = beginRecord(length);
+        region.put(CANCEL).putInt(orderNumber);
+        return endRecord(payload, length);
+    }
+
+    /**
+     * Appends the name of a flavor id. Caller holds the lock.
+     * @param flavorId the flavor id of this process
+     */
+    private void appendFlavor(int flavorId) {
+        byte[] name = Flavor.byId(flavorId).getName().getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + name.length;
+        int payload = beginRecord(length);
+        region.put(FLAVOR).putInt(flavorId).put(name);
+        endRecord(payload, length);
+        writtenFlavors.set(flavorId);
+    }
+
+    /**
+     * Makes room for a record and positions the region at its payload. Caller holds the lock.
+     * @param length the payload length
+     * @return the region offset of the payload
+     */
+    private int beginRecord(int length) {
+        if (RECORD_HEADER + length > regionSize - RECORD_HEADER - (regionStart == 0 ? HEADER_SIZE : 0)) {
+            throw new IllegalArgumentException("Journal record of " + length + " bytes does not fit in a region");
+        }
+        if (regionPosition + RECORD_HEADER + length > regionSize) {
+            nextRegion();
+        }
+        int payload = regionPosition + RECORD_HEADER;
+        region.position(payload);
+        return payload;
+    }
+
+    /**
+     * Seals a record: checksum first, then the length, so a torn record reads as the end.
+     * Caller holds the lock.
+     * @param payload the region offset of the payload
+     * @param length the payload length
+     * @return the journal position after the record
+     */
+    private long endRecord(int payload, int length) {
+        crc.reset();
+        crc.update(region.slice(payload, length));
+        region.putInt(payload - 4, (int) crc.getValue());
+        region.putInt(payload - RECORD_HEADER, length);
+        regionPosition = payload + length;
+        return regionStart + regionPosition;
+    }
+
+    /**
+     * Marks the rest of the current region as unused, flushes it and maps the next one.
+     * Caller holds the lock.
+     */
+    private void nextRegion() {
+        if (regionSize - regionPosition >= 4) {
+            region.putInt(regionPosition, SKIP_REGION);
+        }
+        region.force();
+        try {
+            region = map(regionStart + regionSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot extend the order journal", e);
+        }
+        regionStart += regionSize;
+        regionPosition = 0;
+    }
+
+    /**
+     * Maps one region of the journal file for writing, growing the file if needed.
+     * @param start the file position of the region
+     * @return the mapped region
+     * @throws IOException if the region cannot be mapped
+     */
+    private MappedByteBuffer map(long start) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+    }
+
+    /**
+     * Waits until the journal is on disk up to a position.
+     * If no flush is running, the caller flushes everything appended so far on
+     * behalf of all waiting callers; otherwise it waits for the running flush
+     * and, if that did not cover its position, takes the next one.
+     * @param position a position returned by an append
+     * @throws UncheckedIOException if the journal cannot be flushed
+     */
+    void awaitDurable(long position) {
+        synchronized (syncMonitor) {
+            while (durablePosition < position && syncing) {
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the order journal", e);
+                }
+            }
+            if (durablePosition >= position) {
+                return;
+            }
+            syncing = true;
+        }
+
+        long target = durablePosition;
+        boolean flushed = false;
+        try {
+            MappedByteBuffer toForce;
+            int from;
+            int to;
+            synchronized (this) {
+                target = regionStart + regionPosition;
+                toForce = region;
+                from = (int) (Math.max(durablePosition, regionStart) - regionStart);
+                to = regionPosition;
+            }
+            // Earlier regions were flushed in full when they were left
+            toForce.force(from, to - from);
+            flushed = true;
+        } finally {
+            synchronized (syncMonitor) {
+                if (flushed) {
+                    durablePosition = Math.max(durablePosition, target);
+                }
+                syncing = false;
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the journal.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        region.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,747 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class to manage all orders in the system.
+ * Maintains a list of all placed orders and generates unique order numbers.
+ * Placed orders are kept in a column store (see OrderStore) and rebuilt as
+ * Order objects when they are read.
+ * <p>
+ * OrderManager is thread-safe, so several ordering front-ends can share it:
+ * <ul>
+ *   <li>createNewOrder() hands out unique numbers from an atomic counter.</li>
+ *   <li>addOrder() and removeOrder() may be called from any thread. Everything
+ *       written by addOrder() happens-before any read that observes the order,
+ *       and a cancelled order is never returned by lookups once removeOrder() returned.</li>
+ *   <li>Readers never lock. Iterating getAllOrders() is weakly consistent: it
+ *       sees every order placed before the iteration started and never throws
+ *       ConcurrentModificationException.</li>
+ *   <li>Order objects themselves are not thread-safe; an order must only be
+ *       used by one thread until it is placed. Orders returned by the getters
+ *       are private copies.</li>
+ * </ul>
+ * With a journal (see OrderJournal), every placement and cancellation is
+ * appended to it and on disk before the call returns, and a new OrderManager
+ * rebuilds the orders and the next order number from it. The singleton uses
+ * the journal file named by the rudonuts.journal system property, if set.
+ * <p>
+ * Exported files can be read back with importOrders(), e.g. to load a week
+ * of history for analysis (see OrderImporter).
+ * <p>
+ * To keep the heap flat on long-running tills, startArchiving() moves orders
+ * older than a given age to compressed pages on disk (see OrderArchive).
+ * Archived orders read like any others, only more slowly. The singleton
+ * archives to the directory named by the rudonuts.archive.dir property, if
+ * set, orders older than rudonuts.archive.age (an ISO-8601 duration, one day
+ * by default).
+ * <p>
+ * Sales per hour, item type, flavor, cup size, protein and add-in are kept
+ * up to date as orders are placed and cancelled (see getSalesRollup()), and
+ * so is a search index over them (see searchOrders()).
+ * <p>
+ * Views of the orders register a change listener and follow the orders
+ * through a LiveOrderList, which only changes when the view advances it.
+ * @author Aryaman Kumar
+ */
+public class OrderManager {
+    private static final System.Logger LOG = System.getLogger(OrderManager.class.getName());
+
+    private final OrderStore store;
+    private final OrderExporter exporter;
+    private final OrderImporter importer = new OrderImporter();
+    private final OrderReporter reporter;
+    private final List<Order> allOrders;
+    private final AtomicInteger nextOrderNumber;
+    private final OrderJournal journal;
+    private final SalesRollup rollup = new SalesRollup();
+    private final OrderIndex index = new OrderIndex();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private OrderArchive archive;
+    private ScheduledExecutorService archiver;
+
+    // Decompressed archive pages kept in memory, about 8 MB for typical orders
+    private static final int ARCHIVE_CACHE_PAGES = 32;
+    private static final long ARCHIVE_INTERVAL_SECONDS = 60;
+
+    /**
+     * Constructor for OrderManager. The application uses the singleton
+     * from getInstance(); tests may create their own instances.
+     */
+    OrderManager() {
+        store = new OrderStore();
+        exporter = new OrderExporter(store);
+        reporter = new OrderReporter(store);
+        allOrders = new OrderListView();
+        nextOrderNumber = new AtomicInteger(1);
+        journal = null;
+    }
+
+    /**
+     * Creates an OrderManager backed by a journal file, replaying the orders
+     * already recorded in it.
+     * @param journalFile the journal file; created if it does not exist
+     * @throws IOException if the journal cannot be opened
+     */
+    OrderManager(Path journalFile) throws IOException {
+        store = new OrderStore();
+        exporter = new OrderExporter(store);
+        reporter = new OrderReporter(store);
+        allOrders = new OrderListView();
+        int[] lastNumber = new int[1];
+        store.beginBulkLoad();
+        journal = OrderJournal.open(journalFile, new OrderJournal.Replayer() {
+            @Override
+            public void placed(int orderNumber, long placedAtMillis, int lines, byte[] types, int[] variants,
+                               byte[] masks, int[] quantities, long[] prices) {
+                int slot = store.append(orderNumber, placedAtMillis, lines, types, variants, masks, quantities, prices);
+                rollup.record(placedAtMillis, 0, lines, types, variants, masks, quantities, prices, 1);
+                index.add(slot, 0, lines, types, variants, masks, prices);
+                lastNumber[0] = Math.max(lastNumber[0], orderNumber);
+            }
+
+            @Override
+            public void cancelled(int orderNumber) {
+                recordChange(store.cancel(orderNumber), -1);
+            }
+        });
+        store.endBulkLoad();
+        nextOrderNumber = new AtomicInteger(lastNumber[0] + 1);
+    }
+
+    /**
+     * Lazily creates the singleton; class initialization makes this thread-safe.
+     */
+    private static class Holder {
+        private static final OrderManager INSTANCE = create();
+
+        /**
+         * Creates the singleton, with the journal from the rudonuts.journal property if set.
+         * @return the OrderManager
+         */
+        private static OrderManager create() {
+            String journalFile = System.getProperty("rudonuts.journal");
+            OrderManager manager;
+            try {
+                manager = journalFile == null ? new OrderManager() : new OrderManager(Path.of(journalFile));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open order journal " + journalFile, e);
+            }
+            String archiveDir = System.getProperty("rudonuts.archive.dir");
+            if (archiveDir != null) {
+                try {
+                    manager.startArchiving(Path.of(archiveDir),
+                            Duration.parse(System.getProperty("rudonuts.archive.age", "P1D")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot open order archive in " + archiveDir, e);
+                }
+            }
+            return manager;
+        }
+    }
+
+    /**
+     * Gets the singleton instance of OrderManager.
+     * @return the OrderManager instance
+     */
+    public static OrderManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates a new order with a unique order number.
+     * @return the new order
+     */
+    public Order createNewOrder() {
+        return new Order(nextOrderNumber.getAndIncrement());
+    }
+
+    /**
+     * Adds an order to the list of all orders.
+     * The order's items and prices are copied; later changes to the Order
+     * object are not reflected in the placed order. With a journal, this
+     * waits until the order is on disk.
+     * @param order the order to add
+     * @throws IllegalArgumentException if an order with the same number was already placed
+     */
+    public void addOrder(Order order) {
+        awaitDurable(placeOrder(order));
+    }
+
+    /**
+     * Places an order like addOrder(), but does not wait for the journal to
+     * reach the disk, so it never blocks on I/O. The order is placed and
+     * visible when this returns; pass the result to awaitDurable() on a
+     * thread that may wait, e.g. a background task of the GUI.
+     * @param order the order to place
+     * @return the journal position of the order, or 0 if there is no journal
+     * @throws IllegalArgumentException if an order with the same number was already placed
+     */
+    public long placeOrder(Order order) {
+        long placedAt = System.currentTimeMillis();
+        if (journal == null) {
+            recordChange(store.append(order, placedAt), 1);
+            return 0;
+        }
+        long position;
+        int slot;
+        // Journal records in the same order as the store, so replay agrees with it
+        synchronized (journal) {
+            slot = store.append(order, placedAt);
+            position = journal.appendPlaced(order, placedAt);
+        }
+        recordChange(slot, 1);
+        return position;
+    }
+
+    /**
+     * Removes an order from the list of all orders.
+     * @param order the order to remove
+     */
+    public void removeOrder(Order order) {
+        removeOrder(order.getOrderNumber());
+    }
+
+    /**
+     * Removes (cancels) a placed order by its number in constant time.
+     * With a journal, this waits until the cancellation is on disk.
+     * @param orderNumber the order number
+     * @return true if the order was found and removed
+     */
+    public boolean removeOrder(int orderNumber) {
+        long position = cancelOrder(orderNumber);
+        if (position < 0) {
+            return false;
+        }
+        awaitDurable(position);
+        return true;
+    }
+
+    /**
+     * Cancels a placed order like removeOrder(), but does not wait for the
+     * journal to reach the disk (see placeOrder()).
+     * @param orderNumber the order number
+     * @return the journal position of the cancellation, 0 if there is no
+     *         journal, or -1 if there is no such order
+     */
+    public long cancelOrder(int orderNumber) {
+        if (journal == null) {
+            return recordChange(store.cancel(orderNumber), -1) ? 0 : -1;
+        }
+        long position;
+        int slot;
+        synchronized (journal) {
+            slot = store.cancel(orderNumber);
+            if (slot < 0) {
+                return -1;
+            }
+            position = journal.appendCancelled(orderNumber);
+        }
+        recordChange(slot, -1);
+        return position;
+    }
+
+    /**
+     * Waits until the journal is on disk up to a position returned by
+     * placeOrder() or cancelOrder(). Callers waiting at the same time share
+     * one flush.
+     * @param position the journal position, or 0 to return at once
+     * @throws java.io.UncheckedIOException if the journal cannot be flushed
+     * @throws IllegalStateException if interrupted while waiting
+     */
+    public void awaitDurable(long position) {
+        if (journal != null && position > 0) {
+            journal.awaitDurable(position);
+        }
+    }
+
+    /**
+     * Adds a placed order to the sales rollup and the search index, or
+     * subtracts a cancelled one, and tells the change listeners.
+     * @param slot the slot of the order, or -1 if there is none
+     * @param sign 1 when the order was placed, -1 when it was cancelled
+     * @return true if there was an order
+     */
+    private boolean recordChange(int slot, int sign) {
+        if (slot < 0) {
+            return false;
+        }
+        OrderStore.Columns part = store.segment(slot);
+        rollup.record(part, slot, sign);
+        if (sign > 0) {
+            index.add(part, slot);
+        } else {
+            index.remove(slot);
+        }
+        ordersChanged();
+        return true;
+    }
+
+    /**
+     * Tells the change listeners that an order was placed or cancelled.
+     */
+    private void ordersChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers a listener that is run after each order is placed or
+     * cancelled, on the thread that placed or cancelled it. Listeners must
+     * be quick; a view would typically schedule one refresh of itself.
+     * @param listener the listener
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a change listener.
+     * @param listener the listener
+     */
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Gets a list of the live orders as they are now, which moves on to
+     * later orders only when it is advanced (see LiveOrderList).
+     * @return the new list
+     */
+    public LiveOrderList getLiveOrderList() {
+        return new LiveOrderList(store);
+    }
+
+    /**
+     * Builds the end-of-day report for the orders placed on a day in the
+     * system time zone, in one parallel pass over the orders (see OrderReporter).
+     * @param day the day
+     * @return the report
+     * @throws InterruptedException if the calling thread was interrupted, which cancels the report
+     */
+    public EndOfDayReport endOfDayReport(LocalDate day) throws InterruptedException {
+        ZoneId zone = ZoneId.systemDefault();
+        return endOfDayReport(day.toString(), day.atStartOfDay(zone).toInstant().toEpochMilli(),
+                day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Builds an end-of-day style report for the orders placed in any time range.
+     * @param title what the report covers
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the report
+     * @throws InterruptedException if the calling thread was interrupted, which cancels the report
+     */
+    public EndOfDayReport endOfDayReport(String title, long fromMillis, long toMillis) throws InterruptedException {
+        return reporter.report(title, fromMillis, toMillis);
+    }
+
+    /**
+     * Gets the sales aggregates, kept up to date as orders are placed and
+     * cancelled. Reports from it take time per hour covered, not per order.
+     * @return the sales rollup
+     */
+    public SalesRollup getSalesRollup() {
+        return rollup;
+    }
+
+    /**
+     * Finds the live orders that match a query, using the search index.
+     * @param query the query
+     * @return the matching orders, in the order they were placed
+     */
+    public OrderSearchResult searchOrders(OrderQuery query) {
+        int from = 0;
+        int to = Integer.MAX_VALUE;
+        if (query.getOrderNumber() >= 0) {
+            from = store.findSlot(query.getOrderNumber());
+            to = from + 1;
+            if (from < 0) {
+                return new OrderSearchResult(store, new int[0]);
+            }
+        }
+        return new OrderSearchResult(store, index.search(query.terms(), from, to,
+                query.getMinTotalCents(), query.getMaxTotalCents()));
+    }
+
+    /**
+     * Gets a placed order by its number in constant time.
+     * @param orderNumber the order number
+     * @return the rebuilt order, or null if no such order was placed
+     */
+    public Order getOrder(int orderNumber) {
+        int slot = store.findSlot(orderNumber);
+        return slot < 0 ? null : store.materialize(slot);
+    }
+
+    /**
+     * Gets the position of a placed order in getAllOrders().
+     * @param orderNumber the order number
+     * @return the position, or -1 if no such order was placed
+     */
+    public int indexOf(int orderNumber) {
+        int slot = store.findSlot(orderNumber);
+        return slot < 0 ? -1 : store.indexOfSlot(slot);
+    }
+
+    /**
+     * Gets the total (including tax) of a placed order without rebuilding it.
+     * @param orderNumber the order number
+     * @return the total in cents, or -1 if no such order was placed
+     */
+    public long getOrderTotalCents(int orderNumber) {
+        int slot = store.findSlot(orderNumber);
+        if (slot < 0) {
+            return -1;
+        }
+        long subtotal = store.subtotalCents(slot);
+        return subtotal + Order.salesTaxFor(subtotal);
+    }
+
+    /**
+     * Gets the number of the order at a position in getAllOrders().
+     * @param index the position
+     * @return the order number
+     */
+    public int getOrderNumberAt(int index) {
+        return store.orderNumber(store.slotAt(index));
+    }
+
+    /**
+     * Gets the list of all orders.
+     * The list is a read-only view; each get() rebuilds the order from the store.
+     * @return the list of all orders
+     */
+    public List<Order> getAllOrders() {
+        return allOrders;
+    }
+
+    /**
+     * Gets the column store holding the placed orders.
+     * @return the store
+     */
+    OrderStore store() {
+        return store;
+    }
+
+    /**
+     * Exports all orders to a text file.
+     * @param filePath the path to the file
+     * @throws IOException if an error occurs while writing to the file
+     */
+    public void exportOrders(String filePath) throws IOException {
+        exportOrders(filePath, null);
+    }
+
+    /**
+     * Exports all orders to a text file, reporting progress as it goes.
+     * Orders are streamed from the store without being rebuilt (see OrderExporter).
+     * @param filePath the path to the file
+     * @param listener receives progress and throughput reports, or null
+     * @return the number of orders exported
+     * @throws IOException if an error occurs while writing to the file
+     */
+    public int exportOrders(String filePath, OrderExporter.ProgressListener listener) throws IOException {
+        return exporter.export(Path.of(filePath), listener);
+    }
+
+    /**
+     * Exports all orders to a file in any installed format (see ExportFormat).
+     * Orders are rendered in parallel; the file is the same as a sequential export.
+     * @param filePath the path to the file
+     * @param format the export format
+     * @param listener receives progress and throughput reports, or null
+     * @return the number of orders exported
+     * @throws IOException if an error occurs while writing to the file
+     */
+    public int exportOrders(String filePath, ExportFormat format, OrderExporter.ProgressListener listener)
+            throws IOException {
+        return exporter.export(Path.of(filePath), format, listener);
+    }
+
+    /**
+     * Exports all orders to a file in any installed format, optionally GZIP
+     * compressed. Compression runs on its own thread alongside rendering.
+     * @param filePath the path to the file
+     * @param format the export format
+     * @param compress whether to GZIP the file
+     * @param listener receives progress and throughput reports, or null
+     * @return the number of orders exported
+     * @throws IOException if an error occurs while writing to the file
+     */
+    public int exportOrders(String filePath, ExportFormat format, boolean compress,
+                            OrderExporter.ProgressListener listener) throws IOException {
+        return exporter.export(Path.of(filePath), format, compress, listener);
+    }
+
+    /**
+     * Appends the orders placed since the last incremental export of a file,
+     * and cancellation records for exported orders cancelled since then.
+     * Costs O(new orders) instead of rewriting every order (see OrderExporter).
+     * @param filePath the path to the file
+     * @param format the export format
+     * @param listener receives progress and throughput reports, or null
+     * @return the number of orders exported
+     * @throws IOException if an error occurs while writing to the file
+     */
+    public int exportNewOrders(String filePath, ExportFormat format, OrderExporter.ProgressListener listener)
+            throws IOException {
+        return exporter.exportIncremental(Path.of(filePath), format, listener);
+    }
+
+    /**
+     * Appends the orders placed since the last incremental export of a file,
+     * optionally GZIP compressed. Each append adds a GZIP member to the file.
+     * @param filePath the path to the file
+     * @param format the export format
+     * @param compress whether to GZIP the file
+     * @param listener receives progress and throughput reports, or null
+     * @return the number of orders exported
+     * @throws IOException if an error occurs while writing to the file
+     */
+    public int exportNewOrders(String filePath, ExportFormat format, boolean compress,
+                               OrderExporter.ProgressListener listener) throws IOException {
+        return exporter.exportIncremental(Path.of(filePath), format, compress, listener);
+    }
+
+    /**
+     * Imports the orders in a file written by any built-in export format.
+     * Orders keep their items and prices, and the placement times recorded
+     * by CSV and JSON Lines; text exports do not record them, so those
+     * orders are placed now.
+     * <p>
+     * Orders this manager placed before the import, including ones cancelled
+     * or archived since, are skipped, so importing a file twice adds no
+     * orders and does not bring back cancelled ones. The other orders keep
+     * their numbers if this manager has not handed them out yet; otherwise,
+     * for example when the number went to the current order, they are given
+     * the next free number. Either way new orders are numbered after the
+     * imported ones. Cancellation records only cancel orders imported from
+     * the same file, under whatever number they were given.
+     * @param filePath the path to the file
+     * @return the number of orders imported and not cancelled in the file
+     * @throws IOException if the file cannot be read or is not an order export
+     */
+    public int importOrders(String filePath) throws IOException {
+        return importOrders(filePath, null);
+    }
+
+    /**
+     * Imports the orders in a file as above, reporting progress as it goes.
+     * Interrupting the calling thread cancels the import, and a malformed
+     * part of the file stops it; either way the orders read until then stay
+     * imported, and journaled if there is a journal.
+     * @param filePath the path to the file
+     * @param listener receives progress reports, or null
+     * @return the number of orders imported and not cancelled in the file
+     * @throws IOException if the file cannot be read or is not an order export
+     */
+    public int importOrders(String filePath, OrderImporter.ProgressListener listener) throws IOException {
+        long now = System.currentTimeMillis();
+        int slotsBefore = store.orderCount();
+        IntIntMap cancelledBefore = new IntIntMap(1024);
+        for (int i = 0, cancels = store.cancelCount(); i < cancels; i++) {
+            cancelledBefore.put(store.orderNumber(store.cancelledSlot(i)), 1);
+        }
+        // number in the file -> number placed under
+        IntIntMap imported = new IntIntMap(1024);
+        long[] lastPosition = {-1};
+        OrderJournal.Replayer sink = new OrderJournal.Replayer() {
+            @Override
+            public void placed(int fileNumber, long placedAtMillis, int lines, byte[] types, int[] variants,
+                               byte[] masks, int[] quantities, long[] prices) {
+                int existing = store.findSlot(fileNumber);
+                if ((existing >= 0 && existing < slotsBefore) || cancelledBefore.containsKey(fileNumber)
+                        || imported.containsKey(fileNumber)) {
+                    return;
+                }
+                int orderNumber = claimOrderNumber(fileNumber);
+                int slot;
+                if (journal == null) {
+                    slot = store.append(orderNumber, placedAtMillis, lines, types, variants, masks, quantities, prices);
+                } else {
+                    synchronized (journal) {
+                        slot = store.append(orderNumber, placedAtMillis, lines, types, variants, masks, quantities, prices);
+                        lastPosition[0] = journal.appendPlaced(orderNumber, placedAtMillis, lines,
+                                types, variants, masks, quantities, prices);
+                    }
+                }
+                rollup.record(placedAtMillis, 0, lines, types, variants, masks, quantities, prices, 1);
+                index.add(slot, 0, lines, types, variants, masks, prices);
+                ordersChanged();
+                imported.put(fileNumber, orderNumber);
+            }
+
+            @Override
+            public void cancelled(int fileNumber) {
+                int orderNumber = imported.get(fileNumber, -1);
+                if (orderNumber < 0) {
+                    return;
+                }
+                imported.remove(fileNumber);
+                if (journal == null) {
+                    recordChange(store.cancel(orderNumber), -1);
+                } else {
+                    int slot;
+                    synchronized (journal) {
+                        slot = store.cancel(orderNumber);
+                        if (slot >= 0) {
+                            lastPosition[0] = journal.appendCancelled(orderNumber);
+                        }
+                    }
+                    recordChange(slot, -1);
+                }
+            }
+        };
+        try {
+            importer.read(Path.of(filePath), now, sink, listener);
+        } finally {
+            if (journal != null && lastPosition[0] >= 0) {
+                // One wait for the whole file instead of one per order
+                journal.awaitDurable(lastPosition[0]);
+            }
+        }
+        return imported.size();
+    }
+
+    /**
+     * Takes an order number for an imported order: its number in the file if
+     * that has not been handed out yet, or else the next free number.
+     * @param fileNumber the order number in the file
+     * @return the number to place the order under
+     */
+    private int claimOrderNumber(int fileNumber) {
+        int next;
+        while (fileNumber >= (next = nextOrderNumber.get())) {
+            if (nextOrderNumber.compareAndSet(next, fileNumber + 1)) {
+                return fileNumber;
+            }
+        }
+        return nextOrderNumber.getAndIncrement();
+    }
+
+    /**
+     * Starts moving orders older than an age to an on-disk archive, once now
+     * and then every minute on a background thread. The archive file only
+     * lives as long as this OrderManager; the journal still holds every order.
+     * @param directory the directory for the archive file; created if needed
+     * @param maxAge how old orders must be before they are archived
+     * @throws IOException if the archive cannot be created
+     * @throws IllegalStateException if archiving has already been started
+     */
+    public synchronized void startArchiving(Path directory, Duration maxAge) throws IOException {
+        if (archive != null) {
+            throw new IllegalStateException("Orders are already being archived");
+        }
+        archive = OrderArchive.open(directory, ARCHIVE_CACHE_PAGES);
+        store.attachArchive(archive);
+        archiver = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "order-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archiver.scheduleWithFixedDelay(() -> {
+            // An exception escaping here would cancel all later runs
+            try {
+                archiveOrders(maxAge);
+            } catch (IOException | RuntimeException e) {
+                // The orders stay on the heap and are tried again next time
+                LOG.log(System.Logger.Level.WARNING, "Could not archive orders", e);
+            }
+        }, 0, ARCHIVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Moves orders older than an age to the archive now, in whole pages of
+     * OrderArchive.PAGE_SLOTS orders. Does nothing unless startArchiving() was called.
+     * @param maxAge how old orders must be before they are archived
+     * @return the number of orders moved, including cancelled ones
+     * @throws IOException if the archive cannot be written
+     */
+    int archiveOrders(Duration maxAge) throws IOException {
+        return store.archiveOlderThan(System.currentTimeMillis() - maxAge.toMillis());
+    }
+
+    /**
+     * Flushes and closes the journal, if there is one, and deletes the
+     * archive. Orders can no longer be placed, cancelled or read afterwards.
+     * @throws IOException if the journal or the archive cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (archiver != null) {
+            archiver.shutdownNow();
+        }
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } finally {
+            if (archive != null) {
+                archive.close();
+            }
+        }
+    }
+
+    /**
+     * Read-only list view over the live orders in the store, in placement order.
+     * Positions shift when orders are cancelled; iterate instead of indexing
+     * when other threads may be placing or cancelling orders.
+     */
+    private class OrderListView extends AbstractList<Order> implements RandomAccess {
+        /**
+         * Gets a weakly consistent, lock-free iterator over the live orders.
+         * @return the iterator
+         */
+        @Override
+        public Iterator<Order> iterator() {
+            return store.iterator();
+        }
+
+        /**
+         * Gets a spliterator backed by the weakly consistent iterator, so
+         * streams are safe while other threads place or cancel orders.
+         * @return the spliterator
+         */
+        @Override
+        public Spliterator<Order> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        /**
+         * Rebuilds the order at a position.
+         * @param index the position in placement order
+         * @return the rebuilt order
+         */
+        @Override
+        public Order get(int index) {
+            return store.materialize(store.slotAt(index));
+        }
+
+        /**
+         * Gets the number of live orders.
+         * @return the order count
+         */
+        @Override
+        public int size() {
+            return store.size();
+        }
+    }
+}
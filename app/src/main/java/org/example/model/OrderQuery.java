@@ -0,0 +1,325 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Search over the placed orders (see OrderManager.searchOrders()).
+ * An order matches if it matches every condition: its number, an item
+ * type, flavor, cup size, protein or add-in on any of its lines, and its
+ * total (including tax) within a range. A query without conditions matches
+ * every live order.
+ * <p>
+ * parse() reads the text typed into a search bar, e.g.
+ * "coffee vanilla $5-$10" or "#1024".
+ * @author Aryaman Kumar
+ */
+public final class OrderQuery {
+    private static final int[] DONUT_KEYS = {ItemType.YEAST_DONUT.ordinal(), ItemType.CAKE_DONUT.ordinal(),
+            ItemType.DONUT_HOLE.ordinal(), ItemType.SEASONAL_DONUT.ordinal()};
+
+    private final List<int[]> terms = new ArrayList<>();
+    private int orderNumber = -1;
+    private long minTotalCents = 0;
+    private long maxTotalCents = Long.MAX_VALUE;
+
+    /**
+     * Creates a query that matches every live order.
+     */
+    public OrderQuery() {
+    }
+
+    /**
+     * Only matches the order with a number.
+     * @param orderNumber the order number
+     * @return this query
+     */
+    public OrderQuery orderNumber(int orderNumber) {
+        this.orderNumber = orderNumber;
+        return this;
+    }
+
+    /**
+     * Only matches orders with an item of a type.
+     * @param type the item type
+     * @return this query
+     */
+    public OrderQuery itemType(ItemType type) {
+        return term(type.ordinal());
+    }
+
+    /**
+     * Only matches orders with a donut of a flavor, of any donut type.
+     * @param flavor the flavor name, in any case
+     * @return this query
+     */
+    public OrderQuery flavor(String flavor) {
+        int count = Flavor.count();
+        for (int id = 0; id < count; id++) {
+            if (Flavor.byId(id).getName().equalsIgnoreCase(flavor)) {
+                return term(OrderIndex.FLAVOR_KEYS + id);
+            }
+        }
+        // A flavor that was never sold matches nothing
+        return term();
+    }
+
+    /**
+     * Only matches orders with a coffee of a cup size.
+     * @param size the cup size
+     * @return this query
+     */
+    public OrderQuery cupSize(CupSize size) {
+        return term(OrderIndex.CUP_SIZE_KEYS + size.ordinal());
+    }
+
+    /**
+     * Only matches orders with a sandwich of a protein.
+     * @param protein the protein
+     * @return this query
+     */
+    public OrderQuery protein(Protein protein) {
+        return term(OrderIndex.PROTEIN_KEYS + protein.ordinal());
+    }
+
+    /**
+     * Only matches orders with a coffee with an add-in.
+     * @param addIn the add-in
+     * @return this query
+     */
+    public OrderQuery addIn(AddIns addIn) {
+        return term(OrderIndex.ADD_IN_KEYS + addIn.ordinal());
+    }
+
+    /**
+     * Only matches orders whose total (including tax) is in a range.
+     * @param minCents the lowest total in cents
+     * @param maxCents the highest total in cents
+     * @return this query
+     */
+    public OrderQuery totalBetween(long minCents, long maxCents) {
+        minTotalCents = Math.max(minTotalCents, minCents);
+        maxTotalCents = Math.min(maxTotalCents, maxCents);
+        return this;
+    }
+
+    /**
+     * Adds a condition that an order has any of some index keys.
+     * @param keys the keys (see OrderIndex)
+     * @return this query
+     */
+    private OrderQuery term(int... keys) {
+        terms.add(keys);
+        return this;
+    }
+
+    /**
+     * Gets the conditions on index keys.
+     * @return the keys of each term
+     */
+    int[][] terms() {
+        return terms.toArray(new int[0][]);
+    }
+
+    /**
+     * Gets the order number searched for.
+     * @return the order number, or -1 for any
+     */
+    int getOrderNumber() {
+        return orderNumber;
+    }
+
+    /**
+     * Gets the lowest total searched for.
+     * @return the total in cents
+     */
+    long getMinTotalCents() {
+        return minTotalCents;
+    }
+
+    /**
+     * Gets the highest total searched for.
+     * @return the total in cents
+     */
+    long getMaxTotalCents() {
+        return maxTotalCents;
+    }
+
+    /**
+     * Checks if the query has no conditions.
+     * @return true if it matches every live order
+     */
+    public boolean isEmpty() {
+        return terms.isEmpty() && orderNumber < 0 && minTotalCents <= 0 && maxTotalCents == Long.MAX_VALUE;
+    }
+
+    /**
+     * Reads a query from search text. Words name item types ("coffee",
+     * "yeast donut", "donut" for any donut), flavors, cup sizes, proteins
+     * and add-ins, in any case. "#12" or "12" is an order number, and
+     * "$5-$10", "$5-10", "&gt;$20" and "&lt;$5" limit the total.
+     * @param text the search text
+     * @return the query
+     * @throws IllegalArgumentException if a word is not recognized
+     */
+    public static OrderQuery parse(String text) {
+        OrderQuery query = new OrderQuery();
+        String[] words = text.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (words.length == 1 && words[0].isEmpty()) {
+            return query;
+        }
+        Map<String, int[]> phrases = phrases();
+        int longest = 1;
+        for (String phrase : phrases.keySet()) {
+            longest = Math.max(longest, phrase.split(" ").length);
+        }
+        int i = 0;
+        while (i < words.length) {
+            String word = words[i];
+            if (parseAmount(query, word) || parseNumber(query, word)) {
+                i++;
+                continue;
+            }
+            // Longest phrase first, so "whipped cream" wins over a flavor named "cream"
+            int length = Math.min(longest, words.length - i);
+            int[] keys = phrases.get(String.join(" ", Arrays.copyOfRange(words, i, i + length)));
+            while (keys == null && --length > 0) {
+                keys = phrases.get(String.join(" ", Arrays.copyOfRange(words, i, i + length)));
+            }
+            if (keys == null) {
+                throw new IllegalArgumentException("Unknown search term: " + word);
+            }
+            query.term(keys);
+            i += length;
+        }
+        return query;
+    }
+
+    /**
+     * Reads an order number, e.g. "#12" or "12".
+     * @param query the query to add it to
+     * @param word the word
+     * @return true if the word was an order number
+     */
+    private static boolean parseNumber(OrderQuery query, String word) {
+        String digits = word.startsWith("#") ? word.substring(1) : word;
+        if (digits.isEmpty() || !digits.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        try {
+            query.orderNumber(Integer.parseInt(digits));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Order number too large: " + word);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a total range, e.g. "$5-$10", "&gt;$20" or "&lt;5".
+     * @param query the query to add it to
+     * @param word the word
+     * @return true if the word was a total range
+     */
+    private static boolean parseAmount(OrderQuery query, String word) {
+        if (word.startsWith(">")) {
+            query.totalBetween(cents(word.substring(1)) + 1, Long.MAX_VALUE);
+            return true;
+        }
+        if (word.startsWith("<")) {
+            query.totalBetween(0, cents(word.substring(1)) - 1);
+            return true;
+        }
+        int dash = word.indexOf('-', 1);
+        if (!word.startsWith("$") && dash < 0) {
+            return false;
+        }
+        if (dash < 0) {
+            long cents = cents(word);
+            query.totalBetween(cents, cents);
+        } else {
+            query.totalBetween(cents(word.substring(0, dash)), cents(word.substring(dash + 1)));
+        }
+        return true;
+    }
+
+    /**
+     * Reads an amount of dollars, with or without a dollar sign.
+     * @param amount the amount, e.g. "$5" or "4.50"
+     * @return the amount in cents
+     * @throws IllegalArgumentException if it is not an amount
+     */
+    private static long cents(String amount) {
+        String digits = amount.startsWith("$") ? amount.substring(1) : amount;
+        try {
+            double dollars = Double.parseDouble(digits);
+            if (dollars < 0 || Double.isNaN(dollars) || Double.isInfinite(dollars)) {
+                throw new NumberFormatException(amount);
+            }
+            return Money.fromDollars(dollars);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an amount: " + amount);
+        }
+    }
+
+    /**
+     * Gets the words and phrases a search can use, with their index keys.
+     * A phrase with several meanings, e.g. a flavor and an add-in with the
+     * same name, matches orders with either.
+     * @return the index keys of each lower case phrase
+     */
+    private static Map<String, int[]> phrases() {
+        Map<String, int[]> phrases = new HashMap<>();
+        for (ItemType type : ItemType.values()) {
+            String name = type.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+            put(phrases, name, type.ordinal());
+            put(phrases, name + "s", type.ordinal());
+            if (type.ordinal() < DONUT_KEYS.length && type != ItemType.DONUT_HOLE) {
+                // "yeast" as well as "yeast donut"
+                put(phrases, name.substring(0, name.indexOf(' ')), type.ordinal());
+            }
+        }
+        put(phrases, "hole", ItemType.DONUT_HOLE.ordinal());
+        put(phrases, "holes", ItemType.DONUT_HOLE.ordinal());
+        put(phrases, "sandwiches", ItemType.SANDWICH.ordinal());
+        put(phrases, "coffees", ItemType.COFFEE.ordinal());
+        put(phrases, "donut", DONUT_KEYS);
+        put(phrases, "donuts", DONUT_KEYS);
+        for (CupSize size : CupSize.values()) {
+            put(phrases, size.name().toLowerCase(Locale.ROOT), OrderIndex.CUP_SIZE_KEYS + size.ordinal());
+        }
+        for (Protein protein : Protein.values()) {
+            put(phrases, protein.name().toLowerCase(Locale.ROOT), OrderIndex.PROTEIN_KEYS + protein.ordinal());
+        }
+        for (AddIns addIn : AddIns.values()) {
+            put(phrases, addIn.name().toLowerCase(Locale.ROOT).replace('_', ' '),
+                    OrderIndex.ADD_IN_KEYS + addIn.ordinal());
+        }
+        int flavors = Flavor.count();
+        for (int id = 0; id < flavors; id++) {
+            put(phrases, Flavor.byId(id).getName().trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "),
+                    OrderIndex.FLAVOR_KEYS + id);
+        }
+        return phrases;
+    }
+
+    /**
+     * Adds index keys to the meanings of a phrase.
+     * @param phrases the phrases
+     * @param phrase the phrase
+     * @param keys the keys to add
+     */
+    private static void put(Map<String, int[]> phrases, String phrase, int... keys) {
+        int[] old = phrases.get(phrase);
+        if (old == null) {
+            phrases.put(phrase, keys);
+            return;
+        }
+        int[] merged = Arrays.copyOf(old, old.length + keys.length);
+        System.arraycopy(keys, 0, merged, old.length, keys.length);
+        phrases.put(phrase, merged);
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.model;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds end-of-day reports (see EndOfDayReport) in one parallel pass over
+ * a snapshot of the order store.
+ * The slots are split in halves on a fork-join pool down to chunks of one
+ * archive page, each chunk is added up into its own accumulator, and the
+ * accumulators are merged on the way back up. Orders are read straight from
+ * the columns, never rebuilt as Order objects.
+ * <p>
+ * A report is cancelled by interrupting the thread waiting for it; the
+ * chunks still running then stop early.
+ * @author Aryaman Kumar
+ */
+final class OrderReporter {
+    // Slots added up by one task; a page, so archived chunks decompress one page each
+    private static final int CHUNK_SLOTS = OrderArchive.PAGE_SLOTS;
+
+    private final OrderStore store;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a reporter for a column store that runs on the common pool.
+     * @param store the store
+     */
+    OrderReporter(OrderStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a reporter.
+     * @param store the store
+     * @param pool the pool to add up chunks on
+     */
+    OrderReporter(OrderStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * Reports on the live orders placed in a time range.
+     * @param title what the report covers, e.g. the date
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the report
+     * @throws InterruptedException if the report was cancelled
+     */
+    EndOfDayReport report(String title, long fromMillis, long toMillis) throws InterruptedException {
+        OrderStore.Columns columns = store.columns();
+        Pass pass = new Pass(columns, 0, columns.orderCount, fromMillis, toMillis, new AtomicBoolean());
+        ForkJoinTask<EndOfDayReport.Accumulator> task = pool.submit(pass);
+        try {
+            return new EndOfDayReport(title, task.get());
+        } catch (InterruptedException e) {
+            pass.stop();
+            task.cancel(false);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    /**
+     * Adds up a range of slots, splitting it while it is larger than a chunk.
+     */
+    private static final class Pass extends RecursiveTask<EndOfDayReport.Accumulator> {
+        private final OrderStore.Columns columns;
+        private final int from;
+        private final int to;
+        private final long fromMillis;
+        private final long toMillis;
+        // Shared by all parts of one pass; set when the report is cancelled
+        private final AtomicBoolean stopped;
+
+        /**
+         * Constructor for Pass.
+         * @param columns the column snapshot
+         * @param from the first slot
+         * @param to the slot after the last one
+         * @param fromMillis the start of the time range
+         * @param toMillis the end of the time range (exclusive)
+         * @param stopped the stop flag of the pass
+         */
+        Pass(OrderStore.Columns columns, int from, int to, long fromMillis, long toMillis, AtomicBoolean stopped) {
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            this.stopped = stopped;
+        }
+
+        /**
+         * Asks every part of the pass to stop before its next chunk.
+         */
+        void stop() {
+            stopped.set(true);
+        }
+
+        /**
+         * Adds up the range, in parallel halves if it is larger than a chunk.
+         * @return the totals of the range
+         */
+        @Override
+        protected EndOfDayReport.Accumulator compute() {
+            if (to - from <= CHUNK_SLOTS) {
+                return sum();
+            }
+            // Split on a chunk border, so chunks line up with archive pages
+            int middle = from + Math.max(1, (to - from) / CHUNK_SLOTS / 2) * CHUNK_SLOTS;
+            Pass right = new Pass(columns, middle, to, fromMillis, toMillis, stopped);
+            right.fork();
+            EndOfDayReport.Accumulator left = new Pass(columns, from, middle, fromMillis, toMillis, stopped).compute();
+            return left.merge(right.join());
+        }
+
+        /**
+         * Adds up the range on the calling thread.
+         * @return the totals of the range
+         */
+        private EndOfDayReport.Accumulator sum() {
+            EndOfDayReport.Accumulator totals = new EndOfDayReport.Accumulator();
+            OrderStore.Columns part = null;
+            for (int slot = from; slot < to; slot++) {
+                if (part == null || slot >= part.orderCount) {
+                    if (stopped.get()) {
+                        break;
+                    }
+                    part = columns.segment(slot);
+                }
+                int local = slot - part.base;
+                long placedAt = part.placedAt[local];
+                if (placedAt >= fromMillis && placedAt < toMillis && !columns.isCancelled(slot)) {
+                    totals.add(part, local);
+                }
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.model;
+
+/**
+ * The orders that matched a search (see OrderManager.searchOrders()), in the
+ * order they were placed.
+ * Only the slots of the matches are kept; numbers and totals are read from
+ * the order store when asked for, so a result of any size costs little
+ * until its rows are shown. The result does not change; search again to
+ * see later orders, and use changesTo() to update a view of it row by row.
+ * @author Aryaman Kumar
+ */
+public final class OrderSearchResult {
+    private final OrderStore store;
+    private final int[] slots;
+
+    /**
+     * Constructor for OrderSearchResult.
+     * @param store the order store
+     * @param slots the matching slots, ascending
+     */
+    OrderSearchResult(OrderStore store, int[] slots) {
+        this.store = store;
+        this.slots = slots;
+    }
+
+    /**
+     * Gets the number of matching orders.
+     * @return the size
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the number of a matching order.
+     * @param index the position
+     * @return the order number
+     * @throws IndexOutOfBoundsException if the position is not in the result
+     */
+    public int getOrderNumber(int index) {
+        return store.orderNumber(slots[index]);
+    }
+
+    /**
+     * Gets the total (including tax) of a matching order without rebuilding it.
+     * @param index the position
+     * @return the total in cents
+     * @throws IndexOutOfBoundsException if the position is not in the result
+     */
+    public long getOrderTotalCents(int index) {
+        long subtotal = store.subtotalCents(slots[index]);
+        return subtotal + Order.salesTaxFor(subtotal);
+    }
+
+    /**
+     * Reports the rows to remove from and add to this result to turn it into
+     * a later result of the same search, walking both in one pass.
+     * @param later the later result
+     * @param sink receives each removal at its position in the list as changed
+     *             so far, and each run of additions
+     */
+    public void changesTo(OrderSearchResult later, LiveOrderList.ChangeSink sink) {
+        int[] after = later.slots;
+        int i = 0;
+        int j = 0;
+        int index = 0;
+        while (i < slots.length || j < after.length) {
+            if (i < slots.length && j < after.length && slots[i] == after[j]) {
+                i++;
+                j++;
+                index++;
+            } else if (j == after.length || (i < slots.length && slots[i] < after[j])) {
+                sink.removed(index, store.orderNumber(slots[i++]));
+            } else {
+                int from = index;
+                while (j < after.length && (i == slots.length || after[j] < slots[i])) {
+                    j++;
+                    index++;
+                }
+                sink.added(from, index);
+            }
+        }
+    }
+}
@@ -0,0 +1,936 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Column store for placed orders.
+ * Placed orders are read-only, so instead of keeping an object graph per
+ * order they are flattened into primitive arrays: one set of columns per
+ * order (number, line range, subtotal, placement time, cancelled flag) and
+ * one per line item (type, variant, quantity, option mask, price). Orders are rebuilt as
+ * Order objects only when somebody asks for one.
+ * An order number index gives constant-time lookup and cancellation, and a
+ * Fenwick tree over the live flags maps between display positions and slots
+ * in O(log n) without ever shifting the columns.
+ * <p>
+ * Thread safety: writers (append, cancel) are serialized by a StampedLock
+ * and hold it only while copying one order. Readers never block: they use
+ * optimistic reads and only fall back to a read lock if a write overlapped.
+ * The column data of a slot never changes once published, and orderCount is
+ * volatile and written last, so iterators can walk the slots with no lock.
+ * <p>
+ * With an archive attached (see OrderArchive), archiveOlderThan() moves
+ * whole pages of the oldest orders to disk. Slots keep their numbers; the
+ * columns on the heap then start at the first slot that is not archived
+ * (base), and reads of archived slots go through the archive's page cache.
+ * @author Aryaman Kumar
+ */
+final class OrderStore {
+    private static final int INITIAL_ORDERS = 256;
+    private static final int INITIAL_LINES = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Order columns, indexed by slot (placement sequence) minus base.
+    // The lines of slot s are firstLines[s - base] until firstLines[s - base + 1].
+    private int[] orderNumbers = new int[INITIAL_ORDERS];
+    private int[] firstLines = new int[INITIAL_ORDERS + 1];
+    private long[] subtotals = new long[INITIAL_ORDERS];
+    private long[] placedAt = new long[INITIAL_ORDERS];
+    private boolean[] cancelled = new boolean[INITIAL_ORDERS];
+    private volatile int orderCount;
+    private int liveCount;
+    // Slots before base are archived
+    private int base;
+    private OrderArchive archive;
+
+    // Slots in the order they were cancelled, for incremental exports
+    private int[] cancelLog = new int[INITIAL_ORDERS];
+    private int cancelCount;
+
+    // Line item columns, indexed by line; the lines of a slot are contiguous
+    private byte[] lineTypes = new byte[INITIAL_LINES];
+    private int[] lineVariants = new int[INITIAL_LINES];
+    private int[] lineQuantities = new int[INITIAL_LINES];
+    private byte[] lineMasks = new byte[INITIAL_LINES];
+    private long[] linePrices = new long[INITIAL_LINES];
+    private int lineCount;
+
+    // Order number -> slot of the live order with that number
+    private IntIntMap slotByNumber = new IntIntMap(INITIAL_ORDERS);
+
+    // Fenwick tree (1-based) counting live orders per range of slots on the heap
+    private int[] liveTree = new int[INITIAL_ORDERS + 1];
+    // While bulk loading, the tree is left stale and rebuilt once at the end
+    private boolean bulkLoading;
+
+    /**
+     * Copies an order into the store.
+     * @param order the order to store; must not be changed concurrently
+     * @param placedAtMillis when the order was placed, in epoch milliseconds
+     * @return the slot of the stored order
+     * @throws IllegalArgumentException if an order with the same number is already stored
+     */
+    int append(Order order, long placedAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = beginAppend(order.getOrderNumber(), placedAtMillis, order.getMenuItems().size());
+            for (MenuItem item : order.getMenuItems()) {
+                lineTypes[lineCount] = (byte) item.getItemType().ordinal();
+                lineVariants[lineCount] = item.getVariant();
+                lineQuantities[lineCount] = item.getQuantity();
+                lineMasks[lineCount] = (byte) item.getOptionMask();
+                linePrices[lineCount] = item.priceCents();
+                lineCount++;
+            }
+            return endAppend(slot, order.getSubtotalCents());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stores an order given as primitive line columns, e.g. when replaying a journal.
+     * @param orderNumber the order number
+     * @param placedAtMillis when the order was placed, in epoch milliseconds
+     * @param lines the number of lines
+     * @param types the item type ordinal of each line
+     * @param variants the variant of each line
+     * @param masks the option mask of each line
+     * @param quantities the quantity of each line
+     * @param prices the price of each line in cents
+     * @return the slot of the stored order
+     * @throws IllegalArgumentException if an order with the same number is already stored
+     */
+    int append(int orderNumber, long placedAtMillis, int lines, byte[] types, int[] variants,
+               byte[] masks, int[] quantities, long[] prices) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = beginAppend(orderNumber, placedAtMillis, lines);
+            System.arraycopy(types, 0, lineTypes, lineCount, lines);
+            System.arraycopy(variants, 0, lineVariants, lineCount, lines);
+            System.arraycopy(masks, 0, lineMasks, lineCount, lines);
+            System.arraycopy(quantities, 0, lineQuantities, lineCount, lines);
+            System.arraycopy(prices, 0, linePrices, lineCount, lines);
+            long subtotal = 0;
+            for (int i = 0; i < lines; i++) {
+                subtotal += prices[i];
+            }
+            lineCount += lines;
+            return endAppend(slot, subtotal);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Indexes the order number, rejecting duplicates, and makes room for one
+     * more order. Caller holds the write lock.
+     * @param orderNumber the order number
+     * @param placedAtMillis when the order was placed
+     * @param lines the number of lines the order has
+     * @return the slot for the order
+     */
+    private int beginAppend(int orderNumber, long placedAtMillis, int lines) {
+        int slot = orderCount;
+        int local = slot - base;
+        // Indexing before the slot is published is safe: readers validate against the write lock
+        if ((archive != null && archive.find(orderNumber) >= 0) || !slotByNumber.putIfAbsent(orderNumber, slot)) {
+            throw new IllegalArgumentException("Order #" + orderNumber + " has already been placed");
+        }
+        if (local == orderNumbers.length) {
+            int capacity = local * 2;
+            orderNumbers = Arrays.copyOf(orderNumbers, capacity);
+            firstLines = Arrays.copyOf(firstLines, capacity + 1);
+            subtotals = Arrays.copyOf(subtotals, capacity);
+            placedAt = Arrays.copyOf(placedAt, capacity);
+            cancelled = Arrays.copyOf(cancelled, capacity);
+            if (!bulkLoading) {
+                rebuildLiveTree(capacity);
+            }
+        }
+        ensureLineCapacity(lineCount + lines);
+        orderNumbers[local] = orderNumber;
+        placedAt[local] = placedAtMillis;
+        return slot;
+    }
+
+    /**
+     * Publishes an order whose lines have been copied. Caller holds the write lock.
+     * @param slot the slot of the order
+     * @param subtotal the subtotal in cents
+     * @return the slot
+     */
+    private int endAppend(int slot, long subtotal) {
+        int local = slot - base;
+        subtotals[local] = subtotal;
+        firstLines[local + 1] = lineCount;
+        if (!bulkLoading) {
+            updateLiveTree(local, 1);
+        }
+        liveCount++;
+        // Publish the slot to lock-free iterators last
+        orderCount = slot + 1;
+        return slot;
+    }
+
+    /**
+     * Starts loading many orders at once, e.g. from a journal. Until
+     * endBulkLoad() is called, positions (slotAt, indexOfSlot) are not
+     * maintained, so the store must not be read by other threads.
+     */
+    void beginBulkLoad() {
+        long stamp = lock.writeLock();
+        try {
+            bulkLoading = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finishes a bulk load, rebuilding the position index in one pass.
+     */
+    void endBulkLoad() {
+        long stamp = lock.writeLock();
+        try {
+            bulkLoading = false;
+            rebuildLiveTree(orderNumbers.length);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Grows the line columns to hold at least the given number of lines.
+     * @param needed the number of lines needed
+     */
+    private void ensureLineCapacity(int needed) {
+        if (needed <= lineTypes.length) {
+            return;
+        }
+        int capacity = Math.max(needed, lineTypes.length * 2);
+        lineTypes = Arrays.copyOf(lineTypes, capacity);
+        lineVariants = Arrays.copyOf(lineVariants, capacity);
+        lineQuantities = Arrays.copyOf(lineQuantities, capacity);
+        lineMasks = Arrays.copyOf(lineMasks, capacity);
+        linePrices = Arrays.copyOf(linePrices, capacity);
+    }
+
+    /**
+     * Marks the live order with a number as cancelled. Its columns stay in place.
+     * @param orderNumber the order number
+     * @return the slot of the cancelled order, or -1 if there was no such live order
+     */
+    int cancel(int orderNumber) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotByNumber.get(orderNumber, -1);
+            if (slot >= 0) {
+                cancelled[slot - base] = true;
+                slotByNumber.remove(orderNumber);
+                if (!bulkLoading) {
+                    updateLiveTree(slot - base, -1);
+                }
+            } else if (archive != null && (slot = archive.find(orderNumber)) >= 0) {
+                archive.cancel(slot);
+            } else {
+                return -1;
+            }
+            if (cancelCount == cancelLog.length) {
+                cancelLog = Arrays.copyOf(cancelLog, cancelCount * 2);
+            }
+            cancelLog[cancelCount++] = slot;
+            liveCount--;
+            return slot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finds the slot of a live order.
+     * @param orderNumber the order number
+     * @return the slot, or -1 if there is no such live order
+     */
+    int findSlot(int orderNumber) {
+        return readInt(() -> {
+            int slot = slotByNumber.get(orderNumber, -1);
+            return slot < 0 && archive != null ? archive.find(orderNumber) : slot;
+        });
+    }
+
+    /**
+     * Gets the number of live (not cancelled) orders.
+     * @return the live order count
+     */
+    int size() {
+        return readInt(() -> liveCount);
+    }
+
+    /**
+     * Gets the slot of the index-th live order, in placement order.
+     * @param index the position among live orders
+     * @return the slot
+     */
+    int slotAt(int index) {
+        return readInt(() -> liveSlotAt(index));
+    }
+
+    /**
+     * Gets the display position of a live order.
+     * @param slot the slot of a live order
+     * @return the number of live orders placed before it
+     */
+    int indexOfSlot(int slot) {
+        return readInt(() -> liveBefore(slot));
+    }
+
+    /**
+     * Gets the slot of the index-th live order as of an earlier state of the
+     * store, when it held fewer orders and cancellations. Orders cancelled
+     * since then keep their positions, and orders placed since are left out.
+     * @param index the position among the live orders of that state
+     * @param orderCountThen the number of slots published then
+     * @param cancelCountThen the number of cancellations made then
+     * @return the slot
+     */
+    int slotAt(int index, int orderCountThen, int cancelCountThen) {
+        return readInt(() -> {
+            int[] pending = cancelledSince(orderCountThen, cancelCountThen);
+            // Each order cancelled since sits between the live orders around it
+            int before = 0;
+            for (; before < pending.length; before++) {
+                int at = liveBefore(pending[before]) + before;
+                if (at == index) {
+                    return pending[before];
+                }
+                if (at > index) {
+                    break;
+                }
+            }
+            return liveSlotAt(index - before);
+        });
+    }
+
+    /**
+     * Gets the display position of a slot as of an earlier state of the
+     * store, like slotAt(int, int, int).
+     * @param slot a slot, or orderCountThen for the number of live orders then
+     * @param orderCountThen the number of slots published then
+     * @param cancelCountThen the number of cancellations made then
+     * @return the number of orders live then that were placed before the slot
+     */
+    int indexOfSlot(int slot, int orderCountThen, int cancelCountThen) {
+        return readInt(() -> {
+            int[] pending = cancelledSince(orderCountThen, cancelCountThen);
+            int before = 0;
+            while (before < pending.length && pending[before] < slot) {
+                before++;
+            }
+            return liveBefore(slot) + before;
+        });
+    }
+
+    /**
+     * Gets the slots published before an earlier state and cancelled since,
+     * sorted. Caller holds a read stamp.
+     * @param orderCountThen the number of slots published then
+     * @param cancelCountThen the number of cancellations made then
+     * @return the slots
+     */
+    private int[] cancelledSince(int orderCountThen, int cancelCountThen) {
+        int[] slots = new int[cancelCount - cancelCountThen];
+        int count = 0;
+        for (int i = cancelCountThen; i < cancelCount; i++) {
+            if (cancelLog[i] < orderCountThen) {
+                slots[count++] = cancelLog[i];
+            }
+        }
+        slots = Arrays.copyOf(slots, count);
+        Arrays.sort(slots);
+        return slots;
+    }
+
+    /**
+     * Gets the slot of the index-th live order. Caller holds a read stamp.
+     * @param index the position among live orders
+     * @return the slot
+     */
+    private int liveSlotAt(int index) {
+        if (index < 0 || index >= liveCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + liveCount);
+        }
+        int archivedLive = archive != null ? archive.liveCount() : 0;
+        if (index < archivedLive) {
+            return archive.slotAt(index);
+        }
+        // Descend the Fenwick tree to the slot holding the (index + 1)-th live order on the heap
+        int[] tree = liveTree;
+        int n = tree.length - 1;
+        int pos = 0;
+        int remaining = index - archivedLive + 1;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= n && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return base + pos;
+    }
+
+    /**
+     * Counts the live orders placed before a slot. Caller holds a read stamp.
+     * @param slot a slot, live or not, or the number of slots
+     * @return the number of live orders before it
+     */
+    private int liveBefore(int slot) {
+        if (slot < base) {
+            return archive.indexOfSlot(slot);
+        }
+        int[] tree = liveTree;
+        int count = archive != null ? archive.liveCount() : 0;
+        for (int i = Math.min(slot - base, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of slots published so far, live or cancelled.
+     * @return the slot count
+     */
+    int orderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Gets the number of cancellations made so far.
+     * @return the cancellation count
+     */
+    int cancelCount() {
+        return readInt(() -> cancelCount);
+    }
+
+    /**
+     * Gets the slot of a cancelled order by when it was cancelled.
+     * @param i the position in the cancellation log, below cancelCount()
+     * @return the slot
+     */
+    int cancelledSlot(int i) {
+        return readInt(() -> cancelLog[i]);
+    }
+
+    /**
+     * Gets the order number stored in a slot.
+     * @param slot a published slot
+     * @return the order number
+     */
+    int orderNumber(int slot) {
+        return readInt(() -> slot < base ? archive.page(slot).orderNumber(slot) : orderNumbers[slot - base]);
+    }
+
+    /**
+     * Gets the subtotal of the order stored in a slot.
+     * @param slot a published slot
+     * @return the subtotal in cents
+     */
+    long subtotalCents(int slot) {
+        return readLong(() -> slot < base ? archive.page(slot).subtotalCents(slot) : subtotals[slot - base]);
+    }
+
+    /**
+     * Rebuilds the order stored in a slot. Items keep the price they were sold at.
+     * @param slot a published slot
+     * @return a new Order with the stored items
+     */
+    Order materialize(int slot) {
+        return read(() -> {
+            if (slot < base) {
+                return archive.page(slot).materialize(slot);
+            }
+            int local = slot - base;
+            return rebuild(orderNumbers[local], firstLines[local], firstLines[local + 1],
+                    lineTypes, lineVariants, lineMasks, lineQuantities, linePrices);
+        });
+    }
+
+    /**
+     * Rebuilds an order from line columns. Items keep the price they were sold at.
+     * @param orderNumber the order number
+     * @param from the first line of the order
+     * @param to the line after the last one
+     * @param types the item type column
+     * @param variants the variant column
+     * @param masks the option mask column
+     * @param quantities the quantity column
+     * @param prices the price column
+     * @return a new Order with the items
+     */
+    private static Order rebuild(int orderNumber, int from, int to, byte[] types, int[] variants,
+                                 byte[] masks, int[] quantities, long[] prices) {
+        Order order = new Order(orderNumber);
+        for (int line = from; line < to; line++) {
+            MenuItem item = ItemType.of(types[line]).create(variants[line], masks[line], quantities[line]);
+            item.restorePrice(prices[line]);
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    /**
+     * Checks whether the order in a slot is cancelled.
+     * @param slot a published slot
+     * @return true if it is cancelled
+     */
+    private boolean isCancelled(int slot) {
+        return readInt(() -> (slot < base ? archive.isCancelled(slot) : cancelled[slot - base]) ? 1 : 0) != 0;
+    }
+
+    /**
+     * Takes a read-only snapshot of the columns for bulk readers such as the
+     * exporter. Published slots never change, so the snapshot stays valid
+     * while orders are placed.
+     * @return the snapshot
+     */
+    Columns columns() {
+        return columns(0);
+    }
+
+    /**
+     * Takes a read-only snapshot of the columns whose cancelled flags are
+     * frozen from a slot on, so the snapshot agrees exactly with its
+     * cancellation log for those slots.
+     * @param fromSlot the first slot whose cancelled flags are copied
+     * @return the snapshot
+     */
+    Columns columns(int fromSlot) {
+        return read(() -> new Columns(this, fromSlot));
+    }
+
+    /**
+     * Gets the columns holding one published slot without copying any flags,
+     * for reading a single order.
+     * @param slot a published slot
+     * @return the columns; index their arrays with slot - base
+     */
+    Columns segment(int slot) {
+        return read(() -> slot < base ? archive.page(slot) : new Columns(this, orderCount));
+    }
+
+    /**
+     * Read-only view of the column arrays up to the orders published at one
+     * moment. The arrays hold the slots from base on; archived slots before
+     * base are read through the archive, so use orderNumber(), segment() and
+     * isCancelled() rather than the arrays for those.
+     */
+    static final class Columns {
+        final int base;
+        final int orderCount;
+        final int liveCount;
+        final int[] orderNumbers;
+        final int[] firstLines;
+        final long[] subtotals;
+        final long[] placedAt;
+        final byte[] lineTypes;
+        final int[] lineVariants;
+        final int[] lineQuantities;
+        final byte[] lineMasks;
+        final long[] linePrices;
+        final int[] cancelLog;
+        final int cancelCount;
+        private final boolean[] cancelled;
+        private final int frozenFrom;
+        private final boolean[] frozenCancelled;
+        private final OrderArchive archive;
+        private final int[] archivedCancels;
+
+        /**
+         * Captures the current column arrays of a store. Caller holds a read stamp.
+         * @param store the store
+         * @param fromSlot the first slot whose cancelled flags are copied
+         */
+        private Columns(OrderStore store, int fromSlot) {
+            base = store.base;
+            orderCount = store.orderCount;
+            liveCount = store.liveCount;
+            orderNumbers = store.orderNumbers;
+            firstLines = store.firstLines;
+            subtotals = store.subtotals;
+            placedAt = store.placedAt;
+            lineTypes = store.lineTypes;
+            lineVariants = store.lineVariants;
+            lineQuantities = store.lineQuantities;
+            lineMasks = store.lineMasks;
+            linePrices = store.linePrices;
+            cancelLog = store.cancelLog;
+            cancelCount = store.cancelCount;
+            cancelled = store.cancelled;
+            // Archived flags never change, and later cancellations of archived orders are copied on write
+            frozenFrom = Math.max(Math.min(fromSlot, orderCount), base);
+            frozenCancelled = Arrays.copyOfRange(store.cancelled, frozenFrom - base, orderCount - base);
+            archive = store.archive;
+            archivedCancels = archive != null ? archive.cancelledSlots() : null;
+        }
+
+        /**
+         * Wraps the columns of one archived page.
+         * @param base the first slot of the page
+         * @param orderNumbers the order numbers
+         * @param firstLines the first line of each order, and the line count at the end
+         * @param subtotals the subtotals
+         * @param placedAt the placement times
+         * @param cancelled the cancelled flags as archived
+         * @param lineTypes the item type of each line
+         * @param lineVariants the variant of each line
+         * @param lineQuantities the quantity of each line
+         * @param lineMasks the option mask of each line
+         * @param linePrices the price of each line
+         */
+        Columns(int base, int[] orderNumbers, int[] firstLines, long[] subtotals, long[] placedAt,
+                boolean[] cancelled, byte[] lineTypes, int[] lineVariants, int[] lineQuantities,
+                byte[] lineMasks, long[] linePrices) {
+            this.base = base;
+            this.orderCount = base + orderNumbers.length;
+            int live = 0;
+            for (boolean flag : cancelled) {
+                live += flag ? 0 : 1;
+            }
+            this.liveCount = live;
+            this.orderNumbers = orderNumbers;
+            this.firstLines = firstLines;
+            this.subtotals = subtotals;
+            this.placedAt = placedAt;
+            this.lineTypes = lineTypes;
+            this.lineVariants = lineVariants;
+            this.lineQuantities = lineQuantities;
+            this.lineMasks = lineMasks;
+            this.linePrices = linePrices;
+            this.cancelLog = new int[0];
+            this.cancelCount = 0;
+            this.cancelled = cancelled;
+            this.frozenFrom = orderCount;
+            this.frozenCancelled = new boolean[0];
+            this.archive = null;
+            this.archivedCancels = null;
+        }
+
+        /**
+         * Gets the columns holding a slot: these, or an archived page.
+         * Index the arrays of the result with slot - base.
+         * @param slot a slot of the snapshot
+         * @return the columns holding the slot
+         */
+        Columns segment(int slot) {
+            return slot < base ? archive.page(slot) : this;
+        }
+
+        /**
+         * Gets the order number stored in a slot.
+         * @param slot a slot of the snapshot
+         * @return the order number
+         */
+        int orderNumber(int slot) {
+            Columns part = segment(slot);
+            return part.orderNumbers[slot - part.base];
+        }
+
+        /**
+         * Gets the subtotal of the order stored in a slot.
+         * @param slot a slot of the snapshot
+         * @return the subtotal in cents
+         */
+        long subtotalCents(int slot) {
+            Columns part = segment(slot);
+            return part.subtotals[slot - part.base];
+        }
+
+        /**
+         * Rebuilds the order stored in a slot.
+         * @param slot a slot of the snapshot
+         * @return a new Order with the stored items
+         */
+        Order materialize(int slot) {
+            Columns part = segment(slot);
+            int local = slot - part.base;
+            return rebuild(part.orderNumbers[local], part.firstLines[local], part.firstLines[local + 1],
+                    part.lineTypes, part.lineVariants, part.lineMasks, part.lineQuantities, part.linePrices);
+        }
+
+        /**
+         * Checks whether the order in a slot is cancelled. From the frozen slot
+         * on, and for archived slots, this is as of the snapshot; before it,
+         * cancellations made later may also be seen.
+         * @param slot a slot of the snapshot
+         * @return true if the order is cancelled
+         */
+        boolean isCancelled(int slot) {
+            if (slot < base) {
+                return archive.isCancelled(slot, archivedCancels);
+            }
+            return slot >= frozenFrom ? frozenCancelled[slot - frozenFrom] : cancelled[slot - base];
+        }
+    }
+
+    /**
+     * Attaches an empty archive that archiveOlderThan() moves old orders to.
+     * @param archive the archive
+     */
+    void attachArchive(OrderArchive archive) {
+        long stamp = lock.writeLock();
+        try {
+            if (this.archive != null) {
+                throw new IllegalStateException("An archive is already attached");
+            }
+            this.archive = archive;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Moves the oldest orders placed at or before a time to the archive, in
+     * whole pages. Pages are compressed and written without holding the lock;
+     * only swapping in the smaller heap columns blocks writers. Must not be
+     * called while bulk loading.
+     * @param cutoffMillis the latest placement time to archive, in epoch milliseconds
+     * @return the number of slots archived
+     * @throws IOException if the archive cannot be written
+     */
+    int archiveOlderThan(long cutoffMillis) throws IOException {
+        OrderArchive target = read(() -> archive);
+        if (target == null) {
+            return 0;
+        }
+        synchronized (target) {
+            // Flags of all slots on the heap frozen, so the pages match one moment
+            Columns snapshot = columns(0);
+            int count = 0;
+            int hot = snapshot.orderCount - snapshot.base;
+            while (count < hot && snapshot.placedAt[count] <= cutoffMillis) {
+                count++;
+            }
+            int from = snapshot.base;
+            int to = from + count / OrderArchive.PAGE_SLOTS * OrderArchive.PAGE_SLOTS;
+            if (to == from) {
+                return 0;
+            }
+            OrderArchive.Page[] pages = target.write(snapshot, to);
+
+            long stamp = lock.writeLock();
+            try {
+                target.publish(pages);
+                for (int slot = from; slot < to; slot++) {
+                    if (cancelled[slot - base]
+                            && !pages[(slot - from) / OrderArchive.PAGE_SLOTS].cancelled[slot % OrderArchive.PAGE_SLOTS]) {
+                        // Cancelled while the pages were written
+                        target.cancel(slot);
+                    }
+                }
+                dropArchived(to);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            return to - from;
+        }
+    }
+
+    /**
+     * Copies the slots from a new base on into fresh, smaller heap columns.
+     * The old arrays are left as they are for snapshots still reading them.
+     * Caller holds the write lock.
+     * @param newBase the first slot to keep on the heap
+     */
+    private void dropArchived(int newBase) {
+        int shift = newBase - base;
+        int hot = orderCount - newBase;
+        int capacity = Math.max(INITIAL_ORDERS, Integer.highestOneBit(Math.max(hot, 1)) * 2);
+        orderNumbers = Arrays.copyOfRange(orderNumbers, shift, shift + capacity);
+        subtotals = Arrays.copyOfRange(subtotals, shift, shift + capacity);
+        placedAt = Arrays.copyOfRange(placedAt, shift, shift + capacity);
+        cancelled = Arrays.copyOfRange(cancelled, shift, shift + capacity);
+        int lineShift = firstLines[shift];
+        int[] lines = Arrays.copyOfRange(firstLines, shift, shift + capacity + 1);
+        for (int i = 0; i <= hot; i++) {
+            lines[i] -= lineShift;
+        }
+        firstLines = lines;
+
+        lineCount -= lineShift;
+        int lineCapacity = Math.max(INITIAL_LINES, Integer.highestOneBit(Math.max(lineCount, 1)) * 2);
+        lineTypes = Arrays.copyOfRange(lineTypes, lineShift, lineShift + lineCapacity);
+        lineVariants = Arrays.copyOfRange(lineVariants, lineShift, lineShift + lineCapacity);
+        lineQuantities = Arrays.copyOfRange(lineQuantities, lineShift, lineShift + lineCapacity);
+        lineMasks = Arrays.copyOfRange(lineMasks, lineShift, lineShift + lineCapacity);
+        linePrices = Arrays.copyOfRange(linePrices, lineShift, lineShift + lineCapacity);
+
+        base = newBase;
+        rebuildLiveTree(capacity);
+
+        // Sequential numbers form one long probe run, so removing them one by one would be quadratic
+        IntIntMap index = new IntIntMap(Math.max(hot, INITIAL_ORDERS));
+        for (int local = 0; local < hot; local++) {
+            if (!cancelled[local]) {
+                index.put(orderNumbers[local], newBase + local);
+            }
+        }
+        slotByNumber = index;
+    }
+
+    /**
+     * Gets a weakly consistent iterator over the live orders in placement order.
+     * It walks the slots published when it was created, never blocks and never
+     * throws ConcurrentModificationException; orders cancelled while iterating
+     * may or may not be returned.
+     * @return the iterator
+     */
+    Iterator<Order> iterator() {
+        int end = orderCount;
+        return new Iterator<>() {
+            private int slot = skipCancelled(0);
+
+            private int skipCancelled(int from) {
+                while (from < end && isCancelled(from)) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < end;
+            }
+
+            @Override
+            public Order next() {
+                if (slot >= end) {
+                    throw new NoSuchElementException();
+                }
+                Order order = materialize(slot);
+                slot = skipCancelled(slot + 1);
+                return order;
+            }
+        };
+    }
+
+    /**
+     * Adds a delta to the live count of a slot. Caller holds the write lock.
+     * @param local the slot minus base
+     * @param delta +1 when an order is placed, -1 when it is cancelled
+     */
+    private void updateLiveTree(int local, int delta) {
+        for (int i = local + 1; i < liveTree.length; i += i & -i) {
+            liveTree[i] += delta;
+        }
+    }
+
+    /**
+     * Rebuilds the Fenwick tree in O(n) for a new capacity. Caller holds the write lock.
+     * @param capacity the new slot capacity
+     */
+    private void rebuildLiveTree(int capacity) {
+        int[] tree = new int[capacity + 1];
+        int count = orderCount - base;
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= count && !cancelled[i - 1]) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+        liveTree = tree;
+    }
+
+    /**
+     * Runs a read optimistically, retrying under the read lock if a writer
+     * interfered. Exceptions thrown while reading torn state are discarded.
+     * @param reader the read to run
+     * @param <T> the result type
+     * @return the result of a consistent read
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Primitive int version of read(), so hot lookups do not box.
+     * @param reader the read to run
+     * @return the result of a consistent read
+     */
+    private int readInt(IntSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int result = reader.getAsInt();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsInt();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Primitive long version of read(), so hot lookups do not box.
+     * @param reader the read to run
+     * @return the result of a consistent read
+     */
+    private long readLong(LongSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                long result = reader.getAsLong();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsLong();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
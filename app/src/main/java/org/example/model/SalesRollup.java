@@ -0,0 +1,316 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Sales aggregates kept up to date as orders are placed and cancelled, so
+ * sales reports take time in proportion to the number of hours they cover
+ * rather than the number of orders.
+ * Sales are bucketed by the hour they were placed in. Each bucket counts
+ * orders, items and revenue per item type, per donut flavor (for each donut
+ * type), per cup size, per sandwich protein and per coffee add-in. A
+ * cancelled order is subtracted from the bucket it was added to.
+ * <p>
+ * Revenue is before tax and uses the price each line was sold at. For add-ins
+ * it is the revenue of the coffees they were added to. Thread-safe; updates
+ * are a few array additions under the rollup's lock.
+ * @author Aryaman Kumar
+ */
+public final class SalesRollup {
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final CupSize[] CUP_SIZES = CupSize.values();
+    private static final Protein[] PROTEINS = Protein.values();
+    private static final AddIns[] ADD_INS = AddIns.values();
+    private static final int DONUT_TYPES = 4;
+
+    // Counter layout within a bucket: item types, cup sizes, proteins and
+    // add-ins first, then one counter per flavor id and donut type
+    private static final int CUP_SIZE_KEYS = ITEM_TYPES.length;
+    private static final int PROTEIN_KEYS = CUP_SIZE_KEYS + CUP_SIZES.length;
+    private static final int ADD_IN_KEYS = PROTEIN_KEYS + PROTEINS.length;
+    private static final int FLAVOR_KEYS = ADD_IN_KEYS + ADD_INS.length;
+
+    /**
+     * Counters for the orders placed in one hour.
+     */
+    private static final class Bucket {
+        long orders;
+        long quantity;
+        long revenue;
+        long[] keyOrders = new long[FLAVOR_KEYS + 16 * DONUT_TYPES];
+        long[] keyQuantity = new long[keyOrders.length];
+        long[] keyRevenue = new long[keyOrders.length];
+
+        /**
+         * Adds to the counters of a key.
+         * @param key the key
+         * @param orders the orders to add
+         * @param quantity the items to add
+         * @param revenue the revenue to add
+         */
+        void add(int key, int orders, long quantity, long revenue) {
+            if (key >= keyOrders.length) {
+                int capacity = Math.max(key + 1, keyOrders.length * 2);
+                keyOrders = Arrays.copyOf(keyOrders, capacity);
+                keyQuantity = Arrays.copyOf(keyQuantity, capacity);
+                keyRevenue = Arrays.copyOf(keyRevenue, capacity);
+            }
+            keyOrders[key] += orders;
+            keyQuantity[key] += quantity;
+            keyRevenue[key] += revenue;
+        }
+    }
+
+    // Hour (epoch milliseconds / HOUR_MILLIS) -> counters
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+    // Keys an order has already been counted for, reused under the lock
+    private int[] seen = new int[32];
+
+    /**
+     * Constructor for SalesRollup.
+     */
+    SalesRollup() {
+    }
+
+    /**
+     * Adds or subtracts one stored order.
+     * @param part the columns holding the order (see OrderStore.Columns.segment())
+     * @param slot the slot of the order
+     * @param sign 1 when the order is placed, -1 when it is cancelled
+     */
+    void record(OrderStore.Columns part, int slot, int sign) {
+        int local = slot - part.base;
+        record(part.placedAt[local], part.firstLines[local], part.firstLines[local + 1],
+                part.lineTypes, part.lineVariants, part.lineMasks, part.lineQuantities, part.linePrices, sign);
+    }
+
+    /**
+     * Adds or subtracts the lines of one order.
+     * @param placedAtMillis when the order was placed, in epoch milliseconds
+     * @param from the first line of the order
+     * @param to the line after the last one
+     * @param types the item type ordinal of each line
+     * @param variants the variant of each line
+     * @param masks the option mask of each line
+     * @param quantities the quantity of each line
+     * @param prices the price of each line in cents
+     * @param sign 1 when the order is placed, -1 when it is cancelled
+     */
+    synchronized void record(long placedAtMillis, int from, int to, byte[] types, int[] variants,
+                             byte[] masks, int[] quantities, long[] prices, int sign) {
+        Bucket bucket = buckets.computeIfAbsent(Math.floorDiv(placedAtMillis, HOUR_MILLIS), hour -> new Bucket());
+        bucket.orders += sign;
+        int seenCount = 0;
+        for (int line = from; line < to; line++) {
+            int type = types[line];
+            long quantity = (long) sign * quantities[line];
+            long revenue = sign * prices[line];
+            bucket.quantity += quantity;
+            bucket.revenue += revenue;
+            seenCount = add(bucket, type, seenCount, sign, quantity, revenue);
+            if (type < DONUT_TYPES) {
+                seenCount = add(bucket, FLAVOR_KEYS + variants[line] * DONUT_TYPES + type,
+                        seenCount, sign, quantity, revenue);
+            } else if (type == ItemType.COFFEE.ordinal()) {
+                seenCount = add(bucket, CUP_SIZE_KEYS + variants[line], seenCount, sign, quantity, revenue);
+                for (AddIns addIn : ADD_INS) {
+                    if ((masks[line] & addIn.mask()) != 0) {
+                        seenCount = add(bucket, ADD_IN_KEYS + addIn.ordinal(), seenCount, sign, quantity, revenue);
+                    }
+                }
+            } else if (type == ItemType.SANDWICH.ordinal()) {
+                seenCount = add(bucket, PROTEIN_KEYS + Sandwich.proteinOf(variants[line]),
+                        seenCount, sign, quantity, revenue);
+            }
+        }
+    }
+
+    /**
+     * Adds one line to the counters of a key, counting the order only for
+     * its first line with that key. Caller holds the lock.
+     * @param bucket the bucket
+     * @param key the key
+     * @param seenCount the number of keys already counted for this order
+     * @param sign 1 or -1
+     * @param quantity the signed quantity
+     * @param revenue the signed revenue
+     * @return the new number of keys counted for this order
+     */
+    private int add(Bucket bucket, int key, int seenCount, int sign, long quantity, long revenue) {
+        // Orders have a few lines, so a linear scan beats hashing
+        boolean counted = false;
+        for (int i = 0; i < seenCount && !counted; i++) {
+            counted = seen[i] == key;
+        }
+        if (!counted) {
+            if (seenCount == seen.length) {
+                seen = Arrays.copyOf(seen, seenCount * 2);
+            }
+            seen[seenCount++] = key;
+        }
+        bucket.add(key, counted ? 0 : sign, quantity, revenue);
+        return seenCount;
+    }
+
+    /**
+     * Gets the buckets of the hours that overlap a time range. Caller holds the lock.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the buckets by hour
+     */
+    private NavigableMap<Long, Bucket> hours(long fromMillis, long toMillis) {
+        long first = Math.floorDiv(fromMillis, HOUR_MILLIS);
+        long last = Math.floorDiv(toMillis - 1, HOUR_MILLIS);
+        if (last < first) {
+            return Collections.emptyNavigableMap();
+        }
+        return buckets.subMap(first, true, last, true);
+    }
+
+    /**
+     * Gets the totals of all orders placed in the hours that overlap a time range.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals
+     */
+    public synchronized SalesTotals total(long fromMillis, long toMillis) {
+        long orders = 0;
+        long quantity = 0;
+        long revenue = 0;
+        for (Bucket bucket : hours(fromMillis, toMillis).values()) {
+            orders += bucket.orders;
+            quantity += bucket.quantity;
+            revenue += bucket.revenue;
+        }
+        return new SalesTotals(orders, quantity, revenue);
+    }
+
+    /**
+     * Gets the totals per hour for the hours that overlap a time range.
+     * Hours without sales are left out.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals by the start of each hour, in epoch milliseconds
+     */
+    public synchronized SortedMap<Long, SalesTotals> byHour(long fromMillis, long toMillis) {
+        SortedMap<Long, SalesTotals> result = new TreeMap<>();
+        for (Map.Entry<Long, Bucket> entry : hours(fromMillis, toMillis).entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (bucket.orders != 0) {
+                result.put(entry.getKey() * HOUR_MILLIS, new SalesTotals(bucket.orders, bucket.quantity, bucket.revenue));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the totals per item type for the hours that overlap a time range.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals of every item type
+     */
+    public synchronized Map<ItemType, SalesTotals> byItemType(long fromMillis, long toMillis) {
+        Map<ItemType, SalesTotals> result = new EnumMap<>(ItemType.class);
+        for (ItemType type : ITEM_TYPES) {
+            result.put(type, sum(type.ordinal(), fromMillis, toMillis));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the totals per flavor of one donut type for the hours that overlap a time range.
+     * @param donutType a donut item type, e.g. ItemType.YEAST_DONUT
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals of the flavors that were sold, by flavor id
+     * @throws IllegalArgumentException if the type is not a donut type
+     */
+    public synchronized Map<Flavor, SalesTotals> byFlavor(ItemType donutType, long fromMillis, long toMillis) {
+        if (donutType.ordinal() >= DONUT_TYPES) {
+            throw new IllegalArgumentException(donutType + " has no flavors");
+        }
+        Map<Flavor, SalesTotals> result = new LinkedHashMap<>();
+        int flavors = Flavor.count();
+        for (int id = 0; id < flavors; id++) {
+            SalesTotals totals = sum(FLAVOR_KEYS + id * DONUT_TYPES + donutType.ordinal(), fromMillis, toMillis);
+            if (totals.getOrders() != 0) {
+                result.put(Flavor.byId(id), totals);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the coffee totals per cup size for the hours that overlap a time range.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals of every cup size
+     */
+    public synchronized Map<CupSize, SalesTotals> byCupSize(long fromMillis, long toMillis) {
+        Map<CupSize, SalesTotals> result = new EnumMap<>(CupSize.class);
+        for (CupSize size : CUP_SIZES) {
+            result.put(size, sum(CUP_SIZE_KEYS + size.ordinal(), fromMillis, toMillis));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the sandwich totals per protein for the hours that overlap a time range.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals of every protein
+     */
+    public synchronized Map<Protein, SalesTotals> byProtein(long fromMillis, long toMillis) {
+        Map<Protein, SalesTotals> result = new EnumMap<>(Protein.class);
+        for (Protein protein : PROTEINS) {
+            result.put(protein, sum(PROTEIN_KEYS + protein.ordinal(), fromMillis, toMillis));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the totals of the coffees with each add-in for the hours that
+     * overlap a time range. A coffee with two add-ins counts for both.
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals of every add-in
+     */
+    public synchronized Map<AddIns, SalesTotals> byAddIn(long fromMillis, long toMillis) {
+        Map<AddIns, SalesTotals> result = new EnumMap<>(AddIns.class);
+        for (AddIns addIn : ADD_INS) {
+            result.put(addIn, sum(ADD_IN_KEYS + addIn.ordinal(), fromMillis, toMillis));
+        }
+        return result;
+    }
+
+    /**
+     * Sums the counters of one key over the hours that overlap a time range.
+     * Caller holds the lock.
+     * @param key the key
+     * @param fromMillis the start of the range, in epoch milliseconds
+     * @param toMillis the end of the range (exclusive), in epoch milliseconds
+     * @return the totals
+     */
+    private SalesTotals sum(int key, long fromMillis, long toMillis) {
+        long orders = 0;
+        long quantity = 0;
+        long revenue = 0;
+        for (Bucket bucket : hours(fromMillis, toMillis).values()) {
+            if (key < bucket.keyOrders.length) {
+                orders += bucket.keyOrders[key];
+                quantity += bucket.keyQuantity[key];
+                revenue += bucket.keyRevenue[key];
+            }
+        }
+        return new SalesTotals(orders, quantity, revenue);
+    }
+}
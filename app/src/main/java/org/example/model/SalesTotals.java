@@ -0,0 +1,57 @@
+package org.example.model;
+
+/**
+ * Sales figures for one group of items, e.g. one flavor or one hour, as
+ * reported by SalesRollup.
+ * @author Aryaman Kumar
+ */
+public final class SalesTotals {
+    private final long orders;
+    private final long quantity;
+    private final long revenueCents;
+
+    /**
+     * Constructor for SalesTotals.
+     * @param orders the number of orders with items in the group
+     * @param quantity the number of items sold
+     * @param revenueCents the revenue before tax in cents
+     */
+    SalesTotals(long orders, long quantity, long revenueCents) {
+        this.orders = orders;
+        this.quantity = quantity;
+        this.revenueCents = revenueCents;
+    }
+
+    /**
+     * Gets the number of orders with at least one item in the group.
+     * @return the order count
+     */
+    public long getOrders() {
+        return orders;
+    }
+
+    /**
+     * Gets the number of items sold, counting the quantity of each line.
+     * @return the item count
+     */
+    public long getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Gets the revenue before tax of the lines in the group.
+     * @return the revenue in cents
+     */
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    /**
+     * Returns the totals, e.g. "12 orders, 30 items, $45.60".
+     * @return the totals
+     */
+    @Override
+    public String toString() {
+        return orders + " orders, " + quantity + " items, $" + Money.format(revenueCents);
+    }
+}
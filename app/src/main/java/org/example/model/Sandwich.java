@@ -0,0 +1,208 @@
+package org.example.model;
+
+import java.util.EnumSet;
+
+/**
+ * Class representing a sandwich menu item.
+ * Sandwiches have a protein (by default beef $12.99, chicken $10.99, salmon $14.99),
+ * bread type, and optional add-ons (cheese $1.00, veggies $0.30 each).
+ * Add-ons are stored as a bitmask and the unit price is read from the
+ * MenuCatalog table for every protein and add-on combination.
+ * @author Aryaman Kumar
+ */
+public class Sandwich extends MenuItem {
+    private static final AddOns[] ADD_ONS = AddOns.values();
+    private static final String[] PROTEIN_NAMES = new String[Protein.values().length];
+    private static final String[] BREAD_NAMES = new String[Bread.values().length];
+    private static final String[] ADDON_NAMES = new String[ADD_ONS.length];
+
+    static {
+        for (Protein p : Protein.values()) {
+            String name = p.toString();
+            PROTEIN_NAMES[p.ordinal()] = name.charAt(0) + name.substring(1).toLowerCase() + " Sandwich on ";
+        }
+        for (Bread b : Bread.values()) {
+            BREAD_NAMES[b.ordinal()] = b.toString().replace("_", " ").toLowerCase();
+        }
+        for (AddOns addOn : ADD_ONS) {
+            ADDON_NAMES[addOn.ordinal()] = addOn.toString().toLowerCase();
+        }
+    }
+
+    protected Bread bread;
+    protected Protein protein;
+    protected int addOnMask;
+
+    /**
+     * Constructor for Sandwich.
+     * @param bread the type of bread
+     * @param protein the type of protein
+     * @param quantity the quantity of sandwiches
+     */
+    public Sandwich(Bread bread, Protein protein, int quantity) {
+        super(quantity);
+        this.bread = bread;
+        this.protein = protein;
+    }
+
+    /**
+     * Gets the bread type.
+     * @return the bread type
+     */
+    public Bread getBread() {
+        return bread;
+    }
+
+    /**
+     * Sets the bread type.
+     * @param bread the bread type to set
+     */
+    public void setBread(Bread bread) {
+        this.bread = bread;
+        changed();
+    }
+
+    /**
+     * Gets the protein type.
+     * @return the protein type
+     */
+    public Protein getProtein() {
+        return protein;
+    }
+
+    /**
+     * Sets the protein type.
+     * @param protein the protein type to set
+     */
+    public void setProtein(Protein protein) {
+        this.protein = protein;
+        changed();
+    }
+
+    /**
+     * Gets the add-ons of this sandwich.
+     * @return a copy of the selected add-ons
+     */
+    public EnumSet<AddOns> getAddOns() {
+        EnumSet<AddOns> result = EnumSet.noneOf(AddOns.class);
+        for (AddOns addOn : ADD_ONS) {
+            if ((addOnMask & addOn.mask()) != 0) {
+                result.add(addOn);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the add-ons of this sandwich as a bitmask (see AddOns.mask()).
+     * @return the add-on bitmask
+     */
+    public int getAddOnMask() {
+        return addOnMask;
+    }
+
+    /**
+     * Adds an add-on to the sandwich.
+     * @param addOn the add-on to add
+     */
+    public void addAddOn(AddOns addOn) {
+        if ((addOnMask & addOn.mask()) == 0) {
+            addOnMask |= addOn.mask();
+            changed();
+        }
+    }
+
+    /**
+     * Removes an add-on from the sandwich.
+     * @param addOn the add-on to remove
+     */
+    public void removeAddOn(AddOns addOn) {
+        if ((addOnMask & addOn.mask()) != 0) {
+            addOnMask &= ~addOn.mask();
+            changed();
+        }
+    }
+
+    /**
+     * Gets the kind of this menu item.
+     * @return ItemType.SANDWICH
+     */
+    @Override
+    public ItemType getItemType() {
+        return ItemType.SANDWICH;
+    }
+
+    /**
+     * Gets the variant of this item, the protein ordinal in the low byte
+     * and the bread ordinal in the byte above.
+     * @return the packed protein and bread
+     */
+    @Override
+    public int getVariant() {
+        return (bread.ordinal() << 8) | protein.ordinal();
+    }
+
+    /**
+     * Gets the add-on bitmask of this sandwich.
+     * @return the add-on bitmask
+     */
+    @Override
+    public int getOptionMask() {
+        return addOnMask;
+    }
+
+    /**
+     * Extracts the protein ordinal from a sandwich variant.
+     * @param variant the packed variant
+     * @return the protein ordinal
+     */
+    static int proteinOf(int variant) {
+        return variant & 0xFF;
+    }
+
+    /**
+     * Extracts the bread ordinal from a sandwich variant.
+     * @param variant the packed variant
+     * @return the bread ordinal
+     */
+    static int breadOf(int variant) {
+        return variant >>> 8;
+    }
+
+    /**
+     * Calculates the price of this sandwich order.
+     * @return the total price in cents including quantity, protein, and add-ons
+     */
+    @Override
+    protected long computePriceCents() {
+        return quantity * MenuCatalog.current().sandwichUnitPriceCents(protein, addOnMask);
+    }
+
+    /**
+     * Gets the name of this sandwich with its options.
+     * @return the label, e.g. "Beef Sandwich on bagel with cheese"
+     */
+    @Override
+    protected String label() {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(PROTEIN_NAMES[protein.ordinal()]);
+        sb.append(BREAD_NAMES[bread.ordinal()]);
+
+        if (addOnMask != 0) {
+            sb.append(" with ");
+            boolean first = true;
+            for (AddOns addOn : ADD_ONS) {
+                if ((addOnMask & addOn.mask()) == 0) {
+                    continue;
+                }
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(ADDON_NAMES[addOn.ordinal()]);
+                first = false;
+            }
+        }
+
+        return sb.toString();
+    }
+}
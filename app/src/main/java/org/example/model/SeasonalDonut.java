@@ -0,0 +1,81 @@
+package org.example.model;
+
+/**
+ * Class representing a seasonal donut menu item.
+ * Seasonal donuts cost $2.49 each by default (see MenuCatalog).
+ * @author Aryaman Kumar
+ */
+public class SeasonalDonut extends MenuItem {
+    private int flavorId;
+
+    /**
+     * Constructor for SeasonalDonut.
+     * @param flavor the flavor of the seasonal donut (e.g., Spooky, Pumpkin Spice)
+     * @param quantity the quantity of donuts
+     */
+    public SeasonalDonut(String flavor, int quantity) {
+        super(quantity);
+        this.flavorId = Flavor.of(flavor).getId();
+    }
+
+    /**
+     * Gets the flavor of this seasonal donut.
+     * @return the flavor
+     */
+    public String getFlavor() {
+        return Flavor.byId(flavorId).getName();
+    }
+
+    /**
+     * Gets the id of the interned flavor of this seasonal donut.
+     * @return the flavor id
+     */
+    public int getFlavorId() {
+        return flavorId;
+    }
+
+    /**
+     * Sets the flavor of this seasonal donut.
+     * @param flavor the flavor to set
+     */
+    public void setFlavor(String flavor) {
+        this.flavorId = Flavor.of(flavor).getId();
+        changed();
+    }
+
+    /**
+     * Gets the kind of this menu item.
+     * @return ItemType.SEASONAL_DONUT
+     */
+    @Override
+    public ItemType getItemType() {
+        return ItemType.SEASONAL_DONUT;
+    }
+
+    /**
+     * Gets the variant of this item, which is its flavor id.
+     * @return the flavor id
+     */
+    @Override
+    public int getVariant() {
+        return flavorId;
+    }
+
+    /**
+     * Calculates the price of this seasonal donut order.
+     * @return the total price in cents (quantity * price per donut)
+     */
+    @Override
+    protected long computePriceCents() {
+        return quantity * MenuCatalog.current().donutPriceCents(DonutType.SEASONAL);
+    }
+
+    /**
+     * Gets the name of this seasonal donut with its flavor.
+     * @return the label, e.g. "Seasonal Donut (Glazed)"
+     */
+    @Override
+    protected String label() {
+        return "Seasonal Donut (" + getFlavor() + ")";
+    }
+}
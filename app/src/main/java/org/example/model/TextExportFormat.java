@@ -0,0 +1,95 @@
+package org.example.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Human-readable export format: every order as Order.toString() shows it,
+ * separated by blank lines, with a header and an order count.
+ * @author Aryaman Kumar
+ */
+public final class TextExportFormat implements ExportFormat {
+    private static final byte[] HEADER = bytes("RU Donuts - All Orders\n======================\n\n");
+    private static final byte[] ORDER = bytes("Order #");
+    private static final byte[] INDENT = bytes("  ");
+    private static final byte[] TIMES = bytes(" x");
+    private static final byte[] DOLLAR = bytes(" $");
+    private static final byte[] SUBTOTAL = bytes("Subtotal: $");
+    private static final byte[] SALES_TAX = bytes("Sales Tax: $");
+    private static final byte[] TOTAL = bytes("Total: $");
+    private static final byte[] CANCELLED = bytes("Cancelled Order #");
+    private static final byte[] FOOTER = bytes("Total Orders: ");
+
+    /**
+     * Gets the name of this format.
+     * @return "text"
+     */
+    @Override
+    public String getName() {
+        return "text";
+    }
+
+    /**
+     * Gets the file extension of this format.
+     * @return "txt"
+     */
+    @Override
+    public String getFileExtension() {
+        return "txt";
+    }
+
+    /**
+     * Renders the title.
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeHeader(ExportBuffer out) {
+        out.put(HEADER);
+    }
+
+    /**
+     * Renders one order followed by a blank line.
+     * @param order the order
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeOrder(ExportedOrder order, ExportBuffer out) {
+        out.put(ORDER).putLong(order.getOrderNumber()).put('\n');
+        for (int line = 0; line < order.getLineCount(); line++) {
+            out.put(INDENT).put(order.getEncodedLabel(line))
+                    .put(TIMES).putLong(order.getQuantity(line))
+                    .put(DOLLAR).putCents(order.getPriceCents(line)).put('\n');
+        }
+        out.put(SUBTOTAL).putCents(order.getSubtotalCents()).put('\n');
+        out.put(SALES_TAX).putCents(order.getSalesTaxCents()).put('\n');
+        out.put(TOTAL).putCents(order.getTotalCents()).put('\n').put('\n');
+    }
+
+    /**
+     * Renders a line saying an order was cancelled, followed by a blank line.
+     * @param orderNumber the cancelled order number
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeCancellation(int orderNumber, ExportBuffer out) {
+        out.put(CANCELLED).putLong(orderNumber).put('\n').put('\n');
+    }
+
+    /**
+     * Renders the order count.
+     * @param orderCount the number of orders exported
+     * @param out the buffer to render into
+     */
+    @Override
+    public void writeFooter(int orderCount, ExportBuffer out) {
+        out.put(FOOTER).putLong(orderCount).put('\n');
+    }
+
+    /**
+     * Encodes fixed text as UTF-8.
+     * @param text the text
+     * @return the encoded bytes
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.model;
+
+/**
+ * Class representing a yeast donut menu item.
+ * Yeast donuts cost $1.99 each by default (see MenuCatalog).
+ * @author Aryaman Kumar
+ */
+public class YeastDonut extends MenuItem {
+    private int flavorId;
+
+    /**
+     * Constructor for YeastDonut.
+     * @param flavor the flavor of the yeast donut
+     * @param quantity the quantity of donuts
+     */
+    public YeastDonut(String flavor, int quantity) {
+        super(quantity);
+        this.flavorId = Flavor.of(flavor).getId();
+    }
+
+    /**
+     * Gets the flavor of this donut.
+     * @return the flavor
+     */
+    public String getFlavor() {
+        return Flavor.byId(flavorId).getName();
+    }
+
+    /**
+     * Gets the id of the interned flavor of this donut.
+     * @return the flavor id
+     */
+    public int getFlavorId() {
+        return flavorId;
+    }
+
+    /**
+     * Sets the flavor of this donut.
+     * @param flavor the flavor to set
+     */
+    public void setFlavor(String flavor) {
+        this.flavorId = Flavor.of(flavor).getId();
+        changed();
+    }
+
+    /**
+     * Gets the kind of this menu item.
+     * @return ItemType.YEAST_DONUT
+     */
+    @Override
+    public ItemType getItemType() {
+        return ItemType.YEAST_DONUT;
+    }
+
+    /**
+     * Gets the variant of this item, which is its flavor id.
+     * @return the flavor id
+     */
+    @Override
+    public int getVariant() {
+        return flavorId;
+    }
+
+    /**
+     * Calculates the price of this yeast donut order.
+     * @return the total price in cents (quantity * price per donut)
+     */
+    @Override
+    protected long computePriceCents() {
+        return quantity * MenuCatalog.current().donutPriceCents(DonutType.YEAST);
+    }
+
+    /**
+     * Gets the name of this yeast donut with its flavor.
+     * @return the label, e.g. "Yeast Donut (Glazed)"
+     */
+    @Override
+    protected String label() {
+        return "Yeast Donut (" + getFlavor() + ")";
+    }
+}
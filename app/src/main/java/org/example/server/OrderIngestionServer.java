@@ -0,0 +1,222 @@
+package org.example.server;
+
+import org.example.model.Money;
+import org.example.model.Order;
+import org.example.model.OrderManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless TCP endpoint that lets POS terminals submit orders.
+ * Each connection is served by its own thread: a virtual thread when the
+ * runtime supports them (Java 21+), otherwise a pooled platform thread.
+ * The protocol is line based, UTF-8:
+ * <pre>
+ *   ORDER                    start a new order
+ *   &lt;item line&gt;             add an item (see OrderProtocol)
+ *   PLACE                    place it; reply "OK &lt;order number&gt; &lt;total&gt;"
+ *   CANCEL &lt;order number&gt;    cancel a placed order; reply "OK &lt;order number&gt;"
+ *   QUIT                     close the connection
+ * </pre>
+ * Any problem is answered with "ERR &lt;message&gt;" and drops the order in progress.
+ * @author Aryaman Kumar
+ */
+public class OrderIngestionServer implements Closeable {
+    private static final System.Logger LOG = System.getLogger(OrderIngestionServer.class.getName());
+    private static final int BACKLOG = 4096;
+    private static final int MAX_ITEMS_PER_ORDER = 1000;
+
+    private final OrderManager orderManager;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Thread acceptor;
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final AtomicLong ordersPlaced = new AtomicLong();
+
+    /**
+     * Starts listening on a local port.
+     * @param orderManager the order manager to place orders with
+     * @param port the TCP port, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public OrderIngestionServer(OrderManager orderManager, int port) throws IOException {
+        this.orderManager = orderManager;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.connections = newConnectionExecutor();
+        this.acceptor = new Thread(this::acceptLoop, "order-ingestion-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor if the runtime has one,
+     * otherwise an unbounded pool of daemon platform threads.
+     * @return the executor for connection handlers
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "order-ingestion-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * @return the local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of orders placed through this server.
+     * @return the placed order count
+     */
+    public long getOrdersPlaced() {
+        return ordersPlaced.get();
+    }
+
+    /**
+     * Accepts connections until the server socket is closed.
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LOG.log(System.Logger.Level.WARNING, "Accept failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves one terminal connection until it quits or disconnects.
+     * @param socket the connection
+     */
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            Order order = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    if (line.equals("QUIT")) {
+                        return;
+                    } else if (line.equals("ORDER")) {
+                        order = orderManager.createNewOrder();
+                    } else if (line.equals("PLACE")) {
+                        if (order == null || order.getMenuItems().isEmpty()) {
+                            throw new IllegalArgumentException("Cannot place an empty order");
+                        }
+                        orderManager.addOrder(order);
+                        ordersPlaced.incrementAndGet();
+                        reply(out, "OK " + order.getOrderNumber() + " " + Money.format(order.getTotalCents()));
+                        order = null;
+                    } else if (line.startsWith("CANCEL ")) {
+                        int number = Integer.parseInt(line.substring(7).trim());
+                        if (!orderManager.removeOrder(number)) {
+                            throw new IllegalArgumentException("No such order: " + number);
+                        }
+                        reply(out, "OK " + number);
+                    } else {
+                        if (order == null) {
+                            throw new IllegalArgumentException("Send ORDER before adding items");
+                        }
+                        if (order.getMenuItems().size() >= MAX_ITEMS_PER_ORDER) {
+                            throw new IllegalArgumentException("Too many items in one order");
+                        }
+                        order.addItem(OrderProtocol.parseItem(line));
+                    }
+                } catch (IllegalArgumentException e) {
+                    order = null;
+                    reply(out, "ERR " + e.getMessage());
+                } catch (RuntimeException e) {
+                    // E.g. the journal failed; the terminal still gets an answer
+                    LOG.log(System.Logger.Level.WARNING, "Could not process \"" + line + "\"", e);
+                    order = null;
+                    reply(out, "ERR " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                }
+            }
+        } catch (IOException e) {
+            // terminal disconnected
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Writes one reply line and flushes it to the terminal.
+     * @param out the connection writer
+     * @param message the reply
+     * @throws IOException if the terminal disconnected
+     */
+    private static void reply(Writer out, String message) throws IOException {
+        out.write(message);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+        connections.shutdownNow();
+        try {
+            connections.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the server without the GUI.
+     * @param args optional port (default 7070)
+     * @throws IOException if the port cannot be bound
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        OrderIngestionServer server = new OrderIngestionServer(OrderManager.getInstance(), port);
+        System.out.println("Accepting orders on port " + server.getPort());
+        server.acceptor.join();
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.server;
+
+import org.example.model.AddIns;
+import org.example.model.AddOns;
+import org.example.model.Bread;
+import org.example.model.Coffee;
+import org.example.model.CupSize;
+import org.example.model.DonutType;
+import org.example.model.Flavor;
+import org.example.model.ItemType;
+import org.example.model.MenuCatalog;
+import org.example.model.MenuItem;
+import org.example.model.Protein;
+import org.example.model.Sandwich;
+
+/**
+ * Parses the item lines of the order ingestion protocol.
+ * One item per line, fields separated by spaces:
+ * <pre>
+ *   YEAST_DONUT 3 Boston Cream          (type, quantity, flavor)
+ *   COFFEE 2 TALL VANILLA,MILK          (type, quantity, size, optional add-ins)
+ *   SANDWICH 1 BEEF BAGEL CHEESE,ONIONS (type, quantity, protein, bread, optional add-ons)
+ * </pre>
+ * Items are validated against the current MenuCatalog.
+ * @author Aryaman Kumar
+ */
+public final class OrderProtocol {
+    /** Largest quantity accepted for one line, same as the ordering screens. */
+    public static final int MAX_QUANTITY = 100;
+
+    /**
+     * Private constructor, this class only has static helpers.
+     */
+    private OrderProtocol() {
+    }
+
+    /**
+     * Parses one item line.
+     * @param line the item line
+     * @return the menu item
+     * @throws IllegalArgumentException if the line is malformed or not on the menu
+     */
+    public static MenuItem parseItem(String line) {
+        String[] head = line.trim().split(" +", 3);
+        if (head.length < 3) {
+            throw new IllegalArgumentException("Expected: <type> <quantity> <details>");
+        }
+        ItemType type = parseEnum(ItemType.class, head[0], "item type");
+        int quantity = parseQuantity(head[1]);
+        String details = head[2];
+
+        switch (type) {
+            case YEAST_DONUT:
+            case CAKE_DONUT:
+            case DONUT_HOLE:
+            case SEASONAL_DONUT:
+                return createDonut(type, details, quantity);
+            case COFFEE:
+                return createCoffee(details.split(" +"), quantity);
+            case SANDWICH:
+                return createSandwich(details.split(" +"), quantity);
+            default:
+                throw new IllegalArgumentException("Unsupported item type: " + type);
+        }
+    }
+
+    /**
+     * Creates a donut after checking the flavor is offered for its type.
+     * @param type the donut item type
+     * @param flavorName the flavor name
+     * @param quantity the quantity
+     * @return the donut
+     */
+    private static MenuItem createDonut(ItemType type, String flavorName, int quantity) {
+        DonutType donutType = DonutType.values()[type.ordinal() - ItemType.YEAST_DONUT.ordinal()];
+        // Look the name up in the menu rather than interning whatever a client sends
+        String name = flavorName.trim();
+        for (Flavor flavor : MenuCatalog.current().getFlavors(donutType)) {
+            if (flavor.getName().equalsIgnoreCase(name)) {
+                return type.create(flavor.getId(), 0, quantity);
+            }
+        }
+        throw new IllegalArgumentException("Flavor not on the menu: " + flavorName);
+    }
+
+    /**
+     * Creates a coffee from its size and optional add-ins.
+     * @param fields the size and optional comma separated add-ins
+     * @param quantity the quantity
+     * @return the coffee
+     */
+    private static MenuItem createCoffee(String[] fields, int quantity) {
+        if (fields.length > 2) {
+            throw new IllegalArgumentException("Expected: COFFEE <quantity> <size> [add-ins]");
+        }
+        Coffee coffee = new Coffee(parseEnum(CupSize.class, fields[0], "cup size"), quantity);
+        if (fields.length == 2) {
+            for (String addIn : fields[1].split(",")) {
+                coffee.addAddIn(parseEnum(AddIns.class, addIn, "add-in"));
+            }
+        }
+        return coffee;
+    }
+
+    /**
+     * Creates a sandwich from its protein, bread and optional add-ons.
+     * @param fields the protein, bread and optional comma separated add-ons
+     * @param quantity the quantity
+     * @return the sandwich
+     */
+    private static MenuItem createSandwich(String[] fields, int quantity) {
+        if (fields.length < 2 || fields.length > 3) {
+            throw new IllegalArgumentException("Expected: SANDWICH <quantity> <protein> <bread> [add-ons]");
+        }
+        Sandwich sandwich = new Sandwich(parseEnum(Bread.class, fields[1], "bread"),
+                parseEnum(Protein.class, fields[0], "protein"), quantity);
+        if (fields.length == 3) {
+            for (String addOn : fields[2].split(",")) {
+                sandwich.addAddOn(parseEnum(AddOns.class, addOn, "add-on"));
+            }
+        }
+        return sandwich;
+    }
+
+    /**
+     * Parses and range checks a quantity.
+     * @param text the quantity text
+     * @return the quantity
+     */
+    private static int parseQuantity(String text) {
+        try {
+            int quantity = Integer.parseInt(text);
+            if (quantity >= 1 && quantity <= MAX_QUANTITY) {
+                return quantity;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Quantity must be 1-" + MAX_QUANTITY + ": " + text);
+    }
+
+    /**
+     * Parses an enum constant by name, case-insensitively.
+     * @param type the enum class
+     * @param text the constant name
+     * @param what what the value is, for the error message
+     * @param <E> the enum type
+     * @return the constant
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String text, String what) {
+        try {
+            return Enum.valueOf(type, text.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + what + ": " + text);
+        }
+    }
+}
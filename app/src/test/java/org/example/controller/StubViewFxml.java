@@ -0,0 +1,52 @@
+package org.example.controller;
+
+import javafx.scene.Parent;
+import javafx.scene.layout.VBox;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Stands in for the class FxmlCompiler would generate from
+ * /loader/StubView.fxml, for the ViewLoader tests. It is its own
+ * controller and names its root "compiled".
+ * @author Aryaman Kumar
+ */
+final class StubViewFxml implements ViewLoader.Compiled {
+    static final int SOURCE_HASH = hash("/loader/StubView.fxml");
+
+    /**
+     * Builds the view.
+     * @return a VBox with the id "compiled"
+     */
+    @Override
+    public Parent build() {
+        VBox root = new VBox(10.0);
+        root.setId("compiled");
+        return root;
+    }
+
+    /**
+     * Gets the controller of the view.
+     * @return this view
+     */
+    @Override
+    public Object getController() {
+        return this;
+    }
+
+    /**
+     * Hashes a resource the way the FXML compiler hashes a view.
+     * @param path the resource path
+     * @return the hash of its bytes
+     */
+    static int hash(String path) {
+        try (InputStream in = StubViewFxml.class.getResourceAsStream(path)) {
+            return Arrays.hashCode(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the ViewLoader class.
+ * Tests when a view is built by its compiled class and when it falls back
+ * to FXMLLoader. The views here are plain layout panes, which can be
+ * created without starting the JavaFX toolkit.
+ * @author Aryaman Kumar
+ */
+public class ViewLoaderTest {
+    private static final String[] VIEWS = {
+        "MainView", "DonutView", "CoffeeView", "SandwichView", "CurrentOrderView", "AllOrdersView"
+    };
+
+    /**
+     * Test case 1: A view whose FXML file is unchanged since it was compiled
+     * is built by its compiled class.
+     * @throws IOException if the view cannot be loaded
+     */
+    @Test
+    public void testLoadsCompiledView() throws IOException {
+        ViewLoader.Loaded view = ViewLoader.load("/loader/StubView.fxml");
+
+        assertEquals("compiled", view.getRoot().getId());
+        assertTrue(view.<Object>getController() instanceof StubViewFxml);
+    }
+
+    /**
+     * Test case 2: A view whose FXML file changed since it was compiled is
+     * loaded with FXMLLoader.
+     * @throws IOException if the view cannot be loaded
+     */
+    @Test
+    public void testFallsBackOnHashMismatch() throws IOException {
+        ViewLoader.Loaded view = ViewLoader.load("/loader/changed/StubView.fxml");
+
+        assertEquals("loaded", view.getRoot().getId());
+        assertNull(view.getController());
+    }
+
+    /**
+     * Test case 3: With rudonuts.fxml.runtime set, an up-to-date compiled view
+     * is not used.
+     * @throws IOException if the view cannot be loaded
+     */
+    @Test
+    public void testFallsBackWhenRuntimePropertySet() throws IOException {
+        assertEquals(StubViewFxml.SOURCE_HASH, StubViewFxml.hash("/loader/runtime/StubView.fxml"));
+        System.setProperty("rudonuts.fxml.runtime", "true");
+        ViewLoader.Loaded view;
+        try {
+            view = ViewLoader.load("/loader/runtime/StubView.fxml");
+        } finally {
+            System.clearProperty("rudonuts.fxml.runtime");
+        }
+
+        assertEquals("loaded", view.getRoot().getId());
+        assertNull(view.getController());
+    }
+
+    /**
+     * Test case 4: Every application view was compiled, and from its current
+     * FXML file.
+     * @throws ReflectiveOperationException if a view was not compiled
+     */
+    @Test
+    public void testApplicationViewsCompiled() throws ReflectiveOperationException {
+        for (String name : VIEWS) {
+            Class<?> compiled = Class.forName("org.example.controller." + name + "Fxml");
+            assertTrue(ViewLoader.Compiled.class.isAssignableFrom(compiled), name);
+            assertEquals(StubViewFxml.hash("/view/" + name + ".fxml"),
+                    compiled.getDeclaredField("SOURCE_HASH").getInt(null), name);
+        }
+    }
+}
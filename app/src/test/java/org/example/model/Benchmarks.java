@@ -0,0 +1,53 @@
+package org.example.model;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Timing helpers for the benchmark programs next to the tests
+ * (ExportBenchmark, EndOfDayReportBenchmark, OrderManagerScalingBenchmark).
+ * They are plain main() programs rather than tests, so the build does not
+ * run them. After mvn test-compile, run one from the app directory with
+ * java -cp target/classes:target/test-classes org.example.model.&lt;name&gt;.
+ * @author Aryaman Kumar
+ */
+final class Benchmarks {
+
+    /**
+     * Constructor for Benchmarks, not used.
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * Reads an int argument.
+     * @param args the program arguments
+     * @param index the argument position
+     * @param missing the value if there is no such argument
+     * @return the value
+     */
+    static int intArg(String[] args, int index, int missing) {
+        return args.length > index ? Integer.parseInt(args[index]) : missing;
+    }
+
+    /**
+     * Runs something once to warm up, then a number of times, and prints
+     * the fastest run.
+     * @param label what is timed
+     * @param runs the number of timed runs
+     * @param run the code to time
+     * @param <T> the result type
+     * @return the result of the last run
+     * @throws Exception if a run fails
+     */
+    static <T> T best(String label, int runs, Callable<T> run) throws Exception {
+        T result = run.call();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            result = run.call();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-32s %,10.1f ms (best of %d)%n", label, best / 1e6, runs);
+        return result;
+    }
+}
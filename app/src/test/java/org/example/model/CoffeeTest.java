@@ -63,4 +63,23 @@ public class CoffeeTest {
         assertEquals(expectedPrice, actualPrice, 0.01,
                 "Venti coffee with all add-ins (quantity 3) should cost $16.32");
     }
+
+    /**
+     * Test case 4: The description is cached and rebuilt after a change.
+     * Expected: "Grande Coffee x2 $7.18", then "Grande Coffee with milk x2 $7.68"
+     */
+    @Test
+    public void testDescriptionFollowsChanges() {
+        Coffee coffee = new Coffee(CupSize.GRANDE, 2);
+        Order order = new Order(1);
+        order.addItem(coffee);
+
+        String first = coffee.toString();
+        assertEquals("Grande Coffee x2 $7.18", first);
+        assertSame(first, coffee.toString(), "Unchanged coffee should reuse its description");
+
+        coffee.addAddIn(AddIns.MILK);
+        assertEquals("Grande Coffee with milk x2 $7.68", coffee.toString());
+        assertTrue(order.toString().contains("Grande Coffee with milk x2 $7.68"));
+    }
 }
@@ -0,0 +1,57 @@
+package org.example.model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the parallel end-of-day report with the same pass on one
+ * worker thread and with adding up getAllOrders() the way callers did
+ * before OrderReporter.
+ * Usage: EndOfDayReportBenchmark [orders] [runs]
+ * @author Aryaman Kumar
+ */
+public class EndOfDayReportBenchmark {
+
+    /**
+     * Runs the comparison.
+     * @param args number of orders, timed runs per pass
+     * @throws Exception if a report fails
+     */
+    public static void main(String[] args) throws Exception {
+        int orders = Benchmarks.intArg(args, 0, 2_000_000);
+        int runs = Benchmarks.intArg(args, 1, 5);
+        OrderManager manager = TestOrders.fill(new OrderManager(), orders, 13);
+        System.out.printf("%,d orders, %d cores%n", manager.getAllOrders().size(),
+                Runtime.getRuntime().availableProcessors());
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            OrderReporter sequential = new OrderReporter(manager.store(), single);
+            OrderReporter parallel = new OrderReporter(manager.store());
+            long[] walked = Benchmarks.best("getAllOrders() walk", runs, () -> walk(manager));
+            EndOfDayReport one = Benchmarks.best("report, 1 worker", runs,
+                    () -> sequential.report("All", 0, Long.MAX_VALUE));
+            EndOfDayReport all = Benchmarks.best("report, common pool", runs,
+                    () -> parallel.report("All", 0, Long.MAX_VALUE));
+            if (!one.toString().equals(all.toString()) || walked[0] != all.getOrderCount()
+                    || walked[1] != all.getSubtotalCents()) {
+                throw new IllegalStateException("The passes disagree");
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * Adds up the orders by rebuilding each one.
+     * @param manager the order manager
+     * @return the order count and the subtotal in cents
+     */
+    private static long[] walk(OrderManager manager) {
+        long[] totals = new long[2];
+        for (Order order : manager.getAllOrders()) {
+            totals[0]++;
+            totals[1] += order.getSubtotalCents();
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for end-of-day reports.
+ * Tests that the parallel pass agrees with a walk over the orders, with a
+ * sequential pass and across archived orders, and that it can be cancelled.
+ * @author Aryaman Kumar
+ */
+public class EndOfDayReportTest {
+    private static final int ORDERS = 20000;
+
+    /**
+     * Checks a report against a walk over the live orders.
+     * @param manager the order manager
+     * @param report the report of all its orders
+     */
+    private void assertMatchesOrders(OrderManager manager, EndOfDayReport report) {
+        long items = 0;
+        long subtotal = 0;
+        long tax = 0;
+        long[] typeRevenue = new long[ItemType.values().length];
+        for (Order order : manager.getAllOrders()) {
+            subtotal += order.getSubtotalCents();
+            tax += order.getSalesTaxCents();
+            for (MenuItem item : order.getMenuItems()) {
+                items += item.getQuantity();
+                typeRevenue[item.getItemType().ordinal()] += item.priceCents();
+            }
+        }
+        assertEquals(manager.getAllOrders().size(), report.getOrderCount());
+        assertEquals(items, report.getItemCount());
+        assertEquals(subtotal, report.getSubtotalCents());
+        assertEquals(tax, report.getSalesTaxCents());
+        assertEquals((subtotal + tax + report.getOrderCount() / 2) / report.getOrderCount(),
+                report.getAverageTicketCents());
+        for (ItemType type : ItemType.values()) {
+            assertEquals(typeRevenue[type.ordinal()], report.getRevenueCents(type), type.name());
+        }
+    }
+
+    /**
+     * Test case 1: The parallel report agrees with a walk over the orders and
+     * with a sequential pass, and only covers orders placed in its range.
+     * @throws Exception if the report is interrupted
+     */
+    @Test
+    public void testParallelReport() throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), ORDERS, 13);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            EndOfDayReport report = new OrderReporter(manager.store(), several).report("All", 0, Long.MAX_VALUE);
+            assertMatchesOrders(manager, report);
+            EndOfDayReport sequential = new OrderReporter(manager.store(), single).report("All", 0, Long.MAX_VALUE);
+            assertEquals(sequential.toString(), report.toString());
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+
+        EndOfDayReport older = manager.endOfDayReport(LocalDate.now().minusDays(2));
+        assertEquals(0, older.getOrderCount());
+        assertEquals(0, older.getAverageTicketCents());
+        assertTrue(older.toString().startsWith("End of Day Report - " + LocalDate.now().minusDays(2)));
+    }
+
+    /**
+     * Test case 2: Archived orders are reported like orders on the heap.
+     * @param dir a temporary directory
+     * @throws Exception if the archive cannot be written
+     */
+    @Test
+    public void testReportAcrossArchive(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), ORDERS, 13);
+        String before = manager.endOfDayReport("All", 0, Long.MAX_VALUE).toString();
+        manager.startArchiving(dir, Duration.ofDays(3650));
+        assertTrue(manager.archiveOrders(Duration.ZERO) > 0);
+        EndOfDayReport after = manager.endOfDayReport("All", 0, Long.MAX_VALUE);
+        assertEquals(before, after.toString());
+        assertMatchesOrders(manager, after);
+        manager.close();
+    }
+
+    /**
+     * Test case 3: Interrupting the waiting thread cancels the report.
+     */
+    @Test
+    public void testCancelledReport() {
+        OrderManager manager = TestOrders.fill(new OrderManager(), ORDERS, 13);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedException.class, () -> manager.endOfDayReport("All", 0, Long.MAX_VALUE));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.model;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the streaming text export with the FileWriter and
+ * Order.toString() export it replaced, and checks that both write the same
+ * bytes.
+ * Usage: ExportBenchmark [orders] [runs]
+ * @author Aryaman Kumar
+ */
+public class ExportBenchmark {
+
+    /**
+     * Runs the comparison.
+     * @param args number of orders, timed runs per export
+     * @throws Exception if an export fails
+     */
+    public static void main(String[] args) throws Exception {
+        int orders = Benchmarks.intArg(args, 0, 1_000_000);
+        int runs = Benchmarks.intArg(args, 1, 3);
+        OrderManager manager = TestOrders.fill(new OrderManager(), orders, 7);
+        Path dir = Files.createTempDirectory("export-benchmark");
+        Path before = dir.resolve("before.txt");
+        Path after = dir.resolve("after.txt");
+        try {
+            Benchmarks.best("FileWriter + toString()", runs, () -> {
+                writeWithFileWriter(manager, before);
+                return null;
+            });
+            Benchmarks.best("OrderExporter", runs, () -> manager.exportOrders(after.toString(), null));
+            System.out.printf("%,d orders, %,d bytes%n", manager.getAllOrders().size(), Files.size(after));
+            if (Files.mismatch(before, after) != -1) {
+                throw new IllegalStateException("The exports differ");
+            }
+        } finally {
+            Files.deleteIfExists(before);
+            Files.deleteIfExists(after);
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * Exports the orders the way exportOrders did before OrderExporter:
+     * each order's toString() through an unbuffered FileWriter.
+     * @param manager the order manager
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    static void writeWithFileWriter(OrderManager manager, Path file) throws IOException {
+        try (FileWriter writer = new FileWriter(file.toFile(), StandardCharsets.UTF_8)) {
+            writer.write("RU Donuts - All Orders\n");
+            writer.write("======================\n\n");
+
+            for (Order order : manager.getAllOrders()) {
+                writer.write(order.toString());
+                writer.write("\n\n");
+            }
+
+            writer.write("Total Orders: " + manager.getAllOrders().size() + "\n");
+        }
+    }
+}
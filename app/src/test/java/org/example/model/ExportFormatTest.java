@@ -0,0 +1,225 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the export formats.
+ * Tests that the formats are installed, that parallel exports match sequential
+ * ones, that incremental exports only append what changed, that compressed
+ * exports decompress to the plain ones, that exports can be cancelled, and
+ * that the text export writes the same bytes as the FileWriter export it
+ * replaced.
+ * @author Aryaman Kumar
+ */
+public class ExportFormatTest {
+
+    /**
+     * Test case 1: The built-in formats are found by name and by extension.
+     */
+    @Test
+    public void testFormatsAreInstalled() {
+        List<ExportFormat> formats = ExportFormat.available();
+        assertEquals(3, formats.size());
+        assertEquals("text", ExportFormat.forName("TXT").getName());
+        assertInstanceOf(CsvExportFormat.class, ExportFormat.forName("csv"));
+        assertInstanceOf(JsonLinesExportFormat.class, ExportFormat.forName("jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.forName("xml"));
+    }
+
+    /**
+     * Test case 2: Rendering on several threads gives the same file as on one.
+     * @param dir a temporary directory
+     * @throws Exception if an export cannot be written
+     */
+    @Test
+    public void testParallelExportMatchesSequential(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 30000, 7);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            for (ExportFormat format : ExportFormat.available()) {
+                Path sequential = dir.resolve("sequential." + format.getFileExtension());
+                Path parallel = dir.resolve("parallel." + format.getFileExtension());
+                int first = new OrderExporter(manager.store(), single).export(sequential, format, null);
+                int second = new OrderExporter(manager.store(), several).export(parallel, format, null);
+
+                assertEquals(manager.getAllOrders().size(), first);
+                assertEquals(first, second);
+                assertEquals(-1L, Files.mismatch(sequential, parallel), format.getName());
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    /**
+     * Test case 3: CSV has one quoted row per item and JSON Lines one object per order.
+     * @param dir a temporary directory
+     * @throws Exception if an export cannot be written
+     */
+    @Test
+    public void testCsvAndJsonLinesContent(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 2, 7);
+        Path csv = dir.resolve("orders.csv");
+        Path jsonl = dir.resolve("orders.jsonl");
+        manager.exportOrders(csv.toString(), new CsvExportFormat(), null);
+        manager.exportOrders(jsonl.toString(), new JsonLinesExportFormat(), null);
+
+        List<String> rows = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals(5, rows.size());
+        assertEquals("order_number,placed_at,item_type,item,quantity,price,subtotal,sales_tax,total", rows.get(0));
+        assertTrue(rows.get(3).matches("2,\\d{4}-\\d\\d-\\d\\dT\\d\\d:\\d\\d:\\d\\d\\.\\d{3}Z,YEAST_DONUT,"
+                + "\"Yeast Donut \\(Boston \"\"Cream\"\"\\)\",2,\\d+\\.\\d\\d,.*"), rows.get(3));
+        assertTrue(rows.get(4).contains(",COFFEE,\"Tall Coffee with milk, caramel\",1,"), rows.get(4));
+
+        List<String> objects = Files.readAllLines(jsonl, StandardCharsets.UTF_8);
+        assertEquals(2, objects.size());
+        assertTrue(objects.get(1).startsWith("{\"orderNumber\":2,\"placedAt\":\""), objects.get(1));
+        assertTrue(objects.get(1).contains("\"item\":\"Yeast Donut (Boston \\\"Cream\\\")\""), objects.get(1));
+        Order second = manager.getOrder(2);
+        assertTrue(objects.get(1).endsWith(",\"total\":" + Money.format(second.getTotalCents()) + "}"));
+    }
+
+    /**
+     * Test case 4: Incremental exports append new orders and tombstones, and
+     * fall back to a full rewrite when the file no longer matches its mark.
+     * @param dir a temporary directory
+     * @throws Exception if an export cannot be written
+     */
+    @Test
+    public void testIncrementalExport(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 10, 7);
+        ExportFormat jsonl = new JsonLinesExportFormat();
+        Path file = dir.resolve("orders.jsonl");
+
+        assertEquals(manager.getAllOrders().size(), manager.exportNewOrders(file.toString(), jsonl, null));
+        List<String> first = Files.readAllLines(file);
+        assertEquals(0, manager.exportNewOrders(file.toString(), jsonl, null), "Nothing new to export");
+        assertEquals(first, Files.readAllLines(file));
+
+        manager.removeOrder(1);
+        Order order = manager.createNewOrder();
+        order.addItem(new DonutHole("Plain", 6));
+        manager.addOrder(order);
+        // Simulate an export that crashed half way through its append
+        Files.write(file, "{\"orderNumber\":99".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(1, manager.exportNewOrders(file.toString(), jsonl, null));
+        List<String> second = Files.readAllLines(file);
+        assertEquals(first, second.subList(0, first.size()));
+        assertEquals("{\"orderNumber\":1,\"cancelled\":true}", second.get(first.size()));
+        assertTrue(second.get(first.size() + 1).startsWith("{\"orderNumber\":11,"));
+        assertEquals(first.size() + 2, second.size());
+
+        // A different format cannot continue the file, so it is rewritten in full
+        int live = manager.getAllOrders().size();
+        assertEquals(live, manager.exportNewOrders(file.toString(), new CsvExportFormat(), null));
+        // Header, two rows per order, one for the donut-hole-only order
+        assertEquals(1 + 2 * (live - 1) + 1, Files.readAllLines(file).size());
+    }
+
+    /**
+     * Decompresses a GZIP file, including files made of several members.
+     * @param file the compressed file
+     * @return the decompressed bytes
+     * @throws IOException if the file cannot be read
+     */
+    private byte[] gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Test case 5: Compressed exports, full and incremental, decompress to the
+     * same bytes as the uncompressed ones.
+     * @param dir a temporary directory
+     * @throws Exception if an export cannot be written
+     */
+    @Test
+    public void testCompressedExport(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 30000, 7);
+        ExportFormat csv = new CsvExportFormat();
+        Path plain = dir.resolve("orders.csv");
+        Path compressed = dir.resolve("orders.csv.gz");
+        manager.exportOrders(plain.toString(), csv, false, null);
+        manager.exportOrders(compressed.toString(), csv, true, null);
+        assertArrayEquals(Files.readAllBytes(plain), gunzip(compressed));
+        assertTrue(Files.size(compressed) < Files.size(plain) / 4);
+
+        Path plainLog = dir.resolve("log.csv");
+        Path compressedLog = dir.resolve("log.csv.gz");
+        for (int round = 0; round < 3; round++) {
+            Order order = manager.createNewOrder();
+            order.addItem(new CakeDonut("Jelly", round + 1));
+            manager.addOrder(order);
+            manager.removeOrder(10 + round);
+            manager.exportNewOrders(plainLog.toString(), csv, false, null);
+            manager.exportNewOrders(compressedLog.toString(), csv, true, null);
+        }
+        assertArrayEquals(Files.readAllBytes(plainLog), gunzip(compressedLog));
+
+        // A plain export cannot continue a compressed file, so it is rewritten
+        assertEquals(manager.getAllOrders().size(),
+                manager.exportNewOrders(compressedLog.toString(), csv, false, null));
+        assertEquals("order_number,placed_at,item_type,item,quantity,price,subtotal,sales_tax,total",
+                Files.readAllLines(compressedLog).get(0));
+    }
+
+    /**
+     * Test case 6: Interrupting the exporting thread stops the export and
+     * deletes the partly written file.
+     * @param dir a temporary directory
+     * @throws Exception if an export cannot be written
+     */
+    @Test
+    public void testCancelledExport(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 30000, 7);
+        Path file = dir.resolve("orders.csv");
+        int[] reports = new int[1];
+        try {
+            assertThrows(IOException.class, () -> manager.exportOrders(file.toString(), new CsvExportFormat(),
+                    (written, total, bytes, nanos) -> {
+                        reports[0]++;
+                        Thread.currentThread().interrupt();
+                    }));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(1, reports[0], "Stopped after the first chunk");
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Test case 7: The streaming text export writes the same bytes as the
+     * FileWriter and Order.toString() export it replaced (see ExportBenchmark),
+     * for varied orders across several buffer fills.
+     * @param dir a temporary directory
+     * @throws Exception if an export cannot be written
+     */
+    @Test
+    public void testTextExportMatchesFileWriter(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 30000, 7);
+        Path before = dir.resolve("before.txt");
+        Path after = dir.resolve("after.txt");
+        ExportBenchmark.writeWithFileWriter(manager, before);
+        manager.exportOrders(after.toString());
+
+        assertTrue(Files.size(after) > 2L * OrderExporter.BUFFER_SIZE, "Several buffer fills");
+        assertEquals(-1L, Files.mismatch(before, after));
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for LiveOrderList.
+ * Tests that the list keeps showing the orders of its last advance, and
+ * that advance() reports the changes since then in list order.
+ * @author Aryaman Kumar
+ */
+public class LiveOrderListTest {
+
+    /**
+     * Places an order with one donut.
+     * @param manager the order manager
+     * @return the order number
+     */
+    private int place(OrderManager manager) {
+        Order order = manager.createNewOrder();
+        order.addItem(new YeastDonut("Glazed", 1 + order.getOrderNumber() % 5));
+        manager.addOrder(order);
+        return order.getOrderNumber();
+    }
+
+    /**
+     * Gets the order numbers in a list.
+     * @param list the list
+     * @return the order numbers
+     */
+    private List<Integer> numbers(LiveOrderList list) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            numbers.add(list.getOrderNumber(i));
+        }
+        return numbers;
+    }
+
+    /**
+     * Advances a list, applying its changes to a copy of its rows, and
+     * checks the copy against the orders live now.
+     * @param manager the order manager
+     * @param list the list
+     * @param rows the rows of the list before the advance
+     */
+    private void advanceAndCheck(OrderManager manager, LiveOrderList list, List<Integer> rows) {
+        list.advance(new LiveOrderList.ChangeSink() {
+            @Override
+            public void removed(int index, int orderNumber) {
+                assertEquals(orderNumber, rows.remove(index));
+            }
+
+            @Override
+            public void added(int from, int to) {
+                assertEquals(rows.size(), from);
+                for (int i = from; i < to; i++) {
+                    rows.add(manager.getOrderNumberAt(i));
+                }
+            }
+        });
+        List<Integer> live = new ArrayList<>();
+        for (Order order : manager.getAllOrders()) {
+            live.add(order.getOrderNumber());
+        }
+        assertEquals(live, rows);
+        assertEquals(live, numbers(list));
+    }
+
+    /**
+     * Test case 1: The list does not change until it is advanced, and the
+     * totals of cancelled orders can still be read until then.
+     */
+    @Test
+    public void testStableUntilAdvanced() {
+        OrderManager manager = new OrderManager();
+        for (int i = 0; i < 10; i++) {
+            place(manager);
+        }
+        LiveOrderList list = manager.getLiveOrderList();
+        List<Integer> before = numbers(list);
+        long total = list.getOrderTotalCents(3);
+        manager.removeOrder(4);
+        manager.removeOrder(1);
+        place(manager);
+        assertEquals(10, list.size());
+        assertEquals(before, numbers(list));
+        assertEquals(total, list.getOrderTotalCents(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getOrderNumber(10));
+
+        List<int[]> removed = new ArrayList<>();
+        assertTrue(list.advance(new LiveOrderList.ChangeSink() {
+            @Override
+            public void removed(int index, int orderNumber) {
+                removed.add(new int[]{index, orderNumber});
+            }
+
+            @Override
+            public void added(int from, int to) {
+                assertEquals(8, from);
+                assertEquals(9, to);
+            }
+        }));
+        // In the order they were cancelled, at their positions as changed so far
+        assertArrayEquals(new int[]{3, 4}, removed.get(0));
+        assertArrayEquals(new int[]{0, 1}, removed.get(1));
+        assertFalse(list.advance(null));
+    }
+
+    /**
+     * Test case 2: Random placements and cancellations, including orders
+     * placed and cancelled between two advances, are reported exactly.
+     */
+    @Test
+    public void testRandomChanges() {
+        OrderManager manager = new OrderManager();
+        Random random = new Random(21);
+        List<Integer> placed = new ArrayList<>();
+        LiveOrderList list = manager.getLiveOrderList();
+        List<Integer> rows = new ArrayList<>();
+        for (int round = 0; round < 200; round++) {
+            int changes = random.nextInt(20);
+            for (int i = 0; i < changes; i++) {
+                if (placed.isEmpty() || random.nextInt(3) > 0) {
+                    placed.add(place(manager));
+                } else {
+                    manager.removeOrder(placed.remove(random.nextInt(placed.size())));
+                }
+            }
+            advanceAndCheck(manager, list, rows);
+        }
+    }
+
+    /**
+     * Test case 3: Archived orders are listed and cancelled like orders on the heap.
+     * @param dir a temporary directory
+     * @throws Exception if the archive cannot be written
+     */
+    @Test
+    public void testAcrossArchive(@TempDir Path dir) throws Exception {
+        OrderManager manager = new OrderManager();
+        for (int i = 0; i < 10000; i++) {
+            place(manager);
+        }
+        LiveOrderList list = manager.getLiveOrderList();
+        List<Integer> rows = numbers(list);
+        manager.startArchiving(dir, Duration.ofDays(3650));
+        assertTrue(manager.archiveOrders(Duration.ZERO) > 0);
+        for (int number = 5; number <= 10000; number += 997) {
+            manager.removeOrder(number);
+        }
+        place(manager);
+        assertEquals(rows, numbers(list));
+        advanceAndCheck(manager, list, rows);
+        manager.close();
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the MenuCatalog class.
+ * Tests the bundled prices and reloading prices from a file.
+ * @author Aryaman Kumar
+ */
+public class MenuCatalogTest {
+
+    private final MenuCatalog original = MenuCatalog.current();
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Restores the bundled catalog after each test.
+     * @throws IOException never for the bundled catalog
+     */
+    @AfterEach
+    public void restoreCatalog() throws IOException {
+        Path defaults = tempDir.resolve("defaults.properties");
+        Files.writeString(defaults, "");
+        MenuCatalog.reload(defaults);
+    }
+
+    /**
+     * Test case 1: The bundled catalog has the published menu prices.
+     */
+    @Test
+    public void testDefaultPrices() {
+        assertEquals(199, original.donutPriceCents(DonutType.YEAST));
+        assertEquals(419, original.cupSizePriceCents(CupSize.VENTI));
+        assertEquals(1299 + 100 + 30, original.sandwichUnitPriceCents(Protein.BEEF,
+                AddOns.CHEESE.mask() | AddOns.ONIONS.mask()));
+    }
+
+    /**
+     * Test case 2: A reloaded file overrides prices for newly priced items,
+     * while items that were already priced keep their price.
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    public void testReloadOverridesPrices() throws IOException {
+        YeastDonut before = new YeastDonut("Glazed", 2);
+        assertEquals(398, before.priceCents());
+
+        Path menu = tempDir.resolve("menu.properties");
+        Files.writeString(menu, "donut.YEAST=2.05\ncoffee.addin.MOCHA=0.50\n");
+        MenuCatalog.reload(menu);
+
+        assertEquals(398, before.priceCents(), "Already priced items keep their price");
+        assertEquals(410, new YeastDonut("Glazed", 2).priceCents());
+
+        Coffee coffee = new Coffee(CupSize.SHORT, 1);
+        coffee.addAddIn(AddIns.MOCHA);
+        assertEquals(289, coffee.priceCents());
+    }
+
+    /**
+     * Test case 3: A malformed file is rejected and the current prices stay active.
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    public void testInvalidFileKeepsCurrentCatalog() throws IOException {
+        Path menu = tempDir.resolve("bad.properties");
+        Files.writeString(menu, "donut.CAKE=2.195\n");
+
+        assertThrows(IllegalArgumentException.class, () -> MenuCatalog.reload(menu));
+        assertSame(original, MenuCatalog.current());
+    }
+
+    /**
+     * Test case 4: Flavors are interned, so equal names share one id.
+     */
+    @Test
+    public void testFlavorsAreInterned() {
+        YeastDonut yeast = new YeastDonut(new String("Chocolate"), 1);
+        CakeDonut cake = new CakeDonut("Chocolate", 1);
+
+        assertEquals(yeast.getFlavorId(), cake.getFlavorId());
+        assertSame(Flavor.of("Chocolate"), Flavor.byId(yeast.getFlavorId()));
+        assertEquals("Chocolate", yeast.getFlavor());
+        assertTrue(MenuCatalog.current().getFlavors(DonutType.CAKE).contains(Flavor.of("Chocolate")));
+    }
+
+    /**
+     * Test case 5: Reload listeners run after a successful reload only, and
+     * see the new prices.
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    public void testReloadListener() throws IOException {
+        List<Long> seen = new ArrayList<>();
+        Runnable listener = () -> seen.add(MenuCatalog.current().addOnPriceCents(AddOns.CHEESE));
+        MenuCatalog.addReloadListener(listener);
+        try {
+            Path menu = tempDir.resolve("menu.properties");
+            Files.writeString(menu, "sandwich.addon.CHEESE=1.25\n");
+            MenuCatalog.reload(menu);
+            assertEquals(List.of(125L), seen);
+
+            Files.writeString(menu, "sandwich.addon.CHEESE=x\n");
+            assertThrows(IllegalArgumentException.class, () -> MenuCatalog.reload(menu));
+            assertEquals(List.of(125L), seen, "A failed reload is not announced");
+        } finally {
+            MenuCatalog.removeReloadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for moving old orders to the on-disk archive.
+ * Tests that archived orders read, cancel and export exactly like orders
+ * on the heap, across the border between the two.
+ * @author Aryaman Kumar
+ */
+public class OrderArchiveTest {
+    // Three and a half pages
+    private static final int ORDERS = OrderArchive.PAGE_SLOTS * 7 / 2;
+
+    /**
+     * Creates a manager with orders of several item types, some of them
+     * cancelled, that archives only when asked to.
+     * @param dir the archive directory
+     * @return the order manager
+     * @throws Exception if the archive cannot be created
+     */
+    private OrderManager manyOrders(Path dir) throws Exception {
+        OrderManager manager = new OrderManager();
+        manager.startArchiving(dir, Duration.ofDays(3650));
+        return TestOrders.fill(manager, ORDERS, 9);
+    }
+
+    /**
+     * Test case 1: Archiving moves whole pages off the heap, and positions,
+     * lookups and orders stay the same on both sides of the border.
+     * @param dir a temporary directory
+     * @throws Exception if the archive cannot be written
+     */
+    @Test
+    public void testReadsAcrossArchive(@TempDir Path dir) throws Exception {
+        OrderManager manager = manyOrders(dir);
+        int size = manager.getAllOrders().size();
+        int[] numbers = new int[size];
+        String[] orders = new String[size];
+        for (int i = 0; i < size; i++) {
+            numbers[i] = manager.getOrderNumberAt(i);
+            orders[i] = manager.getAllOrders().get(i).toString();
+        }
+
+        assertEquals(OrderArchive.PAGE_SLOTS * 3, manager.archiveOrders(Duration.ZERO));
+        assertEquals(0, manager.archiveOrders(Duration.ZERO), "Less than a page left");
+        assertEquals(OrderArchive.PAGE_SLOTS * 3, manager.store().columns().base);
+        assertTrue(Files.size(dir.resolve("orders.archive")) > 0);
+
+        assertEquals(size, manager.getAllOrders().size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(numbers[i], manager.getOrderNumberAt(i));
+            assertEquals(i, manager.indexOf(numbers[i]));
+            assertEquals(orders[i], manager.getOrder(numbers[i]).toString());
+        }
+        assertNull(manager.getOrder(3), "Cancelled before it was archived");
+        int i = 0;
+        for (Order order : manager.getAllOrders()) {
+            assertEquals(orders[i++], order.toString());
+        }
+        assertEquals(size, i);
+
+        manager.close();
+        assertFalse(Files.exists(dir.resolve("orders.archive")));
+    }
+
+    /**
+     * Test case 2: Archived orders can be cancelled, and numbers after them
+     * move up by one.
+     * @param dir a temporary directory
+     * @throws Exception if the archive cannot be written
+     */
+    @Test
+    public void testCancelArchived(@TempDir Path dir) throws Exception {
+        OrderManager manager = manyOrders(dir);
+        manager.archiveOrders(Duration.ZERO);
+        int size = manager.getAllOrders().size();
+        int after = manager.getOrderNumberAt(manager.indexOf(5000) + 1);
+
+        assertTrue(manager.removeOrder(5000));
+        assertFalse(manager.removeOrder(5000));
+        assertNull(manager.getOrder(5000));
+        assertEquals(-1, manager.indexOf(5000));
+        assertEquals(size - 1, manager.getAllOrders().size());
+        assertEquals(after, manager.getOrderNumberAt(manager.indexOf(after)));
+        assertEquals(manager.indexOf(4999) + 1, manager.indexOf(after));
+
+        int last = manager.getOrderNumberAt(size - 2);
+        assertEquals(ORDERS, last);
+        assertTrue(manager.removeOrder(ORDERS), "Orders on the heap still cancel");
+        assertEquals(size - 2, manager.getAllOrders().size());
+        manager.close();
+    }
+
+    /**
+     * Test case 3: Full exports are byte-identical before and after
+     * archiving, and an incremental export log spanning the archiving reads
+     * back to the same orders.
+     * @param dir a temporary directory
+     * @throws Exception if a file cannot be written or read
+     */
+    @Test
+    public void testExportsAcrossArchive(@TempDir Path dir) throws Exception {
+        OrderManager manager = manyOrders(dir.resolve("archive"));
+        ExportFormat csv = new CsvExportFormat();
+        Path before = dir.resolve("before.csv");
+        Path after = dir.resolve("after.csv");
+        Path log = dir.resolve("log.csv");
+        manager.exportOrders(before.toString(), csv, null);
+        manager.exportNewOrders(log.toString(), csv, null);
+
+        manager.archiveOrders(Duration.ZERO);
+        manager.exportOrders(after.toString(), csv, null);
+        assertEquals(-1L, Files.mismatch(before, after));
+
+        manager.removeOrder(1);
+        manager.removeOrder(ORDERS);
+        Order order = manager.createNewOrder();
+        order.addItem(new DonutHole("Jelly", 6));
+        manager.addOrder(order);
+        manager.exportNewOrders(log.toString(), csv, null);
+        manager.exportOrders(after.toString(), csv, null);
+
+        OrderManager imported = new OrderManager();
+        imported.importOrders(log.toString());
+        Path copy = dir.resolve("copy.csv");
+        imported.exportOrders(copy.toString(), csv, null);
+        assertEquals(-1L, Files.mismatch(after, copy));
+        manager.close();
+    }
+}
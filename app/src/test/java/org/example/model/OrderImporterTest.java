@@ -0,0 +1,186 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for importing exported order files.
+ * Tests that every built-in format reads back to the same orders, that
+ * cancellations and duplicates are handled, that imported orders do not
+ * take numbers already handed out, that bad files are rejected and that
+ * imports report progress and can be cancelled.
+ * @author Aryaman Kumar
+ */
+public class OrderImporterTest {
+
+    /**
+     * Test case 1: Every format reads back, in parallel chunks, to orders
+     * that export to the same file again.
+     * @param dir a temporary directory
+     * @throws Exception if a file cannot be written or read
+     */
+    @Test
+    public void testRoundTrip(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 40000, 7);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            for (ExportFormat format : ExportFormat.available()) {
+                Path original = dir.resolve("original." + format.getFileExtension());
+                Path copy = dir.resolve("copy." + format.getFileExtension());
+                manager.exportOrders(original.toString(), format, null);
+                assertTrue(Files.size(original) > 4 << 20, "Large enough to be split into chunks");
+
+                OrderManager imported = new OrderManager();
+                assertEquals(manager.getAllOrders().size(), imported.importOrders(original.toString()));
+                imported.exportOrders(copy.toString(), format, null);
+                assertEquals(-1L, Files.mismatch(original, copy), format.getName());
+
+                // The same file read on several threads
+                int[] orders = new int[1];
+                new OrderImporter(several).read(original, 0, new OrderJournal.Replayer() {
+                    @Override
+                    public void placed(int orderNumber, long placedAtMillis, int lines, byte[] types,
+                                       int[] variants, byte[] masks, int[] quantities, long[] prices) {
+                        assertEquals(manager.getOrderNumberAt(orders[0]++), orderNumber);
+                    }
+
+                    @Override
+                    public void cancelled(int orderNumber) {
+                        fail("A full export has no cancellations");
+                    }
+                });
+                assertEquals(manager.getAllOrders().size(), orders[0]);
+            }
+        } finally {
+            several.shutdown();
+        }
+    }
+
+    /**
+     * Test case 2: Cancellations in an incremental export cancel the imported
+     * orders, importing again adds nothing and new orders are numbered after
+     * the imported ones.
+     * @param dir a temporary directory
+     * @throws Exception if a file cannot be written or read
+     */
+    @Test
+    public void testCancellationsAndDuplicates(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 50, 7);
+        Path log = dir.resolve("log.csv");
+        ExportFormat csv = new CsvExportFormat();
+        manager.exportNewOrders(log.toString(), csv, null);
+        manager.removeOrder(50);
+        manager.removeOrder(1);
+        manager.exportNewOrders(log.toString(), csv, null);
+
+        OrderManager imported = new OrderManager();
+        assertEquals(manager.getAllOrders().size(), imported.importOrders(log.toString()));
+        assertEquals(manager.getAllOrders().size(), imported.getAllOrders().size());
+        assertNull(imported.getOrder(50));
+        assertNull(imported.getOrder(1));
+        Order order = manager.getOrder(49);
+        assertEquals(order.toString(), imported.getOrder(49).toString());
+
+        assertEquals(0, imported.importOrders(log.toString()), "Already imported");
+        assertEquals(manager.getAllOrders().size(), imported.getAllOrders().size());
+        assertEquals(51, imported.createNewOrder().getOrderNumber());
+    }
+
+    /**
+     * Test case 3: Files that are not order exports, or are cut off, are rejected.
+     * @param dir a temporary directory
+     * @throws Exception if a file cannot be written
+     */
+    @Test
+    public void testMalformedFiles(@TempDir Path dir) throws Exception {
+        OrderManager manager = new OrderManager();
+        Path notes = dir.resolve("notes.txt");
+        Files.writeString(notes, "Buy more glaze\n");
+        assertThrows(IOException.class, () -> manager.importOrders(notes.toString()));
+
+        Path cutOff = dir.resolve("cut.jsonl");
+        Files.write(cutOff, "{\"orderNumber\":1,\"placedAt\":\"2024-03-01T14:05".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> manager.importOrders(cutOff.toString()));
+
+        Path unknown = dir.resolve("unknown.txt");
+        Files.writeString(unknown, "RU Donuts - All Orders\n======================\n\n"
+                + "Order #1\n  Bagel x1 $1.00\nSubtotal: $1.00\nSales Tax: $0.07\nTotal: $1.07\n\n");
+        assertThrows(IOException.class, () -> manager.importOrders(unknown.toString()));
+        assertTrue(manager.getAllOrders().isEmpty());
+    }
+
+    /**
+     * Test case 4: Imports report progress per chunk, and interrupting the
+     * importing thread stops the import, keeping the orders read so far.
+     * @param dir a temporary directory
+     * @throws Exception if a file cannot be written or read
+     */
+    @Test
+    public void testProgressAndCancellation(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 40000, 7);
+        Path file = dir.resolve("orders.jsonl");
+        manager.exportOrders(file.toString(), new JsonLinesExportFormat(), null);
+        long size = Files.size(file);
+
+        long[] lastBytes = new long[1];
+        OrderManager complete = new OrderManager();
+        int count = complete.importOrders(file.toString(), (orders, bytesRead, totalBytes, nanos) -> {
+            assertEquals(size, totalBytes);
+            assertTrue(bytesRead > lastBytes[0]);
+            lastBytes[0] = bytesRead;
+        });
+        assertEquals(manager.getAllOrders().size(), count);
+        assertEquals(size, lastBytes[0]);
+
+        OrderManager cancelled = new OrderManager();
+        try {
+            assertThrows(InterruptedIOException.class, () -> cancelled.importOrders(file.toString(),
+                    (orders, bytesRead, totalBytes, nanos) -> Thread.currentThread().interrupt()));
+        } finally {
+            Thread.interrupted();
+        }
+        int kept = cancelled.getAllOrders().size();
+        assertTrue(kept > 0 && kept < count, "Stopped after the first chunk: " + kept);
+    }
+
+    /**
+     * Test case 5: An import does not take the number of an order that was
+     * created but not placed yet, and importing again does not bring back
+     * orders cancelled since the export.
+     * @param dir a temporary directory
+     * @throws Exception if a file cannot be written or read
+     */
+    @Test
+    public void testNumbersHandedOut(@TempDir Path dir) throws Exception {
+        OrderManager manager = TestOrders.fill(new OrderManager(), 4, 7);
+        Path file = dir.resolve("orders.csv");
+        manager.exportOrders(file.toString(), new CsvExportFormat(), null);
+
+        OrderManager imported = new OrderManager();
+        Order current = imported.createNewOrder();
+        current.addItem(new YeastDonut("Glazed", 1));
+        assertEquals(3, imported.importOrders(file.toString()));
+        imported.addOrder(current);
+        assertEquals(current.getOrderNumber(), imported.getOrderNumberAt(3));
+        // Orders 1 and 2 of the file come after the current order; order 4 keeps its number
+        assertEquals(manager.getOrderTotalCents(1), imported.getOrderTotalCents(2));
+        assertEquals(manager.getOrderTotalCents(2), imported.getOrderTotalCents(3));
+        assertEquals(manager.getOrderTotalCents(4), imported.getOrderTotalCents(4));
+        assertEquals(5, imported.createNewOrder().getOrderNumber());
+        assertEquals(0, imported.importOrders(file.toString()), "Already imported");
+
+        manager.removeOrder(2);
+        assertEquals(0, manager.importOrders(file.toString()), "Cancelled since the export");
+        assertNull(manager.getOrder(2));
+        assertEquals(2, manager.getAllOrders().size());
+    }
+}
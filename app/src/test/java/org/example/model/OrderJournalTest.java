@@ -0,0 +1,180 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the OrderJournal class.
+ * Tests that a journaled OrderManager comes back with the same orders.
+ * @author Aryaman Kumar
+ */
+public class OrderJournalTest {
+
+    /**
+     * Creates an order with a donut, a coffee and a sandwich.
+     * @param manager the order manager
+     * @param flavor the donut flavor
+     * @return the new order
+     */
+    private Order sampleOrder(OrderManager manager, String flavor) {
+        Order order = manager.createNewOrder();
+        order.addItem(new CakeDonut(flavor, 2));
+        Coffee coffee = new Coffee(CupSize.GRANDE, 1);
+        coffee.addAddIn(AddIns.MILK);
+        order.addItem(coffee);
+        Sandwich sandwich = new Sandwich(Bread.WHEAT_BREAD, Protein.CHICKEN, 1);
+        sandwich.addAddOn(AddOns.LETTUCE);
+        order.addItem(sandwich);
+        return order;
+    }
+
+    /**
+     * Test case 1: Placed and cancelled orders and the next order number survive a restart.
+     * @param dir a temporary directory
+     * @throws Exception if the journal cannot be used
+     */
+    @Test
+    public void testReplayRestoresOrders(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.journal");
+        List<String> expected = new ArrayList<>();
+        OrderManager manager = new OrderManager(file);
+        for (int i = 0; i < 100; i++) {
+            manager.addOrder(sampleOrder(manager, i % 2 == 0 ? "Blueberry" : "Journal Special"));
+        }
+        manager.removeOrder(7);
+        manager.removeOrder(50);
+        for (Order order : manager.getAllOrders()) {
+            expected.add(order.toString());
+        }
+        manager.close();
+
+        OrderManager restarted = new OrderManager(file);
+        List<String> actual = new ArrayList<>();
+        for (Order order : restarted.getAllOrders()) {
+            actual.add(order.toString());
+        }
+        assertEquals(expected, actual);
+        assertNull(restarted.getOrder(7));
+        assertEquals(101, restarted.createNewOrder().getOrderNumber());
+        assertEquals("Journal Special", ((CakeDonut) restarted.getOrder(2).getMenuItems().get(0)).getFlavor());
+        restarted.close();
+    }
+
+    /**
+     * Test case 2: A record torn by a crash is dropped and later records still replay.
+     * @param dir a temporary directory
+     * @throws Exception if the journal cannot be used
+     */
+    @Test
+    public void testTornRecordIsDropped(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.journal");
+        OrderManager manager = new OrderManager(file);
+        manager.addOrder(sampleOrder(manager, "Glazed"));
+        manager.addOrder(sampleOrder(manager, "Glazed"));
+        manager.close();
+
+        // Corrupt the payload of the last record
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long end = 8;
+            while (true) {
+                raf.seek(end);
+                int length = raf.readInt();
+                if (length == 0) {
+                    break;
+                }
+                end += 8 + length;
+            }
+            raf.seek(end - 1);
+            raf.write(0x7F);
+        }
+
+        OrderManager restarted = new OrderManager(file);
+        assertEquals(1, restarted.getAllOrders().size());
+        restarted.addOrder(sampleOrder(restarted, "Glazed"));
+        restarted.close();
+
+        OrderManager again = new OrderManager(file);
+        assertEquals(2, again.getAllOrders().size());
+        assertNotNull(again.getOrder(2));
+        again.close();
+    }
+
+    /**
+     * Test case 3: Records keep replaying across mapped regions.
+     * @param dir a temporary directory
+     * @throws Exception if the journal cannot be used
+     */
+    @Test
+    public void testRecordsSpanRegions(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.journal");
+        OrderManager manager = new OrderManager();
+        int[] counts = new int[2];
+        OrderJournal.Replayer counter = new OrderJournal.Replayer() {
+            @Override
+            public void placed(int orderNumber, long placedAtMillis, int lines, byte[] types, int[] variants,
+                               byte[] masks, int[] quantities, long[] prices) {
+                counts[0]++;
+                assertEquals(3, lines);
+                assertEquals(orderNumber * 10L, placedAtMillis);
+            }
+
+            @Override
+            public void cancelled(int orderNumber) {
+                counts[1]++;
+            }
+        };
+
+        try (OrderJournal journal = OrderJournal.open(file, counter, 4096)) {
+            long position = 0;
+            for (int i = 0; i < 500; i++) {
+                Order order = sampleOrder(manager, "Glazed");
+                position = journal.appendPlaced(order, order.getOrderNumber() * 10L);
+                if (i % 5 == 0) {
+                    position = journal.appendCancelled(order.getOrderNumber());
+                }
+            }
+            journal.awaitDurable(position);
+        }
+        OrderJournal.open(file, counter, 4096).close();
+        assertArrayEquals(new int[] {500, 100}, counts);
+    }
+
+    /**
+     * Test case 4: Orders placed and cancelled without waiting are visible at
+     * once and replay after their journal positions were awaited.
+     * @param dir a temporary directory
+     * @throws Exception if the journal cannot be used
+     */
+    @Test
+    public void testPlaceWithoutWaiting(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.journal");
+        OrderManager manager = new OrderManager(file);
+        Order first = sampleOrder(manager, "Blueberry");
+        long placed = manager.placeOrder(first);
+        long next = manager.placeOrder(sampleOrder(manager, "Glazed"));
+        assertTrue(placed > 0 && next > placed);
+        assertNotNull(manager.getOrder(first.getOrderNumber()));
+
+        long cancelled = manager.cancelOrder(first.getOrderNumber());
+        assertTrue(cancelled > next);
+        assertNull(manager.getOrder(first.getOrderNumber()));
+        assertEquals(-1, manager.cancelOrder(first.getOrderNumber()), "Already cancelled");
+        manager.awaitDurable(cancelled);
+        manager.close();
+
+        OrderManager restarted = new OrderManager(file);
+        assertEquals(1, restarted.getAllOrders().size());
+        assertNull(restarted.getOrder(first.getOrderNumber()));
+        restarted.close();
+
+        OrderManager unjournaled = new OrderManager();
+        assertEquals(0, unjournaled.placeOrder(sampleOrder(unjournaled, "Plain")), "No journal");
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit stress test for OrderManager used from several threads at once.
+ * Simulates ordering terminals placing and cancelling orders while a
+ * reader keeps iterating over all orders.
+ * @author Aryaman Kumar
+ */
+public class OrderManagerConcurrencyTest {
+    private static final int TERMINALS = 8;
+    private static final int ORDERS_PER_TERMINAL = 5_000;
+
+    /**
+     * Test case 1: Every placed order gets a unique number, and every order
+     * that was not cancelled is present at the end.
+     * @throws Exception if a worker fails
+     */
+    @Test
+    public void testConcurrentTerminals() throws Exception {
+        OrderManager manager = new OrderManager();
+        ExecutorService pool = Executors.newFixedThreadPool(TERMINALS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean placing = new AtomicBoolean(true);
+
+        Future<?>[] terminals = new Future<?>[TERMINALS];
+        for (int t = 0; t < TERMINALS; t++) {
+            terminals[t] = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ORDERS_PER_TERMINAL; i++) {
+                    Order order = manager.createNewOrder();
+                    order.addItem(new YeastDonut("Glazed", 1 + i % 12));
+                    order.addItem(new Coffee(CupSize.TALL, 1));
+                    manager.addOrder(order);
+                    if (i % 10 == 0) {
+                        assertTrue(manager.removeOrder(order.getOrderNumber()));
+                    }
+                }
+                return null;
+            });
+        }
+        Future<?> reader = pool.submit(() -> {
+            start.await();
+            while (placing.get()) {
+                for (Order order : manager.getAllOrders()) {
+                    assertEquals(2, order.getMenuItems().size());
+                }
+            }
+            return null;
+        });
+
+        start.countDown();
+        for (Future<?> terminal : terminals) {
+            terminal.get(60, TimeUnit.SECONDS);
+        }
+        placing.set(false);
+        reader.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        int expected = TERMINALS * (ORDERS_PER_TERMINAL - ORDERS_PER_TERMINAL / 10);
+        assertEquals(expected, manager.getAllOrders().size());
+        Set<Integer> numbers = new HashSet<>();
+        for (Order order : manager.getAllOrders()) {
+            assertTrue(numbers.add(order.getOrderNumber()), "Order numbers must be unique");
+        }
+        assertEquals(expected, numbers.size());
+    }
+}
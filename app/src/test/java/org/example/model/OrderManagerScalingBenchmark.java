@@ -0,0 +1,86 @@
+package org.example.model;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures how OrderManager throughput scales with the number of ordering
+ * terminals. Each terminal thread repeatedly places an order and looks up
+ * four recent ones, for a fixed time, against a fresh OrderManager per
+ * thread count (1, 2, 4, ... up to the maximum).
+ * Usage: OrderManagerScalingBenchmark [max threads] [milliseconds per run]
+ * @author Aryaman Kumar
+ */
+public class OrderManagerScalingBenchmark {
+    private static final int LOOKUPS_PER_ORDER = 4;
+
+    /**
+     * Runs the benchmark.
+     * @param args maximum thread count (default: the number of cores),
+     *             milliseconds per thread count
+     * @throws Exception if a terminal fails
+     */
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = Benchmarks.intArg(args, 0, cores);
+        int millis = Benchmarks.intArg(args, 1, 1000);
+        System.out.printf("%d cores, %d ms per run, 1 place + %d lookups per op%n", cores, millis, LOOKUPS_PER_ORDER);
+
+        run(1, millis); // warm-up
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            long ops = run(threads, millis);
+            System.out.printf("%3d threads %,10.0f ops/ms%n", threads, (double) ops / millis);
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Runs terminals against a fresh OrderManager for a while.
+     * @param threads the number of terminals
+     * @param millis how long to run, in milliseconds
+     * @return the number of operations completed
+     * @throws Exception if a terminal fails
+     */
+    private static long run(int threads, int millis) throws Exception {
+        OrderManager manager = new OrderManager();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?>[] terminals = new Future<?>[threads];
+        long[] ops = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int terminal = t;
+            terminals[t] = pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                long deadline = System.nanoTime() + millis * 1_000_000L;
+                long done = 0;
+                while (System.nanoTime() < deadline) {
+                    Order order = manager.createNewOrder();
+                    order.addItem(new YeastDonut("Glazed", 1 + (int) (done % 12)));
+                    order.addItem(new Coffee(CupSize.TALL, 1));
+                    manager.addOrder(order);
+                    for (int i = 0; i < LOOKUPS_PER_ORDER; i++) {
+                        int number = order.getOrderNumber() - random.nextInt(Math.min(order.getOrderNumber(), 1000));
+                        manager.getOrderTotalCents(number);
+                    }
+                    done++;
+                }
+                ops[terminal] = done;
+                return null;
+            });
+        }
+        start.countDown();
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            terminals[t].get();
+            total += ops[t];
+        }
+        pool.shutdown();
+        return total;
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the OrderManager class.
+ * Tests that placed orders can be read back, cancelled and exported.
+ * @author Aryaman Kumar
+ */
+public class OrderManagerTest {
+
+    /**
+     * Creates an order with one item of every kind.
+     * @param manager the order manager
+     * @return the new order
+     */
+    private Order sampleOrder(OrderManager manager) {
+        Order order = manager.createNewOrder();
+        order.addItem(new YeastDonut("Glazed", 3));
+        order.addItem(new DonutHole("Powdered", 12));
+        Coffee coffee = new Coffee(CupSize.VENTI, 2);
+        coffee.addAddIn(AddIns.CARAMEL);
+        coffee.addAddIn(AddIns.WHIPPED_CREAM);
+        order.addItem(coffee);
+        Sandwich sandwich = new Sandwich(Bread.SOURDOUGH, Protein.SALMON, 1);
+        sandwich.addAddOn(AddOns.CHEESE);
+        order.addItem(sandwich);
+        return order;
+    }
+
+    /**
+     * Test case 1: A placed order reads back with the same items and totals.
+     */
+    @Test
+    public void testPlacedOrderReadsBack() {
+        OrderManager manager = new OrderManager();
+        Order order = sampleOrder(manager);
+        manager.addOrder(order);
+
+        Order stored = manager.getAllOrders().get(0);
+        assertEquals(order.getOrderNumber(), stored.getOrderNumber());
+        assertEquals(order.getTotalCents(), stored.getTotalCents());
+        assertEquals(order.toString(), stored.toString());
+    }
+
+    /**
+     * Test case 2: Cancelling an order removes it from the list and keeps the
+     * remaining orders in placement order.
+     */
+    @Test
+    public void testRemoveOrderKeepsOrdering() {
+        OrderManager manager = new OrderManager();
+        Order first = sampleOrder(manager);
+        Order second = sampleOrder(manager);
+        Order third = sampleOrder(manager);
+        manager.addOrder(first);
+        manager.addOrder(second);
+        manager.addOrder(third);
+
+        manager.removeOrder(second);
+
+        assertEquals(2, manager.getAllOrders().size());
+        assertEquals(first.getOrderNumber(), manager.getAllOrders().get(0).getOrderNumber());
+        assertEquals(third.getOrderNumber(), manager.getAllOrders().get(1).getOrderNumber());
+    }
+
+    /**
+     * Test case 3: Orders can be found and cancelled by number, and positions
+     * stay consistent across many placements and cancellations.
+     */
+    @Test
+    public void testLookupAndCancelByNumber() {
+        OrderManager manager = new OrderManager();
+        for (int i = 0; i < 1000; i++) {
+            Order order = manager.createNewOrder();
+            order.addItem(new DonutHole("Plain", i + 1));
+            manager.addOrder(order);
+        }
+        for (int number = 2; number <= 1000; number += 2) {
+            assertTrue(manager.removeOrder(number));
+        }
+
+        assertFalse(manager.removeOrder(2), "An order can only be cancelled once");
+        assertNull(manager.getOrder(500));
+        assertEquals(500, manager.getAllOrders().size());
+        assertEquals(999, manager.getOrder(999).getMenuItems().get(0).getQuantity());
+        assertEquals(499, manager.indexOf(999));
+        assertEquals(751, manager.getOrderNumberAt(375));
+    }
+
+    /**
+     * Test case 4: The same order cannot be placed twice.
+     */
+    @Test
+    public void testDuplicateOrderRejected() {
+        OrderManager manager = new OrderManager();
+        Order order = sampleOrder(manager);
+        manager.addOrder(order);
+
+        assertThrows(IllegalArgumentException.class, () -> manager.addOrder(order));
+        assertEquals(1, manager.getAllOrders().size());
+    }
+
+    /**
+     * Test case 5: The streaming export matches the text layout of every live order.
+     * @param dir a temporary directory
+     * @throws Exception if the export cannot be written
+     */
+    @Test
+    public void testExportMatchesOrderText(@TempDir Path dir) throws Exception {
+        OrderManager manager = new OrderManager();
+        for (int i = 0; i < 10000; i++) {
+            manager.addOrder(sampleOrder(manager));
+        }
+        manager.removeOrder(2);
+        manager.removeOrder(9999);
+
+        StringBuilder expected = new StringBuilder("RU Donuts - All Orders\n======================\n\n");
+        for (Order order : manager.getAllOrders()) {
+            expected.append(order).append("\n\n");
+        }
+        expected.append("Total Orders: 9998\n");
+
+        Path file = dir.resolve("orders.txt");
+        long[] lastReport = new long[2];
+        int exported = manager.exportOrders(file.toString(),
+                (written, total, bytes, nanos) -> {
+                    lastReport[0] = written;
+                    lastReport[1] = bytes;
+                });
+
+        byte[] actual = Files.readAllBytes(file);
+        assertEquals(9998, exported);
+        assertEquals(expected.toString(), new String(actual, StandardCharsets.UTF_8));
+        assertEquals(9998, lastReport[0]);
+        assertEquals(actual.length, lastReport[1]);
+    }
+}
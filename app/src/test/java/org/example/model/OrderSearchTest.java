@@ -0,0 +1,200 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for searching orders.
+ * Tests that index searches agree with a walk over the orders, that search
+ * text is parsed into the right conditions, and that a result can be
+ * updated row by row.
+ * @author Aryaman Kumar
+ */
+public class OrderSearchTest {
+    private static final String[] FLAVORS = {"Glazed", "Boston Cream", "Jelly"};
+
+    /**
+     * Creates a manager with random orders, some of them cancelled.
+     * @param random the random numbers
+     * @param count the number of orders
+     * @return the order manager
+     */
+    private OrderManager randomOrders(Random random, int count) {
+        OrderManager manager = new OrderManager();
+        for (int i = 0; i < count; i++) {
+            Order order = manager.createNewOrder();
+            int lines = 1 + random.nextInt(3);
+            for (int line = 0; line < lines; line++) {
+                switch (random.nextInt(4)) {
+                    case 0:
+                        order.addItem(new YeastDonut(FLAVORS[random.nextInt(FLAVORS.length)], 1 + random.nextInt(12)));
+                        break;
+                    case 1:
+                        order.addItem(new CakeDonut(FLAVORS[random.nextInt(FLAVORS.length)], 1 + random.nextInt(6)));
+                        break;
+                    case 2:
+                        Coffee coffee = new Coffee(CupSize.values()[random.nextInt(CupSize.values().length)], 1);
+                        if (random.nextBoolean()) {
+                            coffee.addAddIn(AddIns.VANILLA);
+                        }
+                        order.addItem(coffee);
+                        break;
+                    default:
+                        order.addItem(new Sandwich(Bread.BAGEL, Protein.values()[random.nextInt(3)], 1));
+                        break;
+                }
+            }
+            manager.addOrder(order);
+            if (random.nextInt(5) == 0) {
+                manager.removeOrder(order.getOrderNumber());
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Gets the numbers of the orders in a search result.
+     * @param result the result
+     * @return the order numbers
+     */
+    private List<Integer> numbers(OrderSearchResult result) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < result.size(); i++) {
+            numbers.add(result.getOrderNumber(i));
+        }
+        return numbers;
+    }
+
+    /**
+     * Checks a search against a walk over the live orders.
+     * @param manager the order manager
+     * @param text the search text
+     * @param matches which orders should match
+     */
+    private void assertSearch(OrderManager manager, String text, Predicate<Order> matches) {
+        List<Integer> expected = new ArrayList<>();
+        for (Order order : manager.getAllOrders()) {
+            if (matches.test(order)) {
+                expected.add(order.getOrderNumber());
+            }
+        }
+        OrderSearchResult result = manager.searchOrders(OrderQuery.parse(text));
+        assertEquals(expected, numbers(result), text);
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(manager.getOrderTotalCents(result.getOrderNumber(i)), result.getOrderTotalCents(i));
+        }
+    }
+
+    /**
+     * Checks if an order has an item that matches.
+     * @param order the order
+     * @param item which items match
+     * @return true if any item of the order matches
+     */
+    private static boolean has(Order order, Predicate<MenuItem> item) {
+        return order.getMenuItems().stream().anyMatch(item);
+    }
+
+    /**
+     * Test case 1: Searches by item type, flavor, cup size, protein, add-in,
+     * total and order number agree with a walk over the orders.
+     */
+    @Test
+    public void testSearchMatchesOrders() {
+        OrderManager manager = randomOrders(new Random(22), 3000);
+        assertSearch(manager, "", order -> true);
+        assertSearch(manager, "coffee", order -> has(order, item -> item instanceof Coffee));
+        assertSearch(manager, "Boston Cream cake", order -> has(order, item -> item instanceof CakeDonut)
+                && has(order, item -> item.toString().contains("Boston Cream")));
+        assertSearch(manager, "donuts", order -> has(order, item -> item instanceof YeastDonut
+                || item instanceof CakeDonut));
+        assertSearch(manager, "venti vanilla", order -> has(order, item -> item instanceof Coffee
+                && ((Coffee) item).getSize() == CupSize.VENTI)
+                && has(order, item -> item instanceof Coffee && ((Coffee) item).getAddIns().contains(AddIns.VANILLA)));
+        assertSearch(manager, "salmon $5-$12.50", order -> has(order, item -> item instanceof Sandwich
+                && ((Sandwich) item).getProtein() == Protein.SALMON)
+                && order.getTotalCents() >= 500 && order.getTotalCents() <= 1250);
+        assertSearch(manager, ">$20", order -> order.getTotalCents() > 2000);
+        assertSearch(manager, "<5 glazed", order -> order.getTotalCents() < 500
+                && has(order, item -> item.toString().contains("Glazed")));
+        int number = manager.getOrderNumberAt(10);
+        assertSearch(manager, "#" + number, order -> order.getOrderNumber() == number);
+        assertSearch(manager, number + " sandwich", order -> order.getOrderNumber() == number
+                && has(order, item -> item instanceof Sandwich));
+        assertEquals(0, manager.searchOrders(new OrderQuery().orderNumber(999999)).size());
+        assertEquals(0, manager.searchOrders(new OrderQuery().flavor("Never Sold")).size());
+    }
+
+    /**
+     * Test case 2: Search text that cannot be read is rejected.
+     */
+    @Test
+    public void testParseErrors() {
+        assertTrue(OrderQuery.parse("   ").isEmpty());
+        assertFalse(OrderQuery.parse("coffee").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> OrderQuery.parse("espresso"));
+        assertThrows(IllegalArgumentException.class, () -> OrderQuery.parse("$abc"));
+        assertThrows(IllegalArgumentException.class, () -> OrderQuery.parse("#99999999999"));
+    }
+
+    /**
+     * Test case 3: changesTo() turns an earlier result into a later one, and
+     * later orders and cancellations are searched.
+     */
+    @Test
+    public void testChangesTo() {
+        Random random = new Random(7);
+        OrderManager manager = randomOrders(random, 500);
+        OrderQuery query = OrderQuery.parse("coffee");
+        OrderSearchResult before = manager.searchOrders(query);
+        for (int i = 0; i < 200; i++) {
+            int number = before.getOrderNumber(random.nextInt(before.size()));
+            manager.removeOrder(number);
+            Order order = manager.createNewOrder();
+            order.addItem(new Coffee(CupSize.TALL, 1));
+            manager.addOrder(order);
+        }
+        OrderSearchResult after = manager.searchOrders(query);
+        List<Integer> rows = numbers(before);
+        before.changesTo(after, new LiveOrderList.ChangeSink() {
+            @Override
+            public void removed(int index, int orderNumber) {
+                assertEquals(orderNumber, rows.remove(index));
+            }
+
+            @Override
+            public void added(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    rows.add(i, after.getOrderNumber(i));
+                }
+            }
+        });
+        assertEquals(numbers(after), rows);
+        assertSearch(manager, "coffee", order -> has(order, item -> item instanceof Coffee));
+    }
+
+    /**
+     * Test case 4: An order cancelled before the placing thread indexed it
+     * is never found.
+     */
+    @Test
+    public void testRemoveBeforeAdd() {
+        OrderIndex index = new OrderIndex();
+        byte[] types = {(byte) ItemType.COFFEE.ordinal()};
+        int[] variants = {CupSize.TALL.ordinal()};
+        byte[] masks = {0};
+        long[] prices = {239};
+        index.add(0, 0, 1, types, variants, masks, prices);
+        index.remove(1);
+        index.add(1, 0, 1, types, variants, masks, prices);
+        index.add(2, 0, 1, types, variants, masks, prices);
+        int[][] coffee = {{ItemType.COFFEE.ordinal()}};
+        assertArrayEquals(new int[]{0, 2}, index.search(coffee, 0, 3, 0, Long.MAX_VALUE));
+    }
+}
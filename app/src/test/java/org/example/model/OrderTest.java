@@ -0,0 +1,130 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the Order class.
+ * Tests that subtotal, tax and total are computed exactly in cents.
+ * @author Aryaman Kumar
+ */
+public class OrderTest {
+
+    /**
+     * Test case 1: Order with a coffee and a sandwich.
+     * Subtotal: $3.49 (tall coffee, 2 add-ins) + $11.59 (chicken, 2 veggies) = $15.08
+     * Tax: $15.08 * 6.625% = $0.99905, rounded to $1.00
+     * Total: $16.08
+     */
+    @Test
+    public void testTotalsInCents() {
+        Order order = new Order(1);
+        Coffee coffee = new Coffee(CupSize.TALL, 1);
+        coffee.addAddIn(AddIns.WHIPPED_CREAM);
+        coffee.addAddIn(AddIns.VANILLA);
+        Sandwich sandwich = new Sandwich(Bread.BAGEL, Protein.CHICKEN, 1);
+        sandwich.addAddOn(AddOns.LETTUCE);
+        sandwich.addAddOn(AddOns.TOMATOES);
+        order.addItem(coffee);
+        order.addItem(sandwich);
+
+        assertEquals(1508, order.getSubtotalCents(), "Subtotal should be $15.08");
+        assertEquals(100, order.getSalesTaxCents(), "Sales tax should be $1.00");
+        assertEquals(1608, order.getTotalCents(), "Total should be $16.08");
+    }
+
+    /**
+     * Test case 2: Summing many small items does not drift.
+     * 1000 donut holes at $0.39 each must be exactly $390.00.
+     */
+    @Test
+    public void testManyItemsDoNotDrift() {
+        Order order = new Order(2);
+        for (int i = 0; i < 1000; i++) {
+            order.addItem(new DonutHole("Plain", 1));
+        }
+
+        assertEquals(39000, order.getSubtotalCents(), "Subtotal should be exactly $390.00");
+        assertEquals("390.00", Money.format(order.getSubtotalCents()));
+    }
+
+    /**
+     * Test case 3: Running totals follow item changes after the item was added.
+     * 2 yeast donuts ($3.98) + short coffee ($2.39) = $6.37,
+     * then quantity 3 donuts and a mocha add-in = $5.97 + $2.64 = $8.61,
+     * then the coffee is removed = $5.97.
+     */
+    @Test
+    public void testRunningTotalsFollowChanges() {
+        Order order = new Order(3);
+        YeastDonut donut = new YeastDonut("Glazed", 2);
+        Coffee coffee = new Coffee(CupSize.SHORT, 1);
+        order.addItem(donut);
+        order.addItem(coffee);
+        assertEquals(637, order.getSubtotalCents());
+
+        donut.setQuantity(3);
+        coffee.addAddIn(AddIns.MOCHA);
+        assertEquals(861, order.getSubtotalCents());
+        assertEquals(57, order.getSalesTaxCents());
+
+        order.removeItem(coffee);
+        assertEquals(597, order.getSubtotalCents());
+        assertEquals(597 + 40, order.getTotalCents());
+
+        order.clearItems();
+        assertEquals(0, order.getTotalCents());
+    }
+
+    /**
+     * Test case 4: Money formatting always shows two decimal places.
+     */
+    @Test
+    public void testMoneyFormat() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("12.30", Money.format(1230));
+        assertEquals("-1.01", Money.format(-101));
+    }
+
+    /**
+     * Test case 5: Listeners hear about each item added, changed and removed,
+     * at its position and after the totals were updated.
+     */
+    @Test
+    public void testItemListener() {
+        Order order = new Order(7);
+        StringBuilder events = new StringBuilder();
+        Order.ItemListener listener = new Order.ItemListener() {
+            @Override
+            public void itemAdded(int index, MenuItem item) {
+                events.append("+").append(index).append(" ").append(order.getSubtotalCents()).append(";");
+            }
+
+            @Override
+            public void itemRemoved(int index, MenuItem item) {
+                events.append("-").append(index).append(" ").append(order.getSubtotalCents()).append(";");
+            }
+
+            @Override
+            public void itemChanged(int index, MenuItem item) {
+                events.append("*").append(index).append(" ").append(order.getSubtotalCents()).append(";");
+            }
+        };
+        order.addItemListener(listener);
+        YeastDonut donut = new YeastDonut("Glazed", 1);
+        Coffee coffee = new Coffee(CupSize.SHORT, 1);
+        order.addItem(donut);
+        order.addItem(coffee);
+        order.addItem(new YeastDonut("Jelly", 1));
+        coffee.addAddIn(AddIns.MILK);
+        order.removeItem(donut);
+        order.removeItem(donut);
+        order.clearItems();
+        assertEquals("+0 199;+1 438;+2 637;*1 662;-0 463;-1 0;-0 0;", events.toString());
+
+        order.removeItemListener(listener);
+        order.addItem(new YeastDonut("Glazed", 1));
+        assertTrue(events.toString().endsWith("-0 0;"));
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the sales rollups kept by OrderManager.
+ * Tests that the rollups agree with a walk over the orders, follow
+ * cancellations and bucket sales by the hour they were placed in.
+ * @author Aryaman Kumar
+ */
+public class SalesRollupTest {
+    private static final long HOUR = 3_600_000L;
+
+    /**
+     * Places orders of every item type and cancels some of them.
+     * @param manager the order manager
+     */
+    private void placeOrders(OrderManager manager) {
+        for (int i = 0; i < 500; i++) {
+            Order order = manager.createNewOrder();
+            order.addItem(new YeastDonut(i % 3 == 0 ? "Glazed" : "Jelly", 1 + i % 6));
+            order.addItem(new CakeDonut("Glazed", 2));
+            if (i % 2 == 0) {
+                Coffee coffee = new Coffee(CupSize.values()[i % CupSize.values().length], 1 + i % 2);
+                coffee.addAddIn(AddIns.values()[i % AddIns.values().length]);
+                coffee.addAddIn(AddIns.CARAMEL);
+                order.addItem(coffee);
+            }
+            if (i % 5 == 0) {
+                order.addItem(new Sandwich(Bread.BAGEL, Protein.values()[i % Protein.values().length], 1));
+                order.addItem(new DonutHole("Powdered", 12));
+            }
+            manager.addOrder(order);
+        }
+        for (int number = 4; number <= 500; number += 11) {
+            manager.removeOrder(number);
+        }
+    }
+
+    /**
+     * Test case 1: Per item type, flavor, cup size and protein, the rollup
+     * agrees with a walk over the live orders.
+     */
+    @Test
+    public void testAgreesWithOrders() {
+        OrderManager manager = new OrderManager();
+        placeOrders(manager);
+
+        long[] typeQuantity = new long[ItemType.values().length];
+        long[] typeRevenue = new long[ItemType.values().length];
+        long glazedYeast = 0;
+        long venti = 0;
+        long caramelOrders = 0;
+        long salmonRevenue = 0;
+        long subtotal = 0;
+        for (Order order : manager.getAllOrders()) {
+            subtotal += order.getSubtotalCents();
+            boolean caramel = false;
+            for (MenuItem item : order.getMenuItems()) {
+                typeQuantity[item.getItemType().ordinal()] += item.getQuantity();
+                typeRevenue[item.getItemType().ordinal()] += item.priceCents();
+                if (item instanceof YeastDonut && ((YeastDonut) item).getFlavor().equals("Glazed")) {
+                    glazedYeast += item.getQuantity();
+                }
+                if (item instanceof Coffee && item.getVariant() == CupSize.VENTI.ordinal()) {
+                    venti += item.getQuantity();
+                }
+                if (item instanceof Coffee && (item.getOptionMask() & AddIns.CARAMEL.mask()) != 0) {
+                    caramel = true;
+                }
+                if (item instanceof Sandwich && Sandwich.proteinOf(item.getVariant()) == Protein.SALMON.ordinal()) {
+                    salmonRevenue += item.priceCents();
+                }
+            }
+            caramelOrders += caramel ? 1 : 0;
+        }
+
+        SalesRollup rollup = manager.getSalesRollup();
+        SalesTotals total = rollup.total(0, Long.MAX_VALUE);
+        assertEquals(manager.getAllOrders().size(), total.getOrders());
+        assertEquals(subtotal, total.getRevenueCents());
+        Map<ItemType, SalesTotals> byType = rollup.byItemType(0, Long.MAX_VALUE);
+        for (ItemType type : ItemType.values()) {
+            assertEquals(typeQuantity[type.ordinal()], byType.get(type).getQuantity(), type.name());
+            assertEquals(typeRevenue[type.ordinal()], byType.get(type).getRevenueCents(), type.name());
+        }
+        assertEquals(glazedYeast,
+                rollup.byFlavor(ItemType.YEAST_DONUT, 0, Long.MAX_VALUE).get(Flavor.of("Glazed")).getQuantity());
+        assertEquals(venti, rollup.byCupSize(0, Long.MAX_VALUE).get(CupSize.VENTI).getQuantity());
+        assertEquals(caramelOrders, rollup.byAddIn(0, Long.MAX_VALUE).get(AddIns.CARAMEL).getOrders());
+        assertEquals(salmonRevenue, rollup.byProtein(0, Long.MAX_VALUE).get(Protein.SALMON).getRevenueCents());
+        assertThrows(IllegalArgumentException.class, () -> rollup.byFlavor(ItemType.COFFEE, 0, Long.MAX_VALUE));
+    }
+
+    /**
+     * Test case 2: Sales land in the hour they were placed in, and a range
+     * covers every hour it overlaps.
+     */
+    @Test
+    public void testHourlyBuckets() {
+        SalesRollup rollup = new SalesRollup();
+        byte[] types = {(byte) ItemType.YEAST_DONUT.ordinal(), (byte) ItemType.YEAST_DONUT.ordinal()};
+        int[] variants = {Flavor.of("Glazed").getId(), Flavor.of("Glazed").getId()};
+        byte[] masks = {0, 0};
+        int[] quantities = {2, 3};
+        long[] prices = {358, 537};
+        long nine = 100 * 24 * HOUR + 9 * HOUR;
+        rollup.record(nine + 5 * 60_000, 0, 2, types, variants, masks, quantities, prices, 1);
+        rollup.record(nine + 50 * 60_000, 0, 1, types, variants, masks, quantities, prices, 1);
+        rollup.record(nine + HOUR + 1, 1, 2, types, variants, masks, quantities, prices, 1);
+
+        SortedMap<Long, SalesTotals> hours = rollup.byHour(0, Long.MAX_VALUE);
+        assertEquals(2, hours.size());
+        assertEquals(2, hours.get(nine).getOrders());
+        assertEquals(7, hours.get(nine).getQuantity());
+        assertEquals(358 + 537 + 358, hours.get(nine).getRevenueCents());
+        assertEquals(3, hours.get(nine + HOUR).getQuantity());
+
+        assertEquals(2, rollup.total(nine, nine + HOUR).getOrders());
+        assertEquals(3, rollup.total(nine + 30 * 60_000, nine + HOUR + 1).getOrders(), "Overlapping hours");
+        assertEquals(0, rollup.total(nine + 2 * HOUR, nine + 3 * HOUR).getOrders());
+        SalesTotals glazed = rollup.byFlavor(ItemType.YEAST_DONUT, nine, nine + HOUR).get(Flavor.of("Glazed"));
+        assertEquals(2, glazed.getOrders(), "Two lines of one order count once");
+
+        rollup.record(nine + HOUR + 1, 1, 2, types, variants, masks, quantities, prices, -1);
+        assertEquals(1, rollup.byHour(0, Long.MAX_VALUE).size());
+    }
+
+    /**
+     * Test case 3: Replaying a journal rebuilds the same rollup.
+     * @param dir a temporary directory
+     * @throws Exception if the journal cannot be written or read
+     */
+    @Test
+    public void testRebuiltFromJournal(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.journal");
+        OrderManager manager = new OrderManager(file);
+        placeOrders(manager);
+        manager.close();
+
+        OrderManager restarted = new OrderManager(file);
+        Map<ItemType, SalesTotals> before = manager.getSalesRollup().byItemType(0, Long.MAX_VALUE);
+        Map<ItemType, SalesTotals> after = restarted.getSalesRollup().byItemType(0, Long.MAX_VALUE);
+        assertEquals(before.toString(), after.toString());
+        assertEquals(manager.getSalesRollup().byHour(0, Long.MAX_VALUE).toString(),
+                restarted.getSalesRollup().byHour(0, Long.MAX_VALUE).toString());
+        restarted.close();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.model;
+
+/**
+ * Fills order managers with many varied orders for the export, import,
+ * archive and report tests.
+ * @author Aryaman Kumar
+ */
+final class TestOrders {
+    private static final String[] FLAVORS = {"Glazed", "Boston \"Cream\"", "Boston \"Cream\" x2 $1"};
+
+    /**
+     * Constructor for TestOrders, not used.
+     */
+    private TestOrders() {
+    }
+
+    /**
+     * Places orders numbered from 1 and then cancels every so many of them.
+     * Each order has a yeast donut and a coffee with two add-ins; every
+     * eleventh order, starting with order 11, also has a sandwich, donut
+     * holes and seasonal donuts. So order 2, for example, is two Boston
+     * "Cream" yeast donuts and a tall coffee with milk and caramel.
+     * @param manager the order manager
+     * @param count the number of orders
+     * @param cancelEvery the distance between cancelled orders, starting with order 3
+     * @return the order manager
+     */
+    static OrderManager fill(OrderManager manager, int count, int cancelEvery) {
+        for (int i = 0; i < count; i++) {
+            Order order = manager.createNewOrder();
+            order.addItem(new YeastDonut(FLAVORS[i % FLAVORS.length], 1 + i % 12));
+            Coffee coffee = new Coffee(CupSize.values()[i % CupSize.values().length], 1);
+            coffee.addAddIn(AddIns.values()[(i + 1) % AddIns.values().length]);
+            coffee.addAddIn(AddIns.CARAMEL);
+            order.addItem(coffee);
+            if (i % 11 == 10) {
+                Sandwich sandwich = new Sandwich(Bread.values()[i % Bread.values().length],
+                        Protein.values()[i % Protein.values().length], 2);
+                sandwich.addAddOn(AddOns.CHEESE);
+                order.addItem(sandwich);
+                order.addItem(new DonutHole("Jelly", 6));
+                order.addItem(new SeasonalDonut("Pumpkin", 2));
+            }
+            manager.addOrder(order);
+        }
+        for (int number = 3; number <= count; number += cancelEvery) {
+            manager.removeOrder(number);
+        }
+        return manager;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test client for OrderIngestionServer.
+ * Opens many terminal connections at once, each placing a number of mixed
+ * orders, and prints throughput and latency. It is kept with the tests so
+ * the application does not ship it; run it from the test classpath against
+ * a server started with -Drudonuts.ingest.port.
+ * Usage: LoadTestClient [port] [terminals] [orders per terminal]
+ * @author Aryaman Kumar
+ */
+public class LoadTestClient {
+    private static final String[] SAMPLE_ITEMS = {
+            "YEAST_DONUT 6 Glazed",
+            "COFFEE 2 GRANDE VANILLA,MILK",
+            "SANDWICH 1 CHICKEN BAGEL LETTUCE,TOMATOES",
+            "DONUT_HOLE 12 Cinnamon Sugar",
+            "CAKE_DONUT 2 Blueberry"
+    };
+
+    /**
+     * Runs the load test.
+     * @param args port, number of terminals, orders per terminal
+     * @throws Exception if the test cannot run
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int terminals = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int ordersEach = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        CountDownLatch connected = new CountDownLatch(terminals);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong placed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong latencyNanos = new AtomicLong();
+        List<Thread> threads = new ArrayList<>(terminals);
+
+        for (int t = 0; t < terminals; t++) {
+            int terminal = t;
+            Thread thread = new Thread(() -> {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                     BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                     Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                    socket.setTcpNoDelay(true);
+                    connected.countDown();
+                    start.await();
+                    for (int i = 0; i < ordersEach; i++) {
+                        long begin = System.nanoTime();
+                        out.write("ORDER\n");
+                        for (int k = 0; k <= (terminal + i) % SAMPLE_ITEMS.length; k++) {
+                            out.write(SAMPLE_ITEMS[k]);
+                            out.write('\n');
+                        }
+                        out.write("PLACE\n");
+                        out.flush();
+                        String reply = in.readLine();
+                        latencyNanos.addAndGet(System.nanoTime() - begin);
+                        if (reply != null && reply.startsWith("OK")) {
+                            placed.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    out.write("QUIT\n");
+                    out.flush();
+                } catch (IOException | InterruptedException e) {
+                    failed.incrementAndGet();
+                    connected.countDown();
+                }
+            }, "terminal-" + t);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        connected.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("%d terminals, %d orders placed, %d failed in %.2f s%n",
+                terminals, placed.get(), failed.get(), seconds);
+        System.out.printf("Throughput: %.0f orders/s, mean latency %.2f ms%n",
+                placed.get() / seconds, latencyNanos.get() / 1e6 / Math.max(1, placed.get() + failed.get()));
+    }
+}
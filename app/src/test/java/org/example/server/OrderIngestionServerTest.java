@@ -0,0 +1,70 @@
+package org.example.server;
+
+import org.example.model.Order;
+import org.example.model.OrderManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the OrderIngestionServer class.
+ * Tests that terminals can place and cancel orders over a socket.
+ * @author Aryaman Kumar
+ */
+public class OrderIngestionServerTest {
+
+    /**
+     * Test case 1: An order sent by a terminal is placed and can be cancelled.
+     * @throws Exception if the connection fails
+     */
+    @Test
+    public void testPlaceAndCancelOverSocket() throws Exception {
+        OrderManager manager = OrderManager.getInstance();
+        try (OrderIngestionServer server = new OrderIngestionServer(manager, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write("ORDER\nYEAST_DONUT 2 Glazed\nCOFFEE 1 TALL MILK\nPLACE\n");
+            out.flush();
+            String[] reply = in.readLine().split(" ");
+            assertEquals("OK", reply[0]);
+            int number = Integer.parseInt(reply[1]);
+
+            Order placed = manager.getOrder(number);
+            assertNotNull(placed);
+            assertEquals(2, placed.getMenuItems().size());
+            assertEquals(placed.getTotalCents() / 100.0, Double.parseDouble(reply[2]), 0.001);
+
+            out.write("CANCEL " + number + "\n");
+            out.flush();
+            assertEquals("OK " + number, in.readLine());
+            assertNull(manager.getOrder(number));
+        }
+    }
+
+    /**
+     * Test case 2: A bad item line is rejected and the order in progress is dropped.
+     * @throws Exception if the connection fails
+     */
+    @Test
+    public void testBadItemIsRejected() throws Exception {
+        try (OrderIngestionServer server = new OrderIngestionServer(OrderManager.getInstance(), 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write("ORDER\nYEAST_DONUT 2 Anchovy\nPLACE\n");
+            out.flush();
+            assertTrue(in.readLine().startsWith("ERR"));
+            assertTrue(in.readLine().startsWith("ERR"));
+            assertEquals(0, server.getOrdersPlaced());
+        }
+    }
+}
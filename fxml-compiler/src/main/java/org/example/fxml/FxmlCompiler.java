@@ -0,0 +1,119 @@
+package org.example.fxml;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Build step that compiles the FXML views into plain Java classes.
+ * It runs as an annotation processor during the main compile, reads every
+ * .fxml file in the directory given by the fxml.sources option and writes
+ * one class per view next to its controller (see ViewWriter). The class
+ * builds the same scene graph the runtime FXMLLoader would, with direct
+ * constructor and setter calls, and injects the fx:id fields and event
+ * handlers of the controller without reflection.
+ * <p>
+ * A view that uses a feature ViewWriter does not handle is skipped with a
+ * warning; the application then loads it with FXMLLoader as before (see
+ * org.example.controller.ViewLoader).
+ * @author Aryaman Kumar
+ */
+public class FxmlCompiler extends AbstractProcessor {
+    private static final String SOURCES_OPTION = "fxml.sources";
+
+    private boolean done;
+
+    /**
+     * Constructor for FxmlCompiler, called by javac.
+     */
+    public FxmlCompiler() {
+    }
+
+    /**
+     * Gets the annotations this processor handles; it runs on every
+     * compilation, whatever the sources are annotated with.
+     * @return all annotations
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of("*");
+    }
+
+    /**
+     * Gets the options this processor reads.
+     * @return the option names
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(SOURCES_OPTION);
+    }
+
+    /**
+     * Gets the latest Java version this processor supports.
+     * @return the version of the running compiler
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Compiles the views in the first round.
+     * @param annotations the annotations of this round
+     * @param roundEnv the round
+     * @return false, so other processors still see the annotations
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (done) {
+            return false;
+        }
+        done = true;
+        String sources = processingEnv.getOptions().get(SOURCES_OPTION);
+        if (sources == null) {
+            warn("No " + SOURCES_OPTION + " option; FXML views are loaded at runtime");
+            return false;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(sources), "*.fxml")) {
+            for (Path file : files) {
+                compile(file);
+            }
+        } catch (IOException e) {
+            warn("Cannot read " + sources + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Compiles one view, or warns why it was left to the runtime loader.
+     * @param file the FXML file
+     */
+    private void compile(Path file) {
+        try {
+            ViewWriter view = new ViewWriter(processingEnv, file);
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(view.getClassName());
+            try (Writer out = source.openWriter()) {
+                out.write(view.getSource());
+            }
+        } catch (ViewWriter.UnsupportedException | IOException e) {
+            warn(file.getFileName() + " is not compiled and will be loaded at runtime: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints a compiler warning.
+     * @param message the message
+     */
+    private void warn(String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message);
+    }
+}
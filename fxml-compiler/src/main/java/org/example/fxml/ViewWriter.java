@@ -0,0 +1,740 @@
+package org.example.fxml;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.SAXException;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Translates one FXML file into the source of a Java class that builds the
+ * same scene graph.
+ * Element and attribute names are resolved against the compiled JavaFX
+ * classes the way FXMLLoader resolves them at runtime: imports for class
+ * names, setters and read-only list getters for properties, the
+ * DefaultProperty of a class for its child elements, NamedArg constructors
+ * for classes without a no-argument constructor, and static setters such
+ * as GridPane.setRowIndex() for attributes like GridPane.rowIndex. Values
+ * are coerced by the parameter type: numbers, booleans, strings, enum
+ * constants and types with a static valueOf(String), such as Paint.
+ * <p>
+ * Includes, fx:define, bindings, resource and location values and scripts
+ * are not supported; such a view is left to FXMLLoader.
+ * @author Aryaman Kumar
+ */
+final class ViewWriter {
+
+    /**
+     * Thrown when a view uses a feature that is not compiled.
+     */
+    static final class UnsupportedException extends Exception {
+        /**
+         * Constructor for UnsupportedException.
+         * @param message what is not supported
+         */
+        UnsupportedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final String FX_PREFIX = "fx:";
+    private static final String CONTROLLER = "controller";
+
+    private final Elements elements;
+    private final Types types;
+    private final Map<String, String> imports = new HashMap<>();
+    private final List<String> importedPackages = new ArrayList<>();
+    // fx:id -> local variable
+    private final Map<String, String> idVariables = new HashMap<>();
+    private final StringBuilder body = new StringBuilder();
+    private final TypeElement controller;
+    private final String className;
+    private final String source;
+    private int variables;
+
+    /**
+     * Translates an FXML file.
+     * @param env the compiler's environment
+     * @param file the FXML file
+     * @throws UnsupportedException if the view uses a feature that is not compiled
+     * @throws IOException if the file cannot be read
+     */
+    ViewWriter(ProcessingEnvironment env, Path file) throws UnsupportedException, IOException {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        byte[] bytes = Files.readAllBytes(file);
+        Document document = parse(bytes);
+        for (Node node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof ProcessingInstruction && ((ProcessingInstruction) node).getTarget().equals("import")) {
+                String name = ((ProcessingInstruction) node).getData().trim();
+                if (name.endsWith(".*")) {
+                    importedPackages.add(name.substring(0, name.length() - 2));
+                } else {
+                    imports.put(name.substring(name.lastIndexOf('.') + 1), name);
+                }
+            }
+        }
+
+        Element root = document.getDocumentElement();
+        String controllerName = root.getAttribute(FX_PREFIX + "controller");
+        if (controllerName.isEmpty()) {
+            throw new UnsupportedException("no fx:controller");
+        }
+        controller = elements.getTypeElement(controllerName);
+        if (controller == null) {
+            throw new UnsupportedException("unknown controller " + controllerName);
+        }
+        if (!hasConstructor(controller)) {
+            throw new UnsupportedException(controllerName + " has no accessible no-argument constructor");
+        }
+        String fileName = file.getFileName().toString();
+        String simpleName = fileName.substring(0, fileName.length() - ".fxml".length()) + "Fxml";
+        String packageName = elements.getPackageOf(controller).getQualifiedName().toString();
+        className = packageName + "." + simpleName;
+
+        String rootVariable = instance(root);
+        if (!types.isAssignable(typeOf(root), elements.getTypeElement("javafx.scene.Parent").asType())) {
+            throw new UnsupportedException("root element is not a Parent");
+        }
+        if (controller.getInterfaces().stream().anyMatch(t -> t.toString().equals("javafx.fxml.Initializable"))) {
+            throw new UnsupportedException("Initializable controllers are not supported");
+        }
+        if (accessibleMethod(controller, "initialize", 0) != null) {
+            body.append("        ").append(CONTROLLER).append(".initialize();\n");
+        }
+        body.append("        return ").append(rootVariable).append(";\n");
+
+        source = "package " + packageName + ";\n\n"
+                + "/**\n"
+                + " * Scene graph of " + fileName + ", generated by " + FxmlCompiler.class.getName() + ".\n"
+                + " * Do not edit; change the FXML file instead.\n"
+                + " */\n"
+                + "final class " + simpleName + " implements ViewLoader.Compiled {\n"
+                + "    static final int SOURCE_HASH = " + Arrays.hashCode(bytes) + ";\n\n"
+                + "    private final " + controllerName + " " + CONTROLLER + " = new " + controllerName + "();\n\n"
+                + "    @Override\n"
+                + "    public Object getController() {\n"
+                + "        return " + CONTROLLER + ";\n"
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n"
+                + "    public javafx.scene.Parent build() {\n"
+                + body
+                + "    }\n"
+                + "}\n";
+    }
+
+    /**
+     * Gets the qualified name of the generated class.
+     * @return the class name
+     */
+    String getClassName() {
+        return className;
+    }
+
+    /**
+     * Gets the source of the generated class.
+     * @return the Java source
+     */
+    String getSource() {
+        return source;
+    }
+
+    /**
+     * Parses an FXML file without loading any external entities.
+     * @param bytes the file
+     * @return the document
+     * @throws IOException if the file is not well-formed XML
+     */
+    private static Document parse(byte[] bytes) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the code that creates an element and everything below it.
+     * @param element an instance element, e.g. &lt;Button&gt;
+     * @return the local variable holding the instance
+     * @throws UnsupportedException if the element uses a feature that is not compiled
+     */
+    private String instance(Element element) throws UnsupportedException {
+        TypeElement type = resolve(element.getTagName());
+        String variable = "n" + variables++;
+        Map<String, String> properties = new LinkedHashMap<>();
+        Map<String, String> staticProperties = new LinkedHashMap<>();
+        Map<String, String> handlers = new LinkedHashMap<>();
+        String id = null;
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            String name = attributes.item(i).getNodeName();
+            String value = attributes.item(i).getNodeValue();
+            if (name.equals("xmlns") || name.startsWith("xmlns:") || name.equals(FX_PREFIX + "controller")) {
+                continue;
+            }
+            if (name.equals(FX_PREFIX + "id")) {
+                id = value;
+            } else if (name.startsWith(FX_PREFIX)) {
+                throw new UnsupportedException(name + " is not supported");
+            } else if (name.indexOf('.') > 0) {
+                staticProperties.put(name, value);
+            } else if (value.startsWith("#")) {
+                handlers.put(name, value.substring(1));
+            } else {
+                properties.put(name, value);
+            }
+        }
+
+        String typeName = type.getQualifiedName().toString();
+        line(typeName + " " + variable + " = new " + typeName + "(" + constructorArguments(type, properties) + ");");
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            setProperty(variable, type, property.getKey(), property.getValue());
+        }
+        for (Map.Entry<String, String> handler : handlers.entrySet()) {
+            setHandler(variable, type, handler.getKey(), handler.getValue());
+        }
+        for (Map.Entry<String, String> property : staticProperties.entrySet()) {
+            setStaticProperty(variable, property.getKey(), property.getValue());
+        }
+        if (id != null) {
+            idVariables.put(id, variable);
+            inject(variable, type, id);
+        }
+
+        List<Element> instances = new ArrayList<>();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                Element childElement = (Element) child;
+                String tag = childElement.getTagName();
+                if (tag.startsWith(FX_PREFIX) || tag.indexOf('.') >= 0) {
+                    throw new UnsupportedException("<" + tag + "> is not supported");
+                }
+                if (Character.isLowerCase(tag.charAt(0))) {
+                    propertyElement(variable, type, tag, instanceChildren(childElement));
+                } else {
+                    instances.add(childElement);
+                }
+            } else if (child.getNodeType() == Node.TEXT_NODE && !child.getNodeValue().isBlank()) {
+                throw new UnsupportedException("text content in <" + element.getTagName() + ">");
+            }
+        }
+        if (!instances.isEmpty()) {
+            String defaultProperty = defaultProperty(type);
+            if (defaultProperty == null) {
+                throw new UnsupportedException(typeName + " has no default property");
+            }
+            propertyElement(variable, type, defaultProperty, instances);
+        }
+        return variable;
+    }
+
+    /**
+     * Gets the instance elements inside a property element.
+     * @param property the property element, e.g. &lt;padding&gt;
+     * @return the instance elements
+     * @throws UnsupportedException if it holds anything else
+     */
+    private static List<Element> instanceChildren(Element property) throws UnsupportedException {
+        List<Element> children = new ArrayList<>();
+        for (Node child = property.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                String tag = ((Element) child).getTagName();
+                if (tag.startsWith(FX_PREFIX) || !Character.isUpperCase(tag.charAt(tag.lastIndexOf('.') + 1))) {
+                    throw new UnsupportedException("<" + tag + "> inside <" + property.getTagName() + ">");
+                }
+                children.add((Element) child);
+            } else if (child.getNodeType() == Node.TEXT_NODE && !child.getNodeValue().isBlank()) {
+                throw new UnsupportedException("text content in <" + property.getTagName() + ">");
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Writes the code that sets a property to the instances in a property
+     * element, or adds them to a read-only list property.
+     * @param variable the variable of the owner
+     * @param type the type of the owner
+     * @param property the property name
+     * @param children the instance elements
+     * @throws UnsupportedException if the property cannot be set this way
+     */
+    private void propertyElement(String variable, TypeElement type, String property, List<Element> children)
+            throws UnsupportedException {
+        boolean list = setters(type, property).isEmpty() || children.size() != 1;
+        if (list && accessibleMethod(type, "get" + capitalize(property), 0) == null) {
+            throw new UnsupportedException("cannot set " + property + " of " + type.getSimpleName());
+        }
+        for (Element child : children) {
+            String childVariable = instance(child);
+            if (list) {
+                line(variable + ".get" + capitalize(property) + "().add(" + childVariable + ");");
+            } else {
+                line(variable + ".set" + capitalize(property) + "(" + childVariable + ");");
+            }
+        }
+    }
+
+    /**
+     * Writes the code that sets a property from an attribute.
+     * @param variable the variable of the owner
+     * @param type the type of the owner
+     * @param property the property name
+     * @param value the attribute value
+     * @throws UnsupportedException if no setter takes the value
+     */
+    private void setProperty(String variable, TypeElement type, String property, String value)
+            throws UnsupportedException {
+        UnsupportedException failure = null;
+        for (ExecutableElement setter : setters(type, property)) {
+            try {
+                String argument = literal(setter.getParameters().get(0).asType(), value);
+                line(variable + "." + setter.getSimpleName() + "(" + argument + ");");
+                return;
+            } catch (UnsupportedException e) {
+                failure = e;
+            }
+        }
+        throw failure != null ? failure
+                : new UnsupportedException("no setter for " + property + " of " + type.getSimpleName());
+    }
+
+    /**
+     * Writes the code that sets an attached property, e.g. GridPane.rowIndex.
+     * @param variable the variable of the node
+     * @param attribute the attribute name
+     * @param value the attribute value
+     * @throws UnsupportedException if the owner class has no such static setter
+     */
+    private void setStaticProperty(String variable, String attribute, String value) throws UnsupportedException {
+        int dot = attribute.lastIndexOf('.');
+        TypeElement owner = resolve(attribute.substring(0, dot));
+        String setter = "set" + capitalize(attribute.substring(dot + 1));
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+            if (method.getSimpleName().contentEquals(setter) && method.getModifiers().contains(Modifier.STATIC)
+                    && method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().size() == 2) {
+                String argument = literal(method.getParameters().get(1).asType(), value);
+                line(owner.getQualifiedName() + "." + setter + "(" + variable + ", " + argument + ");");
+                return;
+            }
+        }
+        throw new UnsupportedException("no static setter for " + attribute);
+    }
+
+    /**
+     * Writes the code that calls a controller method for an event.
+     * @param variable the variable of the event source
+     * @param type the type of the event source
+     * @param property the event handler property, e.g. onAction
+     * @param method the controller method
+     * @throws UnsupportedException if the method cannot be called from the generated class
+     */
+    private void setHandler(String variable, TypeElement type, String property, String method)
+            throws UnsupportedException {
+        if (setters(type, property).isEmpty()) {
+            throw new UnsupportedException("no " + property + " on " + type.getSimpleName());
+        }
+        ExecutableElement handler = accessibleMethod(controller, method, 0);
+        String call = CONTROLLER + "." + method + "()";
+        if (handler == null) {
+            handler = accessibleMethod(controller, method, 1);
+            call = CONTROLLER + "." + method + "(event)";
+        }
+        if (handler == null) {
+            throw new UnsupportedException("no accessible handler " + method + " in " + controller.getSimpleName());
+        }
+        line(variable + ".set" + capitalize(property) + "(event -> " + call + ");");
+    }
+
+    /**
+     * Writes the code that sets the id of a node and injects it into the
+     * controller field of the same name, if there is one.
+     * @param variable the variable of the node
+     * @param type the type of the node
+     * @param id the fx:id
+     * @throws UnsupportedException if the field cannot be set from the generated class
+     */
+    private void inject(String variable, TypeElement type, String id) throws UnsupportedException {
+        if (!setters(type, "id").isEmpty()) {
+            line(variable + ".setId(" + stringLiteral(id) + ");");
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(elements.getAllMembers(controller))) {
+            if (field.getSimpleName().contentEquals(id)) {
+                if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                    throw new UnsupportedException("field " + id + " of " + controller.getSimpleName()
+                            + " cannot be injected; make it package-private");
+                }
+                line(CONTROLLER + "." + id + " = " + variable + ";");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Picks the constructor for an instance element: the no-argument one,
+     * or else the NamedArg constructor that takes the most of its
+     * attributes, which are then removed from the properties.
+     * @param type the class
+     * @param properties the attributes; those passed to the constructor are removed
+     * @return the constructor arguments
+     * @throws UnsupportedException if no constructor fits
+     */
+    private String constructorArguments(TypeElement type, Map<String, String> properties)
+            throws UnsupportedException {
+        if (hasConstructor(type)) {
+            return "";
+        }
+        ExecutableElement best = null;
+        int bestMatches = -1;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            int matches = 0;
+            boolean named = true;
+            for (VariableElement parameter : constructor.getParameters()) {
+                String name = namedArg(parameter, "value");
+                named &= name != null;
+                if (name != null && properties.containsKey(name)) {
+                    matches++;
+                }
+            }
+            if (named && (matches > bestMatches || (matches == bestMatches
+                    && constructor.getParameters().size() < best.getParameters().size()))) {
+                best = constructor;
+                bestMatches = matches;
+            }
+        }
+        if (best == null) {
+            throw new UnsupportedException("no usable constructor for " + type.getSimpleName());
+        }
+        List<String> arguments = new ArrayList<>();
+        for (VariableElement parameter : best.getParameters()) {
+            String value = properties.remove(namedArg(parameter, "value"));
+            if (value == null) {
+                value = namedArg(parameter, "defaultValue");
+            }
+            if (value == null || value.isEmpty()) {
+                arguments.add(parameter.asType().getKind().isPrimitive()
+                        ? literal(parameter.asType(), parameter.asType().getKind() == TypeKind.BOOLEAN ? "false" : "0")
+                        : "null");
+            } else {
+                arguments.add(literal(parameter.asType(), value));
+            }
+        }
+        return String.join(", ", arguments);
+    }
+
+    /**
+     * Turns an attribute value into a Java expression of a type.
+     * @param type the type
+     * @param value the attribute value
+     * @return the expression
+     * @throws UnsupportedException if the value cannot be coerced to the type
+     */
+    private String literal(TypeMirror type, String value) throws UnsupportedException {
+        if (value.startsWith("\\")) {
+            value = value.substring(1);
+        } else if (value.startsWith("${")) {
+            throw new UnsupportedException("binding " + value);
+        } else if (value.startsWith("$")) {
+            // Like FXMLLoader, a name that is not an fx:id resolves to null
+            String variable = idVariables.get(value.substring(1));
+            if (variable == null && type.getKind().isPrimitive()) {
+                throw new UnsupportedException("unresolved reference " + value);
+            }
+            return variable != null ? variable : "null";
+        } else if (value.startsWith("%") || value.startsWith("@")) {
+            throw new UnsupportedException("resource or location value " + value);
+        }
+        try {
+            switch (type.getKind()) {
+                case BOOLEAN:
+                    return Boolean.toString(Boolean.parseBoolean(value.trim()));
+                case INT:
+                case SHORT:
+                case BYTE:
+                    return Integer.toString(Integer.parseInt(value.trim()));
+                case LONG:
+                    return Long.parseLong(value.trim()) + "L";
+                case FLOAT:
+                case DOUBLE:
+                    String number = doubleLiteral(value.trim());
+                    return type.getKind() == TypeKind.FLOAT ? "(float) " + number : number;
+                case DECLARED:
+                    return declaredLiteral((DeclaredType) type, value);
+                default:
+                    throw new UnsupportedException("cannot coerce \"" + value + "\" to " + type);
+            }
+        } catch (NumberFormatException e) {
+            throw new UnsupportedException("not a number: " + value);
+        }
+    }
+
+    /**
+     * Turns an attribute value into a Java expression of a class type.
+     * @param type the type
+     * @param value the attribute value
+     * @return the expression
+     * @throws UnsupportedException if the value cannot be coerced to the type
+     */
+    private String declaredLiteral(DeclaredType type, String value) throws UnsupportedException {
+        TypeElement element = (TypeElement) type.asElement();
+        String name = element.getQualifiedName().toString();
+        if (name.equals("java.lang.String") || name.equals("java.lang.Object") || name.equals("java.lang.CharSequence")) {
+            return stringLiteral(value);
+        }
+        try {
+            return literal(types.unboxedType(type), value);
+        } catch (IllegalArgumentException e) {
+            // Not a boxed primitive
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            for (String constant : new String[]{value, allCaps(value)}) {
+                for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                    if (field.getKind() == ElementKind.ENUM_CONSTANT && field.getSimpleName().contentEquals(constant)) {
+                        return name + "." + constant;
+                    }
+                }
+            }
+            throw new UnsupportedException(value + " is not a constant of " + name);
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals("valueOf") && method.getModifiers().contains(Modifier.STATIC)
+                    && method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().size() == 1
+                    && method.getParameters().get(0).asType().toString().equals("java.lang.String")) {
+                return name + ".valueOf(" + stringLiteral(value) + ")";
+            }
+        }
+        throw new UnsupportedException("cannot coerce \"" + value + "\" to " + name);
+    }
+
+    /**
+     * Turns a number into a double literal.
+     * @param value the number, or Infinity, -Infinity or NaN
+     * @return the literal
+     */
+    private static String doubleLiteral(String value) {
+        double number = Double.parseDouble(value);
+        if (Double.isNaN(number)) {
+            return "Double.NaN";
+        }
+        if (Double.isInfinite(number)) {
+            return number > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return Double.toString(number);
+    }
+
+    /**
+     * Turns text into a Java string literal.
+     * @param text the text
+     * @return the literal
+     */
+    private static String stringLiteral(String text) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c < 0x20 || c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Converts camel case to an enum constant name, e.g. centerLeft to CENTER_LEFT.
+     * @param value the value
+     * @return the constant name
+     */
+    private static String allCaps(String value) {
+        return value.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Capitalizes a property name.
+     * @param property the property name
+     * @return the name with its first letter in upper case
+     */
+    private static String capitalize(String property) {
+        return Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    }
+
+    /**
+     * Resolves a class name used in the FXML file against its imports.
+     * @param name a simple or qualified class name
+     * @return the class
+     * @throws UnsupportedException if it cannot be resolved
+     */
+    private TypeElement resolve(String name) throws UnsupportedException {
+        TypeElement type = null;
+        if (imports.containsKey(name)) {
+            type = elements.getTypeElement(imports.get(name));
+        } else if (name.indexOf('.') > 0) {
+            type = elements.getTypeElement(name);
+        } else {
+            for (int i = 0; i < importedPackages.size() && type == null; i++) {
+                type = elements.getTypeElement(importedPackages.get(i) + "." + name);
+            }
+        }
+        if (type == null) {
+            throw new UnsupportedException("cannot resolve class " + name);
+        }
+        return type;
+    }
+
+    /**
+     * Gets the class of an instance element.
+     * @param element the element
+     * @return the erased type of its class
+     * @throws UnsupportedException if it cannot be resolved
+     */
+    private TypeMirror typeOf(Element element) throws UnsupportedException {
+        return types.erasure(resolve(element.getTagName()).asType());
+    }
+
+    /**
+     * Gets the public instance setters of a property.
+     * @param type the class
+     * @param property the property name
+     * @return the one-parameter setters
+     */
+    private List<ExecutableElement> setters(TypeElement type, String property) {
+        List<ExecutableElement> setters = new ArrayList<>();
+        String name = "set" + capitalize(property);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                setters.add(method);
+            }
+        }
+        return setters;
+    }
+
+    /**
+     * Finds a method the generated class can call: not private, not static.
+     * @param type the class
+     * @param name the method name
+     * @param parameters the number of parameters
+     * @return the method, or null if there is none
+     */
+    private ExecutableElement accessibleMethod(TypeElement type, String name, int parameters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a class has a no-argument constructor the generated class can call.
+     * @param type the class
+     * @return true if it has one
+     */
+    private static boolean hasConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the default property of a class from its DefaultProperty
+     * annotation, which subclasses inherit.
+     * @param type the class
+     * @return the property name, or null if it has none
+     */
+    private String defaultProperty(TypeElement type) {
+        for (AnnotationMirror annotation : elements.getAllAnnotationMirrors(type)) {
+            if (annotation.getAnnotationType().toString().equals("javafx.beans.DefaultProperty")) {
+                return annotationValue(annotation, "value");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets an element of the NamedArg annotation of a constructor parameter.
+     * @param parameter the parameter
+     * @param element "value" for the name or "defaultValue"
+     * @return the element, or null if the parameter is not annotated
+     */
+    private String namedArg(VariableElement parameter, String element) {
+        for (AnnotationMirror annotation : parameter.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().equals("javafx.beans.NamedArg")) {
+                return annotationValue(annotation, element);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets an element of an annotation as a string, with its default applied.
+     * @param annotation the annotation
+     * @param element the element name
+     * @return the value
+     */
+    private String annotationValue(AnnotationMirror annotation, String element) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(element)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends a statement to the body of build().
+     * @param statement the statement
+     */
+    private void line(String statement) {
+        body.append("        ").append(statement).append('\n');
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.fxml;
+
+import javafx.event.EventHandler;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the FxmlCompiler class.
+ * Compiles a sample view with the processor and checks that the generated
+ * class builds the same scene graph, controller fields and event handlers
+ * as FXMLLoader does from the same file. The sample uses layout panes and
+ * shapes only, which can be created without starting the JavaFX toolkit.
+ * @author Aryaman Kumar
+ */
+public class FxmlCompilerTest {
+
+    private static final String VIEW = """
+            <?xml version="1.0" encoding="UTF-8"?>
+
+            <?import javafx.geometry.Insets?>
+            <?import javafx.scene.layout.*?>
+            <?import javafx.scene.shape.Rectangle?>
+
+            <VBox spacing="8.0" xmlns="http://javafx.com/javafx/21" xmlns:fx="http://javafx.com/fxml/1"
+                  fx:controller="sample.SampleController">
+                <padding>
+                    <Insets bottom="4.0" left="6.0" right="6.0" top="4.0"/>
+                </padding>
+
+                <HBox fx:id="row" alignment="CENTER_RIGHT" spacing="2.5">
+                    <Rectangle fx:id="swatch" width="20.0" height="10.0" fill="RED"/>
+                    <Pane fx:id="box" prefWidth="40.0" onMouseClicked="#onBoxClicked"
+                          onMouseEntered="#onBoxEntered"/>
+                </HBox>
+                <GridPane fx:id="grid" hgap="4.0">
+                    <Pane id="cell" GridPane.columnIndex="2" GridPane.rowIndex="1"/>
+                </GridPane>
+                <Region fx:id="filler" VBox.vgrow="ALWAYS"/>
+            </VBox>
+            """;
+
+    private static final String CONTROLLER = """
+            package sample;
+
+            import javafx.fxml.FXML;
+            import javafx.scene.input.MouseEvent;
+            import javafx.scene.layout.GridPane;
+            import javafx.scene.layout.HBox;
+            import javafx.scene.layout.Pane;
+            import javafx.scene.shape.Rectangle;
+
+            public class SampleController {
+                @FXML HBox row;
+                @FXML Rectangle swatch;
+                @FXML Pane box;
+                @FXML GridPane grid;
+                int clicks;
+                int entries;
+                boolean initialized;
+
+                @FXML void initialize() { initialized = true; }
+                @FXML void onBoxClicked() { clicks++; }
+                @FXML void onBoxEntered(MouseEvent event) { entries++; }
+            }
+            """;
+
+    // Generated classes implement ViewLoader.Compiled from the controller's package
+    private static final String VIEW_LOADER = """
+            package sample;
+
+            public class ViewLoader {
+                public interface Compiled {
+                    javafx.scene.Parent build();
+                    Object getController();
+                }
+            }
+            """;
+
+    private static final String[] CONTROLLER_FIELDS = {"row", "swatch", "box", "grid"};
+
+    @TempDir
+    Path tempDir;
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    /**
+     * Test case 1: The compiled view builds the same nodes as FXMLLoader,
+     * with the same ids, properties, layout constraints and children.
+     * @throws Exception if the view cannot be compiled or loaded
+     */
+    @Test
+    public void testSameSceneGraph() throws Exception {
+        ClassLoader classes = compile(VIEW);
+        Object compiled = newCompiledView(classes);
+        FXMLLoader loader = fxmlLoader(classes);
+        Parent loaded = loader.load();
+
+        assertEquals(describe(loaded), describe(build(classes, compiled)));
+    }
+
+    /**
+     * Test case 2: The compiled view injects the same fx:id fields as
+     * FXMLLoader, binds the same handlers and initializes the controller.
+     * @throws Exception if the view cannot be compiled or loaded
+     */
+    @Test
+    public void testSameControllerBindings() throws Exception {
+        ClassLoader classes = compile(VIEW);
+        Object compiled = newCompiledView(classes);
+        Parent compiledRoot = build(classes, compiled);
+        Object compiledController = classes.loadClass("sample.ViewLoader$Compiled").getMethod("getController")
+                .invoke(compiled);
+        FXMLLoader loader = fxmlLoader(classes);
+        Parent loadedRoot = loader.load();
+        Object loadedController = loader.getController();
+
+        for (Object[] view : new Object[][] {{compiledRoot, compiledController}, {loadedRoot, loadedController}}) {
+            Parent root = (Parent) view[0];
+            Object controller = view[1];
+            for (String id : CONTROLLER_FIELDS) {
+                Object node = field(controller, id);
+                assertNotNull(node, id);
+                assertSame(findById(root, id), node, id);
+            }
+            assertEquals(true, field(controller, "initialized"));
+
+            Region box = (Region) field(controller, "box");
+            EventHandler<?> clicked = box.getOnMouseClicked();
+            EventHandler<?> entered = box.getOnMouseEntered();
+            assertNotNull(clicked);
+            assertNotNull(entered);
+            box.getOnMouseClicked().handle(null);
+            box.getOnMouseEntered().handle(null);
+            assertEquals(1, field(controller, "clicks"));
+            assertEquals(1, field(controller, "entries"));
+        }
+        assertNull(findById(compiledRoot, "filler").getOnMouseClicked());
+    }
+
+    /**
+     * Test case 3: The generated class records the hash of the FXML file it
+     * was compiled from.
+     * @throws Exception if the view cannot be compiled
+     */
+    @Test
+    public void testSourceHash() throws Exception {
+        ClassLoader classes = compile(VIEW);
+        Field hash = classes.loadClass("sample.SampleViewFxml").getDeclaredField("SOURCE_HASH");
+        hash.setAccessible(true);
+
+        assertEquals(Arrays.hashCode(Files.readAllBytes(tempDir.resolve("views/SampleView.fxml"))), hash.getInt(null));
+    }
+
+    /**
+     * Test case 4: A view that uses a feature the compiler does not handle
+     * is skipped with a warning instead of failing the build.
+     * @throws Exception if the sources cannot be compiled
+     */
+    @Test
+    public void testUnsupportedViewSkipped() throws Exception {
+        ClassLoader classes = compile(VIEW.replace("<Region fx:id=\"filler\" VBox.vgrow=\"ALWAYS\"/>",
+                "<fx:include source=\"Other.fxml\"/>"));
+
+        assertThrows(ClassNotFoundException.class, () -> classes.loadClass("sample.SampleViewFxml"));
+        assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.WARNING
+                && d.getMessage(null).startsWith("SampleView.fxml is not compiled")), diagnostics.getDiagnostics()::toString);
+    }
+
+    /**
+     * Compiles the sample controller with the FXML compiler running on a view.
+     * @param view the contents of SampleView.fxml
+     * @return a class loader for the compiled classes
+     * @throws IOException if the files cannot be written
+     */
+    private ClassLoader compile(String view) throws IOException {
+        Path views = Files.createDirectories(tempDir.resolve("views"));
+        Files.writeString(views.resolve("SampleView.fxml"), view);
+        Path sources = Files.createDirectories(tempDir.resolve("src/sample"));
+        Files.writeString(sources.resolve("SampleController.java"), CONTROLLER);
+        Files.writeString(sources.resolve("ViewLoader.java"), VIEW_LOADER);
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = javac.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = new ArrayList<>(List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString(),
+                    "-Afxml.sources=" + views));
+            JavaCompiler.CompilationTask task = javac.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjects(sources.resolve("SampleController.java"), sources.resolve("ViewLoader.java")));
+            task.setProcessors(List.of(new FxmlCompiler()));
+            assertTrue(task.call(), diagnostics.getDiagnostics()::toString);
+        }
+        return new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    /**
+     * Creates an instance of the generated class.
+     * @param classes the class loader of the compiled sample
+     * @return the compiled view
+     * @throws ReflectiveOperationException if the class was not generated
+     */
+    private static Object newCompiledView(ClassLoader classes) throws ReflectiveOperationException {
+        Constructor<?> constructor = classes.loadClass("sample.SampleViewFxml").getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /**
+     * Builds a compiled view.
+     * @param classes the class loader of the compiled sample
+     * @param view the compiled view
+     * @return the root node
+     * @throws ReflectiveOperationException if the view cannot be built
+     */
+    private static Parent build(ClassLoader classes, Object view) throws ReflectiveOperationException {
+        return (Parent) classes.loadClass("sample.ViewLoader$Compiled").getMethod("build").invoke(view);
+    }
+
+    /**
+     * Creates an FXMLLoader for the sample view that finds the sample controller.
+     * @param classes the class loader of the compiled sample
+     * @return the loader
+     * @throws IOException if the view path is malformed
+     */
+    private FXMLLoader fxmlLoader(ClassLoader classes) throws IOException {
+        FXMLLoader loader = new FXMLLoader(tempDir.resolve("views/SampleView.fxml").toUri().toURL());
+        loader.setClassLoader(classes);
+        return loader;
+    }
+
+    /**
+     * Reads a controller field.
+     * @param controller the controller
+     * @param name the field name
+     * @return the value
+     * @throws ReflectiveOperationException if there is no such field
+     */
+    private static Object field(Object controller, String name) throws ReflectiveOperationException {
+        Field field = controller.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(controller);
+    }
+
+    /**
+     * Finds a node by id, searching the whole tree.
+     * @param node the root node
+     * @param id the id
+     * @return the node, or null if there is none
+     */
+    private static Node findById(Node node, String id) {
+        if (id.equals(node.getId())) {
+            return node;
+        }
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                Node found = findById(child, id);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Describes a node and everything below it: its class, id, the
+     * properties the sample sets and its layout constraints.
+     * @param node the node
+     * @return the description
+     */
+    private static String describe(Node node) {
+        StringBuilder description = new StringBuilder(node.getClass().getName()).append(" id=").append(node.getId());
+        Map<String, Object> constraints = new TreeMap<>();
+        node.getProperties().forEach((key, value) -> constraints.put(String.valueOf(key), value));
+        description.append(" constraints=").append(constraints);
+        if (node instanceof Region) {
+            Region region = (Region) node;
+            description.append(" prefWidth=").append(region.getPrefWidth()).append(" padding=").append(region.getPadding());
+        }
+        if (node instanceof VBox) {
+            description.append(" spacing=").append(((VBox) node).getSpacing());
+        }
+        if (node instanceof HBox) {
+            HBox box = (HBox) node;
+            description.append(" spacing=").append(box.getSpacing()).append(" alignment=").append(box.getAlignment());
+        }
+        if (node instanceof GridPane) {
+            description.append(" hgap=").append(((GridPane) node).getHgap());
+        }
+        if (node instanceof Rectangle) {
+            Rectangle rectangle = (Rectangle) node;
+            description.append(" size=").append(rectangle.getWidth()).append('x').append(rectangle.getHeight())
+                    .append(" fill=").append(rectangle.getFill());
+        }
+        if (node instanceof Parent) {
+            description.append(" [");
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                description.append('\n').append(describe(child));
+            }
+            description.append("]");
+        }
+        return description.toString();
+    }
+}
@@ -10,7 +10,7 @@ mkdir -p javadoc
 
 # Generate Javadoc
 javadoc -d javadoc \
-  -sourcepath src/main/java \
+  -sourcepath app/src/main/java \
   -subpackages org.example.model:org.example.controller \
   -exclude org.example.Main \
   -author \
@@ -1,13 +0,0 @@
-package org.example.model;
-
-/**
- * Enum representing the add-ins available for coffee.
- * @author Aryaman Kumar
- */
-public enum AddIns {
-    WHIPPED_CREAM,
-    VANILLA,
-    MILK,
-    CARAMEL,
-    MOCHA
-}
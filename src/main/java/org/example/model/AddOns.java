@@ -1,12 +0,0 @@
-package org.example.model;
-
-/**
- * Enum representing the add-ons available for sandwiches.
- * @author Aryaman Kumar
- */
-public enum AddOns {
-    CHEESE,
-    LETTUCE,
-    TOMATOES,
-    ONIONS
-}